@@ -0,0 +1,8 @@
+-- Sequence number of the change events assigned when they are inserted, used as the offset of the event consumers.
+-- Release 1.0.0 migrates the schema with v010, this migration runs after it.
+
+-- Number the existing events in the order they were recorded, then let the database number the new events
+ALTER TABLE change_event ADD COLUMN eventOffset BIGINT UNSIGNED;
+SET @eventOffset := 0;
+UPDATE change_event SET eventOffset = (@eventOffset := @eventOffset + 1) ORDER BY eventTime;
+ALTER TABLE change_event MODIFY COLUMN eventOffset BIGINT UNSIGNED NOT NULL AUTO_INCREMENT UNIQUE;
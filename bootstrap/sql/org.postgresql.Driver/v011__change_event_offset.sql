@@ -0,0 +1,13 @@
+-- Sequence number of the change events assigned when they are inserted, used as the offset of the event consumers.
+-- Release 1.0.0 migrates the schema with v010, this migration runs after it.
+
+-- Number the existing events in the order they were recorded, then let the database number the new events
+ALTER TABLE change_event ADD COLUMN eventOffset BIGINT;
+CREATE SEQUENCE change_event_eventoffset_seq OWNED BY change_event.eventOffset;
+UPDATE change_event SET eventOffset = ordered.eventOffset
+FROM (SELECT ctid, ROW_NUMBER() OVER (ORDER BY eventTime) AS eventOffset FROM change_event) AS ordered
+WHERE change_event.ctid = ordered.ctid;
+SELECT setval('change_event_eventoffset_seq', COALESCE(MAX(eventOffset), 0) + 1, false) FROM change_event;
+ALTER TABLE change_event ALTER COLUMN eventOffset SET DEFAULT nextval('change_event_eventoffset_seq');
+ALTER TABLE change_event ALTER COLUMN eventOffset SET NOT NULL;
+ALTER TABLE change_event ADD UNIQUE (eventOffset);
@@ -0,0 +1,119 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Measures storing the previous version of a table on update with {@link EntityVersionHistory#storeVersion}, which
+ * replaces the full copy of the version before it with a delta, for tables with more and more columns. The versions are
+ * stored in memory, so this measures the JSON processing done for every update of an entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityVersionHistoryBenchmark {
+  private static final String ENTITY_TYPE = "table";
+
+  @Param({"10", "100", "1000"})
+  private int columnCount;
+
+  private final Map<String, String> rows = new HashMap<>();
+  private EntityExtensionDAO dao;
+  private UUID id;
+  private Table table;
+  private double version;
+
+  @Setup
+  public void setUp() {
+    dao = mock(EntityExtensionDAO.class);
+    doAnswer(i -> rows.put(i.getArgument(1), i.getArgument(3)))
+        .when(dao)
+        .insert(anyString(), anyString(), anyString(), anyString());
+    when(dao.getExtension(anyString(), anyString())).thenAnswer(i -> rows.get(i.<String>getArgument(1)));
+
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withFullyQualifiedName("service.db.schema.table.column" + i)
+              .withDataType(ColumnDataType.VARCHAR)
+              .withDataLength(255)
+              .withDescription("description of column " + i));
+    }
+    id = UUID.randomUUID();
+    table =
+        new Table()
+            .withId(id)
+            .withName("table")
+            .withFullyQualifiedName("service.db.schema.table")
+            .withDescription("description")
+            .withColumns(columns)
+            .withVersion(0.1);
+    version = 0.1;
+  }
+
+  /** Store the current version of the table, then update its description as an update of the entity does */
+  @Benchmark
+  public void storeVersion() throws JsonProcessingException {
+    ChangeDescription change = table.getChangeDescription();
+    Double previousVersion = change == null ? null : change.getPreviousVersion();
+    EntityVersionHistory.storeVersion(dao, ENTITY_TYPE, id, version, previousVersion, JsonUtils.pojoToJson(table));
+    if (previousVersion != null) {
+      // Only the latest stored version is read by the next update, drop the others to keep the memory used flat
+      rows.remove(EntityUtil.getVersionExtension(ENTITY_TYPE, previousVersion));
+    }
+
+    double nextVersion = BigDecimal.valueOf(version).add(BigDecimal.valueOf(0.1)).doubleValue();
+    table
+        .withDescription("description " + nextVersion)
+        .withVersion(nextVersion)
+        .withChangeDescription(new ChangeDescription().withPreviousVersion(version));
+    version = nextVersion;
+  }
+}
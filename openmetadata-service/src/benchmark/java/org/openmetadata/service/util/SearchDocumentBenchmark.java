@@ -0,0 +1,95 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+
+/**
+ * Compares building the search document of a table through the map of the entity with writing it straight from the
+ * entity with {@link JsonUtils#pojoToJsonBytes(Object, Set, Map)}, for tables with more and more columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchDocumentBenchmark {
+  private static final Set<String> EXCLUDED_FIELDS = Set.of("sampleData", "tableProfile", "joins", "changeDescription");
+
+  @Param({"10", "100", "1000"})
+  private int columnCount;
+
+  private Table table;
+  private Map<String, Object> searchFields;
+
+  @Setup
+  public void setUp() {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withFullyQualifiedName("service.db.schema.table.column" + i)
+              .withDataType(ColumnDataType.VARCHAR)
+              .withDataLength(255)
+              .withDescription("description of column " + i));
+    }
+    table =
+        new Table()
+            .withId(UUID.randomUUID())
+            .withName("table")
+            .withFullyQualifiedName("service.db.schema.table")
+            .withDescription("description")
+            .withColumns(columns);
+    searchFields = new LinkedHashMap<>();
+    searchFields.put("displayName", "table");
+    searchFields.put("entityType", "table");
+    searchFields.put("fqnParts", List.of("service", "db", "schema", "table"));
+  }
+
+  @Benchmark
+  public byte[] buildFromMap() throws IOException {
+    Map<String, Object> doc = JsonUtils.getMap(table);
+    EXCLUDED_FIELDS.forEach(doc::remove);
+    doc.putAll(searchFields);
+    return JsonUtils.pojoToJsonBytes(doc);
+  }
+
+  @Benchmark
+  public byte[] buildFromEntity() throws IOException {
+    return JsonUtils.pojoToJsonBytes(table, EXCLUDED_FIELDS, searchFields);
+  }
+}
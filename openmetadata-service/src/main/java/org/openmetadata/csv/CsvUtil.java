@@ -19,6 +19,7 @@ import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
 
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -44,9 +45,7 @@ public final class CsvUtil {
   public static String formatCsv(CsvFile csvFile) throws IOException {
     // CSV file is generated by the backend and the data exported is expected to be correct. Hence, no validation
     StringWriter writer = new StringWriter();
-    List<String> headers = getHeaders(csvFile.getHeaders());
-    CSVFormat csvFormat = Builder.create(CSVFormat.DEFAULT).setHeader(headers.toArray(new String[0])).build();
-    try (CSVPrinter printer = new CSVPrinter(writer, csvFormat)) {
+    try (CSVPrinter printer = getCsvPrinter(writer, csvFile.getHeaders())) {
       for (List<String> record : listOrEmpty(csvFile.getRecords())) {
         printer.printRecord(record);
       }
@@ -54,6 +53,13 @@ public final class CsvUtil {
     return writer.toString();
   }
 
+  /** Get a printer that writes the headers and then the records of a CSV file to the writer */
+  public static CSVPrinter getCsvPrinter(Writer writer, List<CsvHeader> csvHeaders) throws IOException {
+    List<String> headers = getHeaders(csvHeaders);
+    CSVFormat csvFormat = Builder.create(CSVFormat.DEFAULT).setHeader(headers.toArray(new String[0])).build();
+    return new CSVPrinter(writer, csvFormat);
+  }
+
   /** Get headers from CsvHeaders */
   public static List<String> getHeaders(List<CsvHeader> csvHeaders) {
     List<String> headers = new ArrayList<>();
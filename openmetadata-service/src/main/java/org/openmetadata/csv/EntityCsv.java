@@ -43,7 +43,6 @@ import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.schema.type.csv.CsvDocumentation;
 import org.openmetadata.schema.type.csv.CsvErrorType;
-import org.openmetadata.schema.type.csv.CsvFile;
 import org.openmetadata.schema.type.csv.CsvHeader;
 import org.openmetadata.schema.type.csv.CsvImportResult;
 import org.openmetadata.schema.type.csv.CsvImportResult.Status;
@@ -51,6 +50,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 import org.openmetadata.service.util.RestUtil.PutResponse;
 
 /**
@@ -117,13 +117,28 @@ public abstract class EntityCsv<T extends EntityInterface> {
   protected abstract T toEntity(CSVPrinter resultsPrinter, CSVRecord record) throws IOException;
 
   public final String exportCsv(List<T> entities) throws IOException {
-    CsvFile csvFile = new CsvFile().withHeaders(csvHeaders);
-    List<List<String>> records = new ArrayList<>();
-    for (T entity : entities) {
-      records.add(toRecord(entity));
+    return exportCsv(
+        printer -> {
+          for (T entity : entities) {
+            printRecord(printer, entity);
+          }
+        });
+  }
+
+  /**
+   * Export the entities printed by the exporter with {@link #printRecord}. Each record is written as the exporter
+   * reads its entity, so that the entities are not all held in memory.
+   */
+  public final String exportCsv(ConsumerWithExceptions<CSVPrinter, IOException> exporter) throws IOException {
+    StringWriter writer = new StringWriter();
+    try (CSVPrinter printer = CsvUtil.getCsvPrinter(writer, csvHeaders)) {
+      exporter.accept(printer);
     }
-    csvFile.withRecords(records);
-    return CsvUtil.formatCsv(csvFile);
+    return writer.toString();
+  }
+
+  protected final void printRecord(CSVPrinter printer, T entity) throws IOException {
+    printer.printRecord(toRecord(entity));
   }
 
   public static CsvDocumentation getCsvDocumentation(String entityType) {
@@ -36,6 +36,7 @@ import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.TagLabel;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.exception.UnhandledServerException;
 import org.openmetadata.service.jdbi3.EntityDAO;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
@@ -210,18 +211,37 @@ public final class Entity {
       throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
     }
     include = repository.supportsSoftDelete ? Include.ALL : include;
-    return repository.dao.findEntityReferenceById(id, include);
+    return repository.find(id, include).getEntityReference();
+  }
+
+  /** Get entity references keyed by id for a list of entities of the same type using batched queries */
+  public static Map<UUID, EntityReference> getEntityReferencesByIds(
+      @NonNull String entityType, List<UUID> ids, Include include) throws IOException {
+    EntityRepository<?> repository = ENTITY_REPOSITORY_MAP.get(entityType);
+    if (repository == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
+    }
+    include = repository.supportsSoftDelete ? Include.ALL : include;
+    Map<UUID, EntityReference> refs = new HashMap<>();
+    for (EntityInterface entity : repository.dao.findEntitiesByIds(ids, include)) {
+      refs.put(entity.getId(), entity.getEntityReference());
+    }
+    return refs;
   }
 
   public static EntityReference getEntityReferenceByName(@NonNull String entityType, String fqn, Include include) {
     if (fqn == null) {
       return null;
     }
-    EntityDAO<?> dao = DAO_MAP.get(entityType);
-    if (dao == null) {
+    EntityRepository<?> repository = ENTITY_REPOSITORY_MAP.get(entityType);
+    if (repository == null) {
       throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
     }
-    return dao.findEntityReferenceByName(fqn, include);
+    try {
+      return repository.findByName(fqn, include).getEntityReference();
+    } catch (IOException e) {
+      throw new UnhandledServerException(e.getMessage(), e);
+    }
   }
 
   public static EntityReference getOwner(@NonNull EntityReference reference) throws IOException {
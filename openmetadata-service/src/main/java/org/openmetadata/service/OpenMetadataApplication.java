@@ -70,6 +70,7 @@ import org.openmetadata.schema.api.security.AuthenticationConfiguration;
 import org.openmetadata.schema.api.security.AuthorizerConfiguration;
 import org.openmetadata.schema.auth.SSOAuthMechanism;
 import org.openmetadata.service.elasticsearch.ElasticSearchEventPublisher;
+import org.openmetadata.service.events.ChangeEventLog;
 import org.openmetadata.service.events.EventFilter;
 import org.openmetadata.service.events.EventPubSub;
 import org.openmetadata.service.exception.CatalogGenericExceptionMapper;
@@ -77,6 +78,7 @@ import org.openmetadata.service.exception.ConstraintViolationExceptionMapper;
 import org.openmetadata.service.exception.JsonMappingExceptionMapper;
 import org.openmetadata.service.fernet.Fernet;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.EntityCache;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
 import org.openmetadata.service.migration.Migration;
 import org.openmetadata.service.migration.MigrationConfiguration;
@@ -107,6 +109,8 @@ import org.openmetadata.service.socket.FeedServlet;
 import org.openmetadata.service.socket.OpenMetadataAssetServlet;
 import org.openmetadata.service.socket.SocketAddressFilter;
 import org.openmetadata.service.socket.WebSocketManager;
+import org.openmetadata.service.util.BulkDeleteHandler;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.MicrometerBundleSingleton;
 import org.openmetadata.service.workflows.searchIndex.SearchIndexEvent;
 
@@ -124,6 +128,7 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     validateConfiguration(catalogConfig);
 
     ChangeEventConfig.initialize(catalogConfig);
+    EntityCache.initialize(catalogConfig.getEntityCacheConfiguration());
     final Jdbi jdbi = createAndSetupJDBI(environment, catalogConfig.getDataSourceFactory());
 
     // Configure the Fernet instance
@@ -175,16 +180,21 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
     environment.jersey().register(JsonMappingExceptionMapper.class);
     environment.healthChecks().register("OpenMetadataServerHealthCheck", new OpenMetadataServerHealthCheck());
     // start event hub before registering publishers
-    EventPubSub.start();
+    EventPubSub.start(catalogConfig.getEventPublisherConfiguration());
+    ChangeEventLog.start(jdbi.onDemand(CollectionDAO.class));
+    CacheInvalidationBus.start(jdbi.onDemand(CollectionDAO.class));
 
     registerResources(catalogConfig, environment, jdbi);
 
-    // Register Event Handler
-    registerEventFilter(catalogConfig, environment, jdbi);
+    // Register Event Handler after ManagedShutdown, so queued events are recorded before the publishers stop
     environment.lifecycle().manage(new ManagedShutdown());
+    registerEventFilter(catalogConfig, environment, jdbi);
     // Register Event publishers
     registerEventPublisher(catalogConfig, jdbi);
 
+    // Resume background deletes after the repositories and event publishers are ready
+    BulkDeleteHandler.initialize(jdbi.onDemand(CollectionDAO.class));
+
     // update entities secrets if required
     new SecretsManagerUpdateService(secretsManager, catalogConfig.getClusterName()).updateEntities();
 
@@ -363,8 +373,9 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
 
   private void registerEventFilter(OpenMetadataApplicationConfig catalogConfig, Environment environment, Jdbi jdbi) {
     if (catalogConfig.getEventHandlerConfiguration() != null) {
-      ContainerResponseFilter eventFilter = new EventFilter(catalogConfig, jdbi);
+      EventFilter eventFilter = new EventFilter(catalogConfig, jdbi);
       environment.jersey().register(eventFilter);
+      environment.lifecycle().manage(eventFilter);
       ContainerResponseFilter reindexingJobs = new SearchIndexEvent();
       environment.jersey().register(reindexingJobs);
     }
@@ -376,7 +387,7 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
       ElasticSearchEventPublisher elasticSearchEventPublisher =
           new ElasticSearchEventPublisher(
               openMetadataApplicationConfig.getElasticSearchConfiguration(), jdbi.onDemand(CollectionDAO.class));
-      EventPubSub.addEventHandler(elasticSearchEventPublisher);
+      ChangeEventLog.addConsumer(ChangeEventLog.SEARCH_INDEX_CONSUMER, elasticSearchEventPublisher);
     }
 
     if (openMetadataApplicationConfig.getEventMonitorConfiguration() != null) {
@@ -447,7 +458,10 @@ public class OpenMetadataApplication extends Application<OpenMetadataApplication
 
     @Override
     public void stop() throws InterruptedException {
+      BulkDeleteHandler.shutdown();
+      ChangeEventLog.shutdown();
       EventPubSub.shutdown();
+      CacheInvalidationBus.shutdown();
       LOG.info("Stopping the application");
     }
   }
@@ -35,8 +35,11 @@ import org.openmetadata.schema.email.SmtpSettings;
 import org.openmetadata.schema.security.SecurityConfiguration;
 import org.openmetadata.schema.security.secrets.SecretsManagerConfiguration;
 import org.openmetadata.schema.service.configuration.elasticsearch.ElasticSearchConfiguration;
+import org.openmetadata.service.events.EventPublisherConfiguration;
+import org.openmetadata.service.jdbi3.EntityCacheConfiguration;
 import org.openmetadata.service.migration.MigrationConfiguration;
 import org.openmetadata.service.monitoring.EventMonitorConfiguration;
+import org.openmetadata.service.workflows.searchIndex.ReindexingConfiguration;
 
 @Getter
 @Setter
@@ -105,6 +108,15 @@ public class OpenMetadataApplicationConfig extends Configuration {
   @JsonProperty("changeEventConfig")
   private ChangeEventConfiguration changeEventConfiguration;
 
+  @JsonProperty("entityCacheConfiguration")
+  private EntityCacheConfiguration entityCacheConfiguration = new EntityCacheConfiguration();
+
+  @JsonProperty("eventPublisherConfiguration")
+  private EventPublisherConfiguration eventPublisherConfiguration = new EventPublisherConfiguration();
+
+  @JsonProperty("reindexingConfiguration")
+  private ReindexingConfiguration reindexingConfiguration = new ReindexingConfiguration();
+
   @Override
   public String toString() {
     return "catalogConfig{"
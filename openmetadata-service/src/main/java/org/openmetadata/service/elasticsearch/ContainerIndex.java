@@ -1,6 +1,8 @@
 package org.openmetadata.service.elasticsearch;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.openmetadata.schema.entity.data.Container;
@@ -18,10 +20,22 @@ public class ContainerIndex implements ColumnIndex {
 
   public Map<String, Object> buildESDoc() {
     Map<String, Object> doc = JsonUtils.getMap(container);
+    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
+    doc.putAll(getSearchFields());
+    return doc;
+  }
+
+  @Override
+  public byte[] buildESDocJson() throws IOException {
+    return ElasticSearchIndexUtils.buildESDocJson(container, excludeFields, getSearchFields());
+  }
+
+  /** Fields of the search document that are not fields of the container, or replace them */
+  private Map<String, Object> getSearchFields() {
+    Map<String, Object> doc = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     List<ElasticSearchSuggest> columnSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> serviceSuggest = new ArrayList<>();
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
     suggest.add(ElasticSearchSuggest.builder().input(container.getFullyQualifiedName()).weight(5).build());
     suggest.add(ElasticSearchSuggest.builder().input(container.getName()).weight(10).build());
     if (container.getDataModel() != null && container.getDataModel().getColumns() != null) {
@@ -34,12 +34,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
@@ -103,11 +107,18 @@ import org.openmetadata.service.resources.events.EventResource.EventList;
 import org.openmetadata.service.util.ElasticSearchClientUtils;
 import org.openmetadata.service.util.JsonUtils;
 
+/**
+ * Publishes change events to ElasticSearch. The document writes of a batch of events are coalesced by document, so
+ * that a document updated several times in the batch is written once with its latest state, and sent in a single bulk
+ * request. Writes that only change some fields of the document, such as adding followers, are kept in order. Pending
+ * writes are flushed before the queries that delete or update many documents.
+ */
 @Slf4j
 public class ElasticSearchEventPublisher extends AbstractEventPublisher {
   private static final String SENDING_REQUEST_TO_ELASTIC_SEARCH = "Sending request to ElasticSearch {}";
   private final RestHighLevelClient client;
   private final CollectionDAO dao;
+  private final Map<String, List<DocWriteRequest<?>>> pendingWrites = new LinkedHashMap<>();
   private static final String SERVICE_NAME = "service.name";
   private static final String DATABASE_NAME = "database.name";
 
@@ -121,6 +132,13 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     esIndexDefinition.createIndexes(esConfig);
   }
 
+  /** Publisher writing to an existing client and indexes */
+  ElasticSearchEventPublisher(RestHighLevelClient client, CollectionDAO dao, int batchSize) {
+    super(batchSize);
+    this.dao = dao;
+    this.client = client;
+  }
+
   @Override
   public void onStart() {
     LOG.info("ElasticSearch Publisher Started");
@@ -128,6 +146,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
 
   @Override
   public void publish(EventList events) throws EventPublisherException, JsonProcessingException {
+    pendingWrites.clear();
     for (ChangeEvent event : events.getData()) {
       String entityType = event.getEntityType();
       String contextInfo =
@@ -209,36 +228,54 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
                 "Missing Document while Updating ES. Reason[%s], Cause[%s], Stack [%s]",
                 ex.getMessage(), ex.getCause(), ExceptionUtils.getStackTrace(ex)));
       } catch (ElasticsearchException e) {
-        LOG.error("failed to update ES doc");
-        LOG.debug(e.getMessage());
-        if (e.status() == RestStatus.GATEWAY_TIMEOUT || e.status() == RestStatus.REQUEST_TIMEOUT) {
-          LOG.error("Error in publishing to ElasticSearch");
-          updateElasticSearchFailureStatus(
-              contextInfo,
-              Status.ACTIVE_WITH_ERROR,
-              String.format(
-                  "Timeout when updating ES request. Reason[%s], Cause[%s], Stack [%s]",
-                  e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
-          throw new ElasticSearchRetriableException(e.getMessage());
-        } else {
-          updateElasticSearchFailureStatus(
-              contextInfo,
-              Status.ACTIVE_WITH_ERROR,
-              String.format(
-                  "Failed while updating ES. Reason[%s], Cause[%s], Stack [%s]",
-                  e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
-          LOG.error(e.getMessage(), e);
-        }
+        handleElasticSearchException(contextInfo, e);
       } catch (IOException ie) {
-        updateElasticSearchFailureStatus(
-            contextInfo,
-            Status.ACTIVE_WITH_ERROR,
-            String.format(
-                "Issue in updating ES request. Reason[%s], Cause[%s], Stack [%s]",
-                ie.getMessage(), ie.getCause(), ExceptionUtils.getStackTrace(ie)));
-        throw new EventPublisherException(ie.getMessage());
+        handleIOException(contextInfo, ie);
       }
     }
+    String contextInfo = String.format("Bulk write of %d change events", events.getData().size());
+    try {
+      flushPendingWrites();
+    } catch (ElasticsearchException e) {
+      handleElasticSearchException(contextInfo, e);
+    } catch (IOException ie) {
+      handleIOException(contextInfo, ie);
+    } finally {
+      pendingWrites.clear();
+    }
+  }
+
+  private void handleElasticSearchException(String contextInfo, ElasticsearchException e) {
+    LOG.error("failed to update ES doc");
+    LOG.debug(e.getMessage());
+    if (e.status() == RestStatus.GATEWAY_TIMEOUT || e.status() == RestStatus.REQUEST_TIMEOUT) {
+      LOG.error("Error in publishing to ElasticSearch");
+      updateElasticSearchFailureStatus(
+          contextInfo,
+          Status.ACTIVE_WITH_ERROR,
+          String.format(
+              "Timeout when updating ES request. Reason[%s], Cause[%s], Stack [%s]",
+              e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
+      throw new ElasticSearchRetriableException(e.getMessage());
+    } else {
+      updateElasticSearchFailureStatus(
+          contextInfo,
+          Status.ACTIVE_WITH_ERROR,
+          String.format(
+              "Failed while updating ES. Reason[%s], Cause[%s], Stack [%s]",
+              e.getMessage(), e.getCause(), ExceptionUtils.getStackTrace(e)));
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  private void handleIOException(String contextInfo, IOException ie) {
+    updateElasticSearchFailureStatus(
+        contextInfo,
+        Status.ACTIVE_WITH_ERROR,
+        String.format(
+            "Issue in updating ES request. Reason[%s], Cause[%s], Stack [%s]",
+            ie.getMessage(), ie.getCause(), ExceptionUtils.getStackTrace(ie)));
+    throw new EventPublisherException(ie.getMessage());
   }
 
   @Override
@@ -260,21 +297,23 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     scriptTxt.append("ctx._source.updatedAt=params.updatedAt;");
     for (FieldChange fieldChange : fieldsAdded) {
       if (fieldChange.getName().equalsIgnoreCase(FIELD_FOLLOWERS)) {
-        @SuppressWarnings("unchecked")
-        List<EntityReference> entityReferences = (List<EntityReference>) fieldChange.getNewValue();
+        List<EntityReference> entityReferences =
+            JsonUtils.convertValue(fieldChange.getNewValue(), new TypeReference<List<EntityReference>>() {});
         List<String> newFollowers = new ArrayList<>();
         for (EntityReference follower : entityReferences) {
           newFollowers.add(follower.getId().toString());
         }
         fieldAddParams.put(fieldChange.getName(), newFollowers);
-        scriptTxt.append("ctx._source.followers.addAll(params.followers);");
+        // Followers that are already in the document are not added again when the write is retried
+        scriptTxt.append(
+            "for (f in params.followers) { if (!ctx._source.followers.contains(f)) { ctx._source.followers.add(f) } }");
       }
     }
 
     for (FieldChange fieldChange : changeDescription.getFieldsDeleted()) {
       if (fieldChange.getName().equalsIgnoreCase(FIELD_FOLLOWERS)) {
-        @SuppressWarnings("unchecked")
-        List<EntityReference> entityReferences = (List<EntityReference>) fieldChange.getOldValue();
+        List<EntityReference> entityReferences =
+            JsonUtils.convertValue(fieldChange.getOldValue(), new TypeReference<List<EntityReference>>() {});
         for (EntityReference follower : entityReferences) {
           fieldAddParams.put(fieldChange.getName(), follower.getId().toString());
         }
@@ -284,7 +323,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
 
     for (FieldChange fieldChange : changeDescription.getFieldsUpdated()) {
       if (fieldChange.getName().equalsIgnoreCase(FIELD_USAGE_SUMMARY)) {
-        UsageDetails usageSummary = (UsageDetails) fieldChange.getNewValue();
+        UsageDetails usageSummary = JsonUtils.convertValue(fieldChange.getNewValue(), UsageDetails.class);
         fieldAddParams.put(fieldChange.getName(), JsonUtils.getMap(usageSummary));
         scriptTxt.append("ctx._source.usageSummary = params.usageSummary;");
       }
@@ -320,7 +359,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         tableIndex = new TableIndex((Table) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(tableIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(tableIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -353,7 +392,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         topicIndex = new TopicIndex((Topic) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(topicIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(topicIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -386,7 +425,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         dashboardIndex = new DashboardIndex((Dashboard) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(dashboardIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(dashboardIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -418,7 +457,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         pipelineIndex = new PipelineIndex((Pipeline) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(pipelineIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(pipelineIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -451,7 +490,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         userIndex = new UserIndex((User) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(userIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(userIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -479,7 +518,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         teamIndex = new TeamIndex((Team) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(teamIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(teamIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -508,7 +547,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(glossaryTermIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(glossaryTermIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -552,7 +591,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         mlModelIndex = new MlModelIndex((MlModel) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(mlModelIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(mlModelIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -585,7 +624,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         containerIndex = new ContainerIndex((Container) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(containerIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(containerIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -618,7 +657,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         queryIndex = new QueryIndex((Query) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(queryIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(queryIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -651,7 +690,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     switch (event.getEventType()) {
       case ENTITY_CREATED:
         tagIndex = new TagIndex((Tag) event.getEntity());
-        updateRequest.doc(JsonUtils.pojoToJson(tagIndex.buildESDoc()), XContentType.JSON);
+        updateRequest.doc(tagIndex.buildESDocJson(), XContentType.JSON);
         updateRequest.docAsUpsert(true);
         updateElasticSearch(updateRequest);
         break;
@@ -682,6 +721,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
               ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName,
               ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName
             };
+        flushPendingWrites();
         BulkRequest request = new BulkRequest();
         SearchRequest searchRequest;
         SearchResponse response;
@@ -825,6 +865,10 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     }
   }
 
+  /**
+   * Updates keep building the map of the document: the fields are passed to the script as parameters, which must be
+   * plain maps, lists and values, while creates write the JSON of {@link ElasticSearchIndex#buildESDocJson()}.
+   */
   private void scriptedUpsert(Object doc, UpdateRequest updateRequest) {
     String scriptTxt = "for (k in params.keySet()) { ctx._source.put(k, params.get(k)) }";
     Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, JsonUtils.getMap(doc));
@@ -850,28 +894,131 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
   }
 
   private void softDeleteEntity(UpdateRequest updateRequest) {
-    String scriptTxt = "ctx._source.deleted=true";
-    Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, new HashMap<>());
+    String scriptTxt = "ctx._source.deleted=params.deleted";
+    Map<String, Object> params = new HashMap<>();
+    params.put("deleted", true);
+    Script script = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, scriptTxt, params);
     updateRequest.script(script);
   }
 
-  private void updateElasticSearch(UpdateRequest updateRequest) throws IOException {
+  private void updateElasticSearch(UpdateRequest updateRequest) {
     if (updateRequest != null) {
-      LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, updateRequest);
-      client.update(updateRequest, RequestOptions.DEFAULT);
+      addPendingWrite(updateRequest);
     }
   }
 
-  private void deleteEntityFromElasticSearch(DeleteRequest deleteRequest) throws IOException {
+  private void deleteEntityFromElasticSearch(DeleteRequest deleteRequest) {
     if (deleteRequest != null) {
-      LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
-      client.delete(deleteRequest, RequestOptions.DEFAULT);
+      addPendingWrite(deleteRequest);
+    }
+  }
+
+  private void addPendingWrite(DocWriteRequest<?> request) {
+    List<DocWriteRequest<?>> writes =
+        pendingWrites.computeIfAbsent(request.index() + "/" + request.id(), k -> new ArrayList<>());
+    if (supersedes(request, writes)) {
+      writes.clear();
+    }
+    writes.add(request);
+  }
+
+  /**
+   * A delete supersedes the earlier writes of the document. A scripted upsert puts the fields of the new document
+   * without removing the others, so it only supersedes the earlier updates that set none of the other fields.
+   */
+  private static boolean supersedes(DocWriteRequest<?> request, List<DocWriteRequest<?>> earlierWrites) {
+    if (request instanceof DeleteRequest) {
+      return true;
+    }
+    if (!((UpdateRequest) request).scriptedUpsert()) {
+      return false;
+    }
+    Set<String> fields = getUpdatedFields(request);
+    for (DocWriteRequest<?> earlier : earlierWrites) {
+      Set<String> earlierFields = getUpdatedFields(earlier);
+      if (earlierFields == null || !fields.containsAll(earlierFields)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Top level fields set by an update, which are the params of its script or the fields of its doc */
+  private static Set<String> getUpdatedFields(DocWriteRequest<?> request) {
+    if (!(request instanceof UpdateRequest)) {
+      return null;
+    }
+    UpdateRequest updateRequest = (UpdateRequest) request;
+    if (updateRequest.script() != null) {
+      return updateRequest.script().getParams().keySet();
+    }
+    return updateRequest.doc() == null ? null : updateRequest.doc().sourceAsMap().keySet();
+  }
+
+  /** Send the pending document writes in one bulk request */
+  private void flushPendingWrites() throws IOException {
+    if (pendingWrites.isEmpty()) {
+      return;
+    }
+    BulkRequest bulkRequest = new BulkRequest();
+    for (List<DocWriteRequest<?>> writes : pendingWrites.values()) {
+      for (DocWriteRequest<?> write : writes) {
+        // Refresh policy is set on the bulk request, items of a bulk request must not have one
+        WriteRequest<?> writeRequest = (WriteRequest<?>) write;
+        if (writeRequest.getRefreshPolicy() != WriteRequest.RefreshPolicy.NONE) {
+          bulkRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+          writeRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+        }
+        bulkRequest.add(write);
+      }
+    }
+    pendingWrites.clear();
+    LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, bulkRequest);
+    BulkResponse response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+    if (response.hasFailures()) {
+      handleBulkFailures(response);
+    }
+  }
+
+  /**
+   * Record the documents that failed to be written. When a failure is transient, the batch is retried and the writes
+   * that succeeded are written again. The writes set fields to their values in the events, and add or remove followers
+   * only when they are missing or present, so writing them again leaves the documents with the same state.
+   */
+  private void handleBulkFailures(BulkResponse response) {
+    boolean retriable = false;
+    int failed = 0;
+    for (BulkItemResponse item : response.getItems()) {
+      if (!item.isFailed()) {
+        continue;
+      }
+      failed++;
+      RestStatus status = item.status();
+      if (status == RestStatus.NOT_FOUND) {
+        LOG.error("Missing Document {} in index {}", item.getId(), item.getIndex());
+      } else if (status == RestStatus.GATEWAY_TIMEOUT
+          || status == RestStatus.REQUEST_TIMEOUT
+          || status == RestStatus.TOO_MANY_REQUESTS) {
+        retriable = true;
+      }
+    }
+    String failureMessage =
+        String.format(
+            "Failed to write %d of %d documents to ES. Reason[%s]",
+            failed, response.getItems().length, response.buildFailureMessage());
+    LOG.error(failureMessage);
+    String contextInfo = String.format("Bulk write of %d documents", response.getItems().length);
+    updateElasticSearchFailureStatus(contextInfo, Status.ACTIVE_WITH_ERROR, failureMessage);
+    if (retriable) {
+      throw new ElasticSearchRetriableException(failureMessage);
     }
   }
 
   private void deleteEntityFromElasticSearchByQuery(DeleteByQueryRequest deleteRequest) throws IOException {
     if (deleteRequest != null) {
+      // The query may match documents with pending writes, which must not be written after they are deleted
+      flushPendingWrites();
       LOG.debug(SENDING_REQUEST_TO_ELASTIC_SEARCH, deleteRequest);
       deleteRequest.setRefresh(true);
       client.deleteByQuery(deleteRequest, RequestOptions.DEFAULT);
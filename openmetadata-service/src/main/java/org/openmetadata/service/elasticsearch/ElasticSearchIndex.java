@@ -1,7 +1,17 @@
 package org.openmetadata.service.elasticsearch;
 
+import java.io.IOException;
 import java.util.Map;
+import org.openmetadata.service.util.JsonUtils;
 
 public interface ElasticSearchIndex {
   Map<String, Object> buildESDoc();
+
+  /**
+   * JSON of the search document. Indexes of entities that can be large write it straight from the entity instead of
+   * building the map of the document first.
+   */
+  default byte[] buildESDocJson() throws IOException {
+    return JsonUtils.pojoToJsonBytes(buildESDoc());
+  }
 }
@@ -14,12 +14,16 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.jackson.Jacksonized;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang.exception.ExceptionUtils;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -196,7 +200,11 @@ public class ElasticSearchIndexDefinition {
       gRequest.local(false);
       boolean exists = client.indices().exists(gRequest, RequestOptions.DEFAULT);
       if (exists) {
-        DeleteIndexRequest request = new DeleteIndexRequest(elasticSearchIndexType.indexName);
+        // When the index was rebuilt, the name is an alias of the versioned index
+        Set<String> indexes = getAliasedIndexes(elasticSearchIndexType.indexName);
+        DeleteIndexRequest request =
+            new DeleteIndexRequest(
+                indexes.isEmpty() ? new String[] {elasticSearchIndexType.indexName} : indexes.toArray(new String[0]));
         AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
         LOG.info("{} Deleted {}", elasticSearchIndexType.indexName, deleteIndexResponse.isAcknowledged());
       }
@@ -208,6 +216,73 @@ public class ElasticSearchIndexDefinition {
     }
   }
 
+  /**
+   * Create a new versioned index with the mapping of the index type, for a reindexing job to build into while the
+   * searches and the updates keep using the current index. The versioned index replaces the current one when the job
+   * calls {@link #swapIndex}.
+   */
+  public String createVersionedIndex(ElasticSearchIndexType elasticSearchIndexType, String lang) throws IOException {
+    String versionedIndex = elasticSearchIndexType.indexName + "_" + System.currentTimeMillis();
+    CreateIndexRequest request = new CreateIndexRequest(versionedIndex);
+    request.source(getIndexMapping(elasticSearchIndexType, lang), XContentType.JSON);
+    CreateIndexResponse createIndexResponse = client.indices().create(request, RequestOptions.DEFAULT);
+    LOG.info("{} Created {}", versionedIndex, createIndexResponse.isAcknowledged());
+    return versionedIndex;
+  }
+
+  /**
+   * Point the name of the index type to the versioned index in one atomic update of the aliases, then delete the
+   * indexes it pointed to before. The name is a plain index until the first rebuild, it is removed in the same update.
+   */
+  public void swapIndex(ElasticSearchIndexType elasticSearchIndexType, String versionedIndex) throws IOException {
+    String alias = elasticSearchIndexType.indexName;
+    Set<String> previousIndexes = getAliasedIndexes(alias);
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    request.addAliasAction(AliasActions.add().index(versionedIndex).alias(alias));
+    if (previousIndexes.isEmpty()) {
+      GetIndexRequest gRequest = new GetIndexRequest(alias);
+      gRequest.local(false);
+      if (client.indices().exists(gRequest, RequestOptions.DEFAULT)) {
+        request.addAliasAction(AliasActions.removeIndex().index(alias));
+      }
+    } else {
+      previousIndexes.forEach(index -> request.addAliasAction(AliasActions.remove().index(index).alias(alias)));
+    }
+    AcknowledgedResponse response = client.indices().updateAliases(request, RequestOptions.DEFAULT);
+    LOG.info("{} Swapped to {} {}", alias, versionedIndex, response.isAcknowledged());
+    for (String previousIndex : previousIndexes) {
+      deleteVersionedIndex(previousIndex);
+    }
+  }
+
+  /** Delete a versioned index, for one that is no longer used or whose rebuild was abandoned */
+  public void deleteVersionedIndex(String versionedIndex) {
+    try {
+      AcknowledgedResponse response =
+          client.indices().delete(new DeleteIndexRequest(versionedIndex), RequestOptions.DEFAULT);
+      LOG.info("{} Deleted {}", versionedIndex, response.isAcknowledged());
+    } catch (Exception e) {
+      LOG.error("Failed to delete Elastic Search index {}", versionedIndex, e);
+    }
+  }
+
+  public boolean indexExists(String index) throws IOException {
+    GetIndexRequest gRequest = new GetIndexRequest(index);
+    gRequest.local(false);
+    return client.indices().exists(gRequest, RequestOptions.DEFAULT);
+  }
+
+  private Set<String> getAliasedIndexes(String alias) throws IOException {
+    GetAliasesRequest request = new GetAliasesRequest(alias);
+    if (!client.indices().existsAlias(request, RequestOptions.DEFAULT)) {
+      return Set.of();
+    }
+    return client.indices().getAlias(request, RequestOptions.DEFAULT).getAliases().entrySet().stream()
+        .filter(entry -> !entry.getValue().isEmpty())
+        .map(Map.Entry::getKey)
+        .collect(Collectors.toSet());
+  }
+
   private void setIndexStatus(ElasticSearchIndexType indexType, ElasticSearchIndexStatus elasticSearchIndexStatus) {
     elasticSearchIndexes.put(indexType, elasticSearchIndexStatus);
   }
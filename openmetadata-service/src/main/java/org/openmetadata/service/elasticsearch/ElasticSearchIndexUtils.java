@@ -1,11 +1,15 @@
 package org.openmetadata.service.elasticsearch;
 
+import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.service.util.JsonUtils;
 
 public final class ElasticSearchIndexUtils {
 
@@ -24,6 +28,18 @@ public final class ElasticSearchIndexUtils {
     }
   }
 
+  /**
+   * JSON of the search document of an entity: the entity without the excluded fields, and the search fields in place of
+   * the fields of the entity with the same names. Same document as removing the excluded fields from the map of the
+   * entity and putting the search fields, written in one pass over the entity.
+   */
+  public static byte[] buildESDocJson(Object entity, List<String> excludeFields, Map<String, Object> searchFields)
+      throws IOException {
+    Set<String> skippedFields = new HashSet<>(excludeFields);
+    skippedFields.addAll(searchFields.keySet());
+    return JsonUtils.pojoToJsonBytes(entity, skippedFields, searchFields);
+  }
+
   public static List<TagLabel> parseTags(List<TagLabel> tags) {
     if (tags == null) {
       return Collections.emptyList();
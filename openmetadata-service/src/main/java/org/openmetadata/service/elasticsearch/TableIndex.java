@@ -1,6 +1,8 @@
 package org.openmetadata.service.elasticsearch;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
@@ -25,12 +27,24 @@ public class TableIndex implements ColumnIndex {
 
   public Map<String, Object> buildESDoc() {
     Map<String, Object> doc = JsonUtils.getMap(table);
+    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
+    doc.putAll(getSearchFields());
+    return doc;
+  }
+
+  @Override
+  public byte[] buildESDocJson() throws IOException {
+    return ElasticSearchIndexUtils.buildESDocJson(table, excludeFields, getSearchFields());
+  }
+
+  /** Fields of the search document that are not fields of the table, or replace them */
+  private Map<String, Object> getSearchFields() {
+    Map<String, Object> doc = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     List<ElasticSearchSuggest> columnSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> schemaSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> databaseSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> serviceSuggest = new ArrayList<>();
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeFields);
 
     if (table.getColumns() != null) {
       List<FlattenColumn> cols = new ArrayList<>();
@@ -1,6 +1,8 @@
 package org.openmetadata.service.elasticsearch;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,13 +24,25 @@ public class TopicIndex implements ElasticSearchIndex {
 
   public Map<String, Object> buildESDoc() {
     Map<String, Object> doc = JsonUtils.getMap(topic);
+    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeTopicFields);
+    doc.putAll(getSearchFields());
+    return doc;
+  }
+
+  @Override
+  public byte[] buildESDocJson() throws IOException {
+    return ElasticSearchIndexUtils.buildESDocJson(topic, excludeTopicFields, getSearchFields());
+  }
+
+  /** Fields of the search document that are not fields of the topic, or replace them */
+  private Map<String, Object> getSearchFields() {
+    Map<String, Object> doc = new LinkedHashMap<>();
     List<ElasticSearchSuggest> suggest = new ArrayList<>();
     List<ElasticSearchSuggest> fieldSuggest = new ArrayList<>();
     List<ElasticSearchSuggest> serviceSuggest = new ArrayList<>();
     suggest.add(ElasticSearchSuggest.builder().input(topic.getFullyQualifiedName()).weight(5).build());
     suggest.add(ElasticSearchSuggest.builder().input(topic.getName()).weight(10).build());
     serviceSuggest.add(ElasticSearchSuggest.builder().input(topic.getService().getName()).weight(5).build());
-    ElasticSearchIndexUtils.removeNonIndexableFields(doc, excludeTopicFields);
 
     if (topic.getMessageSchema() != null
         && topic.getMessageSchema().getSchemaFields() != null
@@ -16,7 +16,10 @@ public abstract class AbstractEventPublisher implements EventPublisher {
   protected static final int BACKOFF_5_MINUTES = 5 * 60 * 1000;
   protected static final int BACKOFF_1_HOUR = 60 * 60 * 1000;
   protected static final int BACKOFF_24_HOUR = 24 * 60 * 60 * 1000;
+  // Events kept while waiting to retry a failed batch
+  private static final int MAX_PENDING_EVENTS = 10000;
   protected int currentBackoffTime = BACKOFF_NORMAL;
+  protected long nextRetryTime = 0;
   protected final List<ChangeEvent> batch = new ArrayList<>();
   private final int batchSize;
 
@@ -24,6 +27,11 @@ public abstract class AbstractEventPublisher implements EventPublisher {
     this.batchSize = batchSize;
   }
 
+  @Override
+  public int getBatchSize() {
+    return batchSize;
+  }
+
   @Override
   public void onEvent(EventPubSub.ChangeEventHolder changeEventHolder, long sequence, boolean endOfBatch)
       throws Exception {
@@ -35,15 +43,22 @@ public abstract class AbstractEventPublisher implements EventPublisher {
     if (!endOfBatch && batch.size() < batchSize) {
       return;
     }
+    // Do not block the ring buffer while waiting to retry, the failed batch is sent with the next events
+    if (System.currentTimeMillis() < nextRetryTime) {
+      dropOldestPendingEvents();
+      return;
+    }
 
     EventList list = new EventList(batch, null, null, batch.size());
     try {
       publish(list);
       batch.clear();
+      currentBackoffTime = BACKOFF_NORMAL;
+      nextRetryTime = 0;
     } catch (RetriableException ex) {
       setNextBackOff();
+      nextRetryTime = System.currentTimeMillis() + currentBackoffTime;
       LOG.error("Failed to publish event {} due to {}, will try again in {} ms", changeEvent, ex, currentBackoffTime);
-      Thread.sleep(currentBackoffTime);
     } catch (Exception e) {
       LOG.error(
           "Failed to publish event type {} for entity {}", changeEvent.getEventType(), changeEvent.getEntityType());
@@ -51,6 +66,13 @@ public abstract class AbstractEventPublisher implements EventPublisher {
     }
   }
 
+  private void dropOldestPendingEvents() {
+    if (batch.size() > MAX_PENDING_EVENTS) {
+      LOG.warn("Dropping {} events waiting to be published again", batch.size() - MAX_PENDING_EVENTS);
+      batch.subList(0, batch.size() - MAX_PENDING_EVENTS).clear();
+    }
+  }
+
   protected void setNextBackOff() {
     if (currentBackoffTime == BACKOFF_NORMAL) {
       currentBackoffTime = BACKOFF_3_SECONDS;
@@ -0,0 +1,490 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import static org.openmetadata.service.events.ChangeEventLog.CHANGE_EVENT_DEAD_LETTER_EXTENSION;
+import static org.openmetadata.service.events.ChangeEventLog.CHANGE_EVENT_OFFSET_EXTENSION;
+
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.events.errors.RetriableException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventRecord;
+import org.openmetadata.service.resources.events.EventResource.EventList;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Reads the change event log from the offset of a consumer and delivers the events to its {@link EventPublisher} in
+ * batches. The offset is the sequence number of the last delivered event, which the database assigns when the event is
+ * inserted in change_event. It moves forward only after a batch is published, so events are delivered at least once.
+ * An event that is inserted but not committed yet leaves a gap in the sequence numbers after the offset. Events are
+ * delivered up to the first gap. Change events are inserted by short batch inserts that commit within {@link
+ * #TRANSACTION_WINDOW}, so a gap is skipped once an event recorded after it has been read for longer than that, such
+ * as for an insert that was rolled back. All the gaps before that event are skipped together.
+ *
+ * <p>The consumer runs as a series of tasks on the scheduler of the {@link ChangeEventLog} and never sleeps on a
+ * thread. Publishers that post to remote endpoints complete {@link EventPublisher#publishAsync} once the endpoint
+ * answers, and the consumer goes on from the response without waiting for it. When a batch fails with a {@link
+ * RetriableException}, the batch is parked: the offset stays before it and the next attempt is scheduled after {@link
+ * #BACKOFF_TIMES}, so the events stay in order and the retry state survives restarts. When all the attempts fail, or
+ * the batch fails with any other error, the batch is stored as a dead letter and the consumer moves on.
+ *
+ * <p>A {@link ChangeEventReplay} stored with the offset delivers the events of a past time range again, at a limited
+ * rate, before the consumer goes on from its offset.
+ *
+ * <p>In a cluster, the server that holds the lease on the offset delivers the events, and the other servers take over
+ * when the lease is not renewed.
+ */
+@Slf4j
+public class ChangeEventConsumer {
+  /** Longest time an insert of change events stays uncommitted */
+  static final long TRANSACTION_WINDOW = 10 * 1000L;
+  static final long POLL_INTERVAL = 500;
+  static final long LEASE_TIME = 60 * 1000L;
+  static final long[] BACKOFF_TIMES = {
+    3 * 1000L, 30 * 1000L, 5 * 60 * 1000L, 60 * 60 * 1000L, 24 * 60 * 60 * 1000L
+  };
+
+  private final CollectionDAO dao;
+  @Getter private final String consumerId;
+  private final String owner;
+  private final EventPublisher publisher;
+  private final Counter retryCounter;
+  private final Counter deadLetterCounter;
+  private volatile ChangeEventOffset offset;
+  private long lastDeadLetter;
+  /** Highest sequence number read so far and when it was first read, for each read that saw a higher one */
+  private final Deque<long[]> sightings = new ArrayDeque<>();
+  private long batchSequence;
+  private volatile boolean running = true;
+  private ScheduledExecutorService scheduler;
+  private ScheduledFuture<?> nextRun;
+  private boolean consuming = false;
+  private boolean started = false;
+
+  public ChangeEventConsumer(CollectionDAO dao, String consumerId, String owner, EventPublisher publisher) {
+    this.dao = dao;
+    this.consumerId = consumerId;
+    this.owner = owner;
+    this.publisher = publisher;
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    this.retryCounter = registry == null ? null : counter(registry, "change_event_publish_retries");
+    this.deadLetterCounter = registry == null ? null : counter(registry, "change_event_dead_letters");
+  }
+
+  private Counter counter(MeterRegistry registry, String name) {
+    return Counter.builder(name).tag("consumer", consumerId).register(registry);
+  }
+
+  public synchronized void start(ScheduledExecutorService executor) {
+    this.scheduler = executor;
+    nextRun = scheduler.schedule(this::run, 0, TimeUnit.MILLISECONDS);
+  }
+
+  private void run() {
+    synchronized (this) {
+      consuming = running;
+    }
+    if (!consuming) {
+      // Halted after this run started, so halt() could not cancel it and left the shutdown to this run
+      stop();
+      return;
+    }
+    CompletableFuture<Long> next;
+    try {
+      if (!started) {
+        started = true;
+        publisher.onStart();
+      }
+      next = consumeNext(System.currentTimeMillis());
+    } catch (Exception e) {
+      next = CompletableFuture.failedFuture(e);
+    }
+    next.whenComplete(
+        (delay, e) -> {
+          if (e != null) {
+            LOG.error("Failed to consume change events for {}, will try again", consumerId, e);
+            offset = null;
+          }
+          scheduleNext(e == null ? delay : POLL_INTERVAL);
+        });
+  }
+
+  private void scheduleNext(long delay) {
+    synchronized (this) {
+      consuming = false;
+      if (running) {
+        nextRun = scheduler.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+        return;
+      }
+    }
+    stop();
+  }
+
+  /**
+   * Deliver the next batch of events. Completes with the time in milliseconds to wait before the next batch once the
+   * batch is published.
+   */
+  CompletableFuture<Long> consumeNext(long now) throws IOException {
+    if (!acquireLease()) {
+      return CompletableFuture.completedFuture(POLL_INTERVAL);
+    }
+    if (offset.getNextAttempt() > now) {
+      // Wake up before the lease expires while the failed batch is parked
+      return CompletableFuture.completedFuture(Math.min(offset.getNextAttempt() - now, LEASE_TIME / 4));
+    }
+    // A requested replay of past events is delivered before the events after the offset
+    ChangeEventReplay replay = offset.getReplay() != null && offset.getReplay().isRunning() ? offset.getReplay() : null;
+    List<ChangeEvent> events = replay != null ? readReplayEvents(replay, now) : readNewEvents(now);
+    if (events.isEmpty()) {
+      if (replay != null) {
+        replay.setStatus(ChangeEventReplay.Status.COMPLETED);
+        replay.setEndTime(now);
+        LOG.info("Replayed {} change events for {}", replay.getEventsReplayed(), consumerId);
+        storeOffset(offset.getOffset(), offset.getSequence(), 0, 0);
+        return CompletableFuture.completedFuture(0L);
+      }
+      return CompletableFuture.completedFuture(POLL_INTERVAL);
+    }
+    // The offset is stored on the scheduler once the publisher is done, no thread waits for the publisher meanwhile
+    CompletableFuture<Long> next = new CompletableFuture<>();
+    publish(events)
+        .whenCompleteAsync(
+            (published, e) -> {
+              try {
+                next.complete(onPublished(events, replay, e instanceof CompletionException ? e.getCause() : e));
+              } catch (Exception failure) {
+                next.completeExceptionally(failure);
+              }
+            },
+            this::execute);
+    return next;
+  }
+
+  /** Move the offset past the published batch, or park it after a failure. Returns the time to wait. */
+  private long onPublished(List<ChangeEvent> events, ChangeEventReplay replay, Throwable failure) throws IOException {
+    if (!running) {
+      // Halted while publishing, the batch is delivered again on restart
+      return 0;
+    }
+    int attempts = offset.getAttempts();
+    if (failure instanceof RetriableException && attempts < BACKOFF_TIMES.length) {
+      long nextAttempt = System.currentTimeMillis() + BACKOFF_TIMES[attempts];
+      LOG.warn(
+          "Failed to publish events for {} due to {}, will try again in {} ms",
+          consumerId,
+          failure.getMessage(),
+          BACKOFF_TIMES[attempts]);
+      increment(retryCounter);
+      publisher.onRetryScheduled(nextAttempt);
+      storeOffset(offset.getOffset(), offset.getSequence(), attempts + 1, nextAttempt);
+      return POLL_INTERVAL;
+    }
+    if (failure != null) {
+      LOG.error("Failed to publish events for {}, storing the batch as a dead letter", consumerId, failure);
+      storeDeadLetter(events, failure, attempts + 1);
+    }
+    long last = events.get(events.size() - 1).getTimestamp();
+    boolean stored;
+    if (replay != null) {
+      replay.setPosition(replay.getToOffset() != null ? batchSequence : last);
+      replay.setEventsReplayed(replay.getEventsReplayed() + events.size());
+      stored = storeOffset(offset.getOffset(), offset.getSequence(), 0, 0);
+    } else {
+      stored = storeOffset(last, batchSequence, 0, 0);
+    }
+    if (!stored) {
+      LOG.warn("Change event consumer {} lost the lease on its offset to another server", consumerId);
+    }
+    // Replays are rate limited so that they do not overload the publisher
+    return replay != null ? events.size() * 1000L / replay.getEventsPerSecond() : 0;
+  }
+
+  /**
+   * Stop consuming. A batch that is being published is not acknowledged and is delivered again on restart. The
+   * publisher is shut down once the batch being published is done.
+   */
+  public synchronized void halt() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    if (!consuming && nextRun != null && nextRun.cancel(false)) {
+      scheduler.execute(this::stop);
+    }
+  }
+
+  private void stop() {
+    releaseLease();
+    publisher.onShutdown();
+  }
+
+  /** Time in milliseconds between now and the last delivered event */
+  double getLag() {
+    ChangeEventOffset current = offset;
+    return current == null ? Double.NaN : System.currentTimeMillis() - current.getOffset();
+  }
+
+  /**
+   * Read the next batch of events after the offset, up to the first gap in their sequence numbers that may still be
+   * filled. The sequence number of the last event is kept in {@link #batchSequence}.
+   */
+  private List<ChangeEvent> readNewEvents(long now) throws IOException {
+    List<ChangeEventRecord> records =
+        dao.changeEventDAO().listAfterOffset(offset.getSequence(), publisher.getBatchSize());
+    if (!records.isEmpty()) {
+      recordSighting(records.get(records.size() - 1).getOffset(), now);
+    }
+    long expected = offset.getSequence() + 1;
+    List<ChangeEvent> events = new ArrayList<>();
+    for (ChangeEventRecord changeEventRecord : records) {
+      if (changeEventRecord.getOffset() != expected) {
+        if (!isAbandoned(changeEventRecord.getOffset() - 1, now)) {
+          break;
+        }
+        LOG.warn(
+            "Change event consumer {} skipped the events {} to {} that were never recorded",
+            consumerId,
+            expected,
+            changeEventRecord.getOffset() - 1);
+      }
+      ChangeEvent event = JsonUtils.readValue(changeEventRecord.getJson(), ChangeEvent.class);
+      resolveEntity(event);
+      events.add(event);
+      batchSequence = changeEventRecord.getOffset();
+      expected = changeEventRecord.getOffset() + 1;
+    }
+    return events;
+  }
+
+  /** Remember when a sequence number was first read, and forget the ones that are delivered */
+  private void recordSighting(long sequence, long now) {
+    while (!sightings.isEmpty() && sightings.peekFirst()[0] <= offset.getSequence()) {
+      sightings.pollFirst();
+    }
+    if (sightings.isEmpty() || sightings.peekLast()[0] < sequence) {
+      sightings.addLast(new long[] {sequence, now});
+    }
+  }
+
+  /**
+   * A missing sequence number was assigned to an insert that started before the inserts of the higher numbers. It is
+   * abandoned, such as by a rollback, when a higher number was read more than {@link #TRANSACTION_WINDOW} ago.
+   */
+  private boolean isAbandoned(long missing, long now) {
+    for (long[] sighting : sightings) {
+      if (sighting[0] > missing) {
+        return now - sighting[1] >= TRANSACTION_WINDOW;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Read the events of a replay after the given time up to the given time. When the batch is full, the events with the
+   * last timestamp are left for the next batch so that the position never splits the events with the same timestamp.
+   */
+  private List<ChangeEvent> readEvents(long after, long before) throws IOException {
+    int batchSize = publisher.getBatchSize();
+    List<ChangeEvent> events =
+        JsonUtils.readObjects(dao.changeEventDAO().listAfter(after, before, batchSize), ChangeEvent.class);
+    if (events.size() == batchSize) {
+      long last = events.get(events.size() - 1).getTimestamp();
+      events.removeIf(event -> event.getTimestamp() == last);
+      if (events.isEmpty()) {
+        events = JsonUtils.readObjects(dao.changeEventDAO().listAt(last), ChangeEvent.class);
+      }
+    }
+    for (ChangeEvent event : events) {
+      resolveEntity(event);
+    }
+    return events;
+  }
+
+  /** Read the next batch of events of a replay, by their sequence numbers or by their timestamps */
+  private List<ChangeEvent> readReplayEvents(ChangeEventReplay replay, long now) throws IOException {
+    if (replay.getToOffset() == null) {
+      return readEvents(replay.getPosition(), Math.min(replay.getEndTs(), now));
+    }
+    List<ChangeEvent> events = new ArrayList<>();
+    for (ChangeEventRecord changeEventRecord :
+        dao.changeEventDAO().listAfterOffset(replay.getPosition(), publisher.getBatchSize())) {
+      if (changeEventRecord.getOffset() > replay.getToOffset()) {
+        break;
+      }
+      ChangeEvent event = JsonUtils.readValue(changeEventRecord.getJson(), ChangeEvent.class);
+      resolveEntity(event);
+      events.add(event);
+      batchSequence = changeEventRecord.getOffset();
+    }
+    return events;
+  }
+
+  /** The entity is stored in the change event as masked JSON. Read it back to the entity class publishers expect. */
+  private static void resolveEntity(ChangeEvent event) throws IOException {
+    if (event.getEntity() instanceof String) {
+      Class<? extends EntityInterface> entityClass = Entity.getEntityClassFromType(event.getEntityType());
+      if (entityClass != null) {
+        event.setEntity(JsonUtils.readValue((String) event.getEntity(), entityClass));
+      }
+    }
+  }
+
+  /** Publish the events in batches of the publisher, each batch once the previous one is published */
+  private CompletableFuture<Void> publish(List<ChangeEvent> events) {
+    CompletableFuture<Void> published = CompletableFuture.completedFuture(null);
+    try {
+      List<ChangeEvent> filtered = events.stream().filter(publisher::shouldPublish).collect(Collectors.toList());
+      for (List<ChangeEvent> batch : Lists.partition(filtered, publisher.getBatchSize())) {
+        published =
+            published.thenCompose(
+                v ->
+                    running
+                        ? publisher.publishAsync(new EventList(batch, null, null, batch.size()))
+                        : CompletableFuture.completedFuture(null));
+      }
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+    return published;
+  }
+
+  /** Run a task on the scheduler, or on the calling thread when there is no scheduler or it is shut down */
+  private void execute(Runnable task) {
+    if (scheduler != null) {
+      try {
+        scheduler.execute(task);
+        return;
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Scheduler of change event consumer {} is shut down", consumerId);
+      }
+    }
+    task.run();
+  }
+
+  private void storeDeadLetter(List<ChangeEvent> events, Throwable failure, int attempts) throws IOException {
+    ChangeEventDeadLetter deadLetter = new ChangeEventDeadLetter();
+    deadLetter.setConsumerId(consumerId);
+    deadLetter.setEvents(events);
+    deadLetter.setFailure(String.valueOf(failure.getMessage()));
+    deadLetter.setAttempts(attempts);
+    // Records of the same consumer need distinct timestamps
+    lastDeadLetter = Math.max(System.currentTimeMillis(), lastDeadLetter + 1);
+    deadLetter.setTimestamp(lastDeadLetter);
+    dao.entityExtensionTimeSeriesDao()
+        .insert(
+            consumerId, CHANGE_EVENT_DEAD_LETTER_EXTENSION, "changeEventDeadLetter", JsonUtils.pojoToJson(deadLetter));
+    increment(deadLetterCounter);
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  /** Take or renew the lease on the offset. Returns false when another server holds the lease. */
+  private boolean acquireLease() throws IOException {
+    long now = System.currentTimeMillis();
+    if (offset != null && owner.equals(offset.getOwner()) && offset.getLeaseExpiry() - now > LEASE_TIME / 2) {
+      return true;
+    }
+    String json = dao.entityExtensionTimeSeriesDao().getExtension(consumerId, CHANGE_EVENT_OFFSET_EXTENSION);
+    if (json == null) {
+      // New consumers deliver the events from now on
+      offset = newOffset(now, dao.changeEventDAO().getOffsetBefore(now), now, now);
+      dao.entityExtensionTimeSeriesDao()
+          .insert(consumerId, CHANGE_EVENT_OFFSET_EXTENSION, "changeEventOffset", JsonUtils.pojoToJson(offset));
+      return true;
+    }
+    offset = JsonUtils.readValue(json, ChangeEventOffset.class);
+    if (!owner.equals(offset.getOwner()) && offset.getLeaseExpiry() > now) {
+      return false;
+    }
+    if (offset.getSequence() == null) {
+      // Offset stored before events had sequence numbers. The events recorded at the time of the offset may not all
+      // have been delivered, they are delivered again.
+      offset.setSequence(dao.changeEventDAO().getOffsetBefore(offset.getOffset()));
+    }
+    if (!owner.equals(offset.getOwner())) {
+      LOG.info("Change event consumer {} resumed from offset {}", consumerId, offset.getSequence());
+    }
+    return storeOffset(offset.getOffset(), offset.getSequence(), offset.getAttempts(), offset.getNextAttempt());
+  }
+
+  /**
+   * Store the offset and renew the lease. The record is only updated when it is unchanged since it was read, so a
+   * server that lost its lease does not move the offset of the server that took over.
+   */
+  private boolean storeOffset(long newOffset, long sequence, int attempts, long nextAttempt) throws IOException {
+    long now = System.currentTimeMillis();
+    ChangeEventOffset next = newOffset(newOffset, sequence, now, Math.max(now, offset.getTimestamp() + 1));
+    next.setAttempts(attempts);
+    next.setNextAttempt(nextAttempt);
+    next.setReplay(offset.getReplay());
+    int updated =
+        dao.entityExtensionTimeSeriesDao()
+            .update(consumerId, CHANGE_EVENT_OFFSET_EXTENSION, JsonUtils.pojoToJson(next), offset.getTimestamp());
+    offset = updated == 1 ? next : null;
+    return updated == 1;
+  }
+
+  /** Let another server or the next run of this server take over without waiting for the lease to expire */
+  private void releaseLease() {
+    if (offset == null || !owner.equals(offset.getOwner())) {
+      return;
+    }
+    try {
+      ChangeEventOffset released =
+          newOffset(offset.getOffset(), offset.getSequence(), 0, offset.getTimestamp() + 1);
+      released.setLeaseExpiry(0);
+      released.setAttempts(offset.getAttempts());
+      released.setNextAttempt(offset.getNextAttempt());
+      released.setReplay(offset.getReplay());
+      dao.entityExtensionTimeSeriesDao()
+          .update(consumerId, CHANGE_EVENT_OFFSET_EXTENSION, JsonUtils.pojoToJson(released), offset.getTimestamp());
+    } catch (Exception e) {
+      LOG.warn("Failed to release the lease of change event consumer {}", consumerId, e);
+    }
+  }
+
+  private ChangeEventOffset newOffset(long newOffset, long sequence, long now, long timestamp) {
+    ChangeEventOffset next = new ChangeEventOffset();
+    next.setOffset(newOffset);
+    next.setSequence(sequence);
+    next.setOwner(owner);
+    next.setLeaseExpiry(now + LEASE_TIME);
+    next.setTimestamp(timestamp);
+    return next;
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.openmetadata.schema.type.ChangeEvent;
+
+/** Batch of change events a consumer failed to deliver, stored in entity_extension_time_series */
+@Getter
+@Setter
+public class ChangeEventDeadLetter {
+  private String consumerId;
+
+  private List<ChangeEvent> events;
+
+  /** Error of the last delivery attempt */
+  private String failure;
+
+  private int attempts;
+
+  /** Time the batch was given up on, used as the timestamp of the record in entity_extension_time_series */
+  private long timestamp;
+}
@@ -19,6 +19,7 @@ import static org.openmetadata.schema.type.EventType.ENTITY_SOFT_DELETED;
 import static org.openmetadata.schema.type.EventType.ENTITY_UPDATED;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -48,6 +49,8 @@ import org.openmetadata.service.util.ChangeEventParser.PublishTo;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.NotificationHandler;
 import org.openmetadata.service.util.RestUtil;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
+import org.openmetadata.service.util.RestUtil.PutResponse;
 
 @Slf4j
 public class ChangeEventHandler implements EventHandler {
@@ -55,9 +58,11 @@ public class ChangeEventHandler implements EventHandler {
   private FeedRepository feedDao;
   private ObjectMapper mapper;
   private NotificationHandler notificationHandler;
+  private ChangeEventWriter changeEventWriter;
 
   public void init(OpenMetadataApplicationConfig config, Jdbi jdbi) {
     this.dao = jdbi.onDemand(CollectionDAO.class);
+    this.changeEventWriter = new ChangeEventWriter(dao);
     this.feedDao = new FeedRepository(dao);
     this.mapper = new ObjectMapper();
     this.notificationHandler = new NotificationHandler(jdbi.onDemand(CollectionDAO.class));
@@ -69,67 +74,88 @@ public class ChangeEventHandler implements EventHandler {
     String loggedInUserName = securityContext.getUserPrincipal().getName();
     try {
       notificationHandler.processNotifications(responseContext);
-      ChangeEvent changeEvent = getChangeEvent(loggedInUserName, method, responseContext);
-      if (changeEvent == null) {
+      if (responseContext.getEntity() instanceof BulkPutResponse) {
+        // Record a change event for each entity created or updated by a bulk request
+        BulkPutResponse<?> bulkResponse = (BulkPutResponse<?>) responseContext.getEntity();
+        for (PutResponse<?> response : bulkResponse.getResponses()) {
+          int status = response.getStatus().getStatusCode();
+          Object entity = response.getEntity();
+          ChangeEvent changeEvent = getChangeEvent(loggedInUserName, method, status, response.getChangeType(), entity);
+          recordChangeEvent(changeEvent, entity, response.getChangeType(), loggedInUserName);
+        }
         return null;
       }
-      // Always set the Change Event Username as context Principal, the one creating the CE
-      changeEvent.setUserName(loggedInUserName);
-      LOG.info(
-          "Recording change event {}:{}:{}:{}",
-          changeEvent.getTimestamp(),
-          changeEvent.getEntityId(),
-          changeEvent.getEventType(),
-          changeEvent.getEntityType());
-      EventPubSub.publish(changeEvent);
-      if (changeEvent.getEntity() != null) {
-        Object entity = changeEvent.getEntity();
-        changeEvent = copyChangeEvent(changeEvent);
-        changeEvent.setEntity(JsonUtils.pojoToMaskedJson(entity));
-      }
-      dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
+      String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
+      ChangeEvent changeEvent = getChangeEvent(loggedInUserName, method, responseContext);
+      recordChangeEvent(changeEvent, responseContext.getEntity(), changeType, loggedInUserName);
+    } catch (Exception e) {
+      LOG.error("Failed to capture change event for method {} due to ", method, e);
+    }
+    return null;
+  }
+
+  private void recordChangeEvent(
+      ChangeEvent changeEvent, Object responseEntity, String changeType, String loggedInUserName)
+      throws IOException, InterruptedException {
+    if (changeEvent == null) {
+      return;
+    }
+    // Always set the Change Event Username as context Principal, the one creating the CE
+    changeEvent.setUserName(loggedInUserName);
+    LOG.info(
+        "Recording change event {}:{}:{}:{}",
+        changeEvent.getTimestamp(),
+        changeEvent.getEntityId(),
+        changeEvent.getEventType(),
+        changeEvent.getEntityType());
+    EventPubSub.publish(changeEvent);
+    if (changeEvent.getEntity() != null) {
+      Object entity = changeEvent.getEntity();
+      changeEvent = copyChangeEvent(changeEvent);
+      changeEvent.setEntity(JsonUtils.pojoToMaskedJson(entity));
+    }
+    changeEventWriter.write(JsonUtils.pojoToJson(changeEvent));
 
-      // Add a new thread to the entity for every change event
-      // for the event to appear in activity feeds
-      if (Entity.shouldDisplayEntityChangeOnFeed(changeEvent.getEntityType())) {
-        // ignore usageSummary updates in the feed
-        boolean filterEnabled;
-        filterEnabled = AlertUtil.shouldProcessActivityFeedRequest(changeEvent);
-        if (filterEnabled) {
-          for (Thread thread : listOrEmpty(getThreads(responseContext, loggedInUserName))) {
-            // Don't create a thread if there is no message
-            if (thread.getMessage() != null && !thread.getMessage().isEmpty()) {
-              feedDao.create(thread);
-              String jsonThread = mapper.writeValueAsString(thread);
-              WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
-            }
+    // Add a new thread to the entity for every change event
+    // for the event to appear in activity feeds
+    if (Entity.shouldDisplayEntityChangeOnFeed(changeEvent.getEntityType())) {
+      // ignore usageSummary updates in the feed
+      boolean filterEnabled;
+      filterEnabled = AlertUtil.shouldProcessActivityFeedRequest(changeEvent);
+      if (filterEnabled) {
+        for (Thread thread : listOrEmpty(getThreads(responseEntity, changeType, loggedInUserName))) {
+          // Don't create a thread if there is no message
+          if (thread.getMessage() != null && !thread.getMessage().isEmpty()) {
+            feedDao.create(thread);
+            String jsonThread = mapper.writeValueAsString(thread);
+            WebSocketManager.getInstance().broadCastMessageToAll(WebSocketManager.FEED_BROADCAST_CHANNEL, jsonThread);
           }
         }
       }
-    } catch (Exception e) {
-      LOG.error("Failed to capture change event for method {} due to ", method, e);
     }
-    return null;
   }
 
   public ChangeEvent getChangeEvent(String updateBy, String method, ContainerResponseContext responseContext) {
+    String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
+    return getChangeEvent(updateBy, method, responseContext.getStatus(), changeType, responseContext.getEntity());
+  }
+
+  private ChangeEvent getChangeEvent(
+      String updateBy, String method, int responseCode, String changeType, Object responseEntity) {
     // GET operations don't produce change events
     if (method.equals("GET")) {
       return null;
     }
 
-    if (responseContext.getEntity() == null) {
+    if (responseEntity == null) {
       return null; // Response has no entity to produce change event from
     }
 
-    int responseCode = responseContext.getStatus();
-    String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
-
     // Entity was created by either POST .../entities or PUT .../entities
     if (responseCode == Status.CREATED.getStatusCode()
         && !RestUtil.ENTITY_FIELDS_CHANGED.equals(changeType)
-        && !responseContext.getEntity().getClass().equals(Thread.class)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+        && !responseEntity.getClass().equals(Thread.class)) {
+      EntityInterface entityInterface = (EntityInterface) responseEntity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -146,7 +172,7 @@ public class ChangeEventHandler implements EventHandler {
     // Entity was updated by either PUT .../entities or PATCH .../entities
     // Entity was soft deleted by DELETE .../entities/{id} that updated the attribute `deleted` to true
     if (changeType.equals(RestUtil.ENTITY_UPDATED) || changeType.equals(RestUtil.ENTITY_SOFT_DELETED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) responseEntity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -165,12 +191,12 @@ public class ChangeEventHandler implements EventHandler {
 
     // Entity field was updated by PUT .../entities/{id}/fieldName - Example PUT ../tables/{id}/follower
     if (changeType.equals(RestUtil.ENTITY_FIELDS_CHANGED)) {
-      return (ChangeEvent) responseContext.getEntity();
+      return (ChangeEvent) responseEntity;
     }
 
     // Entity was hard deleted by DELETE .../entities/{id}
     if (changeType.equals(RestUtil.ENTITY_DELETED)) {
-      EntityInterface entityInterface = (EntityInterface) responseContext.getEntity();
+      EntityInterface entityInterface = (EntityInterface) responseEntity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -205,8 +231,7 @@ public class ChangeEventHandler implements EventHandler {
         .withCurrentVersion(changeEvent.getCurrentVersion());
   }
 
-  private List<Thread> getThreads(ContainerResponseContext responseContext, String loggedInUserName) {
-    Object entity = responseContext.getEntity();
+  private List<Thread> getThreads(Object entity, String changeType, String loggedInUserName) {
     if (entity == null) {
       return Collections.emptyList(); // Response has no entity to produce change event from
     }
@@ -223,7 +248,6 @@ public class ChangeEventHandler implements EventHandler {
     }
 
     EntityInterface entityInterface = (EntityInterface) entity;
-    String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
     if (RestUtil.ENTITY_SOFT_DELETED.equals(changeType)) {
       String entityType = Entity.getEntityTypeFromClass(entity.getClass());
       String message = String.format("Soft deleted **%s**: `%s`", entityType, entityInterface.getFullyQualifiedName());
@@ -276,6 +300,10 @@ public class ChangeEventHandler implements EventHandler {
   }
 
   public void close() {
-    /* Nothing to do */
+    try {
+      changeEventWriter.close();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
   }
 }
@@ -0,0 +1,212 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Durable change event log built on the change_event table. Each consumer reads the events in batches from its own
+ * offset stored in entity_extension_time_series, so events are delivered at least once, consumers catch up on the
+ * events written while the server was down, and a slow consumer does not hold up the others or the producers.
+ * Consumers share a pool of scheduler threads, and a consumer waiting to retry a failed batch does not hold a thread.
+ */
+@Slf4j
+public class ChangeEventLog {
+  public static final String CHANGE_EVENT_OFFSET_EXTENSION = "changeEvent.offset";
+  public static final String CHANGE_EVENT_DEAD_LETTER_EXTENSION = "changeEvent.deadLetter";
+  public static final String SEARCH_INDEX_CONSUMER = "searchIndex";
+
+  /** Identifies this server as the owner of the consumers it runs */
+  private static final String NODE_ID = UUID.randomUUID().toString();
+
+  private static final int CONSUMER_THREADS = 8;
+
+  private static final Set<ChangeEventConsumer> consumers = ConcurrentHashMap.newKeySet();
+  private static CollectionDAO dao;
+  private static ScheduledExecutorService executor;
+  private static boolean started = false;
+
+  private ChangeEventLog() {}
+
+  public static void start(CollectionDAO daoObject) {
+    if (!started) {
+      dao = daoObject;
+      executor = Executors.newScheduledThreadPool(CONSUMER_THREADS, DaemonThreadFactory.INSTANCE);
+      started = true;
+      LOG.info("Change event log started");
+    }
+  }
+
+  public static void shutdown() throws InterruptedException {
+    if (started) {
+      consumers.forEach(ChangeEventConsumer::halt);
+      consumers.clear();
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+      executor = null;
+      started = false;
+      LOG.info("Change event log stopped");
+    }
+  }
+
+  /** Start delivering the events to the publisher from the offset stored for the given consumer */
+  public static ChangeEventConsumer addConsumer(String consumerId, EventPublisher publisher) {
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, consumerId, NODE_ID, publisher);
+    consumers.add(consumer);
+    consumer.start(executor);
+    registerMetrics(consumerId);
+    LOG.info("Change event consumer added for {}", consumerId);
+    return consumer;
+  }
+
+  public static void removeConsumer(ChangeEventConsumer consumer) {
+    consumer.halt();
+    consumers.remove(consumer);
+    LOG.info("Change event consumer removed for {}", consumer.getConsumerId());
+  }
+
+  /**
+   * Replay the events recorded between the given times, or with the sequence numbers in the given range, to the
+   * consumer. The end of the range defaults to the last recorded event. The replay is stored with the offset of the
+   * consumer, and the server that holds the lease on the offset picks it up.
+   */
+  public static ChangeEventReplay startReplay(
+      String consumerId,
+      Long startTs,
+      Long endTs,
+      Long fromOffset,
+      Long toOffset,
+      int eventsPerSecond,
+      String startedBy)
+      throws IOException {
+    if ((startTs == null && endTs == null) == (fromOffset == null && toOffset == null)) {
+      throw new IllegalArgumentException("Replay needs either a time range or a range of offsets");
+    }
+    if ((fromOffset == null && toOffset != null) || (startTs == null && endTs != null)) {
+      throw new IllegalArgumentException("Replay needs the start of its range");
+    }
+    if (startTs != null && endTs != null && startTs > endTs) {
+      throw new IllegalArgumentException("Replay start time must not be after its end time");
+    }
+    if (fromOffset != null && (fromOffset < 1 || (toOffset != null && fromOffset > toOffset))) {
+      throw new IllegalArgumentException("Replay start offset must be positive and not after its end offset");
+    }
+    for (int attempt = 0; attempt < 3; attempt++) {
+      ChangeEventOffset offset = getOffset(consumerId);
+      if (offset.getReplay() != null && offset.getReplay().isRunning()) {
+        throw new IllegalArgumentException(String.format("A replay is already running for %s", consumerId));
+      }
+      long now = System.currentTimeMillis();
+      ChangeEventReplay replay = new ChangeEventReplay();
+      replay.setConsumerId(consumerId);
+      // Events are read after the position, start just before the first event to replay
+      if (fromOffset != null) {
+        long lastOffset = dao.changeEventDAO().getLastOffset();
+        replay.setFromOffset(fromOffset);
+        replay.setToOffset(toOffset == null ? lastOffset : Math.min(toOffset, lastOffset));
+        replay.setPosition(fromOffset - 1);
+      } else {
+        replay.setStartTs(startTs);
+        replay.setEndTs(endTs == null ? now : Math.min(endTs, now));
+        replay.setPosition(startTs - 1);
+      }
+      replay.setEventsPerSecond(eventsPerSecond);
+      replay.setStatus(ChangeEventReplay.Status.RUNNING);
+      replay.setStartedBy(startedBy);
+      replay.setStartTime(now);
+      offset.setReplay(replay);
+      long previousTimestamp = offset.getTimestamp();
+      offset.setTimestamp(Math.max(now, previousTimestamp + 1));
+      int updated =
+          dao.entityExtensionTimeSeriesDao()
+              .update(consumerId, CHANGE_EVENT_OFFSET_EXTENSION, JsonUtils.pojoToJson(offset), previousTimestamp);
+      if (updated == 1) {
+        LOG.info(
+            "Replay of change events from {} to {} started for {}",
+            fromOffset != null ? fromOffset : startTs,
+            fromOffset != null ? replay.getToOffset() : replay.getEndTs(),
+            consumerId);
+        return replay;
+      }
+    }
+    throw new IllegalStateException(String.format("Offset of %s is being updated, try again", consumerId));
+  }
+
+  /** Returns the last replay of the consumer */
+  public static ChangeEventReplay getReplay(String consumerId) throws IOException {
+    ChangeEventReplay replay = getOffset(consumerId).getReplay();
+    if (replay == null) {
+      throw new EntityNotFoundException(String.format("No replay found for %s", consumerId));
+    }
+    return replay;
+  }
+
+  private static ChangeEventOffset getOffset(String consumerId) throws IOException {
+    String json = dao.entityExtensionTimeSeriesDao().getExtension(consumerId, CHANGE_EVENT_OFFSET_EXTENSION);
+    if (json == null) {
+      throw new EntityNotFoundException(String.format("Change event consumer %s is not found", consumerId));
+    }
+    return JsonUtils.readValue(json, ChangeEventOffset.class);
+  }
+
+  /** Forget the offset, the dead letters and the metrics of a consumer that is no longer used */
+  public static void deleteConsumer(String consumerId) {
+    dao.entityExtensionTimeSeriesDao().delete(consumerId, CHANGE_EVENT_OFFSET_EXTENSION);
+    dao.entityExtensionTimeSeriesDao().delete(consumerId, CHANGE_EVENT_DEAD_LETTER_EXTENSION);
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry != null) {
+      registry.find("change_event_consumer_lag").tag("consumer", consumerId).meters().forEach(registry::remove);
+      registry.find("change_event_publish_retries").tag("consumer", consumerId).meters().forEach(registry::remove);
+      registry.find("change_event_dead_letters").tag("consumer", consumerId).meters().forEach(registry::remove);
+    }
+  }
+
+  /**
+   * The lag gauge is registered once per consumer id and reads the lag of the running consumer, so that it survives
+   * the consumer being restarted when its subscription is updated.
+   */
+  private static void registerMetrics(String consumerId) {
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry == null) {
+      return;
+    }
+    Gauge.builder("change_event_consumer_lag", consumerId, ChangeEventLog::getLag)
+        .description("Milliseconds between now and the last change event delivered by the consumer")
+        .tag("consumer", consumerId)
+        .strongReference(true)
+        .register(registry);
+  }
+
+  private static double getLag(String consumerId) {
+    return consumers.stream()
+        .filter(consumer -> consumer.getConsumerId().equals(consumerId))
+        .findFirst()
+        .map(ChangeEventConsumer::getLag)
+        .orElse(Double.NaN);
+  }
+}
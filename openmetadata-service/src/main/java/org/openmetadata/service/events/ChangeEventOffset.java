@@ -0,0 +1,48 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** Position of a consumer in the change event log, stored in entity_extension_time_series */
+@Getter
+@Setter
+public class ChangeEventOffset {
+  /** Timestamp of the last change event delivered by the consumer, used to report the lag of the consumer */
+  private long offset;
+
+  /**
+   * Sequence number of the last change event delivered by the consumer, its position in the log. Offsets stored before
+   * events had sequence numbers have none and start from the first event recorded at the time of {@link #offset}.
+   */
+  private Long sequence;
+
+  /** Server that currently consumes the events, so that only one server in a cluster delivers them */
+  private String owner;
+
+  private long leaseExpiry;
+
+  /** Failed delivery attempts of the batch after the offset */
+  private int attempts;
+
+  /** When the batch after the offset is delivered again after a failure */
+  private long nextAttempt;
+
+  /** Replay of past events requested for the consumer, delivered before the events after the offset */
+  private ChangeEventReplay replay;
+
+  /** Time of the last update, used as the timestamp of the record in entity_extension_time_series */
+  private long timestamp;
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Replay of the change events in a time range or a range of sequence numbers to a consumer of the change event log,
+ * stored with its offset
+ */
+@Getter
+@Setter
+public class ChangeEventReplay {
+  public enum Status {
+    RUNNING,
+    COMPLETED
+  }
+
+  private String consumerId;
+
+  /** Events recorded from this unix timestamp in milliseconds are replayed */
+  private Long startTs;
+
+  /** Events recorded up to this unix timestamp in milliseconds are replayed */
+  private Long endTs;
+
+  /** Events from this sequence number are replayed, for replays of a range of sequence numbers */
+  private Long fromOffset;
+
+  /** Events up to this sequence number are replayed, for replays of a range of sequence numbers */
+  private Long toOffset;
+
+  private int eventsPerSecond;
+
+  /** Timestamp of the last replayed event, or its sequence number for replays of a range of sequence numbers */
+  private long position;
+
+  private long eventsReplayed;
+  private Status status;
+  private String startedBy;
+  private Long startTime;
+  private Long endTime;
+
+  @JsonIgnore
+  public boolean isRunning() {
+    return status == Status.RUNNING;
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Records change events in the change_event table. Events are queued in a bounded queue and a single writer thread
+ * inserts them in JDBC batches, in the order they were queued. When the queue is full, {@link #write(String)} blocks so
+ * that event capture slows down instead of dropping events.
+ */
+@Slf4j
+public class ChangeEventWriter {
+  private static final int QUEUE_SIZE = 10000;
+  private static final int BATCH_SIZE = 100;
+  private static final long POLL_TIMEOUT_MS = 100;
+
+  private final CollectionDAO dao;
+  private final BlockingQueue<String> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+  private final Thread writerThread;
+  private final Timer insertTimer;
+  private volatile boolean running = true;
+
+  public ChangeEventWriter(CollectionDAO dao) {
+    this.dao = dao;
+    this.insertTimer = registerMetrics();
+    this.writerThread = new Thread(this::run, "change-event-writer");
+    this.writerThread.setDaemon(true);
+    this.writerThread.start();
+  }
+
+  public void write(String json) throws InterruptedException {
+    queue.put(json);
+  }
+
+  /** Stop accepting events and wait for the queued events to be written */
+  public void close() throws InterruptedException {
+    running = false;
+    writerThread.join(TimeUnit.SECONDS.toMillis(30));
+    if (!queue.isEmpty()) {
+      LOG.error("Failed to record {} change events before shutdown", queue.size());
+    }
+  }
+
+  private void run() {
+    List<String> batch = new ArrayList<>(BATCH_SIZE);
+    while (running || !queue.isEmpty()) {
+      try {
+        String json = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        if (json == null) {
+          continue;
+        }
+        batch.add(json);
+        queue.drainTo(batch, BATCH_SIZE - 1);
+        insert(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void insert(List<String> batch) {
+    long start = System.nanoTime();
+    try {
+      dao.changeEventDAO().insertBatch(batch);
+    } catch (Exception e) {
+      // Insert the events one by one so that one bad event does not fail the others in the batch
+      LOG.warn("Failed to record a batch of {} change events, recording them one by one", batch.size(), e);
+      for (String json : batch) {
+        try {
+          dao.changeEventDAO().insert(json);
+        } catch (Exception ex) {
+          LOG.error("Failed to record change event {}", json, ex);
+        }
+      }
+    } finally {
+      if (insertTimer != null) {
+        insertTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+  }
+
+  private Timer registerMetrics() {
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry == null) {
+      return null;
+    }
+    Gauge.builder("change_event_queue_size", queue, BlockingQueue::size).tag("stage", "writer").register(registry);
+    return Timer.builder("change_event_insert_latency")
+        .description("Latency of inserting a batch of change events")
+        .register(registry);
+  }
+}
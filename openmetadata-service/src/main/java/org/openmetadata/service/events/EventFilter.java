@@ -13,8 +13,13 @@
 
 package org.openmetadata.service.events;
 
+import io.dropwizard.lifecycle.Managed;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.*;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
@@ -22,22 +27,36 @@ import javax.ws.rs.core.UriInfo;
 import javax.ws.rs.ext.Provider;
 import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.core.Jdbi;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.service.OpenMetadataApplicationConfig;
 import org.openmetadata.service.security.JwtFilter;
-import org.openmetadata.service.util.ParallelStreamUtil;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
 
+/**
+ * Captures audit logs and change events of the write requests. The requests are processed in the background by a fixed
+ * number of partitions, each with a single thread and a bounded queue. Requests for the same entity go to the same
+ * partition so that their change events are recorded in order. When a partition is full, the request thread waits for
+ * room in the queue instead of queueing events without a limit.
+ */
 @Slf4j
 @Provider
-public class EventFilter implements ContainerResponseFilter {
+public class EventFilter implements ContainerResponseFilter, Managed {
   private static final List<String> AUDITABLE_METHODS = Arrays.asList("POST", "PUT", "PATCH", "DELETE");
-  private static final int FORK_JOIN_POOL_PARALLELISM = 20;
-  private final ForkJoinPool forkJoinPool;
+  private static final int PARTITIONS = 20;
+  private static final int PARTITION_QUEUE_SIZE = 1000;
+  private static final long ROOM_WAIT_MILLIS = 100;
+  private final List<ThreadPoolExecutor> partitions;
   private final List<EventHandler> eventHandlers;
 
   public EventFilter(OpenMetadataApplicationConfig config, Jdbi jdbi) {
-    this.forkJoinPool = new ForkJoinPool(FORK_JOIN_POOL_PARALLELISM);
+    this.partitions = new ArrayList<>();
+    for (int i = 0; i < PARTITIONS; i++) {
+      partitions.add(createPartition(i));
+    }
     this.eventHandlers = new ArrayList<>();
     registerEventHandlers(config, jdbi);
+    registerMetrics();
   }
 
   private void registerEventHandlers(OpenMetadataApplicationConfig config, Jdbi jdbi) {
@@ -64,14 +83,99 @@ public class EventFilter implements ContainerResponseFilter {
     if ((responseCode < 200 || responseCode > 299) || (!AUDITABLE_METHODS.contains(method))) {
       return;
     }
-    eventHandlers
-        .parallelStream()
-        .forEach(
-            (eventHandler) -> {
-              UriInfo uriInfo = requestContext.getUriInfo();
-              if (JwtFilter.EXCLUDED_ENDPOINTS.stream().noneMatch(endpoint -> uriInfo.getPath().contains(endpoint))) {
-                ParallelStreamUtil.runAsync(() -> eventHandler.process(requestContext, responseContext), forkJoinPool);
-              }
-            });
+    UriInfo uriInfo = requestContext.getUriInfo();
+    if (JwtFilter.EXCLUDED_ENDPOINTS.stream().anyMatch(endpoint -> uriInfo.getPath().contains(endpoint))) {
+      return;
+    }
+    ThreadPoolExecutor partition = getPartition(requestContext, responseContext);
+    partition.execute(
+        () -> eventHandlers.forEach(eventHandler -> process(eventHandler, requestContext, responseContext)));
+  }
+
+  private static void process(
+      EventHandler eventHandler, ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    try {
+      eventHandler.process(requestContext, responseContext);
+    } catch (Exception e) {
+      LOG.error("Event handler {} failed", eventHandler.getClass().getSimpleName(), e);
+    }
+  }
+
+  /** Requests for the same entity are processed by the same partition, other requests by the partition of the path */
+  private ThreadPoolExecutor getPartition(
+      ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    Object entity = responseContext.getEntity();
+    Object key;
+    if (entity instanceof EntityInterface) {
+      key = ((EntityInterface) entity).getId();
+    } else if (entity instanceof ChangeEvent) {
+      key = ((ChangeEvent) entity).getEntityId();
+    } else {
+      key = requestContext.getUriInfo().getPath();
+    }
+    return partitions.get(Math.floorMod(Objects.hashCode(key), PARTITIONS));
+  }
+
+  private static ThreadPoolExecutor createPartition(int index) {
+    ThreadPoolExecutor partition =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(PARTITION_QUEUE_SIZE),
+            runnable -> {
+              Thread thread = new Thread(runnable, "event-filter-" + index);
+              thread.setDaemon(true);
+              return thread;
+            },
+            EventFilter::waitForRoom);
+    partition.prestartAllCoreThreads();
+    return partition;
+  }
+
+  /**
+   * Apply backpressure to the request thread when the partition is full. The partition is checked while waiting, so
+   * that a request does not wait for room in a partition that is shutting down and no longer accepts tasks.
+   */
+  private static void waitForRoom(Runnable task, ThreadPoolExecutor partition) {
+    try {
+      while (!partition.isShutdown()) {
+        if (partition.getQueue().offer(task, ROOM_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+          return;
+        }
+      }
+      LOG.warn("Event filter is stopped, the events of the request are not captured");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while waiting to capture the events of the request");
+    }
+  }
+
+  private void registerMetrics() {
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry == null) {
+      return;
+    }
+    Gauge.builder("change_event_queue_size", partitions, p -> p.stream().mapToInt(e -> e.getQueue().size()).sum())
+        .tag("stage", "filter")
+        .register(registry);
+  }
+
+  @Override
+  public void start() {
+    /* Partitions are started when the filter is created */
+  }
+
+  /** Process the queued requests and record their events before the application stops */
+  @Override
+  public void stop() throws InterruptedException {
+    partitions.forEach(ThreadPoolExecutor::shutdown);
+    for (ThreadPoolExecutor partition : partitions) {
+      if (!partition.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.error("Failed to capture {} queued requests before shutdown", partition.getQueue().size());
+      }
+    }
+    eventHandlers.forEach(EventHandler::close);
   }
 }
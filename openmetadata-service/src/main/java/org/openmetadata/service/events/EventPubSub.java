@@ -14,40 +14,111 @@
 package org.openmetadata.service.events;
 
 import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.util.DaemonThreadFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.service.events.EventPublisherConfiguration.OverflowPolicy;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
 
-/** Change event PubSub built based on LMAX Disruptor. */
+/**
+ * Change event PubSub built based on LMAX Disruptor. The size of the ring buffer and the wait strategy of the
+ * processors are set by {@link EventPublisherConfiguration}. Events are published from several threads, such as the
+ * partitions of the {@link EventFilter} and the bulk delete jobs, so the ring buffer always supports multiple
+ * producers. When the ring buffer is full, producers either wait for a free slot or drop the event, as set by its
+ * {@link OverflowPolicy}.
+ */
 @Slf4j
 public class EventPubSub {
   private static Disruptor<ChangeEventHolder> disruptor;
   private static ExecutorService executor;
   private static RingBuffer<ChangeEventHolder> ringBuffer;
+  private static OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+  private static Timer publishTimer;
+  private static Counter droppedCounter;
+  private static final Map<BatchEventProcessor<ChangeEventHolder>, Gauge> lagGauges = new ConcurrentHashMap<>();
+  private static final AtomicInteger processorIds = new AtomicInteger();
   private static boolean started = false;
 
-  public static void start() {
+  public static void start(EventPublisherConfiguration config) {
     if (!started) {
-      disruptor = new Disruptor<>(ChangeEventHolder::new, 1024, DaemonThreadFactory.INSTANCE);
+      disruptor =
+          new Disruptor<>(
+              ChangeEventHolder::new,
+              config.getRingBufferSize(),
+              DaemonThreadFactory.INSTANCE,
+              ProducerType.MULTI,
+              getWaitStrategy(config.getWaitStrategy()));
       disruptor.setDefaultExceptionHandler(new DefaultExceptionHandler());
       executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
       ringBuffer = disruptor.start();
-      LOG.info("Disruptor started");
+      overflowPolicy = config.getOverflowPolicy();
+      registerMetrics();
+      LOG.info(
+          "Disruptor started with ring buffer size {}, wait strategy {} and overflow policy {}",
+          config.getRingBufferSize(),
+          config.getWaitStrategy(),
+          overflowPolicy);
       started = true;
     }
   }
 
+  private static WaitStrategy getWaitStrategy(EventPublisherConfiguration.WaitStrategyType type) {
+    switch (type) {
+      case SLEEPING:
+        return new SleepingWaitStrategy();
+      case YIELDING:
+        return new YieldingWaitStrategy();
+      case BUSY_SPIN:
+        return new BusySpinWaitStrategy();
+      case BLOCKING:
+      default:
+        return new BlockingWaitStrategy();
+    }
+  }
+
+  private static void registerMetrics() {
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry == null) {
+      return;
+    }
+    Gauge.builder("event_pubsub_remaining_capacity", ringBuffer, RingBuffer::remainingCapacity)
+        .description("Free slots in the change event ring buffer")
+        .register(registry);
+    publishTimer =
+        Timer.builder("event_pubsub_publish_latency")
+            .description("Time taken to publish a change event to the ring buffer, including waiting for a slot")
+            .register(registry);
+    droppedCounter =
+        Counter.builder("event_pubsub_dropped_events")
+            .description("Change events dropped because the ring buffer was full")
+            .register(registry);
+  }
+
   public static void shutdown() throws InterruptedException {
     if (started) {
       disruptor.shutdown();
@@ -71,13 +142,42 @@ public class EventPubSub {
     }
   }
 
+  /** Publish the event, following the overflow policy when the ring buffer is full */
   public static void publish(ChangeEvent event) {
-    if (event != null) {
+    if (event == null) {
+      return;
+    }
+    long start = System.nanoTime();
+    if (overflowPolicy == OverflowPolicy.DROP) {
+      if (!tryPublish(event)) {
+        LOG.warn("Change event ring buffer is full, dropping event for entity {}", event.getEntityId());
+        if (droppedCounter != null) {
+          droppedCounter.increment();
+        }
+      }
+    } else {
       RingBuffer<ChangeEventHolder> ringBuffer = disruptor.getRingBuffer();
       long sequence = ringBuffer.next();
       ringBuffer.get(sequence).setEvent(event);
       ringBuffer.publish(sequence);
     }
+    if (publishTimer != null) {
+      publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Publish the event without waiting. Returns false when the ring buffer is full. */
+  public static boolean tryPublish(ChangeEvent event) {
+    RingBuffer<ChangeEventHolder> ringBuffer = disruptor.getRingBuffer();
+    long sequence;
+    try {
+      sequence = ringBuffer.tryNext();
+    } catch (InsufficientCapacityException e) {
+      return false;
+    }
+    ringBuffer.get(sequence).setEvent(event);
+    ringBuffer.publish(sequence);
+    return true;
   }
 
   public static BatchEventProcessor<ChangeEventHolder> addEventHandler(EventHandler<ChangeEventHolder> eventHandler) {
@@ -86,12 +186,33 @@ public class EventPubSub {
     processor.setExceptionHandler(new DefaultExceptionHandler());
     ringBuffer.addGatingSequences(processor.getSequence());
     executor.execute(processor);
+    registerLag(processor, eventHandler);
     LOG.info("Processor added for {}", processor);
     return processor;
   }
 
+  /** Number of published events the processor has not handled yet */
+  private static void registerLag(BatchEventProcessor<ChangeEventHolder> processor, EventHandler<?> eventHandler) {
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry == null) {
+      return;
+    }
+    RingBuffer<ChangeEventHolder> buffer = ringBuffer;
+    Gauge lag =
+        Gauge.builder("event_pubsub_processor_lag", processor, p -> buffer.getCursor() - p.getSequence().get())
+            .description("Change events published to the ring buffer and not yet handled by the processor")
+            .tag("processor", eventHandler.getClass().getSimpleName())
+            .tag("id", String.valueOf(processorIds.incrementAndGet())) // Handlers of the same class are told apart
+            .register(registry);
+    lagGauges.put(processor, lag);
+  }
+
   public static void removeProcessor(BatchEventProcessor<ChangeEventHolder> processor) {
     ringBuffer.removeGatingSequence(processor.getSequence());
+    Gauge lag = lagGauges.remove(processor);
+    if (lag != null) {
+      MicrometerBundleSingleton.prometheusMeterRegistry.remove(lag);
+    }
     LOG.info("Processor removed for {}", processor);
   }
 
@@ -2,9 +2,35 @@ package org.openmetadata.service.events;
 
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.LifecycleAware;
+import java.util.concurrent.CompletableFuture;
+import org.openmetadata.schema.type.ChangeEvent;
 import org.openmetadata.service.resources.events.EventResource.EventList;
 
 public interface EventPublisher extends EventHandler<EventPubSub.ChangeEventHolder>, LifecycleAware {
 
   void publish(EventList events) throws Exception;
+
+  /**
+   * Publish the events and complete once they are delivered, or with the failure to deliver them. Publishers that
+   * wait for remote endpoints override it so that no thread is held up while waiting for the responses.
+   */
+  default CompletableFuture<Void> publishAsync(EventList events) {
+    try {
+      publish(events);
+      return CompletableFuture.completedFuture(null);
+    } catch (Exception e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /** Maximum number of events published together */
+  int getBatchSize();
+
+  /** Returns false for the events that the publisher ignores */
+  default boolean shouldPublish(ChangeEvent changeEvent) {
+    return true;
+  }
+
+  /** Called when a batch failed with a retriable error and is parked until the given time */
+  default void onRetryScheduled(long nextAttemptTime) {}
 }
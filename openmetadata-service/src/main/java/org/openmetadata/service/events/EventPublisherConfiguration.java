@@ -2,9 +2,34 @@ package org.openmetadata.service.events;
 
 import java.util.Map;
 import lombok.Getter;
+import lombok.Setter;
 
+/** Configuration of the {@link EventPubSub} ring buffer that change events are published to. */
 public class EventPublisherConfiguration {
   @Getter String name;
   @Getter String className;
   @Getter Map<String, Object> config;
+
+  /** Number of events the ring buffer holds, must be a power of 2 */
+  @Getter @Setter private int ringBufferSize = 1024;
+
+  /** How event processors wait for new events */
+  @Getter @Setter private WaitStrategyType waitStrategy = WaitStrategyType.BLOCKING;
+
+  /** What a producer does when the ring buffer is full */
+  @Getter @Setter private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+  public enum WaitStrategyType {
+    BLOCKING,
+    SLEEPING,
+    YIELDING,
+    BUSY_SPIN
+  }
+
+  public enum OverflowPolicy {
+    /** Wait for the slowest processor to free a slot */
+    BLOCK,
+    /** Drop the event, the change_event table still has it for the consumers of the change event log */
+    DROP
+  }
 }
@@ -9,6 +9,7 @@ import org.openmetadata.service.events.EventPubSub;
 import org.openmetadata.service.events.EventPublisher;
 import org.openmetadata.service.events.errors.RetriableException;
 import org.openmetadata.service.resources.events.EventResource.EventList;
+import org.springframework.expression.Expression;
 
 @Slf4j
 public abstract class AbstractAlertPublisher implements EventPublisher {
@@ -19,36 +20,54 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
   protected static final int BACKOFF_5_MINUTES = 5 * 60 * 1000;
   protected static final int BACKOFF_1_HOUR = 60 * 60 * 1000;
   protected static final int BACKOFF_24_HOUR = 24 * 60 * 60 * 1000;
+  // Events kept while waiting to retry a failed batch
+  private static final int MAX_PENDING_EVENTS = 10000;
   protected int currentBackoffTime = BACKOFF_NORMAL;
+  protected long nextRetryTime = 0;
   protected final List<ChangeEvent> batch = new ArrayList<>();
 
   protected final EventSubscription eventSubscription;
-  private final int batchSize;
+
+  // Filtering rules of the subscription parsed once, rebuilt when the subscription is updated
+  protected volatile Expression filterExpression;
 
   protected AbstractAlertPublisher(EventSubscription eventSub) {
     this.eventSubscription = eventSub;
-    this.batchSize = eventSub.getBatchSize();
+    this.filterExpression = AlertUtil.buildAlertExpression(eventSub.getFilteringRules().getRules());
   }
 
   @Override
-  public void onEvent(EventPubSub.ChangeEventHolder changeEventHolder, long sequence, boolean endOfBatch)
-      throws Exception {
-    // Ignore events that don't match the webhook event filters
-    ChangeEvent changeEvent = changeEventHolder.getEvent();
+  public int getBatchSize() {
+    return eventSubscription.getBatchSize();
+  }
 
+  @Override
+  public boolean shouldPublish(ChangeEvent changeEvent) {
     // Evaluate Alert Trigger Config
     if (!AlertUtil.shouldTriggerAlert(changeEvent.getEntityType(), eventSubscription.getFilteringRules())) {
-      return;
+      return false;
     }
 
     // Evaluate ChangeEvent Alert Filtering
-    if (!AlertUtil.evaluateAlertConditions(changeEvent, eventSubscription.getFilteringRules().getRules())) {
+    return AlertUtil.evaluateAlertConditions(changeEvent, filterExpression);
+  }
+
+  @Override
+  public void onEvent(EventPubSub.ChangeEventHolder changeEventHolder, long sequence, boolean endOfBatch)
+      throws Exception {
+    // Ignore events that don't match the webhook event filters
+    if (!shouldPublish(changeEventHolder.getEvent())) {
       return;
     }
 
     // Batch until either the batch has ended or batch size has reached the max size
     batch.add(changeEventHolder.getEvent());
-    if (!endOfBatch && batch.size() < batchSize) {
+    if (!endOfBatch && batch.size() < getBatchSize()) {
+      return;
+    }
+    // Do not block the ring buffer while waiting to retry, the failed batch is sent with the next events
+    if (System.currentTimeMillis() < nextRetryTime) {
+      dropOldestPendingEvents();
       return;
     }
 
@@ -56,15 +75,24 @@ public abstract class AbstractAlertPublisher implements EventPublisher {
     try {
       publish(list);
       batch.clear();
+      currentBackoffTime = BACKOFF_NORMAL;
+      nextRetryTime = 0;
     } catch (RetriableException ex) {
       setNextBackOff();
+      nextRetryTime = System.currentTimeMillis() + currentBackoffTime;
       LOG.error("Failed to publish event in batch {} due to {}, will try again in {} ms", list, ex, currentBackoffTime);
-      Thread.sleep(currentBackoffTime);
     } catch (Exception e) {
       LOG.error("[AbstractAlertPublisher] error {}", e.getMessage(), e);
     }
   }
 
+  private void dropOldestPendingEvents() {
+    if (batch.size() > MAX_PENDING_EVENTS) {
+      LOG.warn("Dropping {} events waiting to be published again", batch.size() - MAX_PENDING_EVENTS);
+      batch.subList(0, batch.size() - MAX_PENDING_EVENTS).clear();
+    }
+  }
+
   protected void setNextBackOff() {
     if (currentBackoffTime == BACKOFF_NORMAL) {
       currentBackoffTime = BACKOFF_3_SECONDS;
@@ -4,6 +4,11 @@ import static org.openmetadata.service.Entity.TEAM;
 import static org.openmetadata.service.Entity.USER;
 import static org.openmetadata.service.security.policyevaluator.CompiledRule.parseExpression;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -34,10 +39,19 @@ import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.CollectionRegistry;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 @Slf4j
 public class AlertUtil {
+  // Alert conditions are evaluated for every change event, let SpEL compile them to bytecode once they are hot
+  private static final SpelExpressionParser ALERT_EXPRESSION_PARSER =
+      new SpelExpressionParser(new SpelParserConfiguration(SpelCompilerMode.MIXED, AlertUtil.class.getClassLoader()));
+
+  private static final LoadingCache<String, Expression> ALERT_EXPRESSION_CACHE =
+      CacheBuilder.newBuilder().maximumSize(1000).build(CacheLoader.from(AlertUtil::parseAlertCondition));
 
   public static SubscriptionPublisher getAlertPublisher(EventSubscription subscription, CollectionDAO daoCollection) {
     SubscriptionPublisher publisher;
@@ -131,18 +145,45 @@ public class AlertUtil {
   }
 
   public static boolean evaluateAlertConditions(ChangeEvent changeEvent, List<EventFilterRule> alertFilterRules) {
-    if (alertFilterRules.size() > 0) {
-      boolean result;
-      String completeCondition = buildCompleteCondition(alertFilterRules);
-      AlertsRuleEvaluator ruleEvaluator = new AlertsRuleEvaluator(changeEvent);
-      StandardEvaluationContext evaluationContext = new StandardEvaluationContext(ruleEvaluator);
-      Expression expression = parseExpression(completeCondition);
-      result = Boolean.TRUE.equals(expression.getValue(evaluationContext, Boolean.class));
-      LOG.debug("Alert evaluated as Result : {}", result);
-      return result;
-    } else {
+    if (alertFilterRules.isEmpty()) {
+      return true;
+    }
+    Expression expression;
+    try {
+      expression = ALERT_EXPRESSION_CACHE.getUnchecked(buildCompleteCondition(alertFilterRules));
+    } catch (UncheckedExecutionException ex) {
+      Throwables.throwIfUnchecked(ex.getCause());
+      throw ex;
+    }
+    return evaluateAlertConditions(changeEvent, expression);
+  }
+
+  /** Evaluate the expression built by {@link #buildAlertExpression(List)}. A null expression matches all events. */
+  public static boolean evaluateAlertConditions(ChangeEvent changeEvent, Expression expression) {
+    if (expression == null) {
       return true;
     }
+    AlertsRuleEvaluator ruleEvaluator = new AlertsRuleEvaluator(changeEvent);
+    StandardEvaluationContext evaluationContext = new StandardEvaluationContext(ruleEvaluator);
+    boolean result = Boolean.TRUE.equals(expression.getValue(evaluationContext, Boolean.class));
+    LOG.debug("Alert evaluated as Result : {}", result);
+    return result;
+  }
+
+  /** Parse the filtering rules of an alert once, so that they are not parsed again for every change event */
+  public static Expression buildAlertExpression(List<EventFilterRule> alertFilterRules) {
+    if (alertFilterRules == null || alertFilterRules.isEmpty()) {
+      return null;
+    }
+    return parseAlertCondition(buildCompleteCondition(alertFilterRules));
+  }
+
+  private static Expression parseAlertCondition(String condition) {
+    try {
+      return ALERT_EXPRESSION_PARSER.parseExpression(condition);
+    } catch (Exception exception) {
+      throw new IllegalArgumentException(CatalogExceptionMessage.failedToParse(exception.getMessage()));
+    }
   }
 
   public static String buildCompleteCondition(List<EventFilterRule> alertFilterRules) {
@@ -32,6 +32,9 @@ import org.openmetadata.service.util.JsonUtils;
 @Slf4j
 public class AlertsRuleEvaluator {
   private final ChangeEvent changeEvent;
+  // Looked up once per change event, an alert condition may call several functions that need them
+  private EntityInterface entity;
+  private String ownerName;
 
   public AlertsRuleEvaluator(ChangeEvent event) {
     this.changeEvent = event;
@@ -66,22 +69,11 @@ public class AlertsRuleEvaluator {
     if (changeEvent == null || changeEvent.getEntity() == null) {
       return false;
     }
-    EntityInterface entity = getEntity(changeEvent);
-    EntityReference ownerReference = entity.getOwner();
-    if (ownerReference != null) {
-      if (USER.equals(ownerReference.getType())) {
-        User user = SubjectCache.getInstance().getSubjectContext(ownerReference.getId()).getUser();
-        for (String name : ownerNameList) {
-          if (user.getName().equals(name)) {
-            return true;
-          }
-        }
-      } else if (TEAM.equals(ownerReference.getType())) {
-        Team team = SubjectCache.getInstance().getTeam(ownerReference.getId());
-        for (String name : ownerNameList) {
-          if (team.getName().equals(name)) {
-            return true;
-          }
+    String owner = getOwnerName();
+    if (owner != null) {
+      for (String name : ownerNameList) {
+        if (owner.equals(name)) {
+          return true;
         }
       }
     }
@@ -98,7 +90,7 @@ public class AlertsRuleEvaluator {
     if (changeEvent == null || changeEvent.getEntity() == null) {
       return false;
     }
-    EntityInterface entity = getEntity(changeEvent);
+    EntityInterface entity = getEntity();
     for (String name : entityNames) {
       if (entity.getFullyQualifiedName().equals(name)) {
         return true;
@@ -117,7 +109,7 @@ public class AlertsRuleEvaluator {
     if (changeEvent == null || changeEvent.getEntity() == null) {
       return false;
     }
-    EntityInterface entity = getEntity(changeEvent);
+    EntityInterface entity = getEntity();
     for (String id : entityIds) {
       if (entity.getId().equals(UUID.fromString(id))) {
         return true;
@@ -161,7 +153,7 @@ public class AlertsRuleEvaluator {
     }
     for (FieldChange fieldChange : changeEvent.getChangeDescription().getFieldsUpdated()) {
       if (fieldChange.getName().equals("testCaseResult") && fieldChange.getNewValue() != null) {
-        TestCaseResult testCaseResult = (TestCaseResult) fieldChange.getNewValue();
+        TestCaseResult testCaseResult = JsonUtils.convertValue(fieldChange.getNewValue(), TestCaseResult.class);
         TestCaseStatus status = testCaseResult.getTestCaseStatus();
         for (String givenStatus : testResults) {
           if (givenStatus.equals(status.value())) {
@@ -208,7 +200,7 @@ public class AlertsRuleEvaluator {
     }
     for (FieldChange fieldChange : changeEvent.getChangeDescription().getFieldsUpdated()) {
       if (fieldChange.getName().equals("pipelineStatus") && fieldChange.getNewValue() != null) {
-        PipelineStatus pipelineStatus = (PipelineStatus) fieldChange.getNewValue();
+        PipelineStatus pipelineStatus = JsonUtils.convertValue(fieldChange.getNewValue(), PipelineStatus.class);
         PipelineStatusType status = pipelineStatus.getPipelineState();
         for (String givenStatus : pipelineState) {
           if (givenStatus.equals(status.value())) {
@@ -239,14 +231,35 @@ public class AlertsRuleEvaluator {
     return false;
   }
 
-  private EntityInterface getEntity(ChangeEvent event) throws IOException {
-    Class<? extends EntityInterface> entityClass = Entity.getEntityClassFromType(event.getEntityType());
-    EntityInterface entity;
-    if (event.getEntity() instanceof String) {
-      entity = JsonUtils.readValue((String) event.getEntity(), entityClass);
+  private EntityInterface getEntity() throws IOException {
+    if (entity != null) {
+      return entity;
+    }
+    Class<? extends EntityInterface> entityClass = Entity.getEntityClassFromType(changeEvent.getEntityType());
+    if (entityClass.isInstance(changeEvent.getEntity())) {
+      entity = entityClass.cast(changeEvent.getEntity());
+    } else if (changeEvent.getEntity() instanceof String) {
+      entity = JsonUtils.readValue((String) changeEvent.getEntity(), entityClass);
     } else {
-      entity = JsonUtils.convertValue(event.getEntity(), entityClass);
+      entity = JsonUtils.convertValue(changeEvent.getEntity(), entityClass);
     }
     return entity;
   }
+
+  private String getOwnerName() throws IOException {
+    if (ownerName != null) {
+      return ownerName;
+    }
+    EntityReference ownerReference = getEntity().getOwner();
+    if (ownerReference != null) {
+      if (USER.equals(ownerReference.getType())) {
+        User user = SubjectCache.getInstance().getSubjectContext(ownerReference.getId()).getUser();
+        ownerName = user.getName();
+      } else if (TEAM.equals(ownerReference.getType())) {
+        Team team = SubjectCache.getInstance().getTeam(ownerReference.getId());
+        ownerName = team.getName();
+      }
+    }
+    return ownerName;
+  }
 }
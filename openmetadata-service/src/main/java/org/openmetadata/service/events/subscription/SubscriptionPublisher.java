@@ -17,42 +17,63 @@ import static org.openmetadata.schema.entity.events.SubscriptionStatus.Status.AC
 import static org.openmetadata.schema.entity.events.SubscriptionStatus.Status.AWAITING_RETRY;
 import static org.openmetadata.schema.entity.events.SubscriptionStatus.Status.FAILED;
 
-import com.lmax.disruptor.BatchEventProcessor;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.ws.rs.core.Response;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.entity.events.EventSubscription;
 import org.openmetadata.schema.entity.events.SubscriptionStatus;
-import org.openmetadata.service.events.EventPubSub;
+import org.openmetadata.service.events.ChangeEventConsumer;
+import org.openmetadata.service.events.ChangeEventLog;
 import org.openmetadata.service.events.errors.EventPublisherException;
+import org.openmetadata.service.exception.AlertRetriableException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.EventSubscriptionRepository;
 import org.openmetadata.service.resources.events.EventResource;
 
 /**
  * SubscriptionPublisher publishes events to the alert endpoint using POST http requests/ Email. There is one instance
- * of SubscriptionPublisher per alert subscription. Each SubscriptionPublisher is an EventHandler that runs in a
- * separate thread and receives events from LMAX Disruptor {@link EventPubSub} through {@link BatchEventProcessor}.
+ * of SubscriptionPublisher per alert subscription. Each SubscriptionPublisher receives events in batches from its own
+ * offset in the durable {@link ChangeEventLog} through {@link ChangeEventConsumer}.
  *
  * <p>The failures during callback to Alert are handled in this class as follows:
  *
  * <ul>
  *   <li>Alerts with unresolvable URLs are marked as "failed" and no further attempt is made to deliver the events
  *   <li>Alerts callbacks that return 3xx are marked as "failed" and no further attempt is made to deliver the events
- *   <li>Alerts callbacks that return 4xx, 5xx, or timeout are marked as "awaitingRetry" and 5 retry attempts are made
- *       to deliver the events with the following backoff - 3 seconds, 30 seconds, 5 minutes, 1 hours, and 24 hour. When
- *       all the 5 delivery attempts fail, the alerts state is marked as "retryLimitReached" and no further attempt is
- *       made to deliver the events.
+ *   <li>Alerts callbacks that return 4xx, 5xx, or timeout are marked as "awaitingRetry" and the batch is parked by the
+ *       consumer. 5 retry attempts are made to deliver the events with the following backoff - 3 seconds, 30 seconds,
+ *       5 minutes, 1 hours, and 24 hour, without holding up a thread while waiting. When all the 5 delivery attempts
+ *       fail, the batch is stored as a dead letter and the events after it are delivered.
  * </ul>
+ *
+ * <p>The messages of a batch are posted one after the other through the shared {@link WebhookClient}, so that they
+ * arrive in order, and posting stops at the first failure. The batch is published asynchronously: the consumer goes on
+ * once the last response arrives and no thread waits for the responses. When the batch is delivered again, the messages
+ * that were already delivered are skipped instead of being posted twice. Subscriptions are consumed in parallel, each
+ * by its own {@link ChangeEventConsumer}.
  */
 @Slf4j
 public class SubscriptionPublisher extends AbstractAlertPublisher {
   private final CountDownLatch shutdownLatch = new CountDownLatch(1);
-  @Getter private BatchEventProcessor<EventPubSub.ChangeEventHolder> processor;
+  @Getter private ChangeEventConsumer consumer;
   private final EventSubscriptionRepository eventSubscriptionRepository;
 
+  /** Messages of the last batch that failed and how many of them were delivered before the failure */
+  private List<String> failedMessages;
+
+  private int failedMessagesDelivered;
+
   public SubscriptionPublisher(EventSubscription eventSub, CollectionDAO dao) {
     super(eventSub);
     this.eventSubscriptionRepository = new EventSubscriptionRepository(dao);
@@ -84,19 +105,27 @@ public class SubscriptionPublisher extends AbstractAlertPublisher {
     eventSubscription.setTimeout(updatedEventSub.getTimeout());
     eventSubscription.setBatchSize(updatedEventSub.getBatchSize());
     eventSubscription.setFilteringRules(updatedEventSub.getFilteringRules());
+    filterExpression = AlertUtil.buildAlertExpression(updatedEventSub.getFilteringRules().getRules());
     eventSubscription.setSubscriptionType(updatedEventSub.getSubscriptionType());
     eventSubscription.setSubscriptionConfig(updatedEventSub.getSubscriptionConfig());
   }
 
-  protected synchronized void setErrorStatus(Long attemptTime, Integer statusCode, String reason)
-      throws InterruptedException {
+  protected synchronized void setErrorStatus(Long attemptTime, Integer statusCode, String reason) {
     SubscriptionStatus status = setStatus(FAILED, attemptTime, statusCode, reason, null);
     eventSubscriptionRepository.removeProcessorForEventSubscription(eventSubscription.getId(), status);
     throw new RuntimeException(reason);
   }
 
   protected synchronized void setAwaitingRetry(Long attemptTime, int statusCode, String reason) {
-    setStatus(AWAITING_RETRY, attemptTime, statusCode, reason, attemptTime + currentBackoffTime);
+    setStatus(AWAITING_RETRY, attemptTime, statusCode, reason, null);
+  }
+
+  @Override
+  public synchronized void onRetryScheduled(long nextAttemptTime) {
+    SubscriptionStatus subStatus = eventSubscription.getStatusDetails();
+    if (subStatus != null && subStatus.getStatus() == AWAITING_RETRY) {
+      subStatus.setNextAttempt(nextAttemptTime);
+    }
   }
 
   protected synchronized SubscriptionStatus setSuccessStatus(Long updateTime) {
@@ -119,28 +148,133 @@ public class SubscriptionPublisher extends AbstractAlertPublisher {
     shutdownLatch.await(5, TimeUnit.SECONDS);
   }
 
-  public void setProcessor(BatchEventProcessor<EventPubSub.ChangeEventHolder> processor) {
-    this.processor = processor;
+  public void setConsumer(ChangeEventConsumer consumer) {
+    this.consumer = consumer;
   }
 
-  protected void sendAlert(EventResource.EventList list) throws InterruptedException {}
+  /** Send the events of the list, the returned future completes once they are delivered */
+  protected CompletableFuture<Void> sendAlert(EventResource.EventList list) {
+    return CompletableFuture.completedFuture(null);
+  }
+
+  protected CompletableFuture<Void> postMessages(URI endpoint, List<String> messages, Map<String, String> headers) {
+    return postMessages(endpoint, messages, headers, false);
+  }
+
+  /** Chat apps show the messages in the order they arrive, only one message at a time is posted to the endpoint */
+  protected CompletableFuture<Void> postChatMessages(URI endpoint, List<String> messages) {
+    return postMessages(endpoint, messages, Map.of(), true);
+  }
+
+  /**
+   * Post the messages one after the other and update the status from each response. Each message is posted when the
+   * response to the previous one arrives, without waiting on a thread, and posting stops at the first failure. When the
+   * same messages are posted again after a failure, the messages delivered before the failure are skipped.
+   */
+  private CompletableFuture<Void> postMessages(
+      URI endpoint, List<String> messages, Map<String, String> headers, boolean inOrder) {
+    long attemptTime = System.currentTimeMillis();
+    int skipped = messages.equals(failedMessages) ? failedMessagesDelivered : 0;
+    failedMessages = null;
+    AtomicInteger delivered = new AtomicInteger(skipped);
+    CompletableFuture<Void> posted = CompletableFuture.completedFuture(null);
+    for (String message : messages.subList(skipped, messages.size())) {
+      posted =
+          posted.thenCompose(
+              v ->
+                  WebhookClient.post(
+                          endpoint,
+                          message,
+                          headers,
+                          eventSubscription.getTimeout(),
+                          eventSubscription.getReadTimeout(),
+                          inOrder)
+                      .handle(
+                          (response, e) -> {
+                            updateStatus(attemptTime, response, e);
+                            delivered.incrementAndGet();
+                            return null;
+                          }));
+    }
+    return posted.whenComplete(
+        (v, e) -> {
+          if (e != null) {
+            failedMessages = messages;
+            failedMessagesDelivered = delivered.get();
+          }
+        });
+  }
+
+  /** Timeouts are retried like 5xx responses, other failures of the request are passed on */
+  private void updateStatus(long attemptTime, HttpResponse<String> response, Throwable failure) {
+    Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+    if (cause instanceof HttpTimeoutException) {
+      setAwaitingRetry(attemptTime, Response.Status.REQUEST_TIMEOUT.getStatusCode(), cause.getMessage());
+      throw new AlertRetriableException(cause);
+    }
+    if (cause != null) {
+      throw new CompletionException(cause);
+    }
+    updateStatus(attemptTime, response);
+  }
+
+  private void updateStatus(long attemptTime, HttpResponse<String> response) {
+    int statusCode = response.statusCode();
+    String reason = WebhookClient.getReasonPhrase(statusCode);
+    LOG.debug("Alert {} received response {} {}", eventSubscription.getName(), statusCode, reason);
+    if (statusCode >= 300 && statusCode < 400) {
+      // 3xx response/redirection is not allowed for callback. Set the webhook state as in error
+      setErrorStatus(attemptTime, statusCode, reason);
+    } else if (statusCode >= 400 && statusCode < 600) {
+      // 4xx, 5xx response retry delivering events after timeout
+      setAwaitingRetry(attemptTime, statusCode, reason);
+      throw new AlertRetriableException(reason);
+    } else if (statusCode == 200) {
+      setSuccessStatus(System.currentTimeMillis());
+    }
+  }
 
   protected void onStartDelegate() {}
 
   protected void onShutdownDelegate() {}
 
+  /** Waits for the events to be delivered, {@link ChangeEventConsumer} publishes through {@link #publishAsync} */
   @Override
   public void publish(EventResource.EventList list) throws EventPublisherException {
+    try {
+      publishAsync(list).join();
+    } catch (CompletionException e) {
+      throw e.getCause() instanceof EventPublisherException
+          ? (EventPublisherException) e.getCause()
+          : new EventPublisherException(e.getCause());
+    }
+  }
+
+  @Override
+  public CompletableFuture<Void> publishAsync(EventResource.EventList list) {
     // Publish to the given Alert Actions
+    CompletableFuture<Void> sent;
     try {
       LOG.info(
           "Sending Alert {}:{}:{}",
           eventSubscription.getName(),
           eventSubscription.getStatusDetails().getStatus(),
           batch.size());
-      sendAlert(list);
+      sent = sendAlert(list);
     } catch (Exception ex) {
-      LOG.warn("Invalid Exception in Alert {}", eventSubscription.getName());
+      sent = CompletableFuture.failedFuture(ex);
     }
+    return sent.handle(
+        (v, e) -> {
+          Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+          if (cause == null) {
+            return null;
+          }
+          if (cause instanceof EventPublisherException) {
+            throw (EventPublisherException) cause;
+          }
+          LOG.warn("Invalid Exception in Alert {}", eventSubscription.getName());
+          throw new EventPublisherException(cause);
+        });
   }
 }
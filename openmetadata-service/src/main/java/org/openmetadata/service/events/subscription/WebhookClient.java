@@ -0,0 +1,173 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.events.subscription;
+
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.UnresolvedAddressException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.ws.rs.core.Response;
+
+/**
+ * Asynchronous HTTP client shared by the webhook, Slack, MS Teams and GChat publishers. The clients keep a pool of
+ * connections per destination and use HTTP/2 when the destination supports it, so the requests of the subscriptions
+ * posting to the same host share connections. The number of requests in flight to a destination is limited so that a
+ * slow endpoint does not take all the connections, and the requests over the limit wait in a bounded queue without
+ * holding a thread. Messages posted in order, such as to chat apps, are limited to one request in flight per endpoint.
+ */
+public final class WebhookClient {
+  static final int MAX_REQUESTS_PER_DESTINATION = 16;
+  static final int MAX_QUEUED_REQUESTS_PER_DESTINATION = 1000;
+  private static final ExecutorService EXECUTOR =
+      Executors.newFixedThreadPool(
+          8,
+          runnable -> {
+            Thread thread = new Thread(runnable, "webhook-client");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Connect timeout is a setting of the client, there is one client per connect timeout of the subscriptions */
+  private static final Map<Integer, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+  private static final Map<String, Destination> DESTINATIONS = new ConcurrentHashMap<>();
+
+  private WebhookClient() {}
+
+  /**
+   * Post the JSON message to the endpoint and return without waiting for the response. The request is sent once the
+   * number of requests in flight to the destination is under the limit, in the order the messages are posted. When
+   * {@code inOrder} is set, the destination is the endpoint and only one request to it is in flight at a time. When the
+   * queue of the destination is full, the request fails right away with a {@link HttpTimeoutException}.
+   */
+  public static CompletableFuture<HttpResponse<String>> post(
+      URI endpoint, String json, Map<String, String> headers, int connectTimeout, int readTimeout, boolean inOrder) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(endpoint)
+            .timeout(Duration.ofSeconds(readTimeout))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+    headers.forEach(request::header);
+    String name = inOrder ? endpoint.toString() : getDestination(endpoint);
+    Destination destination =
+        DESTINATIONS.computeIfAbsent(name, d -> new Destination(inOrder ? 1 : MAX_REQUESTS_PER_DESTINATION));
+    CompletableFuture<HttpResponse<String>> response = new CompletableFuture<>();
+    Runnable send =
+        () -> {
+          try {
+            getClient(connectTimeout)
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofString())
+                .whenComplete(
+                    (r, e) -> {
+                      destination.release();
+                      if (e != null) {
+                        response.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                      } else {
+                        response.complete(r);
+                      }
+                    });
+          } catch (RuntimeException e) {
+            destination.release();
+            response.completeExceptionally(e);
+          }
+        };
+    if (!destination.submit(send)) {
+      return CompletableFuture.failedFuture(
+          new HttpTimeoutException(String.format("Too many requests queued to %s", name)));
+    }
+    return response;
+  }
+
+  public static String getReasonPhrase(int statusCode) {
+    Response.Status status = Response.Status.fromStatusCode(statusCode);
+    return status == null ? String.valueOf(statusCode) : status.getReasonPhrase();
+  }
+
+  public static boolean isUnknownHost(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof UnknownHostException || cause instanceof UnresolvedAddressException) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static HttpClient getClient(int connectTimeout) {
+    return CLIENTS.computeIfAbsent(
+        connectTimeout,
+        timeout ->
+            HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(timeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(EXECUTOR)
+                .build());
+  }
+
+  private static String getDestination(URI endpoint) {
+    return endpoint.getScheme() + "://" + endpoint.getHost() + ":" + endpoint.getPort();
+  }
+
+  /** Requests in flight to a destination and the requests waiting for one of them to complete */
+  private static final class Destination {
+    private final int maxInFlight;
+    private final Deque<Runnable> queued = new ArrayDeque<>();
+    private int inFlight;
+
+    private Destination(int maxInFlight) {
+      this.maxInFlight = maxInFlight;
+    }
+
+    /** Send the request now, or queue it when the destination is busy. Returns false when the queue is full. */
+    private boolean submit(Runnable send) {
+      synchronized (this) {
+        if (inFlight >= maxInFlight) {
+          if (queued.size() >= MAX_QUEUED_REQUESTS_PER_DESTINATION) {
+            return false;
+          }
+          queued.addLast(send);
+          return true;
+        }
+        inFlight++;
+      }
+      send.run();
+      return true;
+    }
+
+    /** A request completed, send the next queued request in its place */
+    private void release() {
+      Runnable next;
+      synchronized (this) {
+        next = queued.pollFirst();
+        if (next == null) {
+          inFlight--;
+          return;
+        }
+      }
+      next.run();
+    }
+  }
+}
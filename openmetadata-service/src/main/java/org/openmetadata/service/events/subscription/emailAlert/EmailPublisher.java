@@ -7,6 +7,7 @@ import static org.openmetadata.service.Entity.USER;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.alert.type.EmailAlertConfig;
@@ -55,7 +56,7 @@ public class EmailPublisher extends SubscriptionPublisher {
   }
 
   @Override
-  public void sendAlert(EventResource.EventList list) throws InterruptedException {
+  public CompletableFuture<Void> sendAlert(EventResource.EventList list) {
     for (ChangeEvent event : list.getData()) {
       try {
         Set<String> receivers = buildReceiversList(event);
@@ -70,6 +71,7 @@ public class EmailPublisher extends SubscriptionPublisher {
             String.format("Failed to publish event %s to email due to %s ", event, e.getMessage()));
       }
     }
+    return CompletableFuture.completedFuture(null);
   }
 
   private Set<String> sendToAdmins() {
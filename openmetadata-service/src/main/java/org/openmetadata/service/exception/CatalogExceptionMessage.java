@@ -72,6 +72,10 @@ public final class CatalogExceptionMessage {
     return entityNotFound(entityType, id.toString());
   }
 
+  public static String duplicateEntityInRequest(String fqn) {
+    return String.format("Entity %s is repeated in the request", fqn);
+  }
+
   public static String readOnlyAttribute(String entityType, String attribute) {
     return String.format("%s attribute %s can't be modified", entityType, attribute);
   }
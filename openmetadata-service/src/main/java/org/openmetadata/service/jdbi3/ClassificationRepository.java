@@ -29,6 +29,7 @@ import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.resources.tags.ClassificationResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 
@@ -64,6 +65,9 @@ public class ClassificationRepository extends EntityRepository<Classification> {
   @Override
   public void storeEntity(Classification category, boolean update) throws IOException {
     store(category, update);
+    if (update) {
+      TagLabelCache.getInstance().invalidateAll();
+    }
   }
 
   @Override
@@ -87,6 +91,7 @@ public class ClassificationRepository extends EntityRepository<Classification> {
     daoCollection.tagDAO().deleteTagsByPrefix(classification.getName());
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.CLASSIFICATION.ordinal(), classification.getName());
     daoCollection.tagUsageDAO().deleteTagLabelsByPrefix(TagSource.CLASSIFICATION.ordinal(), classification.getName());
+    TagLabelCache.getInstance().invalidateAll();
     return classification;
   }
 
@@ -121,7 +126,7 @@ public class ClassificationRepository extends EntityRepository<Classification> {
         }
         // Category name changed - update tag names starting from classification and all the children tags
         LOG.info("Classification name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.tagDAO().updateFqn(original.getName(), updated.getName());
+        updateFqnPrefix(Entity.TAG, original.getName(), updated.getName());
         daoCollection
             .tagUsageDAO()
             .updateTagPrefix(TagSource.CLASSIFICATION.ordinal(), original.getName(), updated.getName());
@@ -22,17 +22,23 @@ import static org.openmetadata.service.jdbi3.ListFilter.escapeApostrophe;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
@@ -40,11 +46,14 @@ import org.jdbi.v3.core.statement.StatementException;
 import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindBean;
 import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.api.configuration.airflow.TaskNotificationConfiguration;
 import org.openmetadata.api.configuration.airflow.TestResultNotificationConfiguration;
 import org.openmetadata.common.utils.CommonUtil;
@@ -112,13 +121,24 @@ import org.openmetadata.service.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
 import org.openmetadata.service.jdbi3.FeedRepository.FilterType;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
+import org.openmetadata.service.resources.databases.DatasourceConfig;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 
 public interface CollectionDAO {
+  /**
+   * Run {@code callback} in a transaction. DAOs of this {@link CollectionDAO} used by the callback on the same thread
+   * take part in the transaction, and it is rolled back when the callback throws an exception.
+   */
+  @Transaction
+  default void runInTransaction(ConsumerWithExceptions<CollectionDAO, IOException> callback) throws IOException {
+    callback.accept(this);
+  }
+
   @CreateSqlObject
   DatabaseDAO databaseDAO();
 
@@ -547,6 +567,19 @@ public interface CollectionDAO {
             + "ORDER BY extension")
     List<ExtensionRecord> getExtensions(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
 
+    /** List a page of the extensions named `extensionPrefix.x.y`, ordered by the numeric suffix, such as a version */
+    @RegisterRowMapper(ExtensionMapper.class)
+    @SqlQuery(
+        "SELECT extension, json FROM entity_extension WHERE id = :id AND extension "
+            + "LIKE CONCAT (:extensionPrefix, '.%') "
+            + "ORDER BY CAST(SUBSTRING(extension, CHAR_LENGTH(:extensionPrefix) + 2) AS DECIMAL(20, 10)) DESC "
+            + "LIMIT :limit OFFSET :offset")
+    List<ExtensionRecord> getExtensionsDescending(
+        @Bind("id") String id,
+        @Bind("extensionPrefix") String extensionPrefix,
+        @Bind("limit") int limit,
+        @Bind("offset") int offset);
+
     @SqlUpdate("DELETE FROM entity_extension WHERE id = :id AND extension = :extension")
     void delete(@Bind("id") String id, @Bind("extension") String extension);
 
@@ -555,6 +588,9 @@ public interface CollectionDAO {
 
     @SqlUpdate("DELETE FROM entity_extension WHERE id = :id")
     void deleteAll(@Bind("id") String id);
+
+    @SqlUpdate("DELETE FROM entity_extension WHERE id IN (<ids>)")
+    void deleteAllBatch(@BindList("ids") List<String> ids);
   }
 
   class EntityVersionPair {
@@ -584,6 +620,22 @@ public interface CollectionDAO {
     }
   }
 
+  @Getter
+  @Builder
+  class ChangeEventRecord {
+    /** Sequence number assigned to the event when it is inserted in change_event */
+    private long offset;
+
+    private String json;
+  }
+
+  class ChangeEventRecordMapper implements RowMapper<ChangeEventRecord> {
+    @Override
+    public ChangeEventRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return ChangeEventRecord.builder().offset(rs.getLong("eventOffset")).json(rs.getString("json")).build();
+    }
+  }
+
   @Getter
   @Builder
   class EntityRelationshipRecord {
@@ -592,6 +644,17 @@ public interface CollectionDAO {
     private String json;
   }
 
+  @Getter
+  @Builder
+  class EntityRelationshipObject {
+    private String fromId;
+    private String toId;
+    private String fromEntity;
+    private String toEntity;
+    private int relation;
+    private String json;
+  }
+
   @Getter
   @Builder
   class ReportDataRow {
@@ -635,6 +698,30 @@ public interface CollectionDAO {
         @Bind("relation") int relation,
         @Bind("json") String json);
 
+    /** Insert the given relationships using a single JDBC batch */
+    default void insertBatch(List<EntityRelationshipObject> relationships) {
+      if (relationships.isEmpty()) {
+        return;
+      }
+      if (DatasourceConfig.getInstance().isMySQL()) {
+        insertBatchMySql(relationships);
+      } else {
+        insertBatchPostgres(relationships);
+      }
+    }
+
+    @SqlBatch(
+        "INSERT INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation, json) "
+            + "VALUES (:fromId, :toId, :fromEntity, :toEntity, :relation, :json) "
+            + "ON DUPLICATE KEY UPDATE json = :json")
+    void insertBatchMySql(@BindBean List<EntityRelationshipObject> relationships);
+
+    @SqlBatch(
+        "INSERT INTO entity_relationship(fromId, toId, fromEntity, toEntity, relation, json) VALUES "
+            + "(:fromId, :toId, :fromEntity, :toEntity, :relation, (:json :: jsonb)) "
+            + "ON CONFLICT (fromId, toId, relation) DO UPDATE SET json = EXCLUDED.json")
+    void insertBatchPostgres(@BindBean List<EntityRelationshipObject> relationships);
+
     //
     // Find to operations
     //
@@ -720,6 +807,46 @@ public interface CollectionDAO {
     @RegisterRowMapper(FromRelationshipMapper.class)
     List<EntityRelationshipRecord> findFrom(@Bind("toId") String toId);
 
+    //
+    // Batch find operations used for resolving relationships of a list of entities with a single query
+    //
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE fromId IN (<fromIds>) AND relation IN (<relations>) ORDER BY toId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findToBatch(
+        @BindList("fromIds") List<String> fromIds, @BindList("relations") List<Integer> relations);
+
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE fromId IN (<fromIds>) AND fromEntity = :fromEntity AND relation = :relation "
+            + "AND toEntity = :toEntity ORDER BY toId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findToBatch(
+        @BindList("fromIds") List<String> fromIds,
+        @Bind("fromEntity") String fromEntity,
+        @Bind("relation") int relation,
+        @Bind("toEntity") String toEntity);
+
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND toEntity = :toEntity AND relation = :relation AND fromEntity = :fromEntity "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findFromBatch(
+        @BindList("toIds") List<String> toIds,
+        @Bind("toEntity") String toEntity,
+        @Bind("relation") int relation,
+        @Bind("fromEntity") String fromEntity);
+
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND toEntity = :toEntity AND relation = :relation "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findFromBatch(
+        @BindList("toIds") List<String> toIds, @Bind("toEntity") String toEntity, @Bind("relation") int relation);
+
     @SqlQuery("SELECT count(*) FROM entity_relationship " + "WHERE fromEntity = :fromEntity AND toEntity = :toEntity")
     int findIfAnyRelationExist(@Bind("fromEntity") String fromEntity, @Bind("toEntity") String toEntity);
 
@@ -762,6 +889,9 @@ public interface CollectionDAO {
             + "(fromId = :id AND fromEntity = :entity)")
     void deleteAll(@Bind("id") String id, @Bind("entity") String entity);
 
+    @SqlUpdate("DELETE from entity_relationship WHERE toId IN (<ids>) OR fromId IN (<ids>)")
+    void deleteAllBatch(@BindList("ids") List<String> ids);
+
     class FromRelationshipMapper implements RowMapper<EntityRelationshipRecord> {
       @Override
       public EntityRelationshipRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
@@ -783,6 +913,20 @@ public interface CollectionDAO {
             .build();
       }
     }
+
+    class RelationshipObjectMapper implements RowMapper<EntityRelationshipObject> {
+      @Override
+      public EntityRelationshipObject map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EntityRelationshipObject.builder()
+            .fromId(rs.getString("fromId"))
+            .toId(rs.getString("toId"))
+            .fromEntity(rs.getString("fromEntity"))
+            .toEntity(rs.getString("toEntity"))
+            .relation(rs.getInt("relation"))
+            .json(rs.getString("json"))
+            .build();
+      }
+    }
   }
 
   interface FeedDAO {
@@ -1204,6 +1348,21 @@ public interface CollectionDAO {
     @SqlUpdate("DELETE from field_relationship <cond>")
     void deleteAllByPrefixInternal(@Define("cond") String cond, @BindMap Map<String, String> bindings);
 
+    /** Delete the field relationships of all the given FQN prefixes using a single JDBC batch */
+    default void deleteAllByPrefixBatch(List<String> fqnPrefixes) {
+      if (fqnPrefixes.isEmpty()) {
+        return;
+      }
+      List<String> prefixes =
+          fqnPrefixes.stream()
+              .map(fqnPrefix -> String.format("%s%s%%", fqnPrefix, Entity.SEPARATOR))
+              .collect(Collectors.toList());
+      deleteAllByPrefixBatchInternal(prefixes);
+    }
+
+    @SqlBatch("DELETE from field_relationship WHERE (toFQN LIKE :prefix OR fromFQN LIKE :prefix)")
+    void deleteAllByPrefixBatchInternal(@Bind("prefix") List<String> prefixes);
+
     @SqlUpdate(
         "DELETE from field_relationship WHERE fromFQN = :fromFQN AND toFQN = :toFQN AND fromType = :fromType "
             + "AND toType = :toType AND relation = :relation")
@@ -1715,6 +1874,49 @@ public interface CollectionDAO {
         @Bind("labelType") int labelType,
         @Bind("state") int state);
 
+    /** Apply the given tag labels to the corresponding target FQNs using a single JDBC batch */
+    default void applyTagBatch(List<TagLabel> tagLabels, List<String> targetFQNs) {
+      if (tagLabels.isEmpty()) {
+        return;
+      }
+      List<Integer> sources = new ArrayList<>();
+      List<String> tagFQNs = new ArrayList<>();
+      List<Integer> labelTypes = new ArrayList<>();
+      List<Integer> states = new ArrayList<>();
+      for (TagLabel tagLabel : tagLabels) {
+        sources.add(tagLabel.getSource().ordinal());
+        tagFQNs.add(tagLabel.getTagFQN());
+        labelTypes.add(tagLabel.getLabelType().ordinal());
+        states.add(tagLabel.getState().ordinal());
+      }
+      if (DatasourceConfig.getInstance().isMySQL()) {
+        applyTagBatchMySql(sources, tagFQNs, targetFQNs, labelTypes, states);
+      } else {
+        applyTagBatchPostgres(sources, tagFQNs, targetFQNs, labelTypes, states);
+      }
+    }
+
+    @SqlBatch(
+        "INSERT IGNORE INTO tag_usage (source, tagFQN, targetFQN, labelType, state) "
+            + "VALUES (:source, :tagFQN, :targetFQN, :labelType, :state)")
+    void applyTagBatchMySql(
+        @Bind("source") List<Integer> sources,
+        @Bind("tagFQN") List<String> tagFQNs,
+        @Bind("targetFQN") List<String> targetFQNs,
+        @Bind("labelType") List<Integer> labelTypes,
+        @Bind("state") List<Integer> states);
+
+    @SqlBatch(
+        "INSERT INTO tag_usage (source, tagFQN, targetFQN, labelType, state) "
+            + "VALUES (:source, :tagFQN, :targetFQN, :labelType, :state) "
+            + "ON CONFLICT (source, tagFQN, targetFQN) DO NOTHING")
+    void applyTagBatchPostgres(
+        @Bind("source") List<Integer> sources,
+        @Bind("tagFQN") List<String> tagFQNs,
+        @Bind("targetFQN") List<String> targetFQNs,
+        @Bind("labelType") List<Integer> labelTypes,
+        @Bind("state") List<Integer> states);
+
     @SqlQuery("SELECT targetFQN FROM tag_usage WHERE source = :source AND tagFQN = :tagFQN")
     List<String> getTargetFQNs(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
 
@@ -1727,6 +1929,27 @@ public interface CollectionDAO {
     @SqlQuery("SELECT source, tagFQN, labelType, state FROM tag_usage WHERE targetFQN = :targetFQN ORDER BY tagFQN")
     List<TagLabel> getTagsInternal(@Bind("targetFQN") String targetFQN);
 
+    /** Get tags for a list of targets keyed by targetFQN. Targets without tags have an empty list. */
+    default Map<String, List<TagLabel>> getTagsByTargets(List<String> targetFQNs) {
+      Map<String, List<TagLabel>> tagsByTarget = new HashMap<>();
+      List<String> targets = targetFQNs.stream().distinct().collect(Collectors.toList());
+      targets.forEach(target -> tagsByTarget.put(target, new ArrayList<>()));
+      for (List<String> batch : Lists.partition(targets, EntityDAO.BATCH_QUERY_SIZE)) {
+        for (Pair<String, TagLabel> pair : getTagsInternalBatch(batch)) {
+          TagLabel tagLabel = pair.getRight();
+          tagLabel.setDescription(TagLabelCache.getInstance().getDescription(tagLabel));
+          tagsByTarget.get(pair.getLeft()).add(tagLabel);
+        }
+      }
+      return tagsByTarget;
+    }
+
+    @SqlQuery(
+        "SELECT source, tagFQN, labelType, state, targetFQN FROM tag_usage "
+            + "WHERE targetFQN IN (<targetFQNs>) ORDER BY tagFQN")
+    @RegisterRowMapper(TagLabelWithTargetMapper.class)
+    List<Pair<String, TagLabel>> getTagsInternalBatch(@BindList("targetFQNs") List<String> targetFQNs);
+
     @SqlQuery(
         "SELECT COUNT(*) FROM tag_usage "
             + "WHERE (tagFQN LIKE CONCAT(:tagFqn, '.%') OR tagFQN = :tagFqn) "
@@ -1745,6 +1968,16 @@ public interface CollectionDAO {
     @SqlUpdate("DELETE FROM tag_usage where targetFQN LIKE CONCAT(:targetFQN, '%')")
     void deleteTagLabelsByTargetPrefix(@Bind("targetFQN") String targetFQN);
 
+    /** Delete the tag labels of all the given target FQN prefixes using a single JDBC batch */
+    default void deleteTagLabelsByTargetPrefixBatch(List<String> targetFQNs) {
+      if (!targetFQNs.isEmpty()) {
+        deleteTagLabelsByTargetPrefixBatchInternal(targetFQNs);
+      }
+    }
+
+    @SqlBatch("DELETE FROM tag_usage where targetFQN LIKE CONCAT(:targetFQN, '%')")
+    void deleteTagLabelsByTargetPrefixBatchInternal(@Bind("targetFQN") List<String> targetFQNs);
+
     /** Update all the tagFQN starting with oldPrefix to start with newPrefix due to tag or glossary name change */
     default void updateTagPrefix(int source, String oldPrefix, String newPrefix) {
       String update =
@@ -1776,6 +2009,15 @@ public interface CollectionDAO {
             .withTagFQN(r.getString("tagFQN"));
       }
     }
+
+    class TagLabelWithTargetMapper implements RowMapper<Pair<String, TagLabel>> {
+      private final TagLabelMapper tagLabelMapper = new TagLabelMapper();
+
+      @Override
+      public Pair<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("targetFQN"), tagLabelMapper.map(r, ctx));
+      }
+    }
   }
 
   interface RoleDAO extends EntityDAO<Role> {
@@ -2073,9 +2315,20 @@ public interface CollectionDAO {
             + "WHERE usageDate IN (SELECT MAX(usageDate) FROM entity_usage WHERE id = :id) AND id = :id")
     UsageDetails getLatestUsage(@Bind("id") String id);
 
+    /** Get latest usage record for each of the given ids */
+    @SqlQuery(
+        "SELECT id, usageDate, entityType, count1, count7, count30, "
+            + "percentile1, percentile7, percentile30 FROM entity_usage u "
+            + "WHERE id IN (<ids>) AND usageDate = (SELECT MAX(usageDate) FROM entity_usage WHERE id = u.id)")
+    @RegisterRowMapper(UsageDetailsWithIdMapper.class)
+    List<Pair<String, UsageDetails>> getLatestUsageBatch(@BindList("ids") List<String> ids);
+
     @SqlUpdate("DELETE FROM entity_usage WHERE id = :id")
     void delete(@Bind("id") String id);
 
+    @SqlUpdate("DELETE FROM entity_usage WHERE id IN (<ids>)")
+    void deleteBatch(@BindList("ids") List<String> ids);
+
     /**
      * TODO: Not sure I get what the next comment means, but tests now use mysql 8 so maybe tests can be improved here
      * Note not using in following percentile computation PERCENT_RANK function as unit tests use mysql5.7, and it does
@@ -2130,6 +2383,15 @@ public interface CollectionDAO {
             .withMonthlyStats(monthlyStats);
       }
     }
+
+    class UsageDetailsWithIdMapper implements RowMapper<Pair<String, UsageDetails>> {
+      private final UsageDetailsMapper usageDetailsMapper = new UsageDetailsMapper();
+
+      @Override
+      public Pair<String, UsageDetails> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("id"), usageDetailsMapper.map(r, ctx));
+      }
+    }
   }
 
   interface UserDAO extends EntityDAO<User> {
@@ -2415,6 +2677,24 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
+    /** Insert the change events using a single JDBC batch */
+    default void insertBatch(List<String> jsons) {
+      if (jsons.isEmpty()) {
+        return;
+      }
+      if (DatasourceConfig.getInstance().isMySQL()) {
+        insertBatchMySql(jsons);
+      } else {
+        insertBatchPostgres(jsons);
+      }
+    }
+
+    @SqlBatch("INSERT INTO change_event (json) VALUES (:json)")
+    void insertBatchMySql(@Bind("json") List<String> jsons);
+
+    @SqlBatch("INSERT INTO change_event (json) VALUES (:json :: jsonb)")
+    void insertBatchPostgres(@Bind("json") List<String> jsons);
+
     @SqlUpdate("DELETE FROM change_event WHERE entityType = :entityType")
     void deleteAll(@Bind("entityType") String entityType);
 
@@ -2442,6 +2722,80 @@ public interface CollectionDAO {
             + "eventType = :eventType AND eventTime >= :timestamp "
             + "ORDER BY eventTime ASC")
     List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("timestamp") long timestamp);
+
+    /** List the events recorded after the given sequence number in the order they were recorded */
+    @RegisterRowMapper(ChangeEventRecordMapper.class)
+    @SqlQuery(
+        "SELECT eventOffset, json FROM change_event WHERE eventOffset > :after ORDER BY eventOffset ASC LIMIT :limit")
+    List<ChangeEventRecord> listAfterOffset(@Bind("after") long after, @Bind("limit") int limit);
+
+    /**
+     * Returns the sequence number before the first event recorded at or after the given time, or the last sequence
+     * number when there is no such event, and 0 when there are no events
+     */
+    @SqlQuery(
+        "SELECT COALESCE((SELECT MIN(eventOffset) FROM change_event WHERE eventTime >= :eventTime) - 1, "
+            + "(SELECT MAX(eventOffset) FROM change_event), 0)")
+    long getOffsetBefore(@Bind("eventTime") long eventTime);
+
+    /** Returns the sequence number of the last recorded event, 0 when there are no events */
+    @SqlQuery("SELECT COALESCE(MAX(eventOffset), 0) FROM change_event")
+    long getLastOffset();
+
+    /** List the events in the time range (after, before] in the order of their timestamp */
+    @SqlQuery(
+        "SELECT json FROM change_event WHERE eventTime > :after AND eventTime <= :before "
+            + "ORDER BY eventTime ASC LIMIT :limit")
+    List<String> listAfter(@Bind("after") long after, @Bind("before") long before, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT json FROM change_event WHERE eventTime = :eventTime")
+    List<String> listAt(@Bind("eventTime") long eventTime);
+
+    /** Count the entities of the type changed in the time range [after, before] */
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COUNT(DISTINCT JSON_UNQUOTE(JSON_EXTRACT(json, '$.entityId'))) FROM change_event "
+                + "WHERE entityType = :entityType AND eventTime >= :after AND eventTime <= :before",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT COUNT(DISTINCT json->>'entityId') FROM change_event "
+                + "WHERE entityType = :entityType AND eventTime >= :after AND eventTime <= :before",
+        connectionType = POSTGRES)
+    int countChangedEntities(
+        @Bind("entityType") String entityType, @Bind("after") long after, @Bind("before") long before);
+
+    /**
+     * List the ids of the entities of the type changed in the time range [after, before] by the events after the
+     * offset, with the offset of each event in the order of the offsets. An entity changed by several events is listed
+     * once per event.
+     */
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT eventOffset, JSON_UNQUOTE(JSON_EXTRACT(json, '$.entityId')) AS entityId FROM change_event "
+                + "WHERE eventOffset > :afterOffset AND entityType = :entityType "
+                + "AND eventTime >= :after AND eventTime <= :before ORDER BY eventOffset LIMIT :limit",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT eventOffset, json->>'entityId' AS entityId FROM change_event "
+                + "WHERE eventOffset > :afterOffset AND entityType = :entityType "
+                + "AND eventTime >= :after AND eventTime <= :before ORDER BY eventOffset LIMIT :limit",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(ChangedEntityMapper.class)
+    List<Pair<Long, String>> listChangedEntityIds(
+        @Bind("entityType") String entityType,
+        @Bind("after") long after,
+        @Bind("before") long before,
+        @Bind("afterOffset") long afterOffset,
+        @Bind("limit") int limit);
+
+    class ChangedEntityMapper implements RowMapper<Pair<Long, String>> {
+      @Override
+      public Pair<Long, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getLong("eventOffset"), rs.getString("entityId"));
+      }
+    }
   }
 
   interface TypeEntityDAO extends EntityDAO<Type> {
@@ -2746,12 +3100,95 @@ public interface CollectionDAO {
         value =
             "UPDATE entity_extension_time_series set json = (:json :: jsonb) where entityFQN=:entityFQN and extension=:extension and timestamp=:timestamp",
         connectionType = POSTGRES)
-    void update(
+    int update(
         @Bind("entityFQN") String entityFQN,
         @Bind("extension") String extension,
         @Bind("json") String json,
         @Bind("timestamp") Long timestamp);
 
+    /** Insert the records of the extension for the given entities using a single JDBC batch */
+    default void insertBatch(List<String> entityFQNs, String extension, String jsonSchema, List<String> jsons) {
+      if (entityFQNs.isEmpty()) {
+        return;
+      }
+      if (DatasourceConfig.getInstance().isMySQL()) {
+        insertBatchMySql(entityFQNs, extension, jsonSchema, jsons);
+      } else {
+        insertBatchPostgres(entityFQNs, extension, jsonSchema, jsons);
+      }
+    }
+
+    @SqlBatch(
+        "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) "
+            + "VALUES (:entityFQN, :extension, :jsonSchema, :json)")
+    void insertBatchMySql(
+        @Bind("entityFQN") List<String> entityFQNs,
+        @Bind("extension") String extension,
+        @Bind("jsonSchema") String jsonSchema,
+        @Bind("json") List<String> jsons);
+
+    @SqlBatch(
+        "INSERT INTO entity_extension_time_series(entityFQN, extension, jsonSchema, json) "
+            + "VALUES (:entityFQN, :extension, :jsonSchema, (:json :: jsonb))")
+    void insertBatchPostgres(
+        @Bind("entityFQN") List<String> entityFQNs,
+        @Bind("extension") String extension,
+        @Bind("jsonSchema") String jsonSchema,
+        @Bind("json") List<String> jsons);
+
+    /** Update the records of the extension for the given entities and timestamps using a single JDBC batch */
+    default void updateBatch(List<String> entityFQNs, String extension, List<String> jsons, List<Long> timestamps) {
+      if (entityFQNs.isEmpty()) {
+        return;
+      }
+      if (DatasourceConfig.getInstance().isMySQL()) {
+        updateBatchMySql(entityFQNs, extension, jsons, timestamps);
+      } else {
+        updateBatchPostgres(entityFQNs, extension, jsons, timestamps);
+      }
+    }
+
+    @SqlBatch(
+        "UPDATE entity_extension_time_series SET json = :json "
+            + "WHERE entityFQN = :entityFQN AND extension = :extension AND timestamp = :timestamp")
+    void updateBatchMySql(
+        @Bind("entityFQN") List<String> entityFQNs,
+        @Bind("extension") String extension,
+        @Bind("json") List<String> jsons,
+        @Bind("timestamp") List<Long> timestamps);
+
+    @SqlBatch(
+        "UPDATE entity_extension_time_series SET json = (:json :: jsonb) "
+            + "WHERE entityFQN = :entityFQN AND extension = :extension AND timestamp = :timestamp")
+    void updateBatchPostgres(
+        @Bind("entityFQN") List<String> entityFQNs,
+        @Bind("extension") String extension,
+        @Bind("json") List<String> jsons,
+        @Bind("timestamp") List<Long> timestamps);
+
+    /** Get the timestamps of the records of the extension that exist for the given entities, keyed by entityFQN */
+    default Map<String, Set<Long>> getExtensionTimestamps(
+        List<String> entityFQNs, String extension, List<Long> timestamps) {
+      Map<String, Set<Long>> timestampsByEntity = new HashMap<>();
+      List<String> entities = entityFQNs.stream().distinct().collect(Collectors.toList());
+      List<Long> distinctTimestamps = timestamps.stream().distinct().collect(Collectors.toList());
+      for (List<String> batch : Lists.partition(entities, EntityDAO.BATCH_QUERY_SIZE)) {
+        for (Pair<String, Long> pair : getExtensionTimestampsInternal(batch, extension, distinctTimestamps)) {
+          timestampsByEntity.computeIfAbsent(pair.getLeft(), k -> new HashSet<>()).add(pair.getRight());
+        }
+      }
+      return timestampsByEntity;
+    }
+
+    @SqlQuery(
+        "SELECT entityFQN, timestamp FROM entity_extension_time_series WHERE extension = :extension "
+            + "AND entityFQN IN (<entityFQNs>) AND timestamp IN (<timestamps>)")
+    @RegisterRowMapper(EntityTimestampMapper.class)
+    List<Pair<String, Long>> getExtensionTimestampsInternal(
+        @BindList("entityFQNs") List<String> entityFQNs,
+        @Bind("extension") String extension,
+        @BindList("timestamps") List<Long> timestamps);
+
     @SqlQuery("SELECT json FROM entity_extension_time_series WHERE entityFQN = :entityFQN AND extension = :extension")
     String getExtension(@Bind("entityFQN") String entityId, @Bind("extension") String extension);
 
@@ -2800,6 +3237,29 @@ public interface CollectionDAO {
             + "ORDER BY timestamp DESC LIMIT 1")
     String getLatestExtension(@Bind("entityFQN") String entityFQN, @Bind("extension") String extension);
 
+    /**
+     * Get the latest record of the extension for every entity whose FQN starts with `entityFQNPrefix.`, such as the
+     * columns of a table, keyed by entityFQN. `_` and `%` in the prefix act as wildcards, so callers match the returned
+     * entityFQNs exactly.
+     */
+    default Map<String, String> getLatestExtensionsByPrefix(String entityFQNPrefix, String extension) {
+      Map<String, String> latest = new HashMap<>();
+      for (Pair<String, String> pair : getLatestExtensionsByPrefixInternal(entityFQNPrefix, extension)) {
+        latest.put(pair.getLeft(), pair.getRight());
+      }
+      return latest;
+    }
+
+    @SqlQuery(
+        "SELECT entityFQN, json FROM ("
+            + "SELECT entityFQN, json, ROW_NUMBER() OVER(PARTITION BY entityFQN ORDER BY timestamp DESC) AS row_num "
+            + "FROM entity_extension_time_series "
+            + "WHERE extension = :extension AND entityFQN LIKE CONCAT(:entityFQNPrefix, '.%')"
+            + ") latest WHERE row_num = 1")
+    @RegisterRowMapper(EntityJsonMapper.class)
+    List<Pair<String, String>> getLatestExtensionsByPrefixInternal(
+        @Bind("entityFQNPrefix") String entityFQNPrefix, @Bind("extension") String extension);
+
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series WHERE extension = :extension "
             + "ORDER BY timestamp DESC LIMIT 1")
@@ -2974,6 +3434,20 @@ public interface CollectionDAO {
         return new ReportDataRow(rowNumber, reportData);
       }
     }
+
+    class EntityJsonMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("entityFQN"), rs.getString("json"));
+      }
+    }
+
+    class EntityTimestampMapper implements RowMapper<Pair<String, Long>> {
+      @Override
+      public Pair<String, Long> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("entityFQN"), rs.getLong("timestamp"));
+      }
+    }
   }
 
   class EntitiesCountRowMapper implements RowMapper<EntitiesCount> {
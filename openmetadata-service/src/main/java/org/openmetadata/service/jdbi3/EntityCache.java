@@ -0,0 +1,177 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.util.CacheInvalidationBus;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+/**
+ * Bounded read-through cache of entities of an entity type, keyed by id and by name. Entities returned by a repository
+ * are mutated when their fields are set, so the stored JSON document is cached and every read deserializes its own
+ * copy. The cache bounds the total size of the cached JSON and is invalidated by the repository on every write.
+ *
+ * <p>A reader that missed the cache may have read the row before a write committed and put it after the write
+ * invalidated the entity. Readers take {@link #getInvalidationCount()} before reading the row, and the entity is not
+ * cached when an invalidation happened in between.
+ *
+ * <p>Invalidations are published on the {@link CacheInvalidationBus}, so that the other servers of the cluster drop
+ * the entity from their own cache.
+ */
+@Slf4j
+public class EntityCache {
+  private static EntityCacheConfiguration configuration = new EntityCacheConfiguration();
+
+  private final String entityType;
+  private final String cacheName;
+  private final Cache<UUID, CachedEntity> entitiesById;
+  private final Cache<String, UUID> idsByName;
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private EntityCache(String entityType, EntityCacheConfiguration config) {
+    this.entityType = entityType;
+    this.cacheName = "entity." + entityType;
+    this.entitiesById =
+        CacheBuilder.newBuilder()
+            .maximumWeight(config.getMaxWeightBytes())
+            .weigher((UUID id, CachedEntity entity) -> entity.json.length())
+            .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    this.idsByName =
+        CacheBuilder.newBuilder()
+            .maximumSize(config.getMaxWeightBytes() / 1024)
+            .expireAfterWrite(config.getExpireAfterWriteSeconds(), TimeUnit.SECONDS)
+            .build();
+    registerMetrics();
+    CacheInvalidationBus.register(cacheName, id -> invalidateLocally(id.isEmpty() ? null : UUID.fromString(id)));
+  }
+
+  /** Called once during application startup before the entity repositories are created */
+  public static void initialize(EntityCacheConfiguration config) {
+    if (config != null) {
+      configuration = config;
+    }
+    LOG.info(
+        "Entity cache is {} for {}",
+        configuration.isEnabled() ? "enabled" : "disabled",
+        configuration.getEntityTypes());
+  }
+
+  /** Returns a cache for the given entity type, or null when caching is not enabled for the entity type */
+  public static EntityCache create(String entityType) {
+    if (!configuration.isEnabled() || !configuration.getEntityTypes().contains(entityType)) {
+      return null;
+    }
+    return new EntityCache(entityType, configuration);
+  }
+
+  /** Returns the cache of list counts of an entity type, which only caches when count caching is enabled */
+  public static ListCountCache createListCountCache() {
+    return new ListCountCache(configuration.getListCountExpireAfterWriteSeconds());
+  }
+
+  /** Returns the cached JSON of the entity with the given id or null on cache miss */
+  public String getById(UUID id) {
+    CachedEntity cached = entitiesById.getIfPresent(id);
+    return cached == null ? null : cached.json;
+  }
+
+  /** Returns the cached JSON of the entity with the given name or null on cache miss */
+  public String getByName(String name) {
+    UUID id = idsByName.getIfPresent(name);
+    CachedEntity cached = id == null ? null : entitiesById.getIfPresent(id);
+    // The entity may have been renamed since the name was cached
+    return cached == null || !cached.name.equals(name) ? null : cached.json;
+  }
+
+  /** Taken before reading an entity from the database and passed to {@link #put} */
+  public long getInvalidationCount() {
+    return invalidations.get();
+  }
+
+  /** Cache the entity read from the database, unless an entity was invalidated since the read started */
+  public void put(UUID id, String name, String json, long invalidationCount) {
+    entitiesById.put(id, new CachedEntity(name, json));
+    idsByName.put(name, id);
+    if (invalidations.get() != invalidationCount) {
+      // The row read may be older than the invalidation
+      remove(id);
+    }
+  }
+
+  public void invalidate(UUID id) {
+    invalidateLocally(id);
+    CacheInvalidationBus.publish(cacheName, id.toString());
+  }
+
+  public void invalidateAll() {
+    invalidateLocally(null);
+    CacheInvalidationBus.publish(cacheName, "");
+  }
+
+  /** Invalidate the entity with the given id on this server, or all the entities when the id is null */
+  private void invalidateLocally(UUID id) {
+    invalidations.incrementAndGet();
+    if (id == null) {
+      entitiesById.invalidateAll();
+      idsByName.invalidateAll();
+    } else {
+      remove(id);
+    }
+  }
+
+  private void remove(UUID id) {
+    CachedEntity cached = entitiesById.getIfPresent(id);
+    entitiesById.invalidate(id);
+    if (cached != null) {
+      idsByName.invalidate(cached.name);
+    }
+  }
+
+  private void registerMetrics() {
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    if (registry == null) {
+      return;
+    }
+    FunctionCounter.builder("entity_cache_hits", entitiesById, c -> c.stats().hitCount())
+        .tag("entityType", entityType)
+        .register(registry);
+    FunctionCounter.builder("entity_cache_misses", entitiesById, c -> c.stats().missCount())
+        .tag("entityType", entityType)
+        .register(registry);
+    FunctionCounter.builder("entity_cache_evictions", entitiesById, c -> c.stats().evictionCount())
+        .tag("entityType", entityType)
+        .register(registry);
+    Gauge.builder("entity_cache_size", entitiesById, Cache::size).tag("entityType", entityType).register(registry);
+  }
+
+  private static class CachedEntity {
+    private final String name;
+    private final String json;
+
+    CachedEntity(String name, String json) {
+      this.name = name;
+      this.json = json;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import static org.openmetadata.service.Entity.DASHBOARD_SERVICE;
+import static org.openmetadata.service.Entity.DATABASE;
+import static org.openmetadata.service.Entity.DATABASE_SCHEMA;
+import static org.openmetadata.service.Entity.DATABASE_SERVICE;
+import static org.openmetadata.service.Entity.MESSAGING_SERVICE;
+import static org.openmetadata.service.Entity.METADATA_SERVICE;
+import static org.openmetadata.service.Entity.MLMODEL_SERVICE;
+import static org.openmetadata.service.Entity.PIPELINE_SERVICE;
+import static org.openmetadata.service.Entity.STORAGE_SERVICE;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Configuration of the read-through entity cache used by {@link EntityRepository}, disabled by default. */
+@Getter
+@Setter
+public class EntityCacheConfiguration {
+  private boolean enabled = false;
+
+  /** Maximum total size in bytes of the entity JSON documents cached per entity type */
+  private long maxWeightBytes = 64L * 1024 * 1024;
+
+  /** Upper bound on how long an entity may be served from the cache after it was loaded */
+  private int expireAfterWriteSeconds = 600;
+
+  /**
+   * How long the total count of an unfiltered list query is reused across page requests, independent of {@link
+   * #enabled}. Counts are dropped when entities of the type are created, updated or deleted on this server, so this
+   * bounds the staleness caused by the writes of the other servers. Zero disables caching of counts.
+   */
+  private int listCountExpireAfterWriteSeconds = 0;
+
+  /** Entity types that are cached. These are the parent entities that are looked up on most reads. */
+  private List<String> entityTypes =
+      new ArrayList<>(
+          List.of(
+              DATABASE_SERVICE,
+              MESSAGING_SERVICE,
+              DASHBOARD_SERVICE,
+              PIPELINE_SERVICE,
+              STORAGE_SERVICE,
+              MLMODEL_SERVICE,
+              METADATA_SERVICE,
+              DATABASE,
+              DATABASE_SCHEMA));
+}
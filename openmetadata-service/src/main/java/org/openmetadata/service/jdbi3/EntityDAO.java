@@ -20,27 +20,45 @@ import static org.openmetadata.service.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.service.jdbi3.locator.ConnectionType.POSTGRES;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import lombok.SneakyThrows;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.customizer.FetchSize;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.type.EntityReference;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.service.jdbi3.locator.ConnectionAwareSqlUpdate;
+import org.openmetadata.service.resources.databases.DatasourceConfig;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 
 public interface EntityDAO<T extends EntityInterface> {
   org.slf4j.Logger LOG = org.slf4j.LoggerFactory.getLogger(EntityDAO.class);
 
+  /** Maximum number of values bound in a single {@code IN (...)} clause of a batch query */
+  int BATCH_QUERY_SIZE = 1000;
+
+  /** Number of rows fetched from the database at a time when streaming a table */
+  int STREAM_FETCH_SIZE = 500;
+
   /** Methods that need to be overridden by interfaces extending this */
   String getTableName();
 
@@ -57,6 +75,13 @@ public interface EntityDAO<T extends EntityInterface> {
   @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES (:json :: jsonb)", connectionType = POSTGRES)
   void insert(@Define("table") String table, @Bind("json") String json);
 
+  // JDBI SQL batches don't support the connection aware annotations. Default method insertBatch picks the query.
+  @SqlBatch("INSERT INTO <table> (json) VALUES (:json)")
+  void insertBatchMySql(@Define("table") String table, @Bind("json") List<String> jsons);
+
+  @SqlBatch("INSERT INTO <table> (json) VALUES (:json :: jsonb)")
+  void insertBatchPostgres(@Define("table") String table, @Bind("json") List<String> jsons);
+
   @ConnectionAwareSqlUpdate(value = "UPDATE <table> SET  json = :json WHERE id = :id", connectionType = MYSQL)
   @ConnectionAwareSqlUpdate(
       value = "UPDATE <table> SET  json = (:json :: jsonb) WHERE id = :id",
@@ -99,9 +124,29 @@ public interface EntityDAO<T extends EntityInterface> {
       @Bind("name") String name,
       @Define("cond") String cond);
 
+  @SqlQuery("SELECT json FROM <table> WHERE id IN (<ids>) <cond>")
+  List<String> findByIds(
+      @Define("table") String table, @BindList("ids") List<String> ids, @Define("cond") String cond);
+
+  @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> IN (<names>) <cond>")
+  List<String> findByNames(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @BindList("names") List<String> names,
+      @Define("cond") String cond);
+
   @SqlQuery("SELECT count(*) FROM <table> <cond>")
   int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
 
+  @ConnectionAwareSqlQuery(
+      value =
+          "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = :table",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value = "SELECT reltuples::bigint FROM pg_class WHERE relname = :table AND relkind = 'r'",
+      connectionType = POSTGRES)
+  Long getEstimatedCount(@Bind("table") String table);
+
   @SqlQuery("SELECT count(*) FROM <table>")
   int listTotalCount(@Define("table") String table, @Define("nameColumn") String nameColumn);
 
@@ -138,6 +183,17 @@ public interface EntityDAO<T extends EntityInterface> {
       @Bind("limit") int limit,
       @Bind("offset") int offset);
 
+  @SqlQuery("SELECT json FROM <table> <cond> ORDER BY <nameColumn>")
+  @FetchSize(STREAM_FETCH_SIZE)
+  Stream<String> streamAll(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
+
+  /** MySQL streams the rows of a query, instead of reading the whole result, only with this fetch size */
+  @SqlQuery("SELECT json FROM <table> <cond> ORDER BY <nameColumn>")
+  @FetchSize(Integer.MIN_VALUE)
+  Stream<String> streamAllMySQL(
+      @Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
+
   @SqlQuery("SELECT EXISTS (SELECT * FROM <table> WHERE id = :id)")
   boolean exists(@Define("table") String table, @Bind("id") String id);
 
@@ -147,11 +203,26 @@ public interface EntityDAO<T extends EntityInterface> {
   @SqlUpdate("DELETE FROM <table> WHERE id = :id")
   int delete(@Define("table") String table, @Bind("id") String id);
 
+  @SqlUpdate("DELETE FROM <table> WHERE id IN (<ids>)")
+  int deleteBatch(@Define("table") String table, @BindList("ids") List<String> ids);
+
   /** Default methods that interfaces with implementation. Don't override */
   default void insert(EntityInterface entity) throws JsonProcessingException {
     insert(getTableName(), JsonUtils.pojoToJson(entity));
   }
 
+  /** Insert the given entity JSON documents using a single JDBC batch */
+  default void insertBatch(List<String> jsons) {
+    if (jsons.isEmpty()) {
+      return;
+    }
+    if (DatasourceConfig.getInstance().isMySQL()) {
+      insertBatchMySql(getTableName(), jsons);
+    } else {
+      insertBatchPostgres(getTableName(), jsons);
+    }
+  }
+
   default void update(UUID id, String json) {
     update(getTableName(), id.toString(), json);
   }
@@ -191,6 +262,38 @@ public interface EntityDAO<T extends EntityInterface> {
     return jsonToEntity(findByName(getTableName(), getNameColumn(), fqn, getCondition(include)), fqn);
   }
 
+  /**
+   * Get entities for the given ids using one query per {@link #BATCH_QUERY_SIZE} ids. Ids that are not found are
+   * skipped and the order of the returned entities is not guaranteed.
+   */
+  default List<T> findEntitiesByIds(List<UUID> ids, Include include) throws IOException {
+    if (ids == null || ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> idStrings = ids.stream().map(UUID::toString).distinct().collect(Collectors.toList());
+    List<String> jsons = new ArrayList<>();
+    for (List<String> batch : Lists.partition(idStrings, BATCH_QUERY_SIZE)) {
+      jsons.addAll(findByIds(getTableName(), batch, getCondition(include)));
+    }
+    return JsonUtils.readObjects(jsons, getEntityClass());
+  }
+
+  /**
+   * Get entities for the given names or fully qualified names using one query per {@link #BATCH_QUERY_SIZE} names.
+   * Names that are not found are skipped and the order of the returned entities is not guaranteed.
+   */
+  default List<T> findEntitiesByNames(List<String> fqns, Include include) throws IOException {
+    if (fqns == null || fqns.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<String> names = fqns.stream().distinct().collect(Collectors.toList());
+    List<String> jsons = new ArrayList<>();
+    for (List<String> batch : Lists.partition(names, BATCH_QUERY_SIZE)) {
+      jsons.addAll(findByNames(getTableName(), getNameColumn(), batch, getCondition(include)));
+    }
+    return JsonUtils.readObjects(jsons, getEntityClass());
+  }
+
   default T jsonToEntity(String json, String identity) throws IOException {
     Class<T> clz = getEntityClass();
     T entity = null;
@@ -233,6 +336,11 @@ public interface EntityDAO<T extends EntityInterface> {
     return listCount(getTableName(), getNameColumn(), filter.getCondition());
   }
 
+  /** Number of rows of the table estimated from the statistics of the database, null when there is no estimate */
+  default Long getEstimatedCount() {
+    return getEstimatedCount(getTableName());
+  }
+
   default int listTotalCount() {
     return listTotalCount(getTableName(), getNameColumn());
   }
@@ -253,6 +361,23 @@ public interface EntityDAO<T extends EntityInterface> {
     return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, offset);
   }
 
+  /**
+   * Pass the JSON of all the entities matching the filter, ordered by name, to the consumer as a stream. Postgres reads
+   * the rows from a cursor {@link #STREAM_FETCH_SIZE} at a time, which it does only within a transaction. MySQL streams
+   * the rows one at a time, and the connection can't run any other query until the stream is closed.
+   */
+  @Transaction
+  default void streamAll(ListFilter filter, ConsumerWithExceptions<Stream<String>, IOException> consumer)
+      throws IOException {
+    String condition = filter.getCondition();
+    try (Stream<String> jsons =
+        Boolean.TRUE.equals(DatasourceConfig.getInstance().isMySQL())
+            ? streamAllMySQL(getTableName(), getNameColumn(), condition)
+            : streamAll(getTableName(), getNameColumn(), condition)) {
+      consumer.accept(jsons);
+    }
+  }
+
   default void exists(UUID id) {
     if (!exists(getTableName(), id.toString())) {
       String entityType = Entity.getEntityTypeFromClass(getEntityClass());
@@ -267,6 +392,11 @@ public interface EntityDAO<T extends EntityInterface> {
     }
   }
 
+  /** Delete the entities with the given ids without failing for ids that are not found */
+  default int deleteBatch(List<String> ids) {
+    return ids.isEmpty() ? 0 : deleteBatch(getTableName(), ids);
+  }
+
   default int delete(String id) {
     int rowsDeleted = delete(getTableName(), id);
     if (rowsDeleted <= 0) {
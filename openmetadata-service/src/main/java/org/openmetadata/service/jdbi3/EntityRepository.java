@@ -45,9 +45,13 @@ import static org.openmetadata.service.util.EntityUtil.tagLabelMatch;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.lmax.disruptor.util.DaemonThreadFactory;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.ValidationMessage;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -60,6 +64,13 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -98,16 +109,21 @@ import org.openmetadata.service.TypeRegistry;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.exception.UnhandledServerException;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.service.jdbi3.CollectionDAO.ExtensionRecord;
 import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.security.policyevaluator.SubjectCache;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 import org.openmetadata.service.util.RestUtil;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
 import org.openmetadata.service.util.RestUtil.DeleteResponse;
 import org.openmetadata.service.util.RestUtil.PatchResponse;
 import org.openmetadata.service.util.RestUtil.PutResponse;
@@ -146,6 +162,12 @@ import org.openmetadata.service.util.ResultList;
  */
 @Slf4j
 public abstract class EntityRepository<T extends EntityInterface> {
+  /** Threads reading the streams of {@link #streamAll}, each holding the connection of its stream */
+  private static final ExecutorService STREAM_READERS = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+  private static final List<String> END_OF_STREAM = Collections.emptyList();
+  private static final long STREAM_POLL_MILLIS = 100;
+
   private final String collectionPath;
   private final Class<T> entityClass;
   @Getter protected final String entityType;
@@ -158,6 +180,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
   protected final boolean supportsFollower;
   protected final boolean supportsVotes;
 
+  /** False for entity types with their own delete hooks, which are deleted one at a time by {@link #deleteInBulk} */
+  protected boolean supportsBulkDelete = true;
+
+  /** Read-through cache of the entities of this type, null when caching is not enabled for the entity type */
+  private final EntityCache entityCache;
+
+  /** Total counts of list queries reused across page requests */
+  private final ListCountCache listCountCache;
+
   /** Fields that can be updated during PATCH operation */
   @Getter private final Fields patchFields;
 
@@ -186,6 +217,8 @@ public abstract class EntityRepository<T extends EntityInterface> {
     this.supportsSoftDelete = allowedFields.contains(FIELD_DELETED);
     this.supportsFollower = allowedFields.contains(FIELD_FOLLOWERS);
     this.supportsVotes = allowedFields.contains(FIELD_VOTES);
+    this.entityCache = EntityCache.create(entityType);
+    this.listCountCache = EntityCache.createListCountCache();
     Entity.registerEntity(entityClass, entityType, dao, this);
   }
 
@@ -195,6 +228,17 @@ public abstract class EntityRepository<T extends EntityInterface> {
    */
   public abstract T setFields(T entity, Fields fields) throws IOException;
 
+  /**
+   * Set the requested fields in a list of entities, such as a page of entities returned by list operations. The default
+   * implementation sets the fields one entity at a time. Override this to resolve entity specific fields for the whole
+   * list with one query per field instead of one query per entity.
+   */
+  public void setFieldsInBulk(Fields fields, List<T> entities) throws IOException {
+    for (T entity : entities) {
+      setFields(entity, fields);
+    }
+  }
+
   /**
    * This method is used for validating an entity to be created during POST, PUT, and PATCH operations and prepare the
    * entity with all the required attributes and relationships.
@@ -240,6 +284,22 @@ public abstract class EntityRepository<T extends EntityInterface> {
    */
   public abstract void storeRelationships(T entity) throws IOException;
 
+  /**
+   * Store a new entity created by {@link #bulkCreateOrUpdate}. Repositories that support bulk creation override this to
+   * add the entity JSON to {@code writes} using {@link #store(EntityInterface, PendingWrites)} instead of inserting it.
+   */
+  protected void storeEntity(T entity, PendingWrites writes) throws IOException {
+    storeEntity(entity, false);
+  }
+
+  /**
+   * Store the relationships of a new entity created by {@link #bulkCreateOrUpdate}. Repositories that support bulk
+   * creation override this to add the relationship and tag rows to {@code writes} instead of inserting them.
+   */
+  protected void storeRelationships(T entity, PendingWrites writes) throws IOException {
+    storeRelationships(entity);
+  }
+
   /**
    * PATCH operations can't overwrite certain fields, such as entity ID, fullyQualifiedNames etc. Instead of throwing an
    * error, we take lenient approach of ignoring the user error and restore those attributes based on what is already
@@ -320,13 +380,13 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public final T get(UriInfo uriInfo, UUID id, Fields fields, Include include) throws IOException {
-    return withHref(uriInfo, setFieldsInternal(dao.findEntityById(id, include), fields));
+    return withHref(uriInfo, setFieldsInternal(find(id, include), fields));
   }
 
   @Transaction
   public final T findOrNull(UUID id, String fields, Include include) throws IOException {
-    String json = dao.findJsonById(id, include);
-    return json == null ? null : setFieldsInternal(JsonUtils.readValue(json, entityClass), getFields(fields));
+    T entity = findCachedOrNull(id, include);
+    return entity == null ? null : setFieldsInternal(entity, getFields(fields));
   }
 
   @Transaction
@@ -336,43 +396,206 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public final T getByName(UriInfo uriInfo, String fqn, Fields fields, Include include) throws IOException {
-    return withHref(uriInfo, setFieldsInternal(dao.findEntityByName(fqn, include), fields));
+    return withHref(uriInfo, setFieldsInternal(findByName(fqn, include), fields));
   }
 
   @Transaction
   public final T findByNameOrNull(String fqn, String fields, Include include) {
-    String json = dao.findJsonByFqn(fqn, include);
     try {
-      return json == null ? null : setFieldsInternal(JsonUtils.readValue(json, entityClass), getFields(fields));
+      T entity = findCachedByNameOrNull(fqn, include);
+      return entity == null ? null : setFieldsInternal(entity, getFields(fields));
     } catch (IOException e) {
       return null;
     }
   }
 
+  /** Get the entity with the given id without setting any fields, using the entity cache when enabled */
+  public final T find(UUID id, Include include) throws IOException {
+    T entity = findCachedOrNull(id, include);
+    if (entity == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
+    }
+    return entity;
+  }
+
+  /** Get the entity with the given name without setting any fields, using the entity cache when enabled */
+  public final T findByName(String fqn, Include include) throws IOException {
+    T entity = findCachedByNameOrNull(fqn, include);
+    if (entity == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, fqn));
+    }
+    return entity;
+  }
+
+  private T findCachedOrNull(UUID id, Include include) throws IOException {
+    if (entityCache == null) {
+      String json = dao.findJsonById(id, include);
+      return json == null ? null : JsonUtils.readValue(json, entityClass);
+    }
+    String json = entityCache.getById(id);
+    if (json == null) {
+      // Cache the entity irrespective of its deleted state and filter it below
+      long invalidationCount = entityCache.getInvalidationCount();
+      json = dao.findJsonById(id, ALL);
+      if (json == null) {
+        return null;
+      }
+      return cacheEntity(json, include, invalidationCount);
+    }
+    return filterByInclude(JsonUtils.readValue(json, entityClass), include);
+  }
+
+  private T findCachedByNameOrNull(String fqn, Include include) throws IOException {
+    if (entityCache == null) {
+      String json = dao.findJsonByFqn(fqn, include);
+      return json == null ? null : JsonUtils.readValue(json, entityClass);
+    }
+    String json = entityCache.getByName(fqn);
+    if (json == null) {
+      long invalidationCount = entityCache.getInvalidationCount();
+      json = dao.findJsonByFqn(fqn, ALL);
+      if (json == null) {
+        return null;
+      }
+      return cacheEntity(json, include, invalidationCount);
+    }
+    return filterByInclude(JsonUtils.readValue(json, entityClass), include);
+  }
+
+  private T cacheEntity(String json, Include include, long invalidationCount) throws IOException {
+    T entity = JsonUtils.readValue(json, entityClass);
+    String name = dao.getNameColumn().equals("name") ? entity.getName() : entity.getFullyQualifiedName();
+    entityCache.put(entity.getId(), name, json, invalidationCount);
+    return filterByInclude(entity, include);
+  }
+
+  private T filterByInclude(T entity, Include include) {
+    if (!dao.supportsSoftDelete() || include == ALL) {
+      return entity;
+    }
+    boolean deleted = Boolean.TRUE.equals(entity.getDeleted());
+    return (include == DELETED) == deleted ? entity : null;
+  }
+
+  /** Remove the entity from the entity cache. Called after every write of the stored entity. */
+  protected final void invalidateCache(UUID id) {
+    if (entityCache != null) {
+      entityCache.invalidate(id);
+    }
+    invalidateListCounts();
+  }
+
+  /** Remove all the entities of this type from the entity cache, for example after FQN prefix changes */
+  public final void invalidateCache() {
+    if (entityCache != null) {
+      entityCache.invalidateAll();
+    }
+    invalidateListCounts();
+  }
+
+  /** Update the FQN prefix of the entities of a type after their parent is renamed and drop them from the cache */
+  protected static void updateFqnPrefix(String entityType, String oldPrefix, String newPrefix) {
+    EntityRepository<?> repository = Entity.getEntityRepository(entityType);
+    repository.dao.updateFqn(oldPrefix, newPrefix);
+    repository.invalidateCache();
+  }
+
+  private void invalidateListCounts() {
+    listCountCache.invalidate();
+  }
+
+  /** Total number of entities matching the filter, approximate when requested by {@link ListCountCache#TOTAL_PARAM} */
+  protected int listCount(UriInfo uriInfo, ListFilter filter) {
+    return listCountCache.getCount(dao, filter, ListCountCache.isApproximateTotal(uriInfo));
+  }
+
   @Transaction
   public final List<T> listAll(Fields fields, ListFilter filter) throws IOException {
     // forward scrolling, if after == null then first page is being asked
     List<String> jsons = dao.listAfter(filter, Integer.MAX_VALUE, "");
-    List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = setFieldsInternal(JsonUtils.readValue(json, entityClass), fields);
-      entities.add(entity);
+    return setFieldsInternal(JsonUtils.readObjects(jsons, entityClass), fields);
+  }
+
+  /**
+   * Pass all the entities matching the filter to the consumer instead of loading them all in memory as {@link #listAll}
+   * does. The entities are read from a database cursor, and the fields are set for {@link EntityDAO#BATCH_QUERY_SIZE}
+   * entities at a time.
+   */
+  public final void streamAll(Fields fields, ListFilter filter, ConsumerWithExceptions<T, IOException> consumer)
+      throws IOException {
+    // The connection of the stream can't run the queries that set the fields, so the stream is read on its own thread
+    BlockingQueue<List<String>> batches = new ArrayBlockingQueue<>(1);
+    Future<?> reader =
+        STREAM_READERS.submit(
+            () -> {
+              dao.streamAll(
+                  filter,
+                  jsons -> {
+                    Iterator<List<String>> iterator =
+                        Iterators.partition(jsons.iterator(), EntityDAO.BATCH_QUERY_SIZE);
+                    while (iterator.hasNext()) {
+                      putBatch(batches, iterator.next());
+                    }
+                  });
+              putBatch(batches, END_OF_STREAM);
+              return null;
+            });
+    try {
+      for (List<String> batch = takeBatch(batches, reader);
+          batch != END_OF_STREAM;
+          batch = takeBatch(batches, reader)) {
+        for (T entity : setFieldsInternal(JsonUtils.readObjects(batch, entityClass), fields)) {
+          consumer.accept(entity);
+        }
+      }
+    } finally {
+      // Stops the reader when the consumer failed, which closes the stream
+      reader.cancel(true);
+    }
+  }
+
+  private static void putBatch(BlockingQueue<List<String>> batches, List<String> batch) throws IOException {
+    try {
+      batches.put(batch);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Stream of entities cancelled");
+    }
+  }
+
+  private static List<String> takeBatch(BlockingQueue<List<String>> batches, Future<?> reader) throws IOException {
+    try {
+      List<String> batch = batches.poll(STREAM_POLL_MILLIS, TimeUnit.MILLISECONDS);
+      while (batch == null) {
+        if (reader.isDone()) {
+          // Throws the error of a failed reader, a reader that completed put the end of the stream
+          reader.get();
+        }
+        batch = batches.poll(STREAM_POLL_MILLIS, TimeUnit.MILLISECONDS);
+      }
+      return batch;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Stream of entities interrupted");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException("Failed to read the stream of entities", e.getCause());
     }
-    return entities;
   }
 
   @Transaction
   public ResultList<T> listAfter(UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String after)
       throws IOException {
-    int total = dao.listCount(filter);
+    int total = listCount(uriInfo, filter);
     List<T> entities = new ArrayList<>();
     if (limitParam > 0) {
       // forward scrolling, if after == null then first page is being asked
       List<String> jsons = dao.listAfter(filter, limitParam + 1, after == null ? "" : RestUtil.decodeCursor(after));
 
-      for (String json : jsons) {
-        T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-        entities.add(entity);
+      for (T entity : setFieldsInternal(JsonUtils.readObjects(jsons, entityClass), fields)) {
+        entities.add(withHref(uriInfo, entity));
       }
 
       String beforeCursor;
@@ -393,7 +616,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
   public ResultList<T> listAfterWithSkipFailure(
       UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String after) throws IOException {
     List<String> errors = new ArrayList<>();
-    int total = dao.listCount(filter);
+    int total = listCount(uriInfo, filter);
     List<T> entities = new ArrayList<>();
     if (limitParam > 0) {
       // forward scrolling, if after == null then first page is being asked
@@ -430,11 +653,10 @@ public abstract class EntityRepository<T extends EntityInterface> {
     List<String> jsons = dao.listBefore(filter, limitParam + 1, RestUtil.decodeCursor(before));
 
     List<T> entities = new ArrayList<>();
-    for (String json : jsons) {
-      T entity = withHref(uriInfo, setFieldsInternal(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
+    for (T entity : setFieldsInternal(JsonUtils.readObjects(jsons, entityClass), fields)) {
+      entities.add(withHref(uriInfo, entity));
     }
-    int total = dao.listCount(filter);
+    int total = listCount(uriInfo, filter);
 
     String beforeCursor = null;
     String afterCursor;
@@ -449,10 +671,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
   @Transaction
   public T getVersion(UUID id, String version) throws IOException {
     Double requestedVersion = Double.parseDouble(version);
-    String extension = EntityUtil.getVersionExtension(entityType, requestedVersion);
 
     // Get previous version from version history
-    String json = daoCollection.entityExtensionDAO().getExtension(id.toString(), extension);
+    String json = EntityVersionHistory.getVersion(daoCollection.entityExtensionDAO(), entityType, id, requestedVersion);
     if (json != null) {
       return JsonUtils.readValue(json, entityClass);
     }
@@ -467,16 +688,50 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   @Transaction
   public EntityHistory listVersions(UUID id) throws IOException {
-    T latest = setFieldsInternal(dao.findEntityById(id, ALL), putFields);
-    String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityType);
-    List<ExtensionRecord> records = daoCollection.entityExtensionDAO().getExtensions(id.toString(), extensionPrefix);
-    List<EntityVersionPair> oldVersions = new ArrayList<>();
-    records.forEach(r -> oldVersions.add(new EntityVersionPair(r)));
-    oldVersions.sort(EntityUtil.compareVersion.reversed());
+    return listVersions(id, null, 0, false);
+  }
 
+  /**
+   * List the versions of an entity starting from the latest version. When {@code limit} is null all the versions after
+   * {@code offset} are returned. When {@code metadataOnly} is set, only the version, updatedAt, updatedBy and
+   * changeDescription of each version is returned instead of the full entity.
+   */
+  @Transaction
+  public EntityHistory listVersions(UUID id, Integer limit, int offset, boolean metadataOnly) throws IOException {
+    T latest = dao.findEntityById(id, ALL);
+    int remaining = limit == null ? Integer.MAX_VALUE : limit;
     final List<Object> allVersions = new ArrayList<>();
-    allVersions.add(JsonUtils.pojoToJson(latest));
-    oldVersions.forEach(version -> allVersions.add(version.getEntityJson()));
+    if (offset == 0 && remaining > 0) {
+      allVersions.add(
+          metadataOnly
+              ? EntityVersionHistory.getVersionMetadata(JsonUtils.pojoToJson(latest))
+              : JsonUtils.pojoToJson(setFieldsInternal(latest, putFields)));
+      remaining--;
+    }
+    if (remaining == 0) {
+      return new EntityHistory().withEntityType(entityType).withVersions(allVersions);
+    }
+
+    // Previous versions are ordered and paginated in the database, the latest version takes the first offset
+    String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityType);
+    List<ExtensionRecord> records =
+        daoCollection
+            .entityExtensionDAO()
+            .getExtensionsDescending(id.toString(), extensionPrefix, remaining, Math.max(offset - 1, 0));
+
+    // Versions stored as deltas are rebuilt from the other stored versions
+    Map<Double, String> storedVersions = new HashMap<>();
+    List<Double> versions = new ArrayList<>();
+    for (ExtensionRecord extensionRecord : records) {
+      EntityVersionPair version = new EntityVersionPair(extensionRecord);
+      storedVersions.put(version.getVersion(), version.getEntityJson());
+      versions.add(version.getVersion());
+    }
+    for (Double version : versions) {
+      String json =
+          EntityVersionHistory.getVersion(daoCollection.entityExtensionDAO(), entityType, id, storedVersions, version);
+      allVersions.add(metadataOnly && json != null ? EntityVersionHistory.getVersionMetadata(json) : json);
+    }
     return new EntityHistory().withEntityType(entityType).withVersions(allVersions);
   }
 
@@ -510,6 +765,22 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return entity;
   }
 
+  /** Batch variant of {@link #setFieldsInternal(EntityInterface, Fields)} for a list of entities */
+  List<T> setFieldsInternal(List<T> entities, Fields fields) throws IOException {
+    if (entities.isEmpty()) {
+      return entities;
+    }
+    Map<UUID, EntityReference> owners = fields.contains(FIELD_OWNER) ? getOwners(entities) : null;
+    Map<String, List<TagLabel>> tags = fields.contains(FIELD_TAGS) ? getTags(entities) : null;
+    for (T entity : entities) {
+      entity.setOwner(owners != null ? owners.get(entity.getId()) : null);
+      entity.setTags(tags != null ? tags.get(entity.getFullyQualifiedName()) : null);
+      entity.setExtension(fields.contains(FIELD_EXTENSION) ? getExtension(entity) : null);
+    }
+    setFieldsInBulk(fields, entities);
+    return entities;
+  }
+
   public final PutResponse<T> createOrUpdate(UriInfo uriInfo, T updated) throws IOException {
     PutResponse<T> response = createOrUpdateInternal(uriInfo, updated);
     if (response.getStatus() == Status.CREATED) {
@@ -529,6 +800,85 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return update(uriInfo, original, updated);
   }
 
+  /**
+   * Create or update a list of entities in one request and add the result of each entity to {@code response}. The
+   * entity, relationship and tag rows of new entities are collected while they are processed and written using JDBC
+   * batches at the end, so entities in a request can't refer to each other. New entities are created in one
+   * transaction, and either all of them or none are stored. Existing entities are updated one at a time the same way
+   * as {@link #createOrUpdate}.
+   */
+  public final void bulkCreateOrUpdate(UriInfo uriInfo, List<T> entities, BulkPutResponse<T> response)
+      throws IOException {
+    List<String> fqns = entities.stream().map(EntityInterface::getFullyQualifiedName).collect(Collectors.toList());
+    Map<String, T> originals = new HashMap<>();
+    for (T original : dao.findEntitiesByNames(fqns, ALL)) {
+      originals.put(original.getFullyQualifiedName(), original);
+    }
+
+    List<T> newEntities = new ArrayList<>();
+    Set<String> processed = new HashSet<>();
+    for (T entity : entities) {
+      String fqn = entity.getFullyQualifiedName();
+      if (!processed.add(fqn)) {
+        response.addFailure(fqn, CatalogExceptionMessage.duplicateEntityInRequest(fqn));
+        continue;
+      }
+      T original = originals.get(fqn);
+      if (original == null) {
+        newEntities.add(entity);
+        continue;
+      }
+      try {
+        PutResponse<T> updateResponse = update(uriInfo, original, entity);
+        postUpdate(updateResponse.getEntity());
+        response.addSuccess(updateResponse);
+      } catch (Exception e) {
+        LOG.warn("Failed to update {} {}", entityType, fqn, e);
+        response.addFailure(fqn, e.getMessage());
+      }
+    }
+    if (newEntities.isEmpty()) {
+      return;
+    }
+
+    List<T> created = new ArrayList<>();
+    try {
+      CacheInvalidationBus.runInTransaction(
+          daoCollection, transactionDAO -> createNewEntities(newEntities, created, response));
+    } catch (Exception e) {
+      // The transaction is rolled back, none of the new entities is stored
+      LOG.error("Failed to create {} {} entities", created.size(), entityType, e);
+      created.forEach(entity -> response.addFailure(entity.getFullyQualifiedName(), e.getMessage()));
+      return;
+    }
+    invalidateListCounts();
+    for (T entity : created) {
+      postCreate(entity);
+      response.addSuccess(new PutResponse<>(Status.CREATED, withHref(uriInfo, entity), RestUtil.ENTITY_CREATED));
+    }
+  }
+
+  /** Create the new entities of a bulk request and add those stored to {@code created}, called in a transaction */
+  private void createNewEntities(List<T> entities, List<T> created, BulkPutResponse<T> response) throws IOException {
+    PendingWrites writes = new PendingWrites();
+    for (T entity : entities) {
+      writes.mark();
+      try {
+        storeEntity(entity, writes);
+        storeExtension(entity);
+        storeRelationships(entity, writes);
+        created.add(entity);
+      } catch (Exception e) {
+        writes.reset(); // Discard the rows of the entity that failed
+        LOG.warn("Failed to create {} {}", entityType, entity.getFullyQualifiedName(), e);
+        response.addFailure(entity.getFullyQualifiedName(), e.getMessage());
+      }
+    }
+    dao.insertBatch(writes.entityJsons);
+    daoCollection.relationshipDAO().insertBatch(writes.relationships);
+    daoCollection.tagUsageDAO().applyTagBatch(writes.tagLabels, writes.tagTargets);
+  }
+
   @SuppressWarnings("unused")
   protected void postCreate(T entity) {
     // Override to perform any operation required after creation.
@@ -759,6 +1109,44 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * Hard delete the given entities of this type with set based deletes of their relationships, field relationships,
+   * extensions, tags and usage. This is used to delete large hierarchies of entities, such as a service, in the
+   * background. Entities that are not found are skipped so that an interrupted delete can be run again. Returns the
+   * entities that were deleted.
+   */
+  public List<T> deleteInBulk(String updatedBy, List<UUID> ids) throws IOException {
+    if (ids.isEmpty()) {
+      return Collections.emptyList();
+    }
+    if (!supportsBulkDelete) {
+      List<T> deleted = new ArrayList<>();
+      for (UUID id : ids) {
+        try {
+          deleted.add(delete(updatedBy, id, true, true).getEntity());
+        } catch (EntityNotFoundException e) {
+          LOG.info("{} {} is already deleted", entityType, id);
+        }
+      }
+      return deleted;
+    }
+    List<T> entities = dao.findEntitiesByIds(ids, ALL);
+    List<String> entityIds = ids.stream().map(UUID::toString).collect(Collectors.toList());
+    List<String> entityFQNs =
+        entities.stream().map(EntityInterface::getFullyQualifiedName).collect(Collectors.toList());
+    daoCollection.fieldRelationshipDAO().deleteAllByPrefixBatch(entityFQNs);
+    daoCollection.tagUsageDAO().deleteTagLabelsByTargetPrefixBatch(entityFQNs);
+    daoCollection.entityExtensionDAO().deleteAllBatch(entityIds);
+    daoCollection.usageDAO().deleteBatch(entityIds);
+    dao.deleteBatch(entityIds);
+
+    // Relationships are deleted last, as they are used to find the entities left to delete when run again
+    daoCollection.relationshipDAO().deleteAllBatch(entityIds);
+    entities.forEach(entity -> invalidateCache(entity.getId()));
+    LOG.info("Hard deleted {} {} entities in bulk", entities.size(), entityType);
+    return entities;
+  }
+
   protected void cleanup(T entityInterface) throws IOException {
     String id = entityInterface.getId().toString();
 
@@ -782,6 +1170,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     // Finally, delete the entity
     dao.delete(id);
+    invalidateCache(entityInterface.getId());
   }
 
   @Transaction
@@ -839,9 +1228,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
     if (update) {
       dao.update(entity.getId(), JsonUtils.pojoToJson(entity));
+      invalidateCache(entity.getId());
       LOG.info("Updated {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
     } else {
       dao.insert(entity);
+      invalidateListCounts();
       LOG.info("Created {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
     }
 
@@ -850,6 +1241,19 @@ public abstract class EntityRepository<T extends EntityInterface> {
     entity.setTags(tags);
   }
 
+  /** Add the JSON of a new entity to {@code writes} instead of inserting it */
+  protected void store(T entity, PendingWrites writes) throws JsonProcessingException {
+    entity.withHref(null);
+    EntityReference owner = entity.getOwner();
+    entity.setOwner(null);
+    List<TagLabel> tags = entity.getTags();
+    entity.setTags(null);
+    writes.entityJsons.add(JsonUtils.pojoToJson(entity));
+    LOG.info("Created {}:{}:{}", entityType, entity.getId(), entity.getFullyQualifiedName());
+    entity.setOwner(owner);
+    entity.setTags(tags);
+  }
+
   public void validateExtension(T entity) {
     if (entity.getExtension() == null) {
       return;
@@ -958,15 +1362,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
   /** Apply tags {@code tagLabels} to the entity or field identified by {@code targetFQN} */
   public void applyTags(List<TagLabel> tagLabels, String targetFQN) {
     for (TagLabel tagLabel : listOrEmpty(tagLabels)) {
-      if (tagLabel.getSource() == TagSource.CLASSIFICATION) {
-        Tag tag = daoCollection.tagDAO().findEntityByName(tagLabel.getTagFQN());
-        tagLabel.withDescription(tag.getDescription());
-        tagLabel.setSource(TagSource.CLASSIFICATION);
-      } else if (tagLabel.getSource() == TagLabel.TagSource.GLOSSARY) {
-        GlossaryTerm term = daoCollection.glossaryTermDAO().findEntityByName(tagLabel.getTagFQN(), NON_DELETED);
-        tagLabel.withDescription(term.getDescription());
-        tagLabel.setSource(TagLabel.TagSource.GLOSSARY);
-      }
+      populateTagLabel(tagLabel);
 
       // Apply tagLabel to targetFQN that identifies an entity or field
       daoCollection
@@ -980,6 +1376,26 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /** Add the tags {@code tagLabels} of the entity or field identified by {@code targetFQN} to {@code writes} */
+  protected void applyTags(List<TagLabel> tagLabels, String targetFQN, PendingWrites writes) {
+    for (TagLabel tagLabel : listOrEmpty(tagLabels)) {
+      populateTagLabel(tagLabel);
+      writes.addTag(tagLabel, targetFQN);
+    }
+  }
+
+  private void populateTagLabel(TagLabel tagLabel) {
+    if (tagLabel.getSource() == TagSource.CLASSIFICATION) {
+      Tag tag = daoCollection.tagDAO().findEntityByName(tagLabel.getTagFQN());
+      tagLabel.withDescription(tag.getDescription());
+      tagLabel.setSource(TagSource.CLASSIFICATION);
+    } else if (tagLabel.getSource() == TagLabel.TagSource.GLOSSARY) {
+      GlossaryTerm term = daoCollection.glossaryTermDAO().findEntityByName(tagLabel.getTagFQN(), NON_DELETED);
+      tagLabel.withDescription(term.getDescription());
+      tagLabel.setSource(TagLabel.TagSource.GLOSSARY);
+    }
+  }
+
   void checkMutuallyExclusive(List<TagLabel> tagLabels) {
     Map<String, TagLabel> map = new HashMap<>();
     for (TagLabel tagLabel : listOrEmpty(tagLabels)) {
@@ -996,6 +1412,25 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return !supportsTags ? null : daoCollection.tagUsageDAO().getTags(fqn);
   }
 
+  /** Get tags for a list of entities keyed by entity fullyQualifiedName */
+  protected Map<String, List<TagLabel>> getTags(List<T> entities) {
+    if (!supportsTags) {
+      return null;
+    }
+    List<String> fqns = entities.stream().map(EntityInterface::getFullyQualifiedName).collect(Collectors.toList());
+    return daoCollection.tagUsageDAO().getTagsByTargets(fqns);
+  }
+
+  /** Get followers for a list of entities keyed by entity id */
+  protected Map<UUID, List<EntityReference>> getFollowers(List<T> entities) throws IOException {
+    if (!supportsFollower) {
+      return Collections.emptyMap();
+    }
+    Map<UUID, List<EntityReference>> followers = getFromEntityRefs(entities, Relationship.FOLLOWS, Entity.USER);
+    followers.values().forEach(refs -> refs.sort(EntityUtil.compareEntityReference));
+    return followers;
+  }
+
   protected List<EntityReference> getFollowers(T entity) throws IOException {
     if (!supportsFollower || entity == null) {
       return Collections.emptyList();
@@ -1055,6 +1490,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
     T entity = dao.findEntityById(id, DELETED);
     entity.setDeleted(false);
     dao.update(entity.getId(), JsonUtils.pojoToJson(entity));
+    invalidateCache(entity.getId());
     return entity;
   }
 
@@ -1121,6 +1557,47 @@ public abstract class EntityRepository<T extends EntityInterface> {
         : null;
   }
 
+  /**
+   * Batch variant of {@link #getFromEntityRef} for a list of entities. Relationships are looked up with one query per
+   * {@link EntityDAO#BATCH_QUERY_SIZE} entities and the references are resolved with one query per from entity type.
+   * Returns the references keyed by the id of the entity in {@code entities}.
+   */
+  public Map<UUID, List<EntityReference>> getFromEntityRefs(
+      List<T> entities, Relationship relationship, String fromEntityType) throws IOException {
+    List<String> toIds = entities.stream().map(e -> e.getId().toString()).distinct().collect(Collectors.toList());
+    EntityRelationshipDAO relationshipDAO = daoCollection.relationshipDAO();
+    List<EntityRelationshipObject> records = new ArrayList<>();
+    for (List<String> batch : Lists.partition(toIds, EntityDAO.BATCH_QUERY_SIZE)) {
+      records.addAll(
+          fromEntityType == null
+              ? relationshipDAO.findFromBatch(batch, entityType, relationship.ordinal())
+              : relationshipDAO.findFromBatch(batch, entityType, relationship.ordinal(), fromEntityType));
+    }
+
+    // Resolve the references of all the related entities with one query per entity type
+    Map<String, List<UUID>> fromIdsByType = new HashMap<>();
+    for (EntityRelationshipObject rec : records) {
+      fromIdsByType.computeIfAbsent(rec.getFromEntity(), k -> new ArrayList<>()).add(UUID.fromString(rec.getFromId()));
+    }
+    Map<UUID, EntityReference> refs = new HashMap<>();
+    for (Entry<String, List<UUID>> entry : fromIdsByType.entrySet()) {
+      refs.putAll(Entity.getEntityReferencesByIds(entry.getKey(), entry.getValue(), ALL));
+    }
+
+    Map<UUID, List<EntityReference>> result = new HashMap<>();
+    for (EntityRelationshipObject rec : records) {
+      UUID fromId = UUID.fromString(rec.getFromId());
+      EntityReference ref = refs.get(fromId);
+      if (ref == null) {
+        throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(rec.getFromEntity(), fromId));
+      }
+      // Each entity gets its own copy of the reference as references are mutable
+      EntityReference copy = EntityUtil.copy(ref, new EntityReference()).withDescription(ref.getDescription());
+      result.computeIfAbsent(UUID.fromString(rec.getToId()), k -> new ArrayList<>()).add(copy);
+    }
+    return result;
+  }
+
   public EntityReference getToEntityRef(
       UUID fromId, Relationship relationship, String toEntityType, boolean mustHaveRelationship) throws IOException {
     List<EntityRelationshipRecord> records = findTo(fromId, entityType, relationship, toEntityType);
@@ -1204,6 +1681,19 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return !supportsOwner ? null : getFromEntityRef(entity.getId(), Relationship.OWNS, null, false);
   }
 
+  /** Get owners for a list of entities keyed by entity id */
+  protected Map<UUID, EntityReference> getOwners(List<T> entities) throws IOException {
+    if (!supportsOwner) {
+      return Collections.emptyMap();
+    }
+    Map<UUID, EntityReference> owners = new HashMap<>();
+    for (Entry<UUID, List<EntityReference>> entry : getFromEntityRefs(entities, Relationship.OWNS, null).entrySet()) {
+      ensureSingleRelationship(entityType, entry.getKey(), entry.getValue(), Relationship.OWNS.value(), false);
+      owners.put(entry.getKey(), entry.getValue().get(0));
+    }
+    return owners;
+  }
+
   public EntityReference getOwner(EntityReference ref) throws IOException {
     return !supportsOwner ? null : Entity.getEntityReferenceById(ref.getType(), ref.getId(), ALL);
   }
@@ -1224,6 +1714,12 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  protected void storeOwner(T entity, EntityReference owner, PendingWrites writes) {
+    if (supportsOwner && owner != null) {
+      writes.addRelationship(owner.getId(), entity.getId(), owner.getType(), entityType, Relationship.OWNS);
+    }
+  }
+
   /** Remove owner relationship for a given entity */
   private void removeOwner(T entity, EntityReference owner) {
     if (EntityUtil.getId(owner) != null) {
@@ -1718,10 +2214,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
 
     private void storeOldVersion() throws JsonProcessingException {
-      String extensionName = EntityUtil.getVersionExtension(entityType, original.getVersion());
-      daoCollection
-          .entityExtensionDAO()
-          .insert(original.getId().toString(), extensionName, entityType, JsonUtils.pojoToJson(original));
+      ChangeDescription originalChange = original.getChangeDescription();
+      Double previousVersion = originalChange == null ? null : originalChange.getPreviousVersion();
+      EntityVersionHistory.storeVersion(
+          daoCollection.entityExtensionDAO(),
+          entityType,
+          original.getId(),
+          original.getVersion(),
+          previousVersion,
+          JsonUtils.pojoToJson(original));
     }
 
     private void storeNewVersion() throws IOException {
@@ -1860,4 +2361,44 @@ public abstract class EntityRepository<T extends EntityInterface> {
       }
     }
   }
+
+  /**
+   * Rows of the entities created by {@link #bulkCreateOrUpdate} that are written using JDBC batches. Repositories add
+   * the rows of a new entity to it from {@link #storeEntity(EntityInterface, PendingWrites)} and
+   * {@link #storeRelationships(EntityInterface, PendingWrites)}.
+   */
+  protected static class PendingWrites {
+    private final List<String> entityJsons = new ArrayList<>();
+    private final List<EntityRelationshipObject> relationships = new ArrayList<>();
+    private final List<TagLabel> tagLabels = new ArrayList<>();
+    private final List<String> tagTargets = new ArrayList<>();
+    private int[] marks = new int[3];
+
+    public void addRelationship(UUID fromId, UUID toId, String fromEntity, String toEntity, Relationship relationship) {
+      relationships.add(
+          EntityRelationshipObject.builder()
+              .fromId(fromId.toString())
+              .toId(toId.toString())
+              .fromEntity(fromEntity)
+              .toEntity(toEntity)
+              .relation(relationship.ordinal())
+              .build());
+    }
+
+    public void addTag(TagLabel tagLabel, String targetFQN) {
+      tagLabels.add(tagLabel);
+      tagTargets.add(targetFQN);
+    }
+
+    void mark() {
+      marks = new int[] {entityJsons.size(), relationships.size(), tagLabels.size()};
+    }
+
+    void reset() {
+      entityJsons.subList(marks[0], entityJsons.size()).clear();
+      relationships.subList(marks[1], relationships.size()).clear();
+      tagLabels.subList(marks[2], tagLabels.size()).clear();
+      tagTargets.subList(marks[2], tagTargets.size()).clear();
+    }
+  }
 }
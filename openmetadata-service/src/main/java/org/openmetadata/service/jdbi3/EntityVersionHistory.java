@@ -0,0 +1,168 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Previous versions of an entity are stored in entity_extension with extension name `entityType.version.x.y`. To avoid
+ * storing full copies of large entities that change a little on every version, versions are stored as reverse deltas.
+ * The latest stored version is a full copy, and when a newer version is stored the full copy of the version before it
+ * is replaced with a JSON patch against the newer version. The full copy records the number of deltas stored before
+ * it, so storing a version only reads the full copy it replaces and parses each document once. Reading recent versions
+ * replays the fewest deltas. A version is kept as a full copy after every {@link #SNAPSHOT_INTERVAL} deltas and when
+ * the delta can't reproduce the version. Versions stored as full copies before deltas were introduced continue to be
+ * read as is.
+ */
+@Slf4j
+public final class EntityVersionHistory {
+  /** Maximum number of deltas replayed to rebuild a version */
+  public static final int SNAPSHOT_INTERVAL = 10;
+
+  private static final String DELTA_FIELD = "@om-version-delta";
+  /** Number of deltas stored right before a full copy, which is removed from the full copy when it is read */
+  private static final String DEPTH_FIELD = "@om-version-depth";
+  private static final String BASE_VERSION = "baseVersion";
+  private static final String PATCH = "patch";
+  private static final List<String> METADATA_FIELDS =
+      List.of("id", "name", "fullyQualifiedName", "version", "updatedAt", "updatedBy", "changeDescription");
+
+  private EntityVersionHistory() {}
+
+  /**
+   * Store {@code json} of the entity {@code version} that was created after {@code previousVersion} as a full copy, and
+   * replace the full copy of {@code previousVersion} with a delta against it.
+   */
+  public static void storeVersion(
+      EntityExtensionDAO dao, String entityType, UUID id, Double version, Double previousVersion, String json) {
+    String previousStored = previousVersion == null ? null : getStored(dao, entityType, id, previousVersion);
+    JsonObject previous = previousStored == null ? null : JsonUtils.readJson(previousStored).asJsonObject();
+
+    // Keep the previous version as a full copy when it ends a run of SNAPSHOT_INTERVAL deltas
+    int depth = 0;
+    String delta = null;
+    if (previous != null && !previous.containsKey(DELTA_FIELD)) {
+      int previousDepth = previous.containsKey(DEPTH_FIELD) ? previous.getInt(DEPTH_FIELD) : 0;
+      if (previousDepth + 1 < SNAPSHOT_INTERVAL) {
+        JsonObject entity = JsonUtils.readJson(json).asJsonObject();
+        delta = getDelta(version, entity, withoutDepth(previous));
+        depth = delta == null ? 0 : previousDepth + 1;
+      }
+    }
+    String stored = depth == 0 ? json : withDepth(json, depth);
+    dao.insert(id.toString(), EntityUtil.getVersionExtension(entityType, version), entityType, stored);
+    if (delta != null) {
+      dao.insert(id.toString(), EntityUtil.getVersionExtension(entityType, previousVersion), entityType, delta);
+    }
+  }
+
+  /** Returns the JSON of the given version of the entity, or null when the version is not stored */
+  public static String getVersion(EntityExtensionDAO dao, String entityType, UUID id, Double version) {
+    return toString(resolve(version, v -> getStored(dao, entityType, id, v)));
+  }
+
+  /** Returns the JSON of the given version from the stored versions of an entity keyed by version */
+  public static String getVersion(Map<Double, String> storedVersions, Double version) {
+    return toString(resolve(version, storedVersions::get));
+  }
+
+  /**
+   * Returns the JSON of the given version from a page of stored versions of an entity keyed by version. Versions
+   * outside the page that the deltas are based on are read from the database and added to the page.
+   */
+  public static String getVersion(
+      EntityExtensionDAO dao, String entityType, UUID id, Map<Double, String> storedVersions, Double version) {
+    return toString(
+        resolve(version, v -> storedVersions.computeIfAbsent(v, k -> getStored(dao, entityType, id, k))));
+  }
+
+  /** Returns the version, updatedAt, updatedBy and changeDescription of the given entity JSON */
+  public static String getVersionMetadata(String json) {
+    JsonObject entity = JsonUtils.readJson(json).asJsonObject();
+    JsonObjectBuilder metadata = Json.createObjectBuilder();
+    for (String field : METADATA_FIELDS) {
+      if (entity.containsKey(field)) {
+        metadata.add(field, entity.get(field));
+      }
+    }
+    return metadata.build().toString();
+  }
+
+  private static JsonObject resolve(Double version, Function<Double, String> storedVersions) {
+    String stored = storedVersions.apply(version);
+    if (stored == null) {
+      return null;
+    }
+    JsonObject json = JsonUtils.readJson(stored).asJsonObject();
+    if (!json.containsKey(DELTA_FIELD)) {
+      return withoutDepth(json);
+    }
+    JsonObject delta = json.getJsonObject(DELTA_FIELD);
+    Double baseVersion = Double.valueOf(delta.getString(BASE_VERSION));
+    JsonObject base = resolve(baseVersion, storedVersions);
+    if (base == null) {
+      LOG.error("Base version {} of version {} not found in version history", baseVersion, version);
+      return null;
+    }
+    return applyDelta(base, delta.getJsonArray(PATCH));
+  }
+
+  /** Returns the delta that rebuilds {@code target} from {@code base}, or null when a patch can't reproduce it */
+  private static String getDelta(Double baseVersion, JsonObject base, JsonObject target) {
+    JsonArray patch = Json.createDiff(base, target).toJsonArray();
+
+    // Keep the full version when the patch does not reproduce the version, such as for some array changes
+    if (!target.equals(applyDelta(base, patch))) {
+      LOG.debug("Keeping full version instead of delta against version {}", baseVersion);
+      return null;
+    }
+    return Json.createObjectBuilder()
+        .add(DELTA_FIELD, Json.createObjectBuilder().add(BASE_VERSION, baseVersion.toString()).add(PATCH, patch))
+        .build()
+        .toString();
+  }
+
+  private static JsonObject applyDelta(JsonObject base, JsonArray patch) {
+    return Json.createPatch(patch).apply(base);
+  }
+
+  private static String getStored(EntityExtensionDAO dao, String entityType, UUID id, Double version) {
+    return dao.getExtension(id.toString(), EntityUtil.getVersionExtension(entityType, version));
+  }
+
+  /** Adds the depth to the JSON of an entity without parsing it */
+  private static String withDepth(String json, int depth) {
+    String fields = json.substring(json.indexOf('{') + 1);
+    return String.format("{\"%s\":%d%s%s", DEPTH_FIELD, depth, fields.trim().startsWith("}") ? "" : ",", fields);
+  }
+
+  private static JsonObject withoutDepth(JsonObject json) {
+    return json.containsKey(DEPTH_FIELD) ? Json.createObjectBuilder(json).remove(DEPTH_FIELD).build() : json;
+  }
+
+  private static String toString(JsonObject json) {
+    return json == null ? null : json.toString();
+  }
+}
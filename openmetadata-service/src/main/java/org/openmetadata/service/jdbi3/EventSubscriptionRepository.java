@@ -13,7 +13,6 @@
 
 package org.openmetadata.service.jdbi3;
 
-import com.lmax.disruptor.BatchEventProcessor;
 import java.io.IOException;
 import java.util.Comparator;
 import java.util.List;
@@ -25,7 +24,7 @@ import org.openmetadata.schema.entity.events.EventFilterRule;
 import org.openmetadata.schema.entity.events.EventSubscription;
 import org.openmetadata.schema.entity.events.SubscriptionStatus;
 import org.openmetadata.service.Entity;
-import org.openmetadata.service.events.EventPubSub;
+import org.openmetadata.service.events.ChangeEventLog;
 import org.openmetadata.service.events.subscription.AlertUtil;
 import org.openmetadata.service.events.subscription.SubscriptionPublisher;
 import org.openmetadata.service.resources.events.subscription.EventSubscriptionResource;
@@ -98,8 +97,7 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
       eventSubscription.setStatusDetails(getSubscriptionStatusAtCurrentTime(SubscriptionStatus.Status.DISABLED));
     } else {
       eventSubscription.setStatusDetails(getSubscriptionStatusAtCurrentTime(SubscriptionStatus.Status.ACTIVE));
-      BatchEventProcessor<EventPubSub.ChangeEventHolder> processor = EventPubSub.addEventHandler(publisher);
-      publisher.setProcessor(processor);
+      publisher.setConsumer(ChangeEventLog.addConsumer(eventSubscription.getId().toString(), publisher));
     }
     subscriptionPublisherMap.put(eventSubscription.getId(), publisher);
     LOG.info(
@@ -128,8 +126,8 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
       previousPublisher.updateEventSubscription(eventSubscription);
       if (status != SubscriptionStatus.Status.ACTIVE && status != SubscriptionStatus.Status.AWAITING_RETRY) {
         // Restart the previously stopped publisher (in states notStarted, error, retryLimitReached)
-        BatchEventProcessor<EventPubSub.ChangeEventHolder> processor = EventPubSub.addEventHandler(previousPublisher);
-        previousPublisher.setProcessor(processor);
+        previousPublisher.setConsumer(
+            ChangeEventLog.addConsumer(eventSubscription.getId().toString(), previousPublisher));
         LOG.info("Webhook publisher restarted for {}", eventSubscription.getName());
       }
     } else {
@@ -143,9 +141,8 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
       throws InterruptedException {
     SubscriptionPublisher publisher = subscriptionPublisherMap.get(id);
     if (publisher != null) {
-      publisher.getProcessor().halt();
+      ChangeEventLog.removeConsumer(publisher.getConsumer());
       publisher.awaitShutdown();
-      EventPubSub.removeProcessor(publisher.getProcessor());
       publisher.getEventSubscription().setStatusDetails(reasonForRemoval);
       LOG.info("Webhook publisher deleted for {}", publisher.getEventSubscription().getName());
     }
@@ -154,9 +151,9 @@ public class EventSubscriptionRepository extends EntityRepository<EventSubscript
   public void deleteEventSubscriptionPublisher(UUID id) throws InterruptedException {
     SubscriptionPublisher publisher = subscriptionPublisherMap.remove(id);
     if (publisher != null) {
-      publisher.getProcessor().halt();
+      ChangeEventLog.removeConsumer(publisher.getConsumer());
       publisher.awaitShutdown();
-      EventPubSub.removeProcessor(publisher.getProcessor());
+      ChangeEventLog.deleteConsumer(id.toString());
       LOG.info("Webhook publisher deleted for {}", publisher.getEventSubscription().getName());
     }
   }
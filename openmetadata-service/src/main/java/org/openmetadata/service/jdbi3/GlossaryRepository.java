@@ -28,7 +28,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.extern.slf4j.Slf4j;
@@ -36,7 +35,6 @@ import org.apache.commons.csv.CSVPrinter;
 import org.apache.commons.csv.CSVRecord;
 import org.openmetadata.csv.CsvUtil;
 import org.openmetadata.csv.EntityCsv;
-import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.api.data.TermReference;
 import org.openmetadata.schema.entity.data.Glossary;
 import org.openmetadata.schema.entity.data.GlossaryTerm;
@@ -53,6 +51,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.resources.glossary.GlossaryResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -91,9 +90,17 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
     List<EntityReference> reviewers = glossary.getReviewers();
     glossary.withReviewers(null);
     store(glossary, update);
+    if (update) {
+      TagLabelCache.getInstance().invalidateAll();
+    }
     glossary.withReviewers(reviewers);
   }
 
+  @Override
+  protected void postDelete(Glossary glossary) {
+    TagLabelCache.getInstance().invalidateAll();
+  }
+
   @Override
   public void storeRelationships(Glossary glossary) {
     storeOwner(glossary, glossary.getOwner());
@@ -122,11 +129,7 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
   @Override
   public String exportToCsv(String name, String user) throws IOException {
     Glossary glossary = getByName(null, name, Fields.EMPTY_FIELDS); // Validate glossary name
-    GlossaryTermRepository repository = (GlossaryTermRepository) Entity.getEntityRepository(Entity.GLOSSARY_TERM);
-    ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("parent", name);
-    List<GlossaryTerm> terms = repository.listAll(repository.getFields("owner,reviewers,tags,relatedTerms"), filter);
-    terms.sort(Comparator.comparing(EntityInterface::getFullyQualifiedName));
-    return new GlossaryCsv(glossary, user).exportCsv(terms);
+    return new GlossaryCsv(glossary, user).exportCsv();
   }
 
   /** Load CSV provided for bulk upload */
@@ -152,6 +155,14 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
       this.glossary = glossary;
     }
 
+    /** Export the terms of the glossary, ordered by FQN so that parent terms come before their children */
+    public String exportCsv() throws IOException {
+      GlossaryTermRepository repository = (GlossaryTermRepository) Entity.getEntityRepository(Entity.GLOSSARY_TERM);
+      Fields fields = repository.getFields("owner,reviewers,tags,relatedTerms");
+      ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("parent", glossary.getName());
+      return exportCsv(printer -> repository.streamAll(fields, filter, term -> printRecord(printer, term)));
+    }
+
     @Override
     protected GlossaryTerm toEntity(CSVPrinter printer, CSVRecord record) throws IOException {
       GlossaryTerm glossaryTerm = new GlossaryTerm().withGlossary(glossary.getEntityReference());
@@ -290,7 +301,7 @@ public class GlossaryRepository extends EntityRepository<Glossary> {
         }
         // Glossary name changed - update tag names starting from glossary and all the children tags
         LOG.info("Glossary name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.glossaryTermDAO().updateFqn(original.getName(), updated.getName());
+        updateFqnPrefix(Entity.GLOSSARY_TERM, original.getName(), updated.getName());
         daoCollection
             .tagUsageDAO()
             .updateTagPrefix(TagSource.GLOSSARY.ordinal(), original.getName(), updated.getName());
@@ -46,6 +46,7 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.resources.glossary.GlossaryTermResource;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
@@ -64,6 +65,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
         dao,
         PATCH_FIELDS,
         UPDATE_FIELDS);
+    supportsBulkDelete = false;
   }
 
   @Override
@@ -146,6 +148,9 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
 
     entity.withGlossary(null).withParent(null).withRelatedTerms(relatedTerms).withReviewers(null);
     store(entity, update);
+    if (update) {
+      TagLabelCache.getInstance().invalidateAll();
+    }
 
     // Restore the relationships
     entity.withGlossary(glossary).withParent(parentTerm).withRelatedTerms(relatedTerms).withReviewers(reviewers);
@@ -201,6 +206,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
   protected void postDelete(GlossaryTerm entity) {
     // Cleanup all the tag labels using this glossary term
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.GLOSSARY.ordinal(), entity.getFullyQualifiedName());
+    TagLabelCache.getInstance().invalidateAll();
   }
 
   private void addGlossaryRelationship(GlossaryTerm term) {
@@ -333,7 +339,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
         }
         // Glossary term name changed - update the FQNs of the children terms to reflect this
         LOG.info("Glossary term name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.glossaryTermDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+        updateFqnPrefix(GLOSSARY_TERM, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         daoCollection
             .tagUsageDAO()
             .rename(TagSource.GLOSSARY.ordinal(), original.getFullyQualifiedName(), updated.getFullyQualifiedName());
@@ -351,7 +357,7 @@ public class GlossaryTermRepository extends EntityRepository<GlossaryTerm> {
       UUID newGlossaryId = getId(updated.getGlossary());
       boolean glossaryChanged = !Objects.equals(oldGlossaryId, newGlossaryId);
 
-      daoCollection.glossaryTermDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+      updateFqnPrefix(GLOSSARY_TERM, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       daoCollection
           .tagUsageDAO()
           .rename(TagSource.GLOSSARY.ordinal(), original.getFullyQualifiedName(), updated.getFullyQualifiedName());
@@ -64,6 +64,7 @@ public class IngestionPipelineRepository extends EntityRepository<IngestionPipel
         dao,
         PATCH_FIELDS,
         UPDATE_FIELDS);
+    supportsBulkDelete = false;
   }
 
   @Override
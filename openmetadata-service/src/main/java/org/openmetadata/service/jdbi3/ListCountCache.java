@@ -0,0 +1,79 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.jdbi3;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.concurrent.TimeUnit;
+import javax.ws.rs.core.UriInfo;
+import org.openmetadata.schema.type.Include;
+
+/**
+ * Total counts of the list queries of an entity type, reused across page requests. Only the counts of lists that are
+ * not filtered by query params are cached. Those change only when entities of the type are written, which drops the
+ * counts, while the counts of filtered lists also change with the relationships of the entities.
+ *
+ * <p>Clients paging through a large list can ask for {@code total=approximate}. The total of an unfiltered list is
+ * then the row count estimated by the database statistics, which includes the deleted entities, instead of a count of
+ * the rows.
+ */
+public class ListCountCache {
+  /** Query param of the list endpoints that selects how the total is computed */
+  public static final String TOTAL_PARAM = "total";
+
+  public static final String APPROXIMATE_TOTAL = "approximate";
+
+  /** Counts by the include filter of the list, null when count caching is disabled */
+  private final Cache<Include, Integer> counts;
+
+  ListCountCache(int expireAfterWriteSeconds) {
+    this.counts =
+        expireAfterWriteSeconds <= 0
+            ? null
+            : CacheBuilder.newBuilder().expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS).build();
+  }
+
+  public static boolean isApproximateTotal(UriInfo uriInfo) {
+    return uriInfo != null && APPROXIMATE_TOTAL.equals(uriInfo.getQueryParameters().getFirst(TOTAL_PARAM));
+  }
+
+  /** Total number of entities matching the filter */
+  public int getCount(EntityDAO<?> dao, ListFilter filter, boolean approximate) {
+    if (!filter.isUnfiltered()) {
+      return dao.listCount(filter);
+    }
+    if (approximate) {
+      Long estimate = dao.getEstimatedCount();
+      // Tables that were never analyzed have no estimate, and counting the rows of an empty table is cheap
+      if (estimate != null && estimate > 0) {
+        return (int) Math.min(estimate, Integer.MAX_VALUE);
+      }
+    }
+    if (counts == null) {
+      return dao.listCount(filter);
+    }
+    Integer total = counts.getIfPresent(filter.getInclude());
+    if (total == null) {
+      total = dao.listCount(filter);
+      counts.put(filter.getInclude(), total);
+    }
+    return total;
+  }
+
+  public void invalidate() {
+    if (counts != null) {
+      counts.invalidateAll();
+    }
+  }
+}
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import lombok.Getter;
 import org.openmetadata.schema.type.Include;
 import org.openmetadata.schema.type.Relationship;
@@ -37,6 +38,11 @@ public class ListFilter {
     return name.equals("include") ? include.value() : queryParams.get(name);
   }
 
+  /** True when the rows are only selected by their deleted state and not by any query param */
+  public boolean isUnfiltered() {
+    return queryParams.values().stream().allMatch(Objects::isNull);
+  }
+
   public String getCondition() {
     return getCondition(null);
   }
@@ -61,6 +61,7 @@ public class PolicyRepository extends EntityRepository<Policy> {
         dao,
         POLICY_PATCH_FIELDS,
         POLICY_UPDATE_FIELDS);
+    supportsBulkDelete = false;
   }
 
   @Override
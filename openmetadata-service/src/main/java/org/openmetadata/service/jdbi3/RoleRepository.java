@@ -40,6 +40,7 @@ import org.openmetadata.service.util.EntityUtil.Fields;
 public class RoleRepository extends EntityRepository<Role> {
   public RoleRepository(CollectionDAO dao) {
     super(RoleResource.COLLECTION_PATH, Entity.ROLE, Role.class, dao.roleDAO(), dao, POLICIES, POLICIES);
+    supportsBulkDelete = false;
   }
 
   @Override
@@ -97,6 +97,7 @@ public abstract class ServiceEntityRepository<
     T service = dao.findEntityById(serviceId);
     service.setTestConnectionResult(testConnectionResult);
     dao.update(serviceId, JsonUtils.pojoToJson(service));
+    invalidateCache(serviceId);
     return service;
   }
 
@@ -33,9 +33,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -66,14 +68,17 @@ import org.openmetadata.schema.type.TableJoins;
 import org.openmetadata.schema.type.TableProfile;
 import org.openmetadata.schema.type.TableProfilerConfig;
 import org.openmetadata.schema.type.TagLabel;
+import org.openmetadata.schema.type.UsageDetails;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
 import org.openmetadata.service.resources.databases.DatabaseUtil;
 import org.openmetadata.service.resources.databases.TableResource;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
 import org.openmetadata.service.util.RestUtil;
 import org.openmetadata.service.util.ResultList;
 
@@ -110,11 +115,33 @@ public class TableRepository extends EntityRepository<Table> {
   @Override
   public Table setFields(Table table, Fields fields) throws IOException {
     setDefaultFields(table);
-    table.setTableConstraints(fields.contains("tableConstraints") ? table.getTableConstraints() : null);
     table.setFollowers(fields.contains(FIELD_FOLLOWERS) ? getFollowers(table) : null);
     table.setUsageSummary(
         fields.contains("usageSummary") ? EntityUtil.getLatestUsage(daoCollection.usageDAO(), table.getId()) : null);
     getColumnTags(fields.contains(FIELD_TAGS), table.getColumns());
+    return setTableFields(table, fields);
+  }
+
+  @Override
+  public void setFieldsInBulk(Fields fields, List<Table> tables) throws IOException {
+    setDefaultFields(tables);
+    Map<UUID, List<EntityReference>> followers = fields.contains(FIELD_FOLLOWERS) ? getFollowers(tables) : null;
+    Map<UUID, UsageDetails> usage =
+        fields.contains("usageSummary")
+            ? EntityUtil.getLatestUsage(
+                daoCollection.usageDAO(), tables.stream().map(Table::getId).collect(Collectors.toList()))
+            : null;
+    getColumnTagsInBulk(fields.contains(FIELD_TAGS), tables);
+    for (Table table : tables) {
+      table.setFollowers(followers != null ? followers.getOrDefault(table.getId(), new ArrayList<>()) : null);
+      table.setUsageSummary(usage != null ? usage.get(table.getId()) : null);
+      setTableFields(table, fields);
+    }
+  }
+
+  /** Set the fields that are stored with the table or looked up per table */
+  private Table setTableFields(Table table, Fields fields) throws IOException {
+    table.setTableConstraints(fields.contains("tableConstraints") ? table.getTableConstraints() : null);
     table.setJoins(fields.contains("joins") ? getJoins(table) : null);
     table.setViewDefinition(fields.contains("viewDefinition") ? table.getViewDefinition() : null);
     table.setTableProfilerConfig(fields.contains("tableProfilerConfig") ? getTableProfilerConfig(table) : null);
@@ -128,6 +155,23 @@ public class TableRepository extends EntityRepository<Table> {
     table.withDatabaseSchema(schemaRef).withDatabase(schema.getDatabase()).withService(schema.getService());
   }
 
+  private void setDefaultFields(List<Table> tables) throws IOException {
+    // Tables in a page typically belong to a few schemas. Look up the containers in one query and each schema once.
+    Map<UUID, List<EntityReference>> schemaRefs = getFromEntityRefs(tables, Relationship.CONTAINS, null);
+    Map<UUID, DatabaseSchema> schemas = new HashMap<>();
+    for (Table table : tables) {
+      List<EntityReference> refs = listOrEmpty(schemaRefs.get(table.getId()));
+      ensureSingleRelationship(TABLE, table.getId(), refs, Relationship.CONTAINS.value(), true);
+      EntityReference schemaRef = refs.get(0);
+      DatabaseSchema schema = schemas.get(schemaRef.getId());
+      if (schema == null) {
+        schema = Entity.getEntity(schemaRef, "", ALL);
+        schemas.put(schemaRef.getId(), schema);
+      }
+      table.withDatabaseSchema(schemaRef).withDatabase(schema.getDatabase()).withService(schema.getService());
+    }
+  }
+
   @Override
   public void restorePatchAttributes(Table original, Table updated) {
     // Patch can't make changes to following fields. Ignore the changes.
@@ -302,100 +346,80 @@ public class TableRepository extends EntityRepository<Table> {
   public Table addTableProfileData(UUID tableId, CreateTableProfile createTableProfile) throws IOException {
     // Validate the request content
     Table table = dao.findEntityById(tableId);
-    TableProfile storedTableProfile =
-        JsonUtils.readValue(
-            daoCollection
-                .entityExtensionTimeSeriesDao()
-                .getExtensionAtTimestamp(
-                    table.getFullyQualifiedName(),
-                    TABLE_PROFILE_EXTENSION,
-                    createTableProfile.getTableProfile().getTimestamp()),
-            TableProfile.class);
-    if (storedTableProfile != null) {
-      daoCollection
-          .entityExtensionTimeSeriesDao()
-          .update(
-              table.getFullyQualifiedName(),
-              TABLE_PROFILE_EXTENSION,
-              JsonUtils.pojoToJson(createTableProfile.getTableProfile()),
-              createTableProfile.getTableProfile().getTimestamp());
-    } else {
-      daoCollection
-          .entityExtensionTimeSeriesDao()
-          .insert(
-              table.getFullyQualifiedName(),
-              TABLE_PROFILE_EXTENSION,
-              "tableProfile",
-              JsonUtils.pojoToJson(createTableProfile.getTableProfile()));
-    }
-
+    TableProfile tableProfile = createTableProfile.getTableProfile();
+    storeTimeSeries(
+        TABLE_PROFILE_EXTENSION,
+        "tableProfile",
+        List.of(table.getFullyQualifiedName()),
+        List.of(tableProfile.getTimestamp()),
+        List.of(JsonUtils.pojoToJson(tableProfile)));
+
+    List<String> columnFQNs = new ArrayList<>();
+    List<Long> columnTimestamps = new ArrayList<>();
+    List<String> columnJsons = new ArrayList<>();
     for (ColumnProfile columnProfile : createTableProfile.getColumnProfile()) {
       // Validate all the columns
       Column column = getColumnNameForProfiler(table.getColumns(), columnProfile, null);
       if (column == null) {
         throw new IllegalArgumentException("Invalid column name " + columnProfile.getName());
       }
-      ColumnProfile storedColumnProfile =
-          JsonUtils.readValue(
-              daoCollection
-                  .entityExtensionTimeSeriesDao()
-                  .getExtensionAtTimestamp(
-                      column.getFullyQualifiedName(), TABLE_COLUMN_PROFILE_EXTENSION, columnProfile.getTimestamp()),
-              ColumnProfile.class);
-
-      if (storedColumnProfile != null) {
-        daoCollection
-            .entityExtensionTimeSeriesDao()
-            .update(
-                column.getFullyQualifiedName(),
-                TABLE_COLUMN_PROFILE_EXTENSION,
-                JsonUtils.pojoToJson(columnProfile),
-                storedColumnProfile.getTimestamp());
-      } else {
-        daoCollection
-            .entityExtensionTimeSeriesDao()
-            .insert(
-                column.getFullyQualifiedName(),
-                TABLE_COLUMN_PROFILE_EXTENSION,
-                "columnProfile",
-                JsonUtils.pojoToJson(columnProfile));
-      }
+      columnFQNs.add(column.getFullyQualifiedName());
+      columnTimestamps.add(columnProfile.getTimestamp());
+      columnJsons.add(JsonUtils.pojoToJson(columnProfile));
     }
+    storeTimeSeries(TABLE_COLUMN_PROFILE_EXTENSION, "columnProfile", columnFQNs, columnTimestamps, columnJsons);
 
-    List<SystemProfile> systemProfiles = createTableProfile.getSystemProfile();
-    if (systemProfiles != null && !systemProfiles.isEmpty()) {
-      for (SystemProfile systemProfile : createTableProfile.getSystemProfile()) {
-        SystemProfile storedSystemProfile =
-            JsonUtils.readValue(
-                daoCollection
-                    .entityExtensionTimeSeriesDao()
-                    .getExtensionAtTimestamp(
-                        table.getFullyQualifiedName(), SYSTEM_PROFILE_EXTENSION, systemProfile.getTimestamp()),
-                SystemProfile.class);
-        if (storedSystemProfile != null) {
-          daoCollection
-              .entityExtensionTimeSeriesDao()
-              .update(
-                  table.getFullyQualifiedName(),
-                  SYSTEM_PROFILE_EXTENSION,
-                  JsonUtils.pojoToJson(systemProfile),
-                  storedSystemProfile.getTimestamp());
-        } else {
-          daoCollection
-              .entityExtensionTimeSeriesDao()
-              .insert(
-                  table.getFullyQualifiedName(),
-                  SYSTEM_PROFILE_EXTENSION,
-                  "systemProfile",
-                  JsonUtils.pojoToJson(systemProfile));
-        }
-      }
+    List<SystemProfile> systemProfiles = listOrEmpty(createTableProfile.getSystemProfile());
+    List<String> systemJsons = new ArrayList<>();
+    for (SystemProfile systemProfile : systemProfiles) {
+      systemJsons.add(JsonUtils.pojoToJson(systemProfile));
     }
+    storeTimeSeries(
+        SYSTEM_PROFILE_EXTENSION,
+        "systemProfile",
+        Collections.nCopies(systemProfiles.size(), table.getFullyQualifiedName()),
+        systemProfiles.stream().map(SystemProfile::getTimestamp).collect(Collectors.toList()),
+        systemJsons);
 
     setFieldsInternal(table, Fields.EMPTY_FIELDS);
     return table.withProfile(createTableProfile.getTableProfile());
   }
 
+  /**
+   * Store the time series records of an extension for the given entities. The existing records are read with a single
+   * query and the records are then updated or inserted in JDBC batches. When the same entity and timestamp is repeated,
+   * the last record wins.
+   */
+  void storeTimeSeries(
+      String extension, String jsonSchema, List<String> entityFQNs, List<Long> timestamps, List<String> jsons) {
+    EntityExtensionTimeSeriesDAO timeSeriesDAO = daoCollection.entityExtensionTimeSeriesDao();
+    Map<String, Set<Long>> existing = timeSeriesDAO.getExtensionTimestamps(entityFQNs, extension, timestamps);
+
+    Map<Pair<String, Long>, String> records = new LinkedHashMap<>();
+    for (int i = 0; i < entityFQNs.size(); i++) {
+      records.put(Pair.of(entityFQNs.get(i), timestamps.get(i)), jsons.get(i));
+    }
+    List<String> insertFQNs = new ArrayList<>();
+    List<String> insertJsons = new ArrayList<>();
+    List<String> updateFQNs = new ArrayList<>();
+    List<String> updateJsons = new ArrayList<>();
+    List<Long> updateTimestamps = new ArrayList<>();
+    for (Map.Entry<Pair<String, Long>, String> entry : records.entrySet()) {
+      String entityFQN = entry.getKey().getLeft();
+      Long timestamp = entry.getKey().getRight();
+      if (existing.getOrDefault(entityFQN, Collections.emptySet()).contains(timestamp)) {
+        updateFQNs.add(entityFQN);
+        updateJsons.add(entry.getValue());
+        updateTimestamps.add(timestamp);
+      } else {
+        insertFQNs.add(entityFQN);
+        insertJsons.add(entry.getValue());
+      }
+    }
+    timeSeriesDAO.updateBatch(updateFQNs, extension, updateJsons, updateTimestamps);
+    timeSeriesDAO.insertBatch(insertFQNs, extension, jsonSchema, insertJsons);
+  }
+
   @Transaction
   public void deleteTableProfile(String fqn, String entityType, Long timestamp) throws IOException {
     // Validate the request content
@@ -454,17 +478,20 @@ public class TableRepository extends EntityRepository<Table> {
     return new ResultList<>(systemProfiles, startTs.toString(), endTs.toString(), systemProfiles.size());
   }
 
-  private void setColumnProfile(List<Column> columnList) throws IOException {
+  private void setColumnProfile(String tableFQN, List<Column> columnList) throws IOException {
+    // Latest profiles of all the columns, including the nested columns, are read in a single query
+    Map<String, String> columnProfiles =
+        daoCollection
+            .entityExtensionTimeSeriesDao()
+            .getLatestExtensionsByPrefix(tableFQN, TABLE_COLUMN_PROFILE_EXTENSION);
+    setColumnProfile(columnList, columnProfiles);
+  }
+
+  private void setColumnProfile(List<Column> columnList, Map<String, String> columnProfiles) throws IOException {
     for (Column column : columnList) {
-      ColumnProfile columnProfile =
-          JsonUtils.readValue(
-              daoCollection
-                  .entityExtensionTimeSeriesDao()
-                  .getLatestExtension(column.getFullyQualifiedName(), TABLE_COLUMN_PROFILE_EXTENSION),
-              ColumnProfile.class);
-      column.setProfile(columnProfile);
+      column.setProfile(JsonUtils.readValue(columnProfiles.get(column.getFullyQualifiedName()), ColumnProfile.class));
       if (column.getChildren() != null) {
-        setColumnProfile(column.getChildren());
+        setColumnProfile(column.getChildren(), columnProfiles);
       }
     }
   }
@@ -479,7 +506,7 @@ public class TableRepository extends EntityRepository<Table> {
                 .getLatestExtension(table.getFullyQualifiedName(), TABLE_PROFILE_EXTENSION),
             TableProfile.class);
     table.setProfile(tableProfile);
-    setColumnProfile(table.getColumns());
+    setColumnProfile(table.getFullyQualifiedName(), table.getColumns());
     return table;
   }
 
@@ -583,6 +610,7 @@ public class TableRepository extends EntityRepository<Table> {
     }
     applyTags(table.getColumns());
     dao.update(table.getId(), JsonUtils.pojoToJson(table));
+    invalidateCache(table.getId());
 
     setFieldsInternal(table, new Fields(List.of(FIELD_OWNER), FIELD_OWNER));
     setFieldsInternal(table, new Fields(List.of(FIELD_TAGS), FIELD_TAGS));
@@ -624,6 +652,15 @@ public class TableRepository extends EntityRepository<Table> {
 
   @Override
   public void storeEntity(Table table, boolean update) throws IOException {
+    storeEntity(table, storedTable -> store(storedTable, update));
+  }
+
+  @Override
+  protected void storeEntity(Table table, PendingWrites writes) throws IOException {
+    storeEntity(table, storedTable -> store(storedTable, writes));
+  }
+
+  private void storeEntity(Table table, ConsumerWithExceptions<Table, IOException> store) throws IOException {
     // Relationships and fields such as service are derived and not stored as part of json
     EntityReference service = table.getService();
     table.withService(null);
@@ -633,7 +670,7 @@ public class TableRepository extends EntityRepository<Table> {
     table.setColumns(ColumnUtil.cloneWithoutTags(columnWithTags));
     table.getColumns().forEach(column -> column.setTags(null));
 
-    store(table, update);
+    store.accept(table);
 
     // Restore the relationships
     table.withColumns(columnWithTags).withService(service);
@@ -651,6 +688,15 @@ public class TableRepository extends EntityRepository<Table> {
     applyTags(table);
   }
 
+  @Override
+  protected void storeRelationships(Table table, PendingWrites writes) {
+    writes.addRelationship(
+        table.getDatabaseSchema().getId(), table.getId(), DATABASE_SCHEMA, TABLE, Relationship.CONTAINS);
+    storeOwner(table, table.getOwner(), writes);
+    applyTags(table.getTags(), table.getFullyQualifiedName(), writes);
+    applyTags(table.getColumns(), writes);
+  }
+
   @Override
   public EntityUpdater getUpdater(Table original, Table updated, Operation operation) {
     return new TableUpdater(original, updated, operation);
@@ -676,6 +722,15 @@ public class TableRepository extends EntityRepository<Table> {
     }
   }
 
+  private void applyTags(List<Column> columns, PendingWrites writes) {
+    for (Column column : columns) {
+      applyTags(column.getTags(), column.getFullyQualifiedName(), writes);
+      if (column.getChildren() != null) {
+        applyTags(column.getChildren(), writes);
+      }
+    }
+  }
+
   @Override
   public void applyTags(Table table) {
     // Add table level tags by adding tag to table relationship
@@ -705,6 +760,26 @@ public class TableRepository extends EntityRepository<Table> {
     }
   }
 
+  /** Set column tags for a list of tables with one query per batch of column FQNs */
+  private void getColumnTagsInBulk(boolean setTags, List<Table> tables) {
+    List<Column> columns = new ArrayList<>();
+    tables.forEach(table -> flattenColumns(table.getColumns(), columns));
+    Map<String, List<TagLabel>> tags =
+        setTags
+            ? daoCollection
+                .tagUsageDAO()
+                .getTagsByTargets(columns.stream().map(Column::getFullyQualifiedName).collect(Collectors.toList()))
+            : null;
+    columns.forEach(c -> c.setTags(tags != null ? tags.get(c.getFullyQualifiedName()) : null));
+  }
+
+  private static void flattenColumns(List<Column> columns, List<Column> flattened) {
+    for (Column c : listOrEmpty(columns)) {
+      flattened.add(c);
+      flattenColumns(c.getChildren(), flattened);
+    }
+  }
+
   private void validateTableFQN(String fqn) {
     try {
       dao.existsByName(fqn);
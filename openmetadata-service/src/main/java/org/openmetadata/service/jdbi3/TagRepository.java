@@ -32,6 +32,7 @@ import org.openmetadata.schema.type.TagLabel.TagSource;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.service.resources.tags.TagLabelCache;
 import org.openmetadata.service.resources.tags.TagResource;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
@@ -41,6 +42,7 @@ import org.openmetadata.service.util.FullyQualifiedName;
 public class TagRepository extends EntityRepository<Tag> {
   public TagRepository(CollectionDAO dao) {
     super(TagResource.TAG_COLLECTION_PATH, Entity.TAG, Tag.class, dao.tagDAO(), dao, "", "");
+    supportsBulkDelete = false;
   }
 
   @Override
@@ -62,6 +64,9 @@ public class TagRepository extends EntityRepository<Tag> {
     // Parent and Classification are not stored as part of JSON. Build it on the fly based on relationships
     tag.withClassification(null).withParent(null);
     store(tag, update);
+    if (update) {
+      TagLabelCache.getInstance().invalidateAll();
+    }
     tag.withClassification(Classification).withParent(parent);
   }
 
@@ -94,6 +99,7 @@ public class TagRepository extends EntityRepository<Tag> {
   protected void postDelete(Tag entity) {
     // Cleanup all the tag labels using this tag
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.CLASSIFICATION.ordinal(), entity.getFullyQualifiedName());
+    TagLabelCache.getInstance().invalidateAll();
   }
 
   @Override
@@ -171,7 +177,7 @@ public class TagRepository extends EntityRepository<Tag> {
         }
         // Category name changed - update tag names starting from classification and all the children tags
         LOG.info("Tag name changed from {} to {}", original.getName(), updated.getName());
-        daoCollection.tagDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+        updateFqnPrefix(TAG, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
         daoCollection
             .tagUsageDAO()
             .rename(
@@ -193,7 +199,7 @@ public class TagRepository extends EntityRepository<Tag> {
       UUID newCategoryId = getId(updated.getClassification());
       boolean ClassificationChanged = !Objects.equals(oldCategoryId, newCategoryId);
 
-      daoCollection.tagDAO().updateFqn(original.getFullyQualifiedName(), updated.getFullyQualifiedName());
+      updateFqnPrefix(TAG, original.getFullyQualifiedName(), updated.getFullyQualifiedName());
       daoCollection
           .tagUsageDAO()
           .rename(
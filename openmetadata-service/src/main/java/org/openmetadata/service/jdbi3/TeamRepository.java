@@ -14,7 +14,6 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
-import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
 import static org.openmetadata.csv.CsvUtil.addEntityReferences;
 import static org.openmetadata.csv.CsvUtil.addField;
 import static org.openmetadata.schema.api.teams.CreateTeam.TeamType.BUSINESS_UNIT;
@@ -83,6 +82,7 @@ public class TeamRepository extends EntityRepository<Team> {
 
   public TeamRepository(CollectionDAO dao) {
     super(TeamResource.COLLECTION_PATH, TEAM, Team.class, dao.teamDAO(), dao, TEAM_PATCH_FIELDS, TEAM_UPDATE_FIELDS);
+    supportsBulkDelete = false;
   }
 
   @Override
@@ -617,25 +617,28 @@ public class TeamRepository extends EntityRepository<Team> {
       return String.format("#%s: Field %d error - %s", CsvErrorType.INVALID_FIELD, field + 1, error);
     }
 
-    private List<Team> listTeams(TeamRepository repository, String parentTeam, List<Team> teams, Fields fields)
+    /** Print the children of the parent team as they are read, then the teams under each of them */
+    private void printTeams(CSVPrinter printer, TeamRepository repository, String parentTeam, Fields fields)
         throws IOException {
       // Export the entire hierarchy of teams
       final ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("parentTeam", parentTeam);
-      List<Team> list = repository.listAll(fields, filter);
-      if (nullOrEmpty(list)) {
-        return teams;
+      List<String> children = new ArrayList<>();
+      repository.streamAll(
+          fields,
+          filter,
+          child -> {
+            printRecord(printer, child);
+            children.add(child.getName());
+          });
+      for (String child : children) {
+        printTeams(printer, repository, child, fields);
       }
-      teams.addAll(list);
-      for (Team team : list) {
-        listTeams(repository, team.getName(), teams, fields);
-      }
-      return teams;
     }
 
     public String exportCsv() throws IOException {
       TeamRepository repository = (TeamRepository) Entity.getEntityRepository(TEAM);
       final Fields fields = repository.getFields("owner,defaultRoles,parents,policies");
-      return exportCsv(listTeams(repository, team.getName(), new ArrayList<>(), fields));
+      return exportCsv(printer -> printTeams(printer, repository, team.getName(), fields));
     }
   }
 
@@ -50,6 +50,7 @@ public class TypeRepository extends EntityRepository<Type> {
 
   public TypeRepository(CollectionDAO dao) {
     super(TypeResource.COLLECTION_PATH, Entity.TYPE, Type.class, dao.typeEntityDAO(), dao, PATCH_FIELDS, UPDATE_FIELDS);
+    supportsBulkDelete = false;
   }
 
   @Override
@@ -14,7 +14,6 @@
 package org.openmetadata.service.jdbi3;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
-import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
 import static org.openmetadata.csv.CsvUtil.addEntityReferences;
 import static org.openmetadata.csv.CsvUtil.addField;
 import static org.openmetadata.service.Entity.ROLE;
@@ -68,6 +67,7 @@ public class UserRepository extends EntityRepository<User> {
 
   public UserRepository(CollectionDAO dao) {
     super(UserResource.COLLECTION_PATH, USER, User.class, dao.userDAO(), dao, USER_PATCH_FIELDS, USER_UPDATE_FIELDS);
+    supportsBulkDelete = false;
     organization = dao.teamDAO().findEntityReferenceByName(Entity.ORGANIZATION_NAME, Include.ALL);
   }
 
@@ -369,35 +369,32 @@ public class UserRepository extends EntityRepository<User> {
       return record;
     }
 
-    private List<User> listUsers(
-        TeamRepository teamRepository,
-        UserRepository userRepository,
-        String parentTeam,
-        List<User> users,
-        Fields fields)
+    private List<String> listTeams(TeamRepository teamRepository, String parentTeam, List<String> teams)
         throws IOException {
-      // Export the users by listing users for the entire team hierarchy
-      ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("team", parentTeam);
-
-      // Add users for the given team
-      List<User> userList = userRepository.listAll(fields, filter);
-      if (!nullOrEmpty(userList)) {
-        users.addAll(userList);
-      }
-
-      filter = new ListFilter(Include.NON_DELETED).addQueryParam("parentTeam", parentTeam);
+      // List the names of the teams in the entire team hierarchy, parent team first
+      teams.add(parentTeam);
+      ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("parentTeam", parentTeam);
       List<Team> teamList = teamRepository.listAll(Fields.EMPTY_FIELDS, filter);
       for (Team team : teamList) {
-        listUsers(teamRepository, userRepository, team.getName(), users, fields);
+        listTeams(teamRepository, team.getName(), teams);
       }
-      return users;
+      return teams;
     }
 
     public String exportCsv() throws IOException {
       UserRepository userRepository = (UserRepository) Entity.getEntityRepository(USER);
       TeamRepository teamRepository = (TeamRepository) Entity.getEntityRepository(TEAM);
       final Fields fields = userRepository.getFields("roles,teams");
-      return exportCsv(listUsers(teamRepository, userRepository, team.getName(), new ArrayList<>(), fields));
+
+      // Export the users by streaming the users of each team in the team hierarchy
+      List<String> teams = listTeams(teamRepository, team.getName(), new ArrayList<>());
+      return exportCsv(
+          printer -> {
+            for (String teamName : teams) {
+              ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("team", teamName);
+              userRepository.streamAll(fields, filter, user -> printRecord(printer, user));
+            }
+          });
     }
 
     private List<EntityReference> getTeams(CSVPrinter printer, CSVRecord record, String user) throws IOException {
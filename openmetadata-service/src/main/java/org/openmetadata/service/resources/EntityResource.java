@@ -5,6 +5,7 @@ import static org.openmetadata.schema.type.MetadataOperation.CREATE;
 import static org.openmetadata.service.util.EntityUtil.createOrUpdateOperation;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import javax.json.JsonPatch;
@@ -29,13 +30,16 @@ import org.openmetadata.service.security.policyevaluator.OperationContext;
 import org.openmetadata.service.security.policyevaluator.ResourceContext;
 import org.openmetadata.service.security.policyevaluator.ResourceContext.ResourceContextBuilder;
 import org.openmetadata.service.security.policyevaluator.ResourceContextInterface;
+import org.openmetadata.service.util.BulkDeleteHandler;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.RestUtil;
+import org.openmetadata.service.util.RestUtil.BulkPutResponse;
 import org.openmetadata.service.util.RestUtil.DeleteResponse;
 import org.openmetadata.service.util.RestUtil.PatchResponse;
 import org.openmetadata.service.util.RestUtil.PutResponse;
 import org.openmetadata.service.util.ResultList;
+import org.openmetadata.service.workflows.delete.BulkDeleteJob;
 
 @Slf4j
 public abstract class EntityResource<T extends EntityInterface, K extends EntityRepository<T>> {
@@ -159,19 +163,24 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return dao.getVersion(id, version);
   }
 
-  protected EntityHistory listVersionsInternal(SecurityContext securityContext, UUID id) throws IOException {
+  protected EntityHistory listVersionsInternal(
+      SecurityContext securityContext, UUID id, Integer limit, int offset, boolean metadataOnly) throws IOException {
     OperationContext operationContext = new OperationContext(entityType, MetadataOperation.VIEW_BASIC);
-    return listVersionsInternal(securityContext, id, operationContext, getResourceContextById(id));
+    return listVersionsInternal(
+        securityContext, id, operationContext, getResourceContextById(id), limit, offset, metadataOnly);
   }
 
   protected EntityHistory listVersionsInternal(
       SecurityContext securityContext,
       UUID id,
       OperationContext operationContext,
-      ResourceContextInterface resourceContext)
+      ResourceContextInterface resourceContext,
+      Integer limit,
+      int offset,
+      boolean metadataOnly)
       throws IOException {
     authorizer.authorize(securityContext, operationContext, resourceContext);
-    return dao.listVersions(id);
+    return dao.listVersions(id, limit, offset, metadataOnly);
   }
 
   public T getByNameInternal(
@@ -216,6 +225,38 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return response.toResponse();
   }
 
+  /**
+   * Create or update a list of entities, authorizing each entity on its own. Like the other operations here, this has
+   * no endpoint of its own since each resource converts its own create request into entities. Only {@code PUT
+   * /tables/bulk} is exposed for now: tables are the entities ingestion creates in the largest numbers, and {@link
+   * org.openmetadata.service.jdbi3.TableRepository} is the only repository that writes new entities using JDBC batches.
+   * Other repositories would insert the new entities of a request one row at a time within a single transaction, which
+   * holds their locks longer than the same number of PUT requests. Resources expose it the same way once their
+   * repository overrides {@code storeEntity} and {@code storeRelationships} to add the rows to {@code PendingWrites}.
+   */
+  public Response bulkCreateOrUpdate(UriInfo uriInfo, SecurityContext securityContext, List<T> entities)
+      throws IOException {
+    BulkPutResponse<T> response = new BulkPutResponse<>();
+    List<T> authorized = new ArrayList<>();
+    for (T entity : entities) {
+      try {
+        dao.prepareInternal(entity);
+
+        // If entity does not exist, this is a create operation, else update operation
+        ResourceContext resourceContext = getResourceContextByName(entity.getFullyQualifiedName());
+        OperationContext operationContext = new OperationContext(entityType, createOrUpdateOperation(resourceContext));
+        authorizer.authorize(securityContext, operationContext, resourceContext);
+        authorized.add(entity);
+      } catch (Exception e) {
+        String name = entity.getFullyQualifiedName() != null ? entity.getFullyQualifiedName() : entity.getName();
+        response.addFailure(name, e.getMessage());
+      }
+    }
+    dao.bulkCreateOrUpdate(uriInfo, authorized, response);
+    response.getResponses().forEach(r -> addHref(uriInfo, r.getEntity()));
+    return response.toResponse();
+  }
+
   public Response patchInternal(UriInfo uriInfo, SecurityContext securityContext, UUID id, JsonPatch patch)
       throws IOException {
     OperationContext operationContext = new OperationContext(entityType, patch);
@@ -235,6 +276,23 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     return response.toResponse();
   }
 
+  /**
+   * Hard delete an entity and all its children in the background. Returns the background job, which reports the
+   * progress of the delete.
+   */
+  public Response deleteInBackground(
+      SecurityContext securityContext, UUID id, boolean recursive, boolean hardDelete) throws IOException {
+    if (!recursive || !hardDelete) {
+      throw new IllegalArgumentException("Only recursive hard deletes can run in the background");
+    }
+    OperationContext operationContext = new OperationContext(entityType, MetadataOperation.DELETE);
+    authorizer.authorize(securityContext, operationContext, getResourceContextById(id));
+    BulkDeleteJob job =
+        BulkDeleteHandler.getInstance()
+            .createBulkDeleteJob(securityContext.getUserPrincipal().getName(), entityType, id);
+    return Response.accepted(job).build();
+  }
+
   public Response deleteByName(
       UriInfo uriInfo, SecurityContext securityContext, String name, boolean recursive, boolean hardDelete)
       throws IOException {
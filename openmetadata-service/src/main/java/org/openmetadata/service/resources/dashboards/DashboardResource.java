@@ -159,9 +159,23 @@ public class DashboardResource extends EntityResource<Dashboard, DashboardReposi
   public EntityHistory listVersions(
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext,
-      @Parameter(description = "Id of the dashboard", schema = @Schema(type = "UUID")) @PathParam("id") UUID id)
+      @Parameter(description = "Id of the dashboard", schema = @Schema(type = "UUID")) @PathParam("id") UUID id,
+      @Parameter(description = "Limit the number of versions returned. All versions are returned when not set")
+          @QueryParam("limit")
+          @Min(0)
+          @Max(1000000)
+          Integer limitParam,
+      @Parameter(description = "Number of versions to skip, starting from the latest version")
+          @DefaultValue("0")
+          @QueryParam("offset")
+          @Min(0)
+          int offsetParam,
+      @Parameter(description = "Return only the version, updatedAt, updatedBy and changeDescription of the versions")
+          @DefaultValue("false")
+          @QueryParam("metadataOnly")
+          boolean metadataOnly)
       throws IOException {
-    return super.listVersionsInternal(securityContext, id);
+    return super.listVersionsInternal(securityContext, id, limitParam, offsetParam, metadataOnly);
   }
 
   @GET
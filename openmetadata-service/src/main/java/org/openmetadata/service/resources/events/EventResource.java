@@ -23,17 +23,27 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import lombok.Getter;
 import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
 import org.openmetadata.service.Entity.EntityList;
+import org.openmetadata.service.events.ChangeEventLog;
+import org.openmetadata.service.events.ChangeEventReplay;
 import org.openmetadata.service.jdbi3.ChangeEventRepository;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.resources.Collection;
@@ -123,4 +133,108 @@ public class EventResource {
     events.sort(EntityUtil.compareChangeEvent); // Sort change events based on time
     return new EventList(events, null, null, events.size()); // TODO
   }
+
+  @PUT
+  @Path("/replay")
+  @Operation(
+      operationId = "replayChangeEvents",
+      summary = "Replay change events",
+      description =
+          "Replay the change events recorded in a time range, or with the offsets in a range, to an event "
+              + "subscription or to the search index. The events are delivered again by the consumer, after which it "
+              + "goes on with new events.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Replay started",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeEventReplay.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request"),
+        @ApiResponse(responseCode = "404", description = "Consumer is not found")
+      })
+  public ChangeEventReplay replay(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(
+              description = "Name of the event subscription, or `searchIndex` for the search index",
+              required = true,
+              schema = @Schema(type = "string"))
+          @QueryParam("consumer")
+          String consumer,
+      @Parameter(
+              description = "Replay events starting from this unix timestamp in milliseconds",
+              schema = @Schema(type = "long", example = "1426349294842"))
+          @QueryParam("startTs")
+          Long startTs,
+      @Parameter(
+              description = "Replay events up to this unix timestamp in milliseconds, defaults to now",
+              schema = @Schema(type = "long", example = "1426349294842"))
+          @QueryParam("endTs")
+          Long endTs,
+      @Parameter(
+              description = "Replay events starting from this offset, instead of a time range",
+              schema = @Schema(type = "long", example = "1200"))
+          @QueryParam("fromOffset")
+          Long fromOffset,
+      @Parameter(
+              description = "Replay events up to this offset, defaults to the last event",
+              schema = @Schema(type = "long", example = "1500"))
+          @QueryParam("toOffset")
+          Long toOffset,
+      @Parameter(description = "Maximum number of events replayed per second")
+          @DefaultValue("100")
+          @Min(1)
+          @Max(10000)
+          @QueryParam("eventsPerSecond")
+          int eventsPerSecond)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    return ChangeEventLog.startReplay(
+        getConsumerId(consumer),
+        startTs,
+        endTs,
+        fromOffset,
+        toOffset,
+        eventsPerSecond,
+        securityContext.getUserPrincipal().getName());
+  }
+
+  @GET
+  @Path("/replay/{consumer}")
+  @Operation(
+      operationId = "getChangeEventReplay",
+      summary = "Get the replay of change events",
+      description = "Get the status of the last replay of change events to an event subscription or the search index",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Replay",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = ChangeEventReplay.class))),
+        @ApiResponse(responseCode = "404", description = "Replay is not found")
+      })
+  public ChangeEventReplay getReplay(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(
+              description = "Name of the event subscription, or `searchIndex` for the search index",
+              schema = @Schema(type = "string"))
+          @PathParam("consumer")
+          String consumer)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    return ChangeEventLog.getReplay(getConsumerId(consumer));
+  }
+
+  private static String getConsumerId(String consumer) {
+    if (ChangeEventLog.SEARCH_INDEX_CONSUMER.equals(consumer)) {
+      return ChangeEventLog.SEARCH_INDEX_CONSUMER;
+    }
+    if (consumer == null) {
+      throw new IllegalArgumentException("Consumer of the replay is required");
+    }
+    return Entity.getEntityReferenceByName(Entity.EVENT_SUBSCRIPTION, consumer, Include.NON_DELETED)
+        .getId()
+        .toString();
+  }
 }
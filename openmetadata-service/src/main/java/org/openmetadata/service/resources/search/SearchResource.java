@@ -127,7 +127,7 @@ public class SearchResource {
     if (config.getElasticSearchConfiguration() != null) {
       this.client = ElasticSearchClientUtils.createElasticSearchClient(config.getElasticSearchConfiguration());
       ElasticSearchIndexDefinition elasticSearchIndexDefinition = new ElasticSearchIndexDefinition(client, dao);
-      ReIndexingHandler.initialize(client, elasticSearchIndexDefinition, dao);
+      ReIndexingHandler.initialize(client, elasticSearchIndexDefinition, dao, config.getReindexingConfiguration());
     }
   }
 
@@ -505,7 +505,9 @@ public class SearchResource {
   @Operation(
       operationId = "runBatchReindexing",
       summary = "Run Batch Reindexing",
-      description = "Reindex Elastic Search Reindexing Entities",
+      description =
+          "Reindex Elastic Search Reindexing Entities. With `changedSince`, only the entities changed since that "
+              + "time are reindexed and the documents of the deleted entities are removed.",
       responses = {
         @ApiResponse(responseCode = "200", description = "Success"),
         @ApiResponse(responseCode = "404", description = "Bot for instance {id} is not found")
@@ -513,12 +515,17 @@ public class SearchResource {
   public Response reindexEntities(
       @Context UriInfo uriInfo,
       @Context SecurityContext securityContext,
+      @Parameter(
+              description = "Reindex only the entities changed since this timestamp in milliseconds",
+              schema = @Schema(type = "number"))
+          @QueryParam("changedSince")
+          Long changedSince,
       @Valid CreateEventPublisherJob createRequest) {
     authorizer.authorizeAdmin(securityContext);
     return Response.status(Response.Status.CREATED)
         .entity(
             ReIndexingHandler.getInstance()
-                .createReindexingJob(securityContext.getUserPrincipal().getName(), createRequest))
+                .createReindexingJob(securityContext.getUserPrincipal().getName(), createRequest, changedSince))
         .build();
   }
 
@@ -540,6 +547,24 @@ public class SearchResource {
     return Response.status(Response.Status.OK).entity(ReIndexingHandler.getInstance().stopRunningJob(id)).build();
   }
 
+  @PUT
+  @Path("/reindex/resume/{jobId}")
+  @Operation(
+      operationId = "resumeAJobWithId",
+      summary = "Resume Reindex Job",
+      description = "Resume a stopped or interrupted Reindex Job from its last checkpoint",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Success"),
+        @ApiResponse(responseCode = "400", description = "Job cannot be resumed")
+      })
+  public Response resumeReindexJob(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "jobId Id", schema = @Schema(type = "UUID")) @PathParam("jobId") UUID id) {
+    authorizer.authorizeAdmin(securityContext);
+    return Response.status(Response.Status.OK).entity(ReIndexingHandler.getInstance().resumeReindexingJob(id)).build();
+  }
+
   private SearchSourceBuilder buildAggregateSearchBuilder(String query, int from, int size) {
     QueryStringQueryBuilder queryBuilder = QueryBuilders.queryStringQuery(query).lenient(true);
     SearchSourceBuilder searchSourceBuilder = searchBuilder(queryBuilder, null, from, size);
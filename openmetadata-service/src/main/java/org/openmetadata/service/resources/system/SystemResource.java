@@ -13,6 +13,7 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import javax.json.JsonPatch;
 import javax.validation.Valid;
 import javax.ws.rs.Consumes;
@@ -42,9 +43,11 @@ import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.jdbi3.SystemRepository;
 import org.openmetadata.service.resources.Collection;
 import org.openmetadata.service.security.Authorizer;
+import org.openmetadata.service.util.BulkDeleteHandler;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.ResultList;
+import org.openmetadata.service.workflows.delete.BulkDeleteJob;
 
 @Path("/v1/system")
 @Tag(name = "System", description = "APIs related to System configuration and settings.")
@@ -258,4 +261,44 @@ public class SystemResource {
     ListFilter filter = new ListFilter(include);
     return systemRepository.getAllServicesCount(filter);
   }
+
+  @GET
+  @Path("/deleteJobs")
+  @Operation(
+      operationId = "listBulkDeleteJobs",
+      summary = "List background delete jobs",
+      description = "List the background hard delete jobs of entity hierarchies with their progress",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "List of background delete jobs",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class)))
+      })
+  public List<BulkDeleteJob> listBulkDeleteJobs(@Context UriInfo uriInfo, @Context SecurityContext securityContext)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    return BulkDeleteHandler.getInstance().getAllJobs();
+  }
+
+  @GET
+  @Path("/deleteJobs/{jobId}")
+  @Operation(
+      operationId = "getBulkDeleteJob",
+      summary = "Get a background delete job",
+      description = "Get the status and progress of a background hard delete job by `jobId`",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Background delete job",
+            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkDeleteJob.class))),
+        @ApiResponse(responseCode = "404", description = "Background delete job for {jobId} is not found")
+      })
+  public BulkDeleteJob getBulkDeleteJob(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(description = "Id of the job", schema = @Schema(type = "UUID")) @PathParam("jobId") UUID jobId)
+      throws IOException {
+    authorizer.authorizeAdmin(securityContext);
+    return BulkDeleteHandler.getInstance().getJob(jobId);
+  }
 }
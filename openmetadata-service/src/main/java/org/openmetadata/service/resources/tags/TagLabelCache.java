@@ -34,6 +34,7 @@ import org.openmetadata.service.jdbi3.ClassificationRepository;
 import org.openmetadata.service.jdbi3.GlossaryRepository;
 import org.openmetadata.service.jdbi3.GlossaryTermRepository;
 import org.openmetadata.service.jdbi3.TagRepository;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil.Fields;
 import org.openmetadata.service.util.FullyQualifiedName;
 
@@ -42,6 +43,7 @@ import org.openmetadata.service.util.FullyQualifiedName;
  */
 @Slf4j
 public class TagLabelCache {
+  private static final String TAG_LABEL_CACHE_NAME = "tagLabel";
   private static final TagLabelCache INSTANCE = new TagLabelCache();
   private static volatile boolean INITIALIZED = false;
 
@@ -77,6 +79,7 @@ public class TagLabelCache {
               .build(new GlossaryTermLoader());
       GLOSSARY_TERM_REPOSITORY = (GlossaryTermRepository) Entity.getEntityRepository(Entity.GLOSSARY_TERM);
       GLOSSARY_REPOSITORY = (GlossaryRepository) Entity.getEntityRepository(Entity.GLOSSARY);
+      CacheInvalidationBus.register(TAG_LABEL_CACHE_NAME, key -> invalidateLocally());
       INITIALIZED = true;
     } else {
       LOG.info("Subject cache is already initialized");
@@ -119,6 +122,29 @@ public class TagLabelCache {
     }
   }
 
+  /**
+   * Renaming a classification, tag, glossary or glossary term also renames its children, so every entry is
+   * invalidated. The cache is small and is reloaded quickly.
+   */
+  public void invalidateAll() {
+    try {
+      invalidateLocally();
+      CacheInvalidationBus.publish(TAG_LABEL_CACHE_NAME, "");
+    } catch (Exception ex) {
+      LOG.error("Failed to invalidate tag label cache", ex);
+    }
+  }
+
+  private static void invalidateLocally() {
+    if (!INITIALIZED) {
+      return;
+    }
+    CLASSIFICATION_CACHE.invalidateAll();
+    TAG_CACHE.invalidateAll();
+    GLOSSARY_CACHE.invalidateAll();
+    GLOSSARY_TERM_CACHE.invalidateAll();
+  }
+
   public String getDescription(TagLabel label) {
     if (label.getSource() == TagSource.CLASSIFICATION) {
       return getTag(label.getTagFQN()).getDescription();
@@ -18,18 +18,21 @@ import org.openmetadata.schema.entity.teams.User;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.jdbi3.UserRepository;
 import org.openmetadata.service.resources.teams.UserResource;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil;
 import org.openmetadata.service.util.JsonUtils;
 
 @Slf4j
 public class BotTokenCache {
   public static final String EMPTY_STRING = "";
+  private static final String BOT_TOKEN_CACHE_NAME = "botToken";
   private static BotTokenCache INSTANCE;
   private final LoadingCache<String, String> BOTS_TOKEN_CACHE;
 
   public BotTokenCache() {
     BOTS_TOKEN_CACHE =
         CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(2, TimeUnit.MINUTES).build(new BotTokenLoader());
+    CacheInvalidationBus.register(BOT_TOKEN_CACHE_NAME, BOTS_TOKEN_CACHE::invalidate);
   }
 
   public String getToken(String botName) {
@@ -46,6 +49,7 @@ public class BotTokenCache {
   public void invalidateToken(String botName) {
     try {
       BOTS_TOKEN_CACHE.invalidate(botName);
+      CacheInvalidationBus.publish(BOT_TOKEN_CACHE_NAME, botName);
     } catch (Exception ex) {
       LOG.error("Failed to invalidate Bot token cache for Bot {}", botName, ex);
     }
@@ -22,10 +22,12 @@ import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.jdbi3.TokenRepository;
 import org.openmetadata.service.jdbi3.UserRepository;
 import org.openmetadata.service.resources.teams.UserResource;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil;
 
 @Slf4j
 public class UserTokenCache {
+  private static final String USER_TOKEN_CACHE_NAME = "userToken";
   private static UserTokenCache INSTANCE;
   private static LoadingCache<String, HashSet<String>> USER_TOKEN_CACHE;
   private static volatile boolean INITIALIZED = false;
@@ -39,6 +41,7 @@ public class UserTokenCache {
               .expireAfterWrite(2, TimeUnit.MINUTES)
               .build(new UserTokenLoader());
       tokenRepository = new TokenRepository(dao);
+      CacheInvalidationBus.register(USER_TOKEN_CACHE_NAME, userName -> USER_TOKEN_CACHE.invalidate(userName));
       INSTANCE = new UserTokenCache();
       INITIALIZED = true;
       LOG.info("User Token cache is initialized");
@@ -58,6 +61,7 @@ public class UserTokenCache {
   public void invalidateToken(String userName) {
     try {
       USER_TOKEN_CACHE.invalidate(userName);
+      CacheInvalidationBus.publish(USER_TOKEN_CACHE_NAME, userName);
     } catch (Exception ex) {
       LOG.error("Failed to invalidate User token cache for User {}", userName, ex);
     }
@@ -30,11 +30,13 @@ import org.openmetadata.schema.entity.policies.accessControl.Rule;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.PolicyRepository;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
 @Slf4j
 public class PolicyCache {
+  private static final String POLICY_CACHE_NAME = "policy";
   private static final PolicyCache INSTANCE = new PolicyCache();
   private static volatile boolean INITIALIZED = false;
 
@@ -53,6 +55,8 @@ public class PolicyCache {
           CacheBuilder.newBuilder().maximumSize(1000).expireAfterWrite(3, TimeUnit.MINUTES).build(new PolicyLoader());
       POLICY_REPOSITORY = (PolicyRepository) Entity.getEntityRepository(Entity.POLICY);
       FIELDS = POLICY_REPOSITORY.getFields("rules");
+      CacheInvalidationBus.register(
+          POLICY_CACHE_NAME, policyId -> POLICY_CACHE.invalidate(UUID.fromString(policyId)));
       INITIALIZED = true;
     }
   }
@@ -68,6 +72,7 @@ public class PolicyCache {
   public void invalidatePolicy(UUID policyId) {
     try {
       POLICY_CACHE.invalidate(policyId);
+      CacheInvalidationBus.publish(POLICY_CACHE_NAME, policyId.toString());
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for policy {}", policyId, ex);
     }
@@ -27,11 +27,13 @@ import org.openmetadata.schema.entity.teams.Role;
 import org.openmetadata.service.Entity;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.RoleRepository;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
 @Slf4j
 public class RoleCache {
+  private static final String ROLE_CACHE_NAME = "role";
   private static final RoleCache INSTANCE = new RoleCache();
   private static volatile boolean INITIALIZED = false;
   protected static LoadingCache<UUID, Role> ROLE_CACHE;
@@ -49,6 +51,7 @@ public class RoleCache {
           CacheBuilder.newBuilder().maximumSize(100).expireAfterWrite(3, TimeUnit.MINUTES).build(new RoleLoader());
       ROLE_REPOSITORY = (RoleRepository) Entity.getEntityRepository(Entity.ROLE);
       FIELDS = ROLE_REPOSITORY.getFields("policies");
+      CacheInvalidationBus.register(ROLE_CACHE_NAME, roleId -> ROLE_CACHE.invalidate(UUID.fromString(roleId)));
       INITIALIZED = true;
     }
   }
@@ -64,6 +67,7 @@ public class RoleCache {
   public void invalidateRole(UUID roleId) {
     try {
       ROLE_CACHE.invalidate(roleId);
+      CacheInvalidationBus.publish(ROLE_CACHE_NAME, roleId.toString());
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for role {}", roleId, ex);
     }
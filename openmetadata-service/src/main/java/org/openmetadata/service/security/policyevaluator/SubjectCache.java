@@ -38,11 +38,14 @@ import org.openmetadata.service.exception.CatalogExceptionMessage;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.TeamRepository;
 import org.openmetadata.service.jdbi3.UserRepository;
+import org.openmetadata.service.util.CacheInvalidationBus;
 import org.openmetadata.service.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
 @Slf4j
 public class SubjectCache {
+  private static final String USER_CACHE_NAME = "user";
+  private static final String TEAM_CACHE_NAME = "team";
   private static SubjectCache INSTANCE;
   private static volatile boolean INITIALIZED = false;
   protected static LoadingCache<String, SubjectContext> USER_CACHE;
@@ -69,6 +72,8 @@ public class SubjectCache {
       USER_FIELDS = USER_REPOSITORY.getFields("roles, teams, isAdmin");
       TEAM_REPOSITORY = (TeamRepository) Entity.getEntityRepository(Entity.TEAM);
       TEAM_FIELDS = TEAM_REPOSITORY.getFields("defaultRoles, policies, parents");
+      CacheInvalidationBus.register(USER_CACHE_NAME, userName -> USER_CACHE.invalidate(userName));
+      CacheInvalidationBus.register(TEAM_CACHE_NAME, teamId -> TEAM_CACHE.invalidate(UUID.fromString(teamId)));
       INSTANCE = new SubjectCache();
       INITIALIZED = true;
       LOG.info("Subject cache is initialized");
@@ -171,6 +176,7 @@ public class SubjectCache {
   public void invalidateUser(String userName) {
     try {
       USER_CACHE.invalidate(userName);
+      CacheInvalidationBus.publish(USER_CACHE_NAME, userName);
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for user {}", userName, ex);
     }
@@ -179,6 +185,7 @@ public class SubjectCache {
   public void invalidateTeam(UUID teamId) {
     try {
       TEAM_CACHE.invalidate(teamId);
+      CacheInvalidationBus.publish(TEAM_CACHE_NAME, teamId.toString());
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for team {}", teamId, ex);
     }
@@ -2,19 +2,35 @@ package org.openmetadata.service.socket;
 
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.socket.engineio.server.EngineIoServer;
 import io.socket.engineio.server.EngineIoServerOptions;
 import io.socket.socketio.server.SocketIoNamespace;
 import io.socket.socketio.server.SocketIoServer;
 import io.socket.socketio.server.SocketIoSocket;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.security.policyevaluator.SubjectCache;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
 
+/**
+ * Pushes activity feed messages to the sockets of the connected users. Messages are not sent on the caller's thread:
+ * broadcasts are fanned out by a dedicated thread, and each socket has a bounded queue of outbound messages drained by
+ * a pool of sender threads, one sender per socket at a time. When a slow client lets its queue fill up, its oldest
+ * messages are dropped so that it cannot hold up the other clients or the server.
+ */
 @Slf4j
 public class WebSocketManager {
   private static WebSocketManager INSTANCE;
@@ -25,14 +41,39 @@ public class WebSocketManager {
   public static final String JOB_STATUS_BROADCAST_CHANNEL = "jobStatus";
   public static final String MENTION_CHANNEL = "mentionChannel";
   public static final String ANNOUNCEMENT_CHANNEL = "announcementChannel";
+  private static final int OUTBOX_SIZE = 100;
+  private static final int SENDER_THREADS = 4;
   @Getter private final Map<UUID, Map<String, SocketIoSocket>> activityFeedEndpoints = new ConcurrentHashMap<>();
+  private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+  private final ExecutorService broadcastExecutor;
+  private final ExecutorService senderExecutor;
+  private final Counter queuedCounter;
+  private final Counter droppedCounter;
 
   private WebSocketManager(EngineIoServerOptions eiOptions) {
     engineIoServer = new EngineIoServer(eiOptions);
     socketIoServer = new SocketIoServer(engineIoServer);
+    // A single thread fans out the broadcasts so that every socket gets them in order
+    broadcastExecutor = Executors.newSingleThreadExecutor(runnable -> newDaemonThread(runnable, "websocket-broadcast"));
+    senderExecutor =
+        Executors.newFixedThreadPool(SENDER_THREADS, runnable -> newDaemonThread(runnable, "websocket-sender"));
+    MeterRegistry registry = MicrometerBundleSingleton.prometheusMeterRegistry;
+    queuedCounter = registry == null ? null : Counter.builder("websocket_messages_queued").register(registry);
+    droppedCounter = registry == null ? null : Counter.builder("websocket_messages_dropped").register(registry);
+    if (registry != null) {
+      Gauge.builder("websocket_connections", outboxes, Map::size).register(registry);
+      Gauge.builder("websocket_outbound_queue_size", outboxes, o -> o.values().stream().mapToInt(Outbox::size).sum())
+          .register(registry);
+    }
     initializeHandlers();
   }
 
+  private static Thread newDaemonThread(Runnable runnable, String name) {
+    Thread thread = new Thread(runnable, name);
+    thread.setDaemon(true);
+    return thread;
+  }
+
   private void initializeHandlers() {
     SocketIoNamespace ns = socketIoServer.namespace("/");
     // On Connection
@@ -53,10 +94,7 @@ public class WebSocketManager {
                 "disconnect",
                 args1 -> {
                   LOG.info("Client from: {} with Remote Address:{} disconnected.", userId, remoteAddress);
-                  UUID id = UUID.fromString(userId);
-                  Map<String, SocketIoSocket> allUserConnection = activityFeedEndpoints.get(id);
-                  allUserConnection.remove(socket.getId());
-                  activityFeedEndpoints.put(id, allUserConnection);
+                  removeSocket(UUID.fromString(userId), socket);
                 });
 
             // On Socket Connection Error
@@ -75,12 +113,7 @@ public class WebSocketManager {
                         userId,
                         remoteAddress));
 
-            UUID id = UUID.fromString(userId);
-            Map<String, SocketIoSocket> userSocketConnections;
-            userSocketConnections =
-                activityFeedEndpoints.containsKey(id) ? activityFeedEndpoints.get(id) : new HashMap<>();
-            userSocketConnections.put(socket.getId(), socket);
-            activityFeedEndpoints.put(id, userSocketConnections);
+            addSocket(UUID.fromString(userId), socket);
           }
         });
     ns.on("error", args -> LOG.error("Connection error on the server"));
@@ -90,22 +123,47 @@ public class WebSocketManager {
     return INSTANCE;
   }
 
+  private void addSocket(UUID userId, SocketIoSocket socket) {
+    outboxes.put(socket.getId(), new Outbox(socket, OUTBOX_SIZE, senderExecutor, queuedCounter, droppedCounter));
+    activityFeedEndpoints.compute(
+        userId,
+        (id, sockets) -> {
+          Map<String, SocketIoSocket> userSockets = sockets == null ? new ConcurrentHashMap<>() : sockets;
+          userSockets.put(socket.getId(), socket);
+          return userSockets;
+        });
+  }
+
+  private void removeSocket(UUID userId, SocketIoSocket socket) {
+    outboxes.remove(socket.getId());
+    activityFeedEndpoints.computeIfPresent(
+        userId,
+        (id, sockets) -> {
+          sockets.remove(socket.getId());
+          return sockets.isEmpty() ? null : sockets;
+        });
+  }
+
+  /** The message is serialized once by the caller and the same payload is queued for every socket */
   public void broadCastMessageToAll(String event, String message) {
-    activityFeedEndpoints.forEach((key, value) -> value.forEach((key1, value1) -> value1.send(event, message)));
+    try {
+      broadcastExecutor.execute(() -> outboxes.values().forEach(outbox -> outbox.offer(event, message)));
+    } catch (RejectedExecutionException e) {
+      LOG.warn("WebSocket broadcast is stopped, message on {} is not sent", event);
+    }
   }
 
   public void sendToOne(UUID receiver, String event, String message) {
-    if (activityFeedEndpoints.containsKey(receiver)) {
-      activityFeedEndpoints.get(receiver).forEach((key, value) -> value.send(event, message));
+    Map<String, SocketIoSocket> sockets = activityFeedEndpoints.get(receiver);
+    if (sockets != null) {
+      sockets.keySet().forEach(socketId -> offer(socketId, event, message));
     }
   }
 
   public void sendToOne(String username, String event, String message) {
     try {
       UUID receiver = SubjectCache.getInstance().getSubjectContext(username).getUser().getId();
-      if (activityFeedEndpoints.containsKey(receiver)) {
-        activityFeedEndpoints.get(receiver).forEach((key, value) -> value.send(event, message));
-      }
+      sendToOne(receiver, event, message);
     } catch (EntityNotFoundException ex) {
       LOG.error("User with {} not found", username);
     }
@@ -119,6 +177,79 @@ public class WebSocketManager {
     receivers.forEach(e -> sendToOne(e.getId(), event, message));
   }
 
+  private void offer(String socketId, String event, String message) {
+    Outbox outbox = outboxes.get(socketId);
+    if (outbox != null) {
+      outbox.offer(event, message);
+    }
+  }
+
+  private static void increment(Counter counter) {
+    if (counter != null) {
+      counter.increment();
+    }
+  }
+
+  /** Bounded queue of the messages to send to a socket, drained by at most one sender thread at a time */
+  static class Outbox {
+    private final SocketIoSocket socket;
+    private final ArrayBlockingQueue<String[]> messages;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final Executor senderExecutor;
+    private final Counter queuedCounter;
+    private final Counter droppedCounter;
+
+    Outbox(
+        SocketIoSocket socket, int capacity, Executor senderExecutor, Counter queuedCounter, Counter droppedCounter) {
+      this.socket = socket;
+      this.messages = new ArrayBlockingQueue<>(capacity);
+      this.senderExecutor = senderExecutor;
+      this.queuedCounter = queuedCounter;
+      this.droppedCounter = droppedCounter;
+    }
+
+    int size() {
+      return messages.size();
+    }
+
+    void offer(String event, String message) {
+      String[] eventMessage = {event, message};
+      while (!messages.offer(eventMessage)) {
+        if (messages.poll() != null) {
+          increment(droppedCounter);
+        }
+      }
+      increment(queuedCounter);
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (draining.compareAndSet(false, true)) {
+        try {
+          senderExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          draining.set(false);
+        }
+      }
+    }
+
+    private void drain() {
+      String[] eventMessage;
+      while ((eventMessage = messages.poll()) != null) {
+        try {
+          socket.send(eventMessage[0], eventMessage[1]);
+        } catch (Exception e) {
+          LOG.warn("Failed to send message on {} to socket {}", eventMessage[0], socket.getId(), e);
+        }
+      }
+      draining.set(false);
+      // A message queued after the queue was found empty, but before the flag was reset, still needs a sender
+      if (!messages.isEmpty()) {
+        scheduleDrain();
+      }
+    }
+  }
+
   public static class WebSocketManagerBuilder {
     private WebSocketManagerBuilder() {}
 
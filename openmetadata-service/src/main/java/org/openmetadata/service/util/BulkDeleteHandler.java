@@ -0,0 +1,217 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import static org.openmetadata.schema.type.Include.ALL;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.exception.CustomExceptionMessage;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.workflows.delete.BulkDeleteJob;
+import org.openmetadata.service.workflows.delete.BulkDeleteWorkflow;
+
+/**
+ * Runs hard deletes of large entity hierarchies, such as services, in the background one at a time. The status of the
+ * jobs is stored in entity_extension_time_series.
+ *
+ * <p>In a cluster, a job is run by the server that holds the lease on it. The lease is renewed while the job is queued
+ * or running, and active jobs whose lease expired, such as the jobs of a server that stopped, are claimed and resumed
+ * by one of the other servers. A job is claimed with a conditional update of its record, so only one server resumes it.
+ */
+@Slf4j
+public class BulkDeleteHandler {
+  public static final String BULK_DELETE_JOB_EXTENSION = "bulkDelete.job";
+  static final long LEASE_TIME = 5 * 60 * 1000L;
+  private static final String NODE_ID = UUID.randomUUID().toString();
+  private static BulkDeleteHandler INSTANCE;
+  private static volatile boolean INITIALIZED = false;
+  private static ScheduledExecutorService leaseScheduler;
+  private final CollectionDAO dao;
+  private final String owner;
+  private final ExecutorService threadScheduler;
+  private final Map<UUID, BulkDeleteWorkflow> BULK_DELETE_JOB_MAP = new ConcurrentHashMap<>();
+
+  BulkDeleteHandler(CollectionDAO dao, String owner, ExecutorService threadScheduler) {
+    this.dao = dao;
+    this.owner = owner;
+    this.threadScheduler = threadScheduler;
+  }
+
+  public static BulkDeleteHandler getInstance() {
+    return INSTANCE;
+  }
+
+  /** Called once during application startup after the entity repositories are created */
+  public static void initialize(CollectionDAO daoObject) {
+    if (!INITIALIZED) {
+      INSTANCE =
+          new BulkDeleteHandler(daoObject, NODE_ID, Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE));
+      INITIALIZED = true;
+      leaseScheduler = Executors.newSingleThreadScheduledExecutor(DaemonThreadFactory.INSTANCE);
+      leaseScheduler.scheduleWithFixedDelay(INSTANCE::maintainLeases, 0, LEASE_TIME / 4, TimeUnit.MILLISECONDS);
+    } else {
+      LOG.info("Bulk Delete Handler is already initialized");
+    }
+  }
+
+  /**
+   * Stop renewing the leases and interrupt the running job. The lease of the job expires and another server, or this
+   * one when it is started again, resumes the job from the children left to delete.
+   */
+  public static void shutdown() throws InterruptedException {
+    if (INITIALIZED) {
+      leaseScheduler.shutdownNow();
+      INSTANCE.threadScheduler.shutdownNow();
+      INSTANCE.threadScheduler.awaitTermination(10, TimeUnit.SECONDS);
+      INITIALIZED = false;
+      LOG.info("Bulk Delete Handler stopped");
+    }
+  }
+
+  public BulkDeleteJob createBulkDeleteJob(String startedBy, String entityType, UUID entityId) throws IOException {
+    for (BulkDeleteWorkflow job : BULK_DELETE_JOB_MAP.values()) {
+      if (job.getJobData().getEntityId().equals(entityId)) {
+        throw new CustomExceptionMessage(
+            Response.Status.BAD_REQUEST, "There is already a job deleting " + entityType + " " + entityId);
+      }
+    }
+    EntityInterface entity = Entity.getEntityRepository(entityType).dao.findEntityById(entityId, ALL);
+    long startTime = System.currentTimeMillis();
+    BulkDeleteJob jobData = new BulkDeleteJob();
+    jobData.setId(UUID.randomUUID());
+    jobData.setEntityType(entityType);
+    jobData.setEntityId(entityId);
+    jobData.setEntityFullyQualifiedName(entity.getFullyQualifiedName());
+    jobData.setStartedBy(startedBy);
+    jobData.setStatus(BulkDeleteJob.Status.STARTED);
+    jobData.setStartTime(startTime);
+    jobData.setOwner(owner);
+    jobData.setLeaseExpiry(startTime + LEASE_TIME);
+    jobData.setTimestamp(startTime);
+    dao.entityExtensionTimeSeriesDao()
+        .insert(jobData.getId().toString(), BULK_DELETE_JOB_EXTENSION, "bulkDeleteJob", JsonUtils.pojoToJson(jobData));
+    submit(jobData);
+    return jobData;
+  }
+
+  /** Renew the leases of the jobs of this server and resume the active jobs that no server holds the lease on */
+  void maintainLeases() {
+    for (BulkDeleteWorkflow job : BULK_DELETE_JOB_MAP.values()) {
+      try {
+        if (!storeJob(job.getJobData())) {
+          LOG.warn("Lost the lease on bulk delete job {} to another server", job.getJobData().getId());
+        }
+      } catch (Exception e) {
+        LOG.warn("Failed to renew the lease on bulk delete job {}", job.getJobData().getId(), e);
+      }
+    }
+    resumeJobs();
+  }
+
+  void resumeJobs() {
+    try {
+      for (BulkDeleteJob jobData : getJobsFromDatabase()) {
+        if (!BULK_DELETE_JOB_MAP.containsKey(jobData.getId()) && claimJob(jobData)) {
+          LOG.info("Resuming bulk delete of {} {}", jobData.getEntityType(), jobData.getEntityFullyQualifiedName());
+          submit(jobData);
+        }
+      }
+    } catch (Exception e) {
+      LOG.error("Failed to resume bulk delete jobs", e);
+    }
+  }
+
+  /** Take the lease on an active job read from the database. Returns false when another server holds the lease. */
+  boolean claimJob(BulkDeleteJob jobData) throws IOException {
+    if (!jobData.isActive()
+        || (!owner.equals(jobData.getOwner()) && jobData.getLeaseExpiry() > System.currentTimeMillis())) {
+      return false;
+    }
+    return storeJob(jobData);
+  }
+
+  /**
+   * Store the job and renew the lease of this server on it. The record is only updated when it is unchanged since it
+   * was read or last stored, so a server that lost the lease does not overwrite the job of the server that took over.
+   */
+  public boolean storeJob(BulkDeleteJob jobData) throws IOException {
+    synchronized (jobData) {
+      long lastTimestamp = jobData.getTimestamp();
+      long now = System.currentTimeMillis();
+      jobData.setOwner(owner);
+      jobData.setLeaseExpiry(now + LEASE_TIME);
+      jobData.setTimestamp(Math.max(now, lastTimestamp + 1));
+      int updated =
+          dao.entityExtensionTimeSeriesDao()
+              .update(
+                  jobData.getId().toString(), BULK_DELETE_JOB_EXTENSION, JsonUtils.pojoToJson(jobData), lastTimestamp);
+      return updated == 1;
+    }
+  }
+
+  private void submit(BulkDeleteJob jobData) {
+    BulkDeleteWorkflow job = new BulkDeleteWorkflow(dao, jobData);
+    BULK_DELETE_JOB_MAP.put(jobData.getId(), job);
+    threadScheduler.submit(job);
+  }
+
+  public void removeCompletedJob(UUID jobId) {
+    BULK_DELETE_JOB_MAP.remove(jobId);
+  }
+
+  public BulkDeleteJob getJob(UUID jobId) throws IOException {
+    BulkDeleteWorkflow job = BULK_DELETE_JOB_MAP.get(jobId);
+    if (job == null) {
+      String recordString =
+          dao.entityExtensionTimeSeriesDao().getExtension(jobId.toString(), BULK_DELETE_JOB_EXTENSION);
+      if (recordString == null) {
+        throw new CustomExceptionMessage(Response.Status.NOT_FOUND, "Bulk delete job " + jobId + " is not found");
+      }
+      return JsonUtils.readValue(recordString, BulkDeleteJob.class);
+    }
+    return job.getJobData();
+  }
+
+  public List<BulkDeleteJob> getAllJobs() throws IOException {
+    List<BulkDeleteJob> result = new ArrayList<>();
+    BULK_DELETE_JOB_MAP.values().forEach(job -> result.add(job.getJobData()));
+    List<UUID> activeJobIds = result.stream().map(BulkDeleteJob::getId).collect(Collectors.toList());
+    for (BulkDeleteJob jobData : getJobsFromDatabase()) {
+      if (!activeJobIds.contains(jobData.getId())) {
+        result.add(jobData);
+      }
+    }
+    return result;
+  }
+
+  private List<BulkDeleteJob> getJobsFromDatabase() throws IOException {
+    return JsonUtils.readObjects(
+        dao.entityExtensionTimeSeriesDao().getAllByExtension(BULK_DELETE_JOB_EXTENSION), BulkDeleteJob.class);
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.util;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO.OrderBy;
+import org.openmetadata.service.util.LambdaExceptionUtil.ConsumerWithExceptions;
+
+/**
+ * Carries cache invalidations to the other servers of the cluster. An invalidation is recorded in
+ * entity_extension_time_series, and every server polls the recent invalidations and applies those recorded by the other
+ * servers to its own caches. An invalidation reaches all the servers within a few seconds instead of waiting for the
+ * entries to expire.
+ *
+ * <p>Each cache registers the local invalidation of a key under the name of the cache, and publishes the keys it
+ * invalidates. Applying an invalidation more than once only costs a reload, so the invalidations of a window are read
+ * again on every poll to pick up those whose transactions committed late.
+ *
+ * <p>Invalidations are published after the writes they are for are committed, otherwise another server could apply
+ * the invalidation and reload the row from before the write. Writes made in a transaction are run through {@link
+ * #runInTransaction}, which publishes their invalidations once the transaction commits.
+ */
+@Slf4j
+public class CacheInvalidationBus {
+  public static final String CACHE_INVALIDATION_FQN = "cacheInvalidation";
+  public static final String CACHE_INVALIDATION_EXTENSION = "cache.invalidation";
+  private static final long POLL_INTERVAL = 2000;
+  private static final long LOOKBACK = 10000;
+  private static final long RETENTION = TimeUnit.HOURS.toMillis(1);
+
+  /** Identifies the invalidations of this server, which are already applied locally */
+  private static final String NODE_ID = UUID.randomUUID().toString();
+
+  private static final Map<String, Consumer<String>> invalidators = new ConcurrentHashMap<>();
+
+  /** Invalidations applied in the lookback window, so that they are applied once */
+  private static final Map<String, Long> applied = new ConcurrentHashMap<>();
+
+  /** Invalidations made by the transaction running on this thread, published when it commits */
+  private static final ThreadLocal<List<CacheInvalidation>> transactionInvalidations = new ThreadLocal<>();
+
+  private static CollectionDAO dao;
+  private static ScheduledExecutorService executor;
+  private static volatile boolean started = false;
+  private static long lastPoll;
+  private static long lastPurge;
+
+  private CacheInvalidationBus() {}
+
+  public static synchronized void start(CollectionDAO daoObject) {
+    if (!started) {
+      dao = daoObject;
+      lastPoll = System.currentTimeMillis();
+      executor = Executors.newSingleThreadScheduledExecutor(DaemonThreadFactory.INSTANCE);
+      executor.scheduleWithFixedDelay(CacheInvalidationBus::poll, POLL_INTERVAL, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+      started = true;
+      LOG.info("Cache invalidation bus started");
+    }
+  }
+
+  public static synchronized void shutdown() throws InterruptedException {
+    if (started) {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+      executor = null;
+      started = false;
+      LOG.info("Cache invalidation bus stopped");
+    }
+  }
+
+  /** Register how a key of the cache is invalidated on this server */
+  public static void register(String cache, Consumer<String> invalidator) {
+    invalidators.put(cache, invalidator);
+  }
+
+  /**
+   * Invalidate the key of the cache on the other servers, the caller invalidates it on this server. Called after the
+   * write is committed, or from a transaction run by {@link #runInTransaction}.
+   */
+  public static void publish(String cache, String key) {
+    if (!started) {
+      return;
+    }
+    CacheInvalidation invalidation = new CacheInvalidation();
+    invalidation.setId(UUID.randomUUID().toString());
+    invalidation.setCache(cache);
+    invalidation.setKey(key);
+    invalidation.setNodeId(NODE_ID);
+    List<CacheInvalidation> pending = transactionInvalidations.get();
+    if (pending != null) {
+      pending.add(invalidation);
+    } else {
+      insert(invalidation);
+    }
+  }
+
+  /**
+   * Run the transaction and publish the invalidations made by it once it commits. The invalidations are dropped when
+   * the transaction rolls back.
+   */
+  public static void runInTransaction(
+      CollectionDAO transactionDAO, ConsumerWithExceptions<CollectionDAO, IOException> transaction)
+      throws IOException {
+    if (transactionInvalidations.get() != null) {
+      // Nested in a transaction that publishes the invalidations when it commits
+      transactionDAO.runInTransaction(transaction);
+      return;
+    }
+    List<CacheInvalidation> pending = new ArrayList<>();
+    transactionInvalidations.set(pending);
+    try {
+      transactionDAO.runInTransaction(transaction);
+    } finally {
+      transactionInvalidations.remove();
+    }
+    pending.forEach(CacheInvalidationBus::insert);
+  }
+
+  private static void insert(CacheInvalidation invalidation) {
+    try {
+      invalidation.setTimestamp(System.currentTimeMillis());
+      dao.entityExtensionTimeSeriesDao()
+          .insert(
+              CACHE_INVALIDATION_FQN,
+              CACHE_INVALIDATION_EXTENSION,
+              CACHE_INVALIDATION_FQN,
+              JsonUtils.pojoToJson(invalidation));
+    } catch (Exception e) {
+      // The other servers pick up the change when the entry expires
+      LOG.error(
+          "Failed to publish the invalidation of {} in cache {}", invalidation.getKey(), invalidation.getCache(), e);
+    }
+  }
+
+  /** Apply the invalidations recorded by the other servers since the last poll */
+  static void poll() {
+    try {
+      long now = System.currentTimeMillis();
+      List<CacheInvalidation> invalidations =
+          JsonUtils.readObjects(
+              dao.entityExtensionTimeSeriesDao()
+                  .listBetweenTimestampsByOrder(
+                      CACHE_INVALIDATION_FQN, CACHE_INVALIDATION_EXTENSION, lastPoll - LOOKBACK, now, OrderBy.ASC),
+              CacheInvalidation.class);
+      for (CacheInvalidation invalidation : invalidations) {
+        if (!NODE_ID.equals(invalidation.getNodeId())
+            && applied.putIfAbsent(invalidation.getId(), invalidation.getTimestamp()) == null) {
+          apply(invalidation);
+        }
+      }
+      lastPoll = now;
+      applied.values().removeIf(timestamp -> timestamp < now - 2 * LOOKBACK);
+      if (now - lastPurge > RETENTION) {
+        dao.entityExtensionTimeSeriesDao()
+            .deleteBeforeExclusive(CACHE_INVALIDATION_FQN, CACHE_INVALIDATION_EXTENSION, now - RETENTION);
+        lastPurge = now;
+      }
+    } catch (Exception e) {
+      LOG.error("Failed to read cache invalidations", e);
+    }
+  }
+
+  private static void apply(CacheInvalidation invalidation) {
+    Consumer<String> invalidator = invalidators.get(invalidation.getCache());
+    if (invalidator != null) {
+      LOG.debug("Invalidating {} in cache {}", invalidation.getKey(), invalidation.getCache());
+      invalidator.accept(invalidation.getKey());
+    }
+  }
+
+  @Getter
+  @Setter
+  public static class CacheInvalidation {
+    private String id;
+    private String cache;
+    private String key;
+    private String nodeId;
+    private long timestamp;
+  }
+}
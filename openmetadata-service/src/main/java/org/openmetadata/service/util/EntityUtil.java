@@ -16,16 +16,20 @@ package org.openmetadata.service.util;
 import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
 import static org.openmetadata.schema.type.Include.ALL;
 
+import com.google.common.collect.Lists;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.BiPredicate;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import javax.ws.rs.WebApplicationException;
 import lombok.Getter;
 import lombok.NonNull;
@@ -63,6 +67,7 @@ import org.openmetadata.service.exception.EntityNotFoundException;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.service.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.service.jdbi3.CollectionDAO.UsageDAO;
+import org.openmetadata.service.jdbi3.EntityDAO;
 import org.openmetadata.service.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.service.security.policyevaluator.ResourceContext;
 
@@ -203,17 +208,33 @@ public final class EntityUtil {
     UsageDetails details = usageDAO.getLatestUsage(entityId.toString());
     if (details == null) {
       LOG.debug("Usage details not found. Sending default usage");
-      UsageStats stats = new UsageStats().withCount(0).withPercentileRank(0.0);
-      details =
-          new UsageDetails()
-              .withDailyStats(stats)
-              .withWeeklyStats(stats)
-              .withMonthlyStats(stats)
-              .withDate(RestUtil.DATE_FORMAT.format(new Date()));
+      details = getDefaultUsage();
     }
     return details;
   }
 
+  /** Get the latest usage for a list of entities keyed by entity id, with default usage for entities without usage */
+  public static Map<UUID, UsageDetails> getLatestUsage(UsageDAO usageDAO, List<UUID> entityIds) {
+    Map<UUID, UsageDetails> usageMap = new HashMap<>();
+    List<String> ids = entityIds.stream().map(UUID::toString).distinct().collect(Collectors.toList());
+    for (List<String> batch : Lists.partition(ids, EntityDAO.BATCH_QUERY_SIZE)) {
+      usageDAO
+          .getLatestUsageBatch(batch)
+          .forEach(pair -> usageMap.put(UUID.fromString(pair.getLeft()), pair.getRight()));
+    }
+    entityIds.forEach(id -> usageMap.computeIfAbsent(id, k -> getDefaultUsage()));
+    return usageMap;
+  }
+
+  private static UsageDetails getDefaultUsage() {
+    UsageStats stats = new UsageStats().withCount(0).withPercentileRank(0.0);
+    return new UsageDetails()
+        .withDailyStats(stats)
+        .withWeeklyStats(stats)
+        .withMonthlyStats(stats)
+        .withDate(RestUtil.DATE_FORMAT.format(new Date()));
+  }
+
   /** Merge two sets of tags */
   public static void mergeTags(List<TagLabel> mergeTo, List<TagLabel> mergeFrom) {
     if (nullOrEmpty(mergeFrom)) {
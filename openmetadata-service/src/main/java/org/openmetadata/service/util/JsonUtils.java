@@ -15,9 +15,14 @@ package org.openmetadata.service.util;
 
 import static org.openmetadata.service.util.RestUtil.DATE_TIME_FORMAT;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.filter.FilteringGeneratorDelegate;
+import com.fasterxml.jackson.core.filter.TokenFilter;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
@@ -40,6 +45,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.TreeMap;
 import javax.json.Json;
 import javax.json.JsonArray;
@@ -100,6 +106,37 @@ public final class JsonUtils {
         : OBJECT_MAPPER.writeValueAsString(o);
   }
 
+  public static byte[] pojoToJsonBytes(Object o) throws JsonProcessingException {
+    return OBJECT_MAPPER.writeValueAsBytes(o);
+  }
+
+  /**
+   * Serialize the POJO without its excluded top level fields, followed by the additional fields, in one pass over the
+   * POJO. This is the JSON of {@link #getMap} with the excluded fields removed and the additional fields put, without
+   * building the map.
+   */
+  public static byte[] pojoToJsonBytes(Object o, Set<String> excludedFields, Map<String, Object> additionalFields)
+      throws IOException {
+    try (ByteArrayBuilder bytes = new ByteArrayBuilder();
+        JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(bytes)) {
+      generator.writeStartObject();
+      OBJECT_MAPPER.writeValue(
+          new FilteringGeneratorDelegate(
+              new FieldsOnlyGenerator(generator),
+              new ExcludedFieldsFilter(excludedFields),
+              TokenFilter.Inclusion.INCLUDE_ALL_AND_PATH,
+              true),
+          o);
+      for (Entry<String, Object> field : additionalFields.entrySet()) {
+        generator.writeFieldName(field.getKey());
+        OBJECT_MAPPER.writeValue(generator, field.getValue());
+      }
+      generator.writeEndObject();
+      generator.flush();
+      return bytes.toByteArray();
+    }
+  }
+
   public static JsonStructure getJsonStructure(Object o) {
     return OBJECT_MAPPER.convertValue(o, JsonStructure.class);
   }
@@ -441,4 +478,55 @@ public final class JsonUtils {
       return new ObjectNode(this, new TreeMap<>());
     }
   }
+
+  /** Skips the excluded top level fields, and writes the other fields with all their content */
+  private static class ExcludedFieldsFilter extends TokenFilter {
+    private final Set<String> excludedFields;
+
+    private ExcludedFieldsFilter(Set<String> excludedFields) {
+      this.excludedFields = excludedFields;
+    }
+
+    @Override
+    public TokenFilter includeProperty(String name) {
+      return excludedFields.contains(name) ? null : TokenFilter.INCLUDE_ALL;
+    }
+  }
+
+  /** Writes the fields of the top level object into the object the generator is already writing */
+  private static class FieldsOnlyGenerator extends JsonGeneratorDelegate {
+    private int depth = 0;
+
+    private FieldsOnlyGenerator(JsonGenerator generator) {
+      super(generator, false);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+      if (depth++ > 0) {
+        super.writeStartObject();
+      }
+    }
+
+    @Override
+    public void writeStartObject(Object forValue) throws IOException {
+      if (depth++ > 0) {
+        super.writeStartObject(forValue);
+      }
+    }
+
+    @Override
+    public void writeStartObject(Object forValue, int size) throws IOException {
+      if (depth++ > 0) {
+        super.writeStartObject(forValue, size);
+      }
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+      if (--depth > 0) {
+        super.writeEndObject();
+      }
+    }
+  }
 }
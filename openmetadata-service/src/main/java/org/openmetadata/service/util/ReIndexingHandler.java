@@ -26,8 +26,6 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -43,22 +41,43 @@ import org.openmetadata.service.Entity;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
 import org.openmetadata.service.exception.CustomExceptionMessage;
 import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.workflows.searchIndex.ReindexingCheckpoint;
+import org.openmetadata.service.workflows.searchIndex.ReindexingConfiguration;
 import org.openmetadata.service.workflows.searchIndex.ReindexingUtil;
 import org.openmetadata.service.workflows.searchIndex.SearchIndexWorkflow;
 
 @Slf4j
 public class ReIndexingHandler {
   public static final String REINDEXING_JOB_EXTENSION = "reindexing.eventPublisher";
+  public static final String REINDEXING_CHECKPOINT_EXTENSION = "reindexing.checkpoint";
+
+  /**
+   * A running job stores its record at least this often. A job whose record is older is no longer running on any
+   * server, it can be resumed.
+   */
+  static final long LEASE_TIME = 5 * 60 * 1000L;
+
   private static ReIndexingHandler INSTANCE;
   private static volatile boolean INITIALIZED = false;
-  private static CollectionDAO dao;
-  private static RestHighLevelClient client;
-  private static ElasticSearchIndexDefinition esIndexDefinition;
-  private static ExecutorService threadScheduler;
+  private final CollectionDAO dao;
+  private final RestHighLevelClient client;
+  private final ElasticSearchIndexDefinition esIndexDefinition;
+  private final ReindexingConfiguration reindexingConfiguration;
+  private final ThreadPoolExecutor threadScheduler;
   private final Map<UUID, SearchIndexWorkflow> REINDEXING_JOB_MAP = new LinkedHashMap<>();
-  private static BlockingQueue<Runnable> taskQueue;
 
-  private ReIndexingHandler() {}
+  ReIndexingHandler(
+      RestHighLevelClient client,
+      ElasticSearchIndexDefinition esIndexDefinition,
+      CollectionDAO dao,
+      ReindexingConfiguration reindexingConfiguration,
+      ThreadPoolExecutor threadScheduler) {
+    this.client = client;
+    this.esIndexDefinition = esIndexDefinition;
+    this.dao = dao;
+    this.reindexingConfiguration = reindexingConfiguration;
+    this.threadScheduler = threadScheduler;
+  }
 
   public static ReIndexingHandler getInstance() {
     return INSTANCE;
@@ -67,62 +86,158 @@ public class ReIndexingHandler {
   public static void initialize(
       RestHighLevelClient restHighLevelClient,
       ElasticSearchIndexDefinition elasticSearchIndexDefinition,
-      CollectionDAO daoObject) {
+      CollectionDAO daoObject,
+      ReindexingConfiguration config) {
     if (!INITIALIZED) {
-      client = restHighLevelClient;
-      dao = daoObject;
-      esIndexDefinition = elasticSearchIndexDefinition;
-      taskQueue = new ArrayBlockingQueue<>(5);
-      threadScheduler = new ThreadPoolExecutor(5, 5, 0L, TimeUnit.MILLISECONDS, taskQueue);
-      INSTANCE = new ReIndexingHandler();
+      INSTANCE =
+          new ReIndexingHandler(
+              restHighLevelClient,
+              elasticSearchIndexDefinition,
+              daoObject,
+              config,
+              new ThreadPoolExecutor(5, 5, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(5)));
       INITIALIZED = true;
     } else {
       LOG.info("Reindexing Handler is already initialized");
     }
   }
 
-  @SneakyThrows
   public EventPublisherJob createReindexingJob(String startedBy, CreateEventPublisherJob createReindexingJob) {
+    return createReindexingJob(startedBy, createReindexingJob, null);
+  }
+
+  /**
+   * Create a reindexing job. When changedSince is set, the job only reindexes the entities changed since that time, as
+   * recorded in the change events, instead of all the entities of the types.
+   */
+  @SneakyThrows
+  public EventPublisherJob createReindexingJob(
+      String startedBy, CreateEventPublisherJob createReindexingJob, Long changedSince) {
     // Remove jobs in case they are completed
     clearCompletedJobs();
 
     // validate current job
-    validateJob(createReindexingJob);
+    validateJob(createReindexingJob, changedSince);
 
     // Create new Task
-    if (taskQueue.size() >= 5) {
-      throw new RuntimeException("Cannot create new Reindexing Jobs. There are pending jobs.");
+    checkCapacity();
+    EventPublisherJob jobData = getReindexJob(startedBy, createReindexingJob);
+    List<SearchIndexWorkflow> activeJobs = new ArrayList<>(REINDEXING_JOB_MAP.values());
+    Set<String> entityList = jobData.getEntities();
+    for (SearchIndexWorkflow job : activeJobs) {
+      EventPublisherJob runningJob = job.getJobData();
+      runningJob.getEntities().forEach(entityList::remove);
     }
-    if (((ThreadPoolExecutor) threadScheduler).getActiveCount() > 5) {
-      throw new RuntimeException("Thread unavailable to run the jobs. There are pending jobs.");
+
+    LOG.info("Reindexing triggered for the following Entities: {}", entityList);
+
+    if (entityList.size() > 0) {
+      ReindexingCheckpoint checkpoint = new ReindexingCheckpoint();
+      checkpoint.setChangedSince(changedSince);
+      checkpoint.setTimestamp(jobData.getTimestamp());
+      // Create Entry in the DB
+      dao.entityExtensionTimeSeriesDao()
+          .insert(
+              jobData.getId().toString(), REINDEXING_JOB_EXTENSION, "eventPublisherJob", JsonUtils.pojoToJson(jobData));
+      dao.entityExtensionTimeSeriesDao()
+          .insert(
+              jobData.getId().toString(),
+              REINDEXING_CHECKPOINT_EXTENSION,
+              "reindexingCheckpoint",
+              JsonUtils.pojoToJson(checkpoint));
+      // Create Job
+      submitJob(jobData, checkpoint);
+      return jobData;
     } else {
-      EventPublisherJob jobData = getReindexJob(startedBy, createReindexingJob);
-      List<SearchIndexWorkflow> activeJobs = new ArrayList<>(REINDEXING_JOB_MAP.values());
-      Set<String> entityList = jobData.getEntities();
-      for (SearchIndexWorkflow job : activeJobs) {
-        EventPublisherJob runningJob = job.getJobData();
-        runningJob.getEntities().forEach(entityList::remove);
-      }
+      throw new RuntimeException("There are already executing Jobs working on the same Entities. Please try later.");
+    }
+  }
 
-      LOG.info("Reindexing triggered for the following Entities: {}", entityList);
-
-      if (entityList.size() > 0) {
-        // Create Entry in the DB
-        dao.entityExtensionTimeSeriesDao()
-            .insert(
-                jobData.getId().toString(),
-                REINDEXING_JOB_EXTENSION,
-                "eventPublisherJob",
-                JsonUtils.pojoToJson(jobData));
-        // Create Job
-        SearchIndexWorkflow job = new SearchIndexWorkflow(dao, esIndexDefinition, client, jobData);
-        threadScheduler.submit(job);
-        REINDEXING_JOB_MAP.put(jobData.getId(), job);
-        return jobData;
-      } else {
-        throw new RuntimeException("There are already executing Jobs working on the same Entities. Please try later.");
+  /**
+   * Resume a job that was stopped, or interrupted by a restart of the server, from the last batches it committed. The
+   * job keeps its id, its stats restart from the checkpoint. The job is taken by storing its record only if it is
+   * unchanged since it was read, so only one server resumes it.
+   */
+  @SneakyThrows
+  public EventPublisherJob resumeReindexingJob(UUID jobId) {
+    // Remove jobs in case they are completed
+    clearCompletedJobs();
+    if (REINDEXING_JOB_MAP.containsKey(jobId)) {
+      throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job is already running.");
+    }
+    String recordString =
+        dao.entityExtensionTimeSeriesDao().getExtension(jobId.toString(), REINDEXING_JOB_EXTENSION);
+    String checkpointString =
+        dao.entityExtensionTimeSeriesDao().getExtension(jobId.toString(), REINDEXING_CHECKPOINT_EXTENSION);
+    if (recordString == null || checkpointString == null) {
+      throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job has no checkpoint to resume from.");
+    }
+    EventPublisherJob jobData = JsonUtils.readValue(recordString, EventPublisherJob.class);
+    ReindexingCheckpoint checkpoint = JsonUtils.readValue(checkpointString, ReindexingCheckpoint.class);
+    if (jobData.getStatus() == EventPublisherJob.Status.COMPLETED) {
+      throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job is already completed.");
+    }
+    if ((jobData.getStatus() == EventPublisherJob.Status.STARTED
+            || jobData.getStatus() == EventPublisherJob.Status.RUNNING)
+        && jobData.getTimestamp() > System.currentTimeMillis() - LEASE_TIME) {
+      throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job is running on another server.");
+    }
+    for (String versionedIndex : checkpoint.getRebuiltIndexes().values()) {
+      if (!esIndexDefinition.indexExists(versionedIndex)) {
+        throw new CustomExceptionMessage(
+            Response.Status.BAD_REQUEST, String.format("Job cannot be resumed, index %s was deleted.", versionedIndex));
+      }
+    }
+    checkCapacity();
+    for (SearchIndexWorkflow job : REINDEXING_JOB_MAP.values()) {
+      for (String entityType : job.getJobData().getEntities()) {
+        if (jobData.getEntities().contains(entityType)) {
+          throw new RuntimeException(
+              "There are already executing Jobs working on the same Entities. Please try later.");
+        }
       }
     }
+
+    LOG.info("Reindexing resumed for the following Entities: {}", jobData.getEntities());
+    jobData.setStatus(EventPublisherJob.Status.STARTED);
+    jobData.setEndTime(null);
+    if (!storeJob(dao, jobData)) {
+      throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job was resumed by another server.");
+    }
+    submitJob(jobData, checkpoint);
+    return jobData;
+  }
+
+  /**
+   * Store the job record with a new timestamp. The record is only updated when it is unchanged since it was read or
+   * last stored, so a server that lost the job to another one does not overwrite it. Returns false in that case.
+   */
+  public static boolean storeJob(CollectionDAO dao, EventPublisherJob jobData) throws IOException {
+    synchronized (jobData) {
+      long lastTimestamp = jobData.getTimestamp();
+      jobData.setTimestamp(Math.max(System.currentTimeMillis(), lastTimestamp + 1));
+      int updated =
+          dao.entityExtensionTimeSeriesDao()
+              .update(
+                  jobData.getId().toString(), REINDEXING_JOB_EXTENSION, JsonUtils.pojoToJson(jobData), lastTimestamp);
+      return updated == 1;
+    }
+  }
+
+  private void checkCapacity() {
+    if (threadScheduler.getQueue().size() >= 5) {
+      throw new RuntimeException("Cannot create new Reindexing Jobs. There are pending jobs.");
+    }
+    if (threadScheduler.getActiveCount() > 5) {
+      throw new RuntimeException("Thread unavailable to run the jobs. There are pending jobs.");
+    }
+  }
+
+  private void submitJob(EventPublisherJob jobData, ReindexingCheckpoint checkpoint) {
+    SearchIndexWorkflow job =
+        new SearchIndexWorkflow(dao, esIndexDefinition, client, reindexingConfiguration, jobData, checkpoint);
+    threadScheduler.submit(job);
+    REINDEXING_JOB_MAP.put(jobData.getId(), job);
   }
 
   private void clearCompletedJobs() {
@@ -143,8 +258,24 @@ public class ReIndexingHandler {
     throw new CustomExceptionMessage(Response.Status.BAD_REQUEST, "Job is not in Running state.");
   }
 
-  private void validateJob(CreateEventPublisherJob job) {
+  private void validateJob(CreateEventPublisherJob job, Long changedSince) {
     Objects.requireNonNull(job);
+    if (changedSince != null) {
+      if (changedSince < 0 || changedSince > System.currentTimeMillis()) {
+        throw new IllegalArgumentException("changedSince must be a timestamp in the past");
+      }
+      if (Boolean.TRUE.equals(job.getRecreateIndex())) {
+        throw new IllegalArgumentException("An incremental job cannot recreate the indexes");
+      }
+      job.getEntities()
+          .forEach(
+              (entityType) -> {
+                if (ReindexingUtil.isDataInsightIndex(entityType)) {
+                  throw new IllegalArgumentException(
+                      String.format("Data insight index %s cannot be reindexed incrementally", entityType));
+                }
+              });
+    }
     Set<String> storedEntityList = new HashSet<>(Entity.getEntityList());
     if (job.getEntities().size() > 0) {
       job.getEntities()
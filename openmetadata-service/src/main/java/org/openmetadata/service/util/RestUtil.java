@@ -13,21 +13,26 @@
 
 package org.openmetadata.service.util;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Date;
+import java.util.List;
 import java.util.TimeZone;
 import java.util.UUID;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.core.UriInfo;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.openmetadata.common.utils.CommonUtil;
+import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.type.ChangeEvent;
 
 public final class RestUtil {
@@ -38,6 +43,8 @@ public final class RestUtil {
   public static final String ENTITY_NO_CHANGE = "entityNoChange";
   public static final String ENTITY_SOFT_DELETED = "entitySoftDeleted";
   public static final String ENTITY_DELETED = "entityDeleted";
+  public static final String ENTITY_BULK_CHANGED = "entityBulkChanged";
+  public static final String ENTITY_FAILED = "entityFailed";
   public static final String DELETED_USER_NAME = "DeletedUser";
   public static final String DELETED_USER_DISPLAY = "User was deleted";
   public static final String DELETED_TEAM_NAME = "DeletedTeam";
@@ -120,7 +127,7 @@ public final class RestUtil {
     @Getter private T entity;
     private ChangeEvent changeEvent;
     @Getter private final Response.Status status;
-    private final String changeType;
+    @Getter private final String changeType;
 
     /**
      * Response.Status.CREATED when PUT operation creates a new entity or Response.Status.OK when PUT operation updates
@@ -185,4 +192,37 @@ public final class RestUtil {
       return responseBuilder.entity(entity).build();
     }
   }
+
+  /** Response of a bulk PUT operation with the result of each entity in the request */
+  public static class BulkPutResponse<T extends EntityInterface> {
+    @Getter private int numberOfEntitiesPassed;
+    @Getter private int numberOfEntitiesFailed;
+    @Getter private final List<BulkPutResult> results = new ArrayList<>();
+
+    /** Responses of the entities created or updated, used for producing a change event per entity */
+    @JsonIgnore @Getter private final List<PutResponse<T>> responses = new ArrayList<>();
+
+    public void addSuccess(PutResponse<T> response) {
+      numberOfEntitiesPassed++;
+      responses.add(response);
+      results.add(new BulkPutResult(response.getEntity().getFullyQualifiedName(), response.getChangeType(), null));
+    }
+
+    public void addFailure(String fullyQualifiedName, String message) {
+      numberOfEntitiesFailed++;
+      results.add(new BulkPutResult(fullyQualifiedName, ENTITY_FAILED, message));
+    }
+
+    public Response toResponse() {
+      return Response.ok().header(CHANGE_CUSTOM_HEADER, ENTITY_BULK_CHANGED).entity(this).build();
+    }
+  }
+
+  @Getter
+  @AllArgsConstructor
+  public static class BulkPutResult {
+    private final String fullyQualifiedName;
+    private final String changeType;
+    private final String message;
+  }
 }
@@ -0,0 +1,61 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.delete;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.Setter;
+
+/** Status and progress of a background hard delete of an entity and all its children */
+@Getter
+@Setter
+public class BulkDeleteJob {
+  public enum Status {
+    STARTED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+  }
+
+  private UUID id;
+  private String entityType;
+  private UUID entityId;
+  private String entityFullyQualifiedName;
+  private String startedBy;
+  private Status status;
+
+  /** Server that runs the job, so that only one server in a cluster resumes it */
+  private String owner;
+
+  private long leaseExpiry;
+
+  /** Number of children found when the job first ran */
+  private Integer total;
+
+  /** Number of children deleted so far */
+  private int deleted;
+
+  private String failure;
+  private Long startTime;
+  private Long endTime;
+
+  /** Time of the last update, used as the timestamp of the job record in entity_extension_time_series */
+  private long timestamp;
+
+  @JsonIgnore
+  public boolean isActive() {
+    return status == Status.STARTED || status == Status.RUNNING;
+  }
+}
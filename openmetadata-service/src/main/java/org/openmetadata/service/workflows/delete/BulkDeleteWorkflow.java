@@ -0,0 +1,166 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.delete;
+
+import com.google.common.collect.Lists;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.Relationship;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.events.EventPubSub;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.service.jdbi3.EntityDAO;
+import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.util.BulkDeleteHandler;
+import org.openmetadata.service.util.JsonUtils;
+
+/**
+ * Hard deletes an entity and all its children in the background. The children are found level by level with batched
+ * relationship queries and deleted in chunks, deepest level first, with set based deletes. The entity itself is deleted
+ * last through the repository, so that a job that is interrupted finds the remaining children from the entity when it
+ * is run again.
+ */
+@Slf4j
+public class BulkDeleteWorkflow implements Runnable {
+  private static final List<Integer> CHILD_RELATIONS =
+      List.of(Relationship.CONTAINS.ordinal(), Relationship.PARENT_OF.ordinal());
+
+  private final CollectionDAO dao;
+  @Getter private final BulkDeleteJob jobData;
+
+  public BulkDeleteWorkflow(CollectionDAO dao, BulkDeleteJob jobData) {
+    this.dao = dao;
+    this.jobData = jobData;
+  }
+
+  @Override
+  public void run() {
+    LOG.info("Bulk delete of {} {} started", jobData.getEntityType(), jobData.getEntityFullyQualifiedName());
+    try {
+      jobData.setStatus(BulkDeleteJob.Status.RUNNING);
+      updateRecordToDb();
+
+      List<Map<String, List<UUID>>> levels = findChildren(jobData.getEntityId());
+      if (jobData.getTotal() == null) {
+        jobData.setTotal(levels.stream().flatMap(level -> level.values().stream()).mapToInt(List::size).sum());
+      }
+      for (int i = levels.size() - 1; i >= 0; i--) {
+        for (Map.Entry<String, List<UUID>> entry : levels.get(i).entrySet()) {
+          EntityRepository<?> repository = Entity.getEntityRepository(entry.getKey());
+          for (List<UUID> chunk : Lists.partition(entry.getValue(), EntityDAO.BATCH_QUERY_SIZE)) {
+            recordDeletedEvents(entry.getKey(), repository.deleteInBulk(jobData.getStartedBy(), chunk));
+            jobData.setDeleted(jobData.getDeleted() + chunk.size());
+            updateRecordToDb();
+          }
+        }
+      }
+
+      EntityInterface entity =
+          Entity.getEntityRepository(jobData.getEntityType())
+              .delete(jobData.getStartedBy(), jobData.getEntityId(), true, true)
+              .getEntity();
+      recordDeletedEvents(jobData.getEntityType(), List.of(entity));
+      jobData.setStatus(BulkDeleteJob.Status.COMPLETED);
+    } catch (Exception e) {
+      LOG.error("Bulk delete of {} {} failed", jobData.getEntityType(), jobData.getEntityId(), e);
+      jobData.setStatus(BulkDeleteJob.Status.FAILED);
+      jobData.setFailure(e.getMessage());
+    } finally {
+      jobData.setEndTime(System.currentTimeMillis());
+      try {
+        updateRecordToDb();
+      } catch (Exception e) {
+        LOG.error("Failed to store the status of bulk delete job {}", jobData.getId(), e);
+      }
+      BulkDeleteHandler.getInstance().removeCompletedJob(jobData.getId());
+    }
+  }
+
+  /** Returns the children of the entity grouped by entity type for each level of the hierarchy below the entity */
+  private List<Map<String, List<UUID>>> findChildren(UUID id) {
+    List<Map<String, List<UUID>>> levels = new ArrayList<>();
+    Set<String> visited = new HashSet<>();
+    visited.add(id.toString());
+    List<String> parents = List.of(id.toString());
+    while (!parents.isEmpty()) {
+      Map<String, List<UUID>> level = new LinkedHashMap<>();
+      List<String> children = new ArrayList<>();
+      for (List<String> batch : Lists.partition(parents, EntityDAO.BATCH_QUERY_SIZE)) {
+        for (EntityRelationshipObject relationship : dao.relationshipDAO().findToBatch(batch, CHILD_RELATIONS)) {
+          if (visited.add(relationship.getToId())) {
+            children.add(relationship.getToId());
+            level
+                .computeIfAbsent(relationship.getToEntity(), k -> new ArrayList<>())
+                .add(UUID.fromString(relationship.getToId()));
+          }
+        }
+      }
+      if (!level.isEmpty()) {
+        levels.add(level);
+      }
+      parents = children;
+    }
+    LOG.info(
+        "Found {} levels of children of {} {} to delete",
+        levels.size(),
+        jobData.getEntityType(),
+        jobData.getEntityFullyQualifiedName());
+    return levels;
+  }
+
+  /**
+   * Record a deleted change event for each deleted entity, the same as for an entity deleted through the API, so that
+   * the search indexes and the subscribers of the change event log drop the deleted children as well.
+   */
+  private void recordDeletedEvents(String entityType, List<? extends EntityInterface> entities) throws IOException {
+    List<String> changeEvents = new ArrayList<>();
+    for (EntityInterface entity : entities) {
+      EventPubSub.publish(getDeletedEvent(entityType, entity).withEntity(entity));
+      ChangeEvent changeEvent = getDeletedEvent(entityType, entity).withEntity(JsonUtils.pojoToMaskedJson(entity));
+      changeEvents.add(JsonUtils.pojoToJson(changeEvent));
+    }
+    dao.changeEventDAO().insertBatch(changeEvents);
+  }
+
+  private ChangeEvent getDeletedEvent(String entityType, EntityInterface entity) {
+    return new ChangeEvent()
+        .withEventType(EventType.ENTITY_DELETED)
+        .withEntityId(entity.getId())
+        .withEntityType(entityType)
+        .withEntityFullyQualifiedName(entity.getFullyQualifiedName())
+        .withUserName(jobData.getStartedBy())
+        .withTimestamp(System.currentTimeMillis())
+        .withCurrentVersion(entity.getVersion())
+        .withPreviousVersion(entity.getVersion());
+  }
+
+  /** Store the progress of the job, and stop the job when another server took over its lease */
+  public void updateRecordToDb() throws IOException {
+    if (!BulkDeleteHandler.getInstance().storeJob(jobData)) {
+      throw new IllegalStateException("Bulk delete job " + jobData.getId() + " was taken over by another server");
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.searchIndex;
+
+import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.system.StepStats;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.exception.EntityNotFoundException;
+import org.openmetadata.service.exception.SourceException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.EntityRepository;
+import org.openmetadata.service.util.EntityUtil.Fields;
+import org.openmetadata.service.util.ResultList;
+
+/**
+ * Reads the entities of a type that changed in a time range, from the ids recorded in the change events. The events
+ * are read in the order of their offset and the cursor is the offset of the last event read, so the events recorded
+ * while the source is read are not skipped. An entity changed by several events is read once. The entities that no
+ * longer exist are not returned, their ids are collected in {@link #getDeletedIds()} so that their documents are
+ * deleted from the index.
+ */
+@Slf4j
+public class ChangedEntitiesSource implements ReindexingSource<ResultList<? extends EntityInterface>> {
+  private final CollectionDAO dao;
+  @Getter private final int batchSize;
+  @Getter private final String entityType;
+  @Getter private final List<String> fields;
+  private final long startTs;
+  private final long endTs;
+  private final StepStats stats = new StepStats();
+  @Getter private String cursor = "0";
+  @Getter private boolean isDone = false;
+
+  /** Ids of the entities already read, the later events of these entities are skipped */
+  private final Set<String> readIds = new HashSet<>();
+
+  /** Ids of the entities of the last batch that no longer exist */
+  @Getter private List<String> deletedIds = new ArrayList<>();
+
+  ChangedEntitiesSource(
+      CollectionDAO dao, String entityType, int batchSize, List<String> fields, long startTs, long endTs) {
+    this.dao = dao;
+    this.entityType = entityType;
+    this.batchSize = batchSize;
+    this.fields = fields;
+    this.startTs = startTs;
+    this.endTs = endTs;
+    this.stats.setTotalRecords(dao.changeEventDAO().countChangedEntities(entityType, startTs, endTs));
+  }
+
+  @Override
+  public ResultList<? extends EntityInterface> readNext(Map<String, Object> contextData) throws SourceException {
+    if (!isDone) {
+      return read();
+    } else {
+      return null;
+    }
+  }
+
+  private ResultList<? extends EntityInterface> read() throws SourceException {
+    LOG.debug("[ChangedEntitiesSource] Fetching a Batch of Size: {} ", batchSize);
+    List<String> ids = new ArrayList<>();
+    try {
+      long offset = Long.parseLong(cursor);
+      while (ids.size() < batchSize && !isDone) {
+        List<Pair<Long, String>> events =
+            dao.changeEventDAO().listChangedEntityIds(entityType, startTs, endTs, offset, batchSize);
+        if (events.size() < batchSize) {
+          isDone = true;
+        }
+        for (Pair<Long, String> event : events) {
+          if (ids.size() == batchSize) {
+            // The remaining events are read with the next batch
+            isDone = false;
+            break;
+          }
+          offset = event.getLeft();
+          if (readIds.add(event.getRight())) {
+            ids.add(event.getRight());
+          }
+        }
+      }
+      cursor = String.valueOf(offset);
+    } catch (Exception e) {
+      isDone = true;
+      updateStats(0, stats.getTotalRecords() - stats.getProcessedRecords());
+      throw new SourceException("[ChangedEntitiesSource] Failed to list the changed entities.", e);
+    }
+
+    EntityRepository<?> entityRepository = Entity.getEntityRepository(entityType);
+    Fields entityFields = Entity.getFields(entityType, fields);
+    List<EntityInterface> entities = new ArrayList<>();
+    List<String> errors = new ArrayList<>();
+    deletedIds = new ArrayList<>();
+    for (String id : ids) {
+      try {
+        entities.add(entityRepository.get(null, UUID.fromString(id), entityFields, Include.ALL));
+      } catch (EntityNotFoundException e) {
+        deletedIds.add(id);
+      } catch (Exception e) {
+        LOG.error("[ChangedEntitiesSource] Failed in getting Record, ID: {}", id, e);
+        errors.add(id);
+      }
+    }
+
+    LOG.debug(
+        "[ChangedEntitiesSource] Batch Stats :- Submitted : {} Success: {} Deleted: {} Failed: {}",
+        ids.size(),
+        entities.size(),
+        deletedIds.size(),
+        errors.size());
+    updateStats(entities.size() + deletedIds.size(), errors.size());
+    return new ResultList<>(entities, errors, null, isDone ? null : cursor, stats.getTotalRecords());
+  }
+
+  @Override
+  public void resume(String cursor, boolean done) {
+    this.cursor = cursor == null ? "0" : cursor;
+    this.isDone = done;
+  }
+
+  @Override
+  public void reset() {
+    cursor = "0";
+    isDone = false;
+    readIds.clear();
+    deletedIds = new ArrayList<>();
+  }
+
+  @Override
+  public void updateStats(int currentSuccess, int currentFailed) {
+    getUpdatedStats(stats, currentSuccess, currentFailed);
+  }
+
+  @Override
+  public StepStats getStats() {
+    return stats;
+  }
+}
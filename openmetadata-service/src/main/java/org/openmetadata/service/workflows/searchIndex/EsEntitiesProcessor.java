@@ -16,7 +16,7 @@ package org.openmetadata.service.workflows.searchIndex;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.ENTITY_TYPE_KEY;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -30,7 +30,6 @@ import org.openmetadata.schema.system.StepStats;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexFactory;
 import org.openmetadata.service.exception.ProcessorException;
-import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.ResultList;
 import org.openmetadata.service.workflows.interfaces.Processor;
 
@@ -57,7 +56,7 @@ public class EsEntitiesProcessor implements Processor<ResultList<? extends Entit
           input.getData().size(),
           0);
       updateStats(input.getData().size(), 0);
-    } catch (JsonProcessingException e) {
+    } catch (IOException e) {
       LOG.debug(
           "[EsEntitiesProcessor] Batch Stats :- Submitted : {} Success: {} Failed: {}",
           input.getData().size(),
@@ -70,7 +69,7 @@ public class EsEntitiesProcessor implements Processor<ResultList<? extends Entit
   }
 
   private BulkRequest buildBulkRequests(String entityType, List<? extends EntityInterface> entities)
-      throws JsonProcessingException {
+      throws IOException {
     BulkRequest bulkRequests = new BulkRequest();
     for (EntityInterface entity : entities) {
       UpdateRequest request = getUpdateRequest(entityType, entity);
@@ -80,13 +79,12 @@ public class EsEntitiesProcessor implements Processor<ResultList<? extends Entit
   }
 
   public static UpdateRequest getUpdateRequest(String entityType, EntityInterface entity)
-      throws JsonProcessingException {
+      throws IOException {
     ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
         ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
     UpdateRequest updateRequest = new UpdateRequest(indexType.indexName, entity.getId().toString());
     updateRequest.doc(
-        JsonUtils.pojoToJson(
-            Objects.requireNonNull(ElasticSearchIndexFactory.buildIndex(entityType, entity)).buildESDoc()),
+        Objects.requireNonNull(ElasticSearchIndexFactory.buildIndex(entityType, entity)).buildESDocJson(),
         XContentType.JSON);
     updateRequest.docAsUpsert(true);
     return updateRequest;
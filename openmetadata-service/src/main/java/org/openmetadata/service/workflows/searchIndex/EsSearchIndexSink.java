@@ -16,30 +16,69 @@ package org.openmetadata.service.workflows.searchIndex;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getSuccessFromBulkResponse;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getUpdatedStats;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
 import org.openmetadata.schema.system.StepStats;
 import org.openmetadata.service.exception.SinkException;
 import org.openmetadata.service.workflows.interfaces.Sink;
 
+/**
+ * Writes the documents to Elasticsearch in bulk requests. The size of the bulk requests adapts to Elasticsearch: it is
+ * halved when a request is slower than the target latency or documents are rejected because Elasticsearch is
+ * overloaded, and grows slowly while requests are fast. Rejected documents are written again after a backoff. A
+ * request larger than Elasticsearch accepts is written again in smaller requests. The sink is shared by the sink
+ * threads of the workflow.
+ */
 @Slf4j
 public class EsSearchIndexSink implements Sink<BulkRequest, BulkResponse> {
+  private static final long REJECTED_BACKOFF_MILLIS = 500;
   private final StepStats stats = new StepStats();
   private final RestHighLevelClient client;
+  private final ReindexingConfiguration config;
+  private volatile int bulkSize;
+  /** The bulk size never grows back to the smallest request that was too large */
+  private int tooLargeBulkSize = Integer.MAX_VALUE;
 
-  EsSearchIndexSink(RestHighLevelClient client) {
+  EsSearchIndexSink(RestHighLevelClient client, ReindexingConfiguration config, int initialBulkSize) {
     this.client = client;
+    this.config = config;
+    this.bulkSize = Math.max(config.getMinBulkSize(), Math.min(config.getMaxBulkSize(), initialBulkSize));
   }
 
   @Override
   public BulkResponse write(BulkRequest data, Map<String, Object> contextData) throws SinkException {
     LOG.debug("[EsSearchIndexSink] Processing a Batch of Size: {}", data.numberOfActions());
     try {
-      BulkResponse response = client.bulk(data, RequestOptions.DEFAULT);
+      long start = System.currentTimeMillis();
+      List<DocWriteRequest<?>> requests = data.requests();
+      List<BulkItemResponse> items = new ArrayList<>(requests.size());
+      for (int from = 0; from < requests.size(); ) {
+        int to = Math.min(requests.size(), from + bulkSize);
+        try {
+          items.addAll(writeChunk(requests.subList(from, to)));
+          from = to;
+        } catch (ElasticsearchStatusException e) {
+          if (e.status() != RestStatus.REQUEST_ENTITY_TOO_LARGE || to - from == 1) {
+            throw e;
+          }
+          // The documents are written again in smaller requests
+          reduceBulkSize(to - from);
+        }
+      }
+      BulkResponse response =
+          new BulkResponse(items.toArray(new BulkItemResponse[0]), System.currentTimeMillis() - start);
       int currentSuccess = getSuccessFromBulkResponse(response);
       int currentFailed = response.getItems().length - currentSuccess;
 
@@ -53,6 +92,9 @@ public class EsSearchIndexSink implements Sink<BulkRequest, BulkResponse> {
 
       return response;
     } catch (Exception e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
       LOG.debug(
           "[EsSearchIndexSink] Batch Stats :- Submitted : {} Success: {} Failed: {}",
           data.numberOfActions(),
@@ -63,6 +105,69 @@ public class EsSearchIndexSink implements Sink<BulkRequest, BulkResponse> {
     }
   }
 
+  /** Write the requests in one bulk request, and write the rejected ones again */
+  private List<BulkItemResponse> writeChunk(List<DocWriteRequest<?>> requests)
+      throws IOException, InterruptedException {
+    BulkItemResponse[] results = new BulkItemResponse[requests.size()];
+    List<Integer> pending = new ArrayList<>(requests.size());
+    for (int i = 0; i < requests.size(); i++) {
+      pending.add(i);
+    }
+    for (int attempt = 0; ; attempt++) {
+      BulkRequest bulkRequest = new BulkRequest();
+      pending.forEach(i -> bulkRequest.add(requests.get(i)));
+      long start = System.currentTimeMillis();
+      List<Integer> rejected = new ArrayList<>();
+      try {
+        for (BulkItemResponse item : client.bulk(bulkRequest, RequestOptions.DEFAULT)) {
+          int index = pending.get(item.getItemId());
+          results[index] = item;
+          if (item.isFailed() && item.getFailure().getStatus() == RestStatus.TOO_MANY_REQUESTS) {
+            rejected.add(index);
+          }
+        }
+      } catch (ElasticsearchStatusException e) {
+        if (e.status() != RestStatus.TOO_MANY_REQUESTS || attempt >= config.getMaxRejectedRetries()) {
+          throw e;
+        }
+        rejected = pending;
+      }
+      adjustBulkSize(System.currentTimeMillis() - start, !rejected.isEmpty());
+      if (rejected.isEmpty() || attempt >= config.getMaxRejectedRetries()) {
+        return Arrays.asList(results);
+      }
+      LOG.debug("[EsSearchIndexSink] {} documents rejected, retrying", rejected.size());
+      pending = rejected;
+      Thread.sleep(REJECTED_BACKOFF_MILLIS << attempt);
+    }
+  }
+
+  private synchronized void adjustBulkSize(long latencyMillis, boolean rejected) {
+    int size = bulkSize;
+    if (rejected || latencyMillis > config.getTargetBulkLatencyMillis()) {
+      size = Math.max(config.getMinBulkSize(), size / 2);
+    } else if (latencyMillis < config.getTargetBulkLatencyMillis() / 2) {
+      int maxSize = Math.min(config.getMaxBulkSize(), tooLargeBulkSize - 1);
+      size = Math.max(size, Math.min(maxSize, size + Math.max(1, size / 10)));
+    }
+    if (size != bulkSize) {
+      LOG.debug("[EsSearchIndexSink] Bulk size changed from {} to {}", bulkSize, size);
+      bulkSize = size;
+    }
+  }
+
+  /** The request was larger than Elasticsearch accepts, below the minimum bulk size if needed */
+  private synchronized void reduceBulkSize(int tooLarge) {
+    tooLargeBulkSize = Math.min(tooLargeBulkSize, tooLarge);
+    int size = Math.min(bulkSize, Math.max(1, tooLarge / 2));
+    LOG.debug("[EsSearchIndexSink] Bulk request of {} documents too large, bulk size changed to {}", tooLarge, size);
+    bulkSize = size;
+  }
+
+  int getBulkSize() {
+    return bulkSize;
+  }
+
   @Override
   public void updateStats(int currentSuccess, int currentFailed) {
     getUpdatedStats(stats, currentSuccess, currentFailed);
@@ -26,15 +26,14 @@ import org.openmetadata.service.exception.SourceException;
 import org.openmetadata.service.jdbi3.CollectionDAO;
 import org.openmetadata.service.util.RestUtil;
 import org.openmetadata.service.util.ResultList;
-import org.openmetadata.service.workflows.interfaces.Source;
 
 @Slf4j
-public class PaginatedDataInsightSource implements Source<ResultList<ReportData>> {
+public class PaginatedDataInsightSource implements ReindexingSource<ResultList<ReportData>> {
   private final CollectionDAO dao;
   @Getter private final String entityType;
   @Getter private final int batchSize;
   private final StepStats stats = new StepStats();
-  private String cursor = null;
+  @Getter private String cursor = null;
   @Getter private boolean isDone = false;
 
   public PaginatedDataInsightSource(CollectionDAO dao, String entityType, int batchSize) {
@@ -58,6 +57,12 @@ public class PaginatedDataInsightSource implements Source<ResultList<ReportData>
     }
   }
 
+  @Override
+  public void resume(String cursor, boolean done) {
+    this.cursor = cursor;
+    this.isDone = done;
+  }
+
   @Override
   public void reset() {
     cursor = null;
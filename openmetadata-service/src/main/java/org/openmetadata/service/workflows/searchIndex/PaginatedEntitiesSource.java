@@ -28,15 +28,14 @@ import org.openmetadata.service.exception.SourceException;
 import org.openmetadata.service.jdbi3.EntityRepository;
 import org.openmetadata.service.jdbi3.ListFilter;
 import org.openmetadata.service.util.ResultList;
-import org.openmetadata.service.workflows.interfaces.Source;
 
 @Slf4j
-public class PaginatedEntitiesSource implements Source<ResultList<? extends EntityInterface>> {
+public class PaginatedEntitiesSource implements ReindexingSource<ResultList<? extends EntityInterface>> {
   @Getter private final int batchSize;
   @Getter private final String entityType;
   @Getter private final List<String> fields;
   private final StepStats stats = new StepStats();
-  private String cursor = null;
+  @Getter private String cursor = null;
   @Getter private boolean isDone = false;
 
   PaginatedEntitiesSource(String entityType, int batchSize, List<String> fields) {
@@ -96,6 +95,12 @@ public class PaginatedEntitiesSource implements Source<ResultList<? extends Enti
     return result;
   }
 
+  @Override
+  public void resume(String cursor, boolean done) {
+    this.cursor = cursor;
+    this.isDone = done;
+  }
+
   @Override
   public void reset() {
     cursor = null;
@@ -0,0 +1,53 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.searchIndex;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Progress of a reindexing job, stored next to the job record so that the job continues from the last committed batch
+ * of each entity type when it is resumed.
+ */
+@Getter
+@Setter
+public class ReindexingCheckpoint {
+  /** Start of the changes reindexed by an incremental job, null when all the entities are reindexed */
+  private Long changedSince;
+
+  /** Versioned indexes being rebuilt, by the name of the index they replace */
+  private Map<String, String> rebuiltIndexes = new HashMap<>();
+
+  /** Set once the rebuilt indexes are built, to the time up to which the changes made during the build are applied */
+  private Long swappedAfter;
+
+  /** Progress by entity type */
+  private Map<String, SourceCheckpoint> sources = new HashMap<>();
+
+  /** Timestamp of the record, which is the timestamp of the job */
+  private long timestamp;
+
+  @Getter
+  @Setter
+  public static class SourceCheckpoint {
+    /** Cursor of the batch following the last committed one */
+    private String cursor;
+
+    private boolean done;
+    private int successRecords;
+    private int failedRecords;
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.searchIndex;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/** Configuration of the stages of the {@link SearchIndexWorkflow} pipeline. */
+@Getter
+@Setter
+public class ReindexingConfiguration {
+  /** Number of entity types read at the same time */
+  private int readerThreads = 4;
+
+  /** Number of threads building the search documents */
+  private int processorThreads = 4;
+
+  /** Number of bulk requests sent to Elasticsearch at the same time */
+  private int sinkThreads = 4;
+
+  /** Number of batches waiting between two stages before the previous stage waits */
+  private int queueSize = 20;
+
+  /** Bounds of the number of documents in a bulk request, which is adapted to the response times of Elasticsearch */
+  private int minBulkSize = 50;
+
+  private int maxBulkSize = 2000;
+
+  /** Bulk requests slower than this are made smaller, and much faster ones larger */
+  private long targetBulkLatencyMillis = 2000;
+
+  /** Attempts to write the documents rejected by Elasticsearch because it is overloaded */
+  private int maxRejectedRetries = 3;
+}
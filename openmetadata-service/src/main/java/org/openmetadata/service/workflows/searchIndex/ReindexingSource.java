@@ -0,0 +1,36 @@
+/*
+ *  Copyright 2022 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.service.workflows.searchIndex;
+
+import java.util.Collections;
+import java.util.List;
+import org.openmetadata.service.workflows.interfaces.Source;
+
+/** Source of the batches of an entity type for the {@link SearchIndexWorkflow}, which can continue from a cursor. */
+public interface ReindexingSource<R> extends Source<R> {
+  String getEntityType();
+
+  boolean isDone();
+
+  /** Cursor of the next batch, null when the source starts from the beginning */
+  String getCursor();
+
+  /** Continue from the cursor of the next batch, as committed by a previous run of the job */
+  void resume(String cursor, boolean done);
+
+  /** Ids of the entities of the last batch whose documents are deleted */
+  default List<String> getDeletedIds() {
+    return Collections.emptyList();
+  }
+}
@@ -25,10 +25,13 @@ import org.openmetadata.service.jdbi3.EntityRepository;
 public class ReindexingUtil {
   public static final String ENTITY_TYPE_KEY = "entityType";
 
+  /** Stats are updated by the threads of the different stages of the workflow */
   public static void getUpdatedStats(StepStats stats, int currentSuccess, int currentFailed) {
-    stats.setProcessedRecords(stats.getProcessedRecords() + currentSuccess + currentFailed);
-    stats.setSuccessRecords(stats.getSuccessRecords() + currentSuccess);
-    stats.setFailedRecords(stats.getFailedRecords() + currentFailed);
+    synchronized (stats) {
+      stats.setProcessedRecords(stats.getProcessedRecords() + currentSuccess + currentFailed);
+      stats.setSuccessRecords(stats.getSuccessRecords() + currentSuccess);
+      stats.setFailedRecords(stats.getFailedRecords() + currentFailed);
+    }
   }
 
   public static boolean isDataInsightIndex(String entityType) {
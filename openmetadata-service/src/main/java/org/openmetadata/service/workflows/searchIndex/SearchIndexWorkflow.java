@@ -14,7 +14,7 @@
 package org.openmetadata.service.workflows.searchIndex;
 
 import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.getIndexFields;
-import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_JOB_EXTENSION;
+import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_CHECKPOINT_EXTENSION;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.ENTITY_TYPE_KEY;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getSuccessFromBulkResponse;
 import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.getTotalRequestToProcess;
@@ -24,10 +24,18 @@ import static org.openmetadata.service.workflows.searchIndex.ReindexingUtil.isDa
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.Getter;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +43,7 @@ import org.apache.commons.lang.exception.ExceptionUtils;
 import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.client.RestHighLevelClient;
 import org.openmetadata.schema.EntityInterface;
 import org.openmetadata.schema.analytics.ReportData;
@@ -44,6 +53,7 @@ import org.openmetadata.schema.system.FailureDetails;
 import org.openmetadata.schema.system.Stats;
 import org.openmetadata.schema.system.StepStats;
 import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
 import org.openmetadata.service.exception.ProcessorException;
 import org.openmetadata.service.exception.SinkException;
 import org.openmetadata.service.exception.SourceException;
@@ -52,43 +62,146 @@ import org.openmetadata.service.socket.WebSocketManager;
 import org.openmetadata.service.util.JsonUtils;
 import org.openmetadata.service.util.ReIndexingHandler;
 import org.openmetadata.service.util.ResultList;
+import org.openmetadata.service.workflows.searchIndex.ReindexingCheckpoint.SourceCheckpoint;
 
+/**
+ * Reindexes the entities and data insights of a job in a pipeline of three stages: the sources read the batches, the
+ * processors build the search documents and the sink writes them to Elasticsearch. Each stage has its own pool of
+ * threads and the stages are connected by bounded queues, so a slow stage holds up the previous one instead of
+ * buffering batches without a limit. The entity types are read at the same time, one source per reader thread.
+ *
+ * <p>An incremental job only reindexes the entities changed since a timestamp, as recorded in the change events, and
+ * deletes the documents of the entities that no longer exist.
+ *
+ * <p>A job that recreates the indexes builds new versioned indexes while the searches keep using the current ones.
+ * Once the build is done, the entities changed during the build are reindexed into the new indexes, the names of the
+ * indexes are swapped to the new ones, and the entities changed while reconciling are reindexed once more. The
+ * indexes are only swapped when no entity failed to be read, processed or written, otherwise the searches keep using
+ * the current indexes and the new ones are deleted.
+ *
+ * <p>When Elasticsearch fails a whole bulk request, or a worker dies, the pipeline is aborted: the readers stop, the
+ * batches already read are dropped and the job fails.
+ *
+ * <p>The cursor of each source is committed in a {@link ReindexingCheckpoint} once all the batches read before it are
+ * written, and the checkpoint is stored regularly. A job stopped or interrupted by a restart is resumed from the
+ * committed cursors, the batches written after them are written again. A job resumed by another server stops the
+ * next time it stores its record.
+ */
 @Slf4j
 public class SearchIndexWorkflow implements Runnable {
-  private final List<PaginatedEntitiesSource> paginatedEntitiesSources = new ArrayList<>();
-  private final List<PaginatedDataInsightSource> paginatedDataInsightSources = new ArrayList<>();
+  /** Interval between the job status updates sent to the user who started the job */
+  private static final long UPDATE_INTERVAL = 1000;
+
+  /** Interval between the checkpoints stored in the database */
+  private static final long CHECKPOINT_INTERVAL = 10000;
+
+  /** Tells the workers of a stage that the previous stage is done */
+  private static final Batch END_OF_STAGE = new Batch(null, false, null, null, 0);
+
+  /** Interval at which a worker waiting on a full queue checks whether the pipeline is aborted */
+  private static final long QUEUE_POLL_INTERVAL = 100;
+
+  private final List<ReindexingSource<? extends ResultList<?>>> sources = new ArrayList<>();
+  private final Map<String, SourceProgress> progress = new HashMap<>();
+  private final Map<String, List<String>> entityFields = new HashMap<>();
   private final EsEntitiesProcessor entitiesProcessor;
   private final EsDataInsightProcessor dataInsightProcessor;
   private final EsSearchIndexSink searchIndexSink;
   private final ElasticSearchIndexDefinition elasticSearchIndexDefinition;
   @Getter private final EventPublisherJob jobData;
   private final CollectionDAO dao;
+  private final ReindexingConfiguration config;
+
+  @Getter private final ReindexingCheckpoint checkpoint;
+
+  /** Versioned indexes the batches are written to while the indexes are rebuilt */
+  private final Map<ElasticSearchIndexType, String> rebuiltIndexes = new EnumMap<>(ElasticSearchIndexType.class);
+
+  private volatile boolean writeToRebuiltIndexes = false;
+  private final BlockingQueue<Batch> processorQueue;
+  private final BlockingQueue<Batch> sinkQueue;
   private volatile boolean stopped = false;
 
+  /** Failure that aborted the pipeline, the workers stop and the job fails */
+  private volatile Throwable pipelineFailure;
+
+  private long lastUpdateSent = 0;
+  private long lastCheckpointStored = 0;
+
   public SearchIndexWorkflow(
       CollectionDAO dao,
       ElasticSearchIndexDefinition elasticSearchIndexDefinition,
       RestHighLevelClient client,
-      EventPublisherJob request) {
+      ReindexingConfiguration config,
+      EventPublisherJob request,
+      ReindexingCheckpoint checkpoint) {
     this.dao = dao;
     this.jobData = request;
+    this.config = config;
+    this.checkpoint = checkpoint;
+    this.processorQueue = new ArrayBlockingQueue<>(config.getQueueSize());
+    this.sinkQueue = new ArrayBlockingQueue<>(config.getQueueSize());
     request
         .getEntities()
         .forEach(
             (entityType) -> {
+              ReindexingSource<? extends ResultList<?>> source;
               if (!isDataInsightIndex(entityType)) {
                 List<String> fields =
                     new ArrayList<>(
                         Objects.requireNonNull(getIndexFields(entityType, jobData.getSearchIndexMappingLanguage())));
-                paginatedEntitiesSources.add(new PaginatedEntitiesSource(entityType, jobData.getBatchSize(), fields));
+                entityFields.put(entityType, fields);
+                source =
+                    checkpoint.getChangedSince() != null
+                        ? new ChangedEntitiesSource(
+                            dao,
+                            entityType,
+                            jobData.getBatchSize(),
+                            fields,
+                            checkpoint.getChangedSince(),
+                            jobData.getStartTime())
+                        : new PaginatedEntitiesSource(entityType, jobData.getBatchSize(), fields);
               } else {
-                paginatedDataInsightSources.add(
-                    new PaginatedDataInsightSource(dao, entityType, jobData.getBatchSize()));
+                source = new PaginatedDataInsightSource(dao, entityType, jobData.getBatchSize());
+              }
+              // Continue from the last committed batch of a previous run
+              SourceCheckpoint sourceCheckpoint =
+                  checkpoint.getSources().computeIfAbsent(entityType, type -> new SourceCheckpoint());
+              source.resume(sourceCheckpoint.getCursor(), sourceCheckpoint.isDone());
+              source.updateStats(sourceCheckpoint.getSuccessRecords(), sourceCheckpoint.getFailedRecords());
+              sources.add(source);
+              progress.put(entityType, new SourceProgress(sourceCheckpoint));
+            });
+    checkpoint
+        .getRebuiltIndexes()
+        .forEach(
+            (indexName, versionedIndex) -> {
+              for (ElasticSearchIndexType indexType : ElasticSearchIndexType.values()) {
+                if (indexType.indexName.equals(indexName)) {
+                  rebuiltIndexes.put(indexType, versionedIndex);
+                }
               }
             });
+    if (jobData.getStats() != null && jobData.getStats().getJobStats() != null) {
+      // Resumed job, the batches after the checkpoint are written again
+      int success = 0;
+      int failed = 0;
+      for (SourceCheckpoint sourceCheckpoint : checkpoint.getSources().values()) {
+        success += sourceCheckpoint.getSuccessRecords();
+        failed += sourceCheckpoint.getFailedRecords();
+      }
+      jobData
+          .getStats()
+          .setJobStats(
+              new StepStats()
+                  .withTotalRecords(getTotalRecords())
+                  .withProcessedRecords(success + failed)
+                  .withSuccessRecords(success)
+                  .withFailedRecords(failed));
+    }
     this.entitiesProcessor = new EsEntitiesProcessor();
     this.dataInsightProcessor = new EsDataInsightProcessor();
-    this.searchIndexSink = new EsSearchIndexSink(client);
+    this.searchIndexSink = new EsSearchIndexSink(client, config, jobData.getBatchSize());
     this.elasticSearchIndexDefinition = elasticSearchIndexDefinition;
   }
 
@@ -99,8 +212,12 @@ public class SearchIndexWorkflow implements Runnable {
       // Update Job Status
       jobData.setStatus(EventPublisherJob.Status.RUNNING);
       // Run ReIndexing
-      entitiesReIndex();
-      dataInsightReindex();
+      if (Boolean.TRUE.equals(jobData.getRecreateIndex())) {
+        rebuildIndexes();
+      } else {
+        reIndex(getReaderTasks());
+      }
+      storeCheckpoint();
       // Mark Job as Completed
       updateJobStatus();
       jobData.setEndTime(System.currentTimeMillis());
@@ -113,139 +230,345 @@ public class SearchIndexWorkflow implements Runnable {
       jobData.setStatus(EventPublisherJob.Status.FAILED);
       handleJobError("Failure in Job: Check Stack", error, System.currentTimeMillis());
     } finally {
+      // Drop the indexes of a failed rebuild, a stopped one keeps them to be resumed
+      if (jobData.getStatus() == EventPublisherJob.Status.FAILED) {
+        rebuiltIndexes.values().forEach(elasticSearchIndexDefinition::deleteVersionedIndex);
+      }
       // store job details in Database
       updateRecordToDb();
       // Send update
       sendUpdates();
       // Remove list from active jobs
-      ReIndexingHandler.getInstance().removeCompletedJob(jobData.getId());
-    }
-  }
-
-  private void entitiesReIndex() {
-    Map<String, Object> contextData = new HashMap<>();
-    for (PaginatedEntitiesSource paginatedEntitiesSource : paginatedEntitiesSources) {
-      reCreateIndexes(paginatedEntitiesSource.getEntityType());
-      contextData.put(ENTITY_TYPE_KEY, paginatedEntitiesSource.getEntityType());
-      ResultList<? extends EntityInterface> resultList;
-      while (!stopped && !paginatedEntitiesSource.isDone()) {
-        long currentTime = System.currentTimeMillis();
-        int requestToProcess = jobData.getBatchSize();
-        int failed = requestToProcess;
-        int success = 0;
-        try {
-          resultList = paginatedEntitiesSource.readNext(null);
-          requestToProcess = resultList.getData().size() + resultList.getErrors().size();
-          if (resultList.getData().size() > 0) {
-            // process data to build Reindex Request
-            BulkRequest requests = entitiesProcessor.process(resultList, contextData);
-            // write the data to ElasticSearch
-            BulkResponse response = searchIndexSink.write(requests, contextData);
-            // update Status
-            handleErrors(resultList, response, currentTime);
-            // Update stats
-            success = getSuccessFromBulkResponse(response);
-            failed = requestToProcess - success;
-          } else {
-            failed = 0;
-          }
-        } catch (SourceException rx) {
-          handleSourceError(
-              rx.getMessage(),
-              String.format(
-                  "EntityType: %s \n Cause: %s \n Stack: %s",
-                  paginatedEntitiesSource.getEntityType(), rx.getCause(), ExceptionUtils.getStackTrace(rx)),
-              currentTime);
-        } catch (ProcessorException px) {
-          handleProcessorError(
-              px.getMessage(),
-              String.format(
-                  "EntityType: %s \n Cause: %s \n Stack: %s",
-                  paginatedEntitiesSource.getEntityType(), px.getCause(), ExceptionUtils.getStackTrace(px)),
-              currentTime);
-        } catch (SinkException wx) {
-          handleEsSinkError(
-              wx.getMessage(),
-              String.format(
-                  "EntityType: %s \n Cause: %s \n Stack: %s",
-                  paginatedEntitiesSource.getEntityType(), wx.getCause(), ExceptionUtils.getStackTrace(wx)),
-              currentTime);
-        } finally {
-          updateStats(
-              success,
-              failed,
-              paginatedEntitiesSource.getStats(),
-              entitiesProcessor.getStats(),
-              searchIndexSink.getStats());
-          sendUpdates();
+      if (ReIndexingHandler.getInstance() != null) {
+        ReIndexingHandler.getInstance().removeCompletedJob(jobData.getId());
+      }
+    }
+  }
+
+  private void rebuildIndexes() throws IOException, InterruptedException {
+    if (checkpoint.getSwappedAfter() == null) {
+      for (String entityType : jobData.getEntities()) {
+        ElasticSearchIndexType indexType = ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
+        if (!rebuiltIndexes.containsKey(indexType)) {
+          String versionedIndex =
+              elasticSearchIndexDefinition.createVersionedIndex(
+                  indexType, jobData.getSearchIndexMappingLanguage().value());
+          rebuiltIndexes.put(indexType, versionedIndex);
+          checkpoint.getRebuiltIndexes().put(indexType.indexName, versionedIndex);
         }
       }
+      storeCheckpoint();
+      writeToRebuiltIndexes = true;
+      reIndex(getReaderTasks());
+      if (stopped) {
+        return;
+      }
+
+      // Reindex the changes made during the build into the new indexes, then swap them
+      long reconcileStart = System.currentTimeMillis();
+      reIndex(getReconcileTasks(jobData.getStartTime(), reconcileStart));
+      if (stopped) {
+        return;
+      }
+      if (hasFailures()) {
+        // The new indexes are missing the failed entities, the job fails and deletes them
+        LOG.error("Not swapping the rebuilt indexes {}, some entities failed to be indexed", rebuiltIndexes.values());
+        return;
+      }
+      writeToRebuiltIndexes = false;
+      checkpoint.setSwappedAfter(reconcileStart);
+      storeCheckpoint();
+    }
+    for (Map.Entry<ElasticSearchIndexType, String> entry : new ArrayList<>(rebuiltIndexes.entrySet())) {
+      elasticSearchIndexDefinition.swapIndex(entry.getKey(), entry.getValue());
+      rebuiltIndexes.remove(entry.getKey());
+      checkpoint.getRebuiltIndexes().remove(entry.getKey().indexName);
+    }
+    storeCheckpoint();
+
+    // Updates made while reconciling were applied to the previous indexes, apply them to the swapped ones
+    reIndex(getReconcileTasks(checkpoint.getSwappedAfter(), System.currentTimeMillis()));
+  }
+
+  private List<Runnable> getReaderTasks() {
+    List<Runnable> tasks = new ArrayList<>();
+    for (ReindexingSource<? extends ResultList<?>> source : sources) {
+      boolean dataInsight = isDataInsightIndex(source.getEntityType());
+      tasks.add(() -> readBatches(dataInsight, source, progress.get(source.getEntityType())));
+    }
+    return tasks;
+  }
+
+  /** Read the entities changed in the time range, data insights are not recorded in the change events */
+  private List<Runnable> getReconcileTasks(long startTs, long endTs) {
+    List<Runnable> tasks = new ArrayList<>();
+    int total = 0;
+    for (Map.Entry<String, List<String>> entry : entityFields.entrySet()) {
+      ChangedEntitiesSource source =
+          new ChangedEntitiesSource(dao, entry.getKey(), jobData.getBatchSize(), entry.getValue(), startTs, endTs);
+      total += source.getStats().getTotalRecords();
+      tasks.add(() -> readBatches(false, source, null));
+    }
+    addToTotalRecords(total);
+    return tasks;
+  }
+
+  private void reIndex(List<Runnable> readerTasks) throws InterruptedException {
+    ExecutorService readers = newStage("reindex-reader", config.getReaderThreads());
+    ExecutorService processors = newStage("reindex-processor", config.getProcessorThreads());
+    ExecutorService sinks = newStage("reindex-sink", config.getSinkThreads());
+    try {
+      for (int i = 0; i < config.getProcessorThreads(); i++) {
+        processors.execute(stageWorker(this::processBatches));
+      }
+      for (int i = 0; i < config.getSinkThreads(); i++) {
+        sinks.execute(stageWorker(this::writeBatches));
+      }
+      readerTasks.forEach(task -> readers.execute(stageWorker(task)));
+      awaitStage(readers, processorQueue, config.getProcessorThreads());
+      awaitStage(processors, sinkQueue, config.getSinkThreads());
+      sinks.shutdown();
+      sinks.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    } finally {
+      readers.shutdownNow();
+      processors.shutdownNow();
+      sinks.shutdownNow();
+      processorQueue.clear();
+      sinkQueue.clear();
+    }
+    if (pipelineFailure != null) {
+      throw new IllegalStateException("Reindexing was aborted by a failure", pipelineFailure);
+    }
+  }
+
+  /** A worker that dies aborts the pipeline, so that the other stages do not wait for its batches forever */
+  private Runnable stageWorker(Runnable worker) {
+    return () -> {
+      try {
+        worker.run();
+      } catch (RuntimeException | Error e) {
+        abort(e);
+        throw e;
+      }
+    };
+  }
+
+  /** Stop reading, the batches already read are dropped by the next stages */
+  private void abort(Throwable failure) {
+    if (pipelineFailure == null) {
+      LOG.error("Aborting reindexing job {}", jobData.getId(), failure);
+      pipelineFailure = failure;
+    }
+  }
+
+  /** Put the batch on the queue of the next stage. Returns false when the pipeline is aborted while waiting. */
+  private boolean put(BlockingQueue<Batch> queue, Batch batch) throws InterruptedException {
+    while (!queue.offer(batch, QUEUE_POLL_INTERVAL, TimeUnit.MILLISECONDS)) {
+      if (pipelineFailure != null) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ExecutorService newStage(String name, int threads) {
+    AtomicInteger count = new AtomicInteger();
+    return Executors.newFixedThreadPool(
+        threads,
+        runnable -> {
+          Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+  }
+
+  /** Wait for the workers of a stage to finish, then tell the workers of the next stage that no batches are left */
+  private void awaitStage(ExecutorService stage, BlockingQueue<Batch> next, int nextWorkers)
+      throws InterruptedException {
+    stage.shutdown();
+    stage.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    for (int i = 0; i < nextWorkers; i++) {
+      if (!put(next, END_OF_STAGE)) {
+        return;
+      }
     }
   }
 
-  private void dataInsightReindex() {
-    Map<String, Object> contextData = new HashMap<>();
-    for (PaginatedDataInsightSource paginatedDataInsightSource : paginatedDataInsightSources) {
-      reCreateIndexes(paginatedDataInsightSource.getEntityType());
-      contextData.put(ENTITY_TYPE_KEY, paginatedDataInsightSource.getEntityType());
-      ResultList<ReportData> resultList;
-      while (!stopped && !paginatedDataInsightSource.isDone()) {
-        long currentTime = System.currentTimeMillis();
-        int requestToProcess = jobData.getBatchSize();
-        int failed = requestToProcess;
-        int success = 0;
-        try {
-          resultList = paginatedDataInsightSource.readNext(null);
-          requestToProcess = resultList.getData().size() + resultList.getErrors().size();
-          if (resultList.getData().size() > 0) {
-            // process data to build Reindex Request
-            BulkRequest requests = dataInsightProcessor.process(resultList, contextData);
-            // write the data to ElasticSearch
-            // write the data to ElasticSearch
-            BulkResponse response = searchIndexSink.write(requests, contextData);
-            // update Status
-            handleErrors(resultList, response, currentTime);
-            // Update stats
-            success = getSuccessFromBulkResponse(response);
-            failed = requestToProcess - success;
-          } else {
-            failed = 0;
-          }
-        } catch (SourceException rx) {
-          handleSourceError(
-              rx.getMessage(),
-              String.format(
-                  "EntityType: %s \n Cause: %s \n Stack: %s",
-                  paginatedDataInsightSource.getEntityType(), rx.getCause(), ExceptionUtils.getStackTrace(rx)),
-              currentTime);
-        } catch (ProcessorException px) {
-          handleProcessorError(
-              px.getMessage(),
-              String.format(
-                  "EntityType: %s \n Cause: %s \n Stack: %s",
-                  paginatedDataInsightSource.getEntityType(), px.getCause(), ExceptionUtils.getStackTrace(px)),
-              currentTime);
-        } catch (SinkException wx) {
-          handleEsSinkError(
-              wx.getMessage(),
-              String.format(
-                  "EntityType: %s \n Cause: %s \n Stack: %s",
-                  paginatedDataInsightSource.getEntityType(), wx.getCause(), ExceptionUtils.getStackTrace(wx)),
-              currentTime);
-        } finally {
-          updateStats(
-              success,
-              failed,
-              paginatedDataInsightSource.getStats(),
-              dataInsightProcessor.getStats(),
-              searchIndexSink.getStats());
-          sendUpdates();
+  /** Read the batches of the source, the progress is null when the batches are not checkpointed */
+  private void readBatches(
+      boolean dataInsight, ReindexingSource<? extends ResultList<?>> source, SourceProgress sourceProgress) {
+    while (!stopped && pipelineFailure == null && !source.isDone()) {
+      long currentTime = System.currentTimeMillis();
+      try {
+        ResultList<?> resultList = source.readNext(null);
+        Batch batch = new Batch(source.getEntityType(), dataInsight, source.getStats(), resultList, currentTime);
+        batch.deletedIds = source.getDeletedIds();
+        if (sourceProgress != null) {
+          batch.progress = sourceProgress;
+          batch.sequence = sourceProgress.nextSequence++;
+          batch.cursor = source.getCursor();
+          batch.last = source.isDone();
         }
+        if (!put(processorQueue, batch)) {
+          return;
+        }
+      } catch (SourceException rx) {
+        handleSourceError(
+            rx.getMessage(),
+            String.format(
+                "EntityType: %s \n Cause: %s \n Stack: %s",
+                source.getEntityType(), rx.getCause(), ExceptionUtils.getStackTrace(rx)),
+            currentTime);
+        recordStats(dataInsight, source.getStats(), 0, jobData.getBatchSize());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
       }
     }
   }
 
-  private void sendUpdates() {
+  private void processBatches() {
+    try {
+      for (Batch batch = processorQueue.take(); batch != END_OF_STAGE; batch = processorQueue.take()) {
+        if (pipelineFailure == null) {
+          processBatch(batch);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void processBatch(Batch batch) throws InterruptedException {
+    if (batch.data.getData().isEmpty() && batch.deletedIds.isEmpty()) {
+      recordBatch(batch, 0, 0);
+      return;
+    }
+    try {
+      // process data to build Reindex Request
+      Map<String, Object> contextData = Map.of(ENTITY_TYPE_KEY, batch.entityType);
+      if (batch.data.getData().isEmpty()) {
+        batch.requests = new BulkRequest();
+      } else {
+        batch.requests =
+            batch.dataInsight
+                ? dataInsightProcessor.process((ResultList<ReportData>) batch.data, contextData)
+                : entitiesProcessor.process((ResultList<? extends EntityInterface>) batch.data, contextData);
+      }
+      ElasticSearchIndexType indexType = ElasticSearchIndexDefinition.getIndexMappingByEntityType(batch.entityType);
+      batch.deletedIds.forEach(id -> batch.requests.add(new DeleteRequest(indexType.indexName, id)));
+      if (writeToRebuiltIndexes) {
+        String rebuiltIndex = rebuiltIndexes.get(indexType);
+        batch.requests.requests().forEach(request -> request.index(rebuiltIndex));
+      }
+      put(sinkQueue, batch);
+    } catch (ProcessorException | RuntimeException px) {
+      handleProcessorError(
+          px.getMessage(),
+          String.format(
+              "EntityType: %s \n Cause: %s \n Stack: %s",
+              batch.entityType, px.getCause(), ExceptionUtils.getStackTrace(px)),
+          batch.startTime);
+      recordBatch(batch, 0, batch.size());
+    }
+  }
+
+  private void writeBatches() {
+    try {
+      for (Batch batch = sinkQueue.take(); batch != END_OF_STAGE; batch = sinkQueue.take()) {
+        if (pipelineFailure == null) {
+          writeBatch(batch);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void writeBatch(Batch batch) {
+    int failed = batch.size();
+    int success = 0;
+    try {
+      // write the data to ElasticSearch
+      BulkResponse response = searchIndexSink.write(batch.requests, Map.of(ENTITY_TYPE_KEY, batch.entityType));
+      // update Status
+      handleErrors(batch.data, response, batch.startTime);
+      // Update stats
+      success = getSuccessFromBulkResponse(response);
+      failed = batch.size() - success;
+    } catch (SinkException | RuntimeException wx) {
+      handleEsSinkError(
+          wx.getMessage(),
+          String.format(
+              "EntityType: %s \n Cause: %s \n Stack: %s",
+              batch.entityType, wx.getCause(), ExceptionUtils.getStackTrace(wx)),
+          batch.startTime);
+      if (wx instanceof SinkException) {
+        // Elasticsearch failed the whole request, the job fails so the remaining batches are not read
+        abort(wx);
+      }
+    } finally {
+      recordBatch(batch, success, failed);
+    }
+  }
+
+  /** Commit the batch once the batches read before it are done, then record its outcome */
+  private synchronized void recordBatch(Batch batch, int success, int failed) {
+    SourceProgress sourceProgress = batch.progress;
+    if (sourceProgress != null) {
+      batch.success = success;
+      batch.failed = failed;
+      sourceProgress.done.put(batch.sequence, batch);
+      for (Batch next = sourceProgress.done.remove(sourceProgress.committed + 1);
+          next != null;
+          next = sourceProgress.done.remove(sourceProgress.committed + 1)) {
+        sourceProgress.committed++;
+        SourceCheckpoint sourceCheckpoint = sourceProgress.checkpoint;
+        sourceCheckpoint.setCursor(next.cursor);
+        sourceCheckpoint.setDone(next.last);
+        sourceCheckpoint.setSuccessRecords(sourceCheckpoint.getSuccessRecords() + next.success);
+        sourceCheckpoint.setFailedRecords(sourceCheckpoint.getFailedRecords() + next.failed);
+      }
+    }
+    recordStats(batch.dataInsight, batch.sourceStats, success, failed);
+  }
+
+  /** Update the stats, and let the user know about the progress now and then */
+  private synchronized void recordStats(boolean dataInsight, StepStats sourceStats, int success, int failed) {
+    StepStats processorStats = dataInsight ? dataInsightProcessor.getStats() : entitiesProcessor.getStats();
+    updateStats(success, failed, sourceStats, processorStats, searchIndexSink.getStats());
+    long now = System.currentTimeMillis();
+    if (now - lastUpdateSent >= UPDATE_INTERVAL) {
+      lastUpdateSent = now;
+      sendUpdates();
+    }
+    if (now - lastCheckpointStored >= CHECKPOINT_INTERVAL) {
+      lastCheckpointStored = now;
+      storeCheckpoint();
+    }
+  }
+
+  /** Store the checkpoint and the job record, so that the job can be resumed from there */
+  private synchronized void storeCheckpoint() {
+    try {
+      dao.entityExtensionTimeSeriesDao()
+          .update(
+              jobData.getId().toString(),
+              REINDEXING_CHECKPOINT_EXTENSION,
+              JsonUtils.pojoToJson(checkpoint),
+              checkpoint.getTimestamp());
+      updateRecordToDb();
+    } catch (Exception ex) {
+      LOG.error("Failed to store the checkpoint of reindexing job {}", jobData.getId(), ex);
+    }
+  }
+
+  private synchronized void sendUpdates() {
+    if (WebSocketManager.getInstance() == null) {
+      // Web sockets are not set up, the progress is only stored with the job
+      return;
+    }
     try {
       WebSocketManager.getInstance()
           .sendToOne(
@@ -255,7 +578,7 @@ public class SearchIndexWorkflow implements Runnable {
     }
   }
 
-  public void updateStats(
+  public synchronized void updateStats(
       int currentSuccess, int currentFailed, StepStats reader, StepStats processor, StepStats writer) {
     // Job Level Stats
     Stats jobDataStats = jobData.getStats() != null ? jobData.getStats() : new Stats();
@@ -263,7 +586,7 @@ public class SearchIndexWorkflow implements Runnable {
     // Total Stats
     StepStats stats = jobData.getStats().getJobStats();
     if (stats == null) {
-      stats = new StepStats().withTotalRecords(getTotalRequestToProcess(jobData.getEntities(), dao));
+      stats = new StepStats().withTotalRecords(getTotalRecords());
     }
     getUpdatedStats(stats, currentSuccess, currentFailed);
 
@@ -279,27 +602,30 @@ public class SearchIndexWorkflow implements Runnable {
     jobData.setStats(jobDataStats);
   }
 
-  public void updateRecordToDb() throws IOException {
-    String recordString =
-        dao.entityExtensionTimeSeriesDao().getExtension(jobData.getId().toString(), REINDEXING_JOB_EXTENSION);
-    EventPublisherJob lastRecord = JsonUtils.readValue(recordString, EventPublisherJob.class);
-    long originalLastUpdate = lastRecord.getTimestamp();
-    dao.entityExtensionTimeSeriesDao()
-        .update(
-            jobData.getId().toString(), REINDEXING_JOB_EXTENSION, JsonUtils.pojoToJson(jobData), originalLastUpdate);
+  private synchronized void addToTotalRecords(int records) {
+    StepStats stats = jobData.getStats().getJobStats();
+    if (stats != null) {
+      stats.setTotalRecords(stats.getTotalRecords() + records);
+    }
   }
 
-  private void reCreateIndexes(String entityType) {
-    if (!jobData.getRecreateIndex()) {
-      return;
+  private int getTotalRecords() {
+    if (checkpoint.getChangedSince() == null) {
+      return getTotalRequestToProcess(jobData.getEntities(), dao);
     }
+    int total = 0;
+    for (ReindexingSource<? extends ResultList<?>> source : sources) {
+      total += source.getStats().getTotalRecords();
+    }
+    return total;
+  }
 
-    ElasticSearchIndexDefinition.ElasticSearchIndexType indexType =
-        ElasticSearchIndexDefinition.getIndexMappingByEntityType(entityType);
-    // Delete index
-    elasticSearchIndexDefinition.deleteIndex(indexType);
-    // Create index
-    elasticSearchIndexDefinition.createIndex(indexType, jobData.getSearchIndexMappingLanguage().value());
+  /** Store the job record, the job stops when another server resumed it in the meantime */
+  public void updateRecordToDb() throws IOException {
+    if (!ReIndexingHandler.storeJob(dao, jobData) && !stopped) {
+      LOG.warn("Reindexing job {} was resumed by another server, stopping", jobData.getId());
+      stopped = true;
+    }
   }
 
   private void handleErrors(ResultList<?> data, BulkResponse response, long time) {
@@ -307,28 +633,28 @@ public class SearchIndexWorkflow implements Runnable {
     handleEsSinkErrors(response, time);
   }
 
-  private void handleSourceError(String context, String reason, long time) {
+  private synchronized void handleSourceError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails readerFailures = getFailureDetails(context, reason, time);
     failures.setSourceError(readerFailures);
     jobData.setFailure(failures);
   }
 
-  private void handleProcessorError(String context, String reason, long time) {
+  private synchronized void handleProcessorError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails processorError = getFailureDetails(context, reason, time);
     failures.setProcessorError(processorError);
     jobData.setFailure(failures);
   }
 
-  private void handleEsSinkError(String context, String reason, long time) {
+  private synchronized void handleEsSinkError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails writerFailure = getFailureDetails(context, reason, time);
     failures.setSinkError(writerFailure);
     jobData.setFailure(failures);
   }
 
-  private void handleJobError(String context, String reason, long time) {
+  private synchronized void handleJobError(String context, String reason, long time) {
     Failure failures = getFailure();
     FailureDetails jobFailure = getFailureDetails(context, reason, time);
     failures.setJobError(jobFailure);
@@ -378,9 +704,7 @@ public class SearchIndexWorkflow implements Runnable {
     if (stopped) {
       jobData.setStatus(EventPublisherJob.Status.STOPPED);
     } else {
-      if (jobData.getFailure().getSinkError() != null
-          || jobData.getFailure().getSourceError() != null
-          || jobData.getFailure().getProcessorError() != null) {
+      if (hasFailures()) {
         jobData.setStatus(EventPublisherJob.Status.FAILED);
       } else {
         jobData.setStatus(EventPublisherJob.Status.COMPLETED);
@@ -388,6 +712,12 @@ public class SearchIndexWorkflow implements Runnable {
     }
   }
 
+  private synchronized boolean hasFailures() {
+    Failure failure = jobData.getFailure();
+    return failure != null
+        && (failure.getSinkError() != null || failure.getSourceError() != null || failure.getProcessorError() != null);
+  }
+
   private Failure getFailure() {
     return jobData.getFailure() != null ? jobData.getFailure() : new Failure();
   }
@@ -399,4 +729,47 @@ public class SearchIndexWorkflow implements Runnable {
   public void stopJob() {
     stopped = true;
   }
+
+  /** Batch read from a source, on its way to Elasticsearch */
+  private static class Batch {
+    private final String entityType;
+    private final boolean dataInsight;
+    private final StepStats sourceStats;
+    private final ResultList<?> data;
+    private final long startTime;
+    private List<String> deletedIds = Collections.emptyList();
+    private BulkRequest requests;
+
+    // Checkpointing of the batch
+    private SourceProgress progress;
+    private int sequence;
+    private String cursor;
+    private boolean last;
+    private int success;
+    private int failed;
+
+    private Batch(String entityType, boolean dataInsight, StepStats sourceStats, ResultList<?> data, long startTime) {
+      this.entityType = entityType;
+      this.dataInsight = dataInsight;
+      this.sourceStats = sourceStats;
+      this.data = data;
+      this.startTime = startTime;
+    }
+
+    private int size() {
+      return data.getData().size() + data.getErrors().size() + deletedIds.size();
+    }
+  }
+
+  /** Batches of a source written out of order, to commit the cursor of a batch once the batches before it are done */
+  private static class SourceProgress {
+    private final SourceCheckpoint checkpoint;
+    private final Map<Integer, Batch> done = new HashMap<>();
+    private int nextSequence = 0;
+    private int committed = -1;
+
+    private SourceProgress(SourceCheckpoint checkpoint) {
+      this.checkpoint = checkpoint;
+    }
+  }
 }
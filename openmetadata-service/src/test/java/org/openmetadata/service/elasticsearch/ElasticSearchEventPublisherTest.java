@@ -0,0 +1,219 @@
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ELASTIC_SEARCH_ENTITY_FQN_STREAM;
+import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ELASTIC_SEARCH_EXTENSION;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openmetadata.schema.entity.teams.User;
+import org.openmetadata.schema.system.EventPublisherJob;
+import org.openmetadata.schema.type.ChangeDescription;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EntityReference;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.schema.type.FieldChange;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.resources.events.EventResource.EventList;
+import org.openmetadata.service.util.JsonUtils;
+
+class ElasticSearchEventPublisherTest {
+  private RestHighLevelClient client;
+  private EntityExtensionTimeSeriesDAO timeSeriesDAO;
+  private ElasticSearchEventPublisher publisher;
+  private final List<BulkRequest> bulkRequests = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    bulkRequests.clear();
+    client = mock(RestHighLevelClient.class);
+    CollectionDAO dao = mock(CollectionDAO.class);
+    timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    when(dao.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    when(timeSeriesDAO.getExtension(ELASTIC_SEARCH_ENTITY_FQN_STREAM, ELASTIC_SEARCH_EXTENSION))
+        .thenReturn(JsonUtils.pojoToJson(new EventPublisherJob().withTimestamp(1L)));
+    publisher = new ElasticSearchEventPublisher(client, dao, 10);
+  }
+
+  @Test
+  void test_writesCoalescedByDocument() throws IOException {
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    UUID id3 = UUID.randomUUID();
+    UUID tableId = UUID.randomUUID();
+    UUID follower1 = UUID.randomUUID();
+    UUID follower2 = UUID.randomUUID();
+    respond();
+
+    publish(
+        userEvent(EventType.ENTITY_CREATED, id1, 0.1),
+        userEvent(EventType.ENTITY_UPDATED, id1, 0.2),
+        userEvent(EventType.ENTITY_UPDATED, id2, 0.2),
+        userEvent(EventType.ENTITY_UPDATED, id1, 0.3),
+        userEvent(EventType.ENTITY_SOFT_DELETED, id2, 0.3),
+        userEvent(EventType.ENTITY_UPDATED, id3, 0.2),
+        followerAdded(tableId, follower1),
+        userEvent(EventType.ENTITY_DELETED, id3, 0.2),
+        followerAdded(tableId, follower2));
+
+    // The writes of a batch are sent in one bulk request, grouped by document
+    verify(client, times(1)).bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+    List<DocWriteRequest<?>> writes = bulkRequests.get(0).requests();
+    assertEquals(6, writes.size());
+
+    // The last update writes every field of the earlier create and update, so it is the only write of the document
+    assertEquals(id1.toString(), writes.get(0).id());
+    assertEquals(0.3, ((UpdateRequest) writes.get(0)).script().getParams().get("version"));
+
+    // A soft delete only sets one field, so it is written after the update
+    assertEquals(id2.toString(), writes.get(1).id());
+    assertTrue(((UpdateRequest) writes.get(1)).scriptedUpsert());
+    assertEquals(id2.toString(), writes.get(2).id());
+    assertEquals(true, ((UpdateRequest) writes.get(2)).script().getParams().get("deleted"));
+
+    // A delete supersedes the earlier writes of the document
+    assertEquals(id3.toString(), writes.get(3).id());
+    assertInstanceOf(DeleteRequest.class, writes.get(3));
+
+    // Followers added in several events are all kept, in order
+    assertEquals(List.of(follower1.toString()), getFollowers(writes.get(4)));
+    assertEquals(List.of(follower2.toString()), getFollowers(writes.get(5)));
+
+    // The refresh policy of the delete moves to the bulk request
+    assertEquals(WriteRequest.RefreshPolicy.WAIT_UNTIL, bulkRequests.get(0).getRefreshPolicy());
+    assertEquals(WriteRequest.RefreshPolicy.NONE, ((DeleteRequest) writes.get(3)).getRefreshPolicy());
+  }
+
+  @Test
+  void test_partialBulkFailure() throws IOException {
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    ChangeEvent[] batch = {
+      userEvent(EventType.ENTITY_DELETED, id1, 0.1), userEvent(EventType.ENTITY_DELETED, id2, 0.1)
+    };
+
+    // A transient failure of one of the documents fails the batch, so that it is retried
+    respond(null, RestStatus.TOO_MANY_REQUESTS);
+    assertThrows(ElasticSearchRetriableException.class, () -> publish(batch));
+    assertTrue(getLastFailure().contains("Failed to write 1 of 2 documents"));
+
+    // The retried batch writes the same documents again, and nothing is left over from the failed attempt
+    respond(null, RestStatus.NOT_FOUND);
+    publish(batch);
+    assertEquals(2, bulkRequests.size());
+    assertEquals(2, bulkRequests.get(1).numberOfActions());
+    assertEquals(id1.toString(), bulkRequests.get(1).requests().get(0).id());
+    assertEquals(id2.toString(), bulkRequests.get(1).requests().get(1).id());
+
+    // Other failures are recorded without failing the batch
+    ArgumentCaptor<String> jobs = ArgumentCaptor.forClass(String.class);
+    verify(timeSeriesDAO, times(2))
+        .update(eq(ELASTIC_SEARCH_ENTITY_FQN_STREAM), eq(ELASTIC_SEARCH_EXTENSION), jobs.capture(), anyLong());
+    EventPublisherJob job = JsonUtils.readValue(jobs.getValue(), EventPublisherJob.class);
+    assertEquals(EventPublisherJob.Status.ACTIVE_WITH_ERROR, job.getStatus());
+    assertTrue(job.getFailure().getSinkError().getLastFailedReason().contains("Failed to write 1 of 2 documents"));
+  }
+
+  private void publish(ChangeEvent... events) throws IOException {
+    publisher.publish(new EventList(List.of(events), null, null, events.length));
+  }
+
+  /** Answer the next bulk request with an item of each status, null for a written document */
+  private void respond(RestStatus... statuses) throws IOException {
+    List<BulkItemResponse> items = new ArrayList<>();
+    boolean failed = false;
+    for (RestStatus status : statuses) {
+      failed |= status != null;
+      BulkItemResponse item = mock(BulkItemResponse.class);
+      when(item.isFailed()).thenReturn(status != null);
+      when(item.status()).thenReturn(status == null ? RestStatus.OK : status);
+      items.add(item);
+    }
+    BulkResponse response = mock(BulkResponse.class);
+    when(response.getItems()).thenReturn(items.toArray(new BulkItemResponse[0]));
+    when(response.hasFailures()).thenReturn(failed);
+    when(response.buildFailureMessage()).thenReturn("failure");
+    doAnswer(
+            i -> {
+              bulkRequests.add(i.getArgument(0));
+              return response;
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+  }
+
+  private String getLastFailure() throws IOException {
+    ArgumentCaptor<String> jobs = ArgumentCaptor.forClass(String.class);
+    verify(timeSeriesDAO, times(1)).update(anyString(), anyString(), jobs.capture(), anyLong());
+    return JsonUtils.readValue(jobs.getValue(), EventPublisherJob.class)
+        .getFailure()
+        .getSinkError()
+        .getLastFailedReason();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<String> getFollowers(DocWriteRequest<?> write) {
+    return (List<String>) ((UpdateRequest) write).script().getParams().get(Entity.FIELD_FOLLOWERS);
+  }
+
+  private static ChangeEvent userEvent(EventType eventType, UUID id, double version) {
+    User user = new User().withId(id).withName("user" + id).withEmail(id + "@open-metadata.org").withVersion(version);
+    return new ChangeEvent()
+        .withEventType(eventType)
+        .withEntityType(Entity.USER)
+        .withEntityId(id)
+        .withEntity(user)
+        .withPreviousVersion(version)
+        .withCurrentVersion(version)
+        .withTimestamp(System.currentTimeMillis());
+  }
+
+  private static ChangeEvent followerAdded(UUID tableId, UUID follower) {
+    FieldChange change =
+        new FieldChange()
+            .withName(Entity.FIELD_FOLLOWERS)
+            .withNewValue(List.of(new EntityReference().withId(follower).withType(Entity.USER)));
+    return new ChangeEvent()
+        .withEventType(EventType.ENTITY_UPDATED)
+        .withEntityType(Entity.TABLE)
+        .withEntityId(tableId)
+        .withPreviousVersion(0.1)
+        .withCurrentVersion(0.1)
+        .withChangeDescription(
+            new ChangeDescription()
+                .withFieldsAdded(List.of(change))
+                .withFieldsUpdated(List.of())
+                .withFieldsDeleted(List.of())
+                .withPreviousVersion(0.1))
+        .withTimestamp(System.currentTimeMillis());
+  }
+}
@@ -0,0 +1,137 @@
+package org.openmetadata.service.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.IndicesClient;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.CreateIndexResponse;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.cluster.metadata.AliasMetadata;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+
+class ElasticSearchIndexDefinitionTest {
+  private static final ElasticSearchIndexType INDEX_TYPE = ElasticSearchIndexType.ENTITY_REPORT_DATA_INDEX;
+  private static final String ALIAS = INDEX_TYPE.indexName;
+
+  private IndicesClient indices;
+  private ElasticSearchIndexDefinition definition;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    RestHighLevelClient client = mock(RestHighLevelClient.class);
+    indices = mock(IndicesClient.class);
+    when(client.indices()).thenReturn(indices);
+    when(indices.create(any(CreateIndexRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenReturn(mock(CreateIndexResponse.class));
+    when(indices.updateAliases(any(IndicesAliasesRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenReturn(mock(AcknowledgedResponse.class));
+    when(indices.delete(any(DeleteIndexRequest.class), eq(RequestOptions.DEFAULT)))
+        .thenReturn(mock(AcknowledgedResponse.class));
+    definition = new ElasticSearchIndexDefinition(client, mock(CollectionDAO.class));
+  }
+
+  @Test
+  void test_firstSwapReplacesConcreteIndex() throws IOException {
+    // Before the first rebuild, the name of the index type is a concrete index and no alias exists
+    when(indices.existsAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(false);
+    when(indices.exists(any(GetIndexRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(true);
+
+    String versionedIndex = definition.createVersionedIndex(INDEX_TYPE, "en");
+    assertTrue(versionedIndex.startsWith(ALIAS + "_"));
+    ArgumentCaptor<CreateIndexRequest> created = ArgumentCaptor.forClass(CreateIndexRequest.class);
+    verify(indices).create(created.capture(), eq(RequestOptions.DEFAULT));
+    assertEquals(versionedIndex, created.getValue().index());
+
+    // The concrete index is removed in the same update of the aliases that adds the alias to the versioned index
+    definition.swapIndex(INDEX_TYPE, versionedIndex);
+    List<AliasActions> actions = getAliasActions();
+    assertEquals(2, actions.size());
+    assertAction(actions.get(0), AliasActions.Type.ADD, versionedIndex);
+    assertEquals(AliasActions.Type.REMOVE_INDEX, actions.get(1).actionType());
+    assertArrayEquals(new String[] {ALIAS}, actions.get(1).indices());
+    verify(indices, never()).delete(any(DeleteIndexRequest.class), any());
+  }
+
+  @Test
+  void test_swapDeletesPreviousIndex() throws IOException {
+    aliasTo(ALIAS + "_1");
+
+    // The alias moves to the new index in one update, then the index it pointed to is deleted
+    definition.swapIndex(INDEX_TYPE, ALIAS + "_2");
+    List<AliasActions> actions = getAliasActions();
+    assertEquals(2, actions.size());
+    assertAction(actions.get(0), AliasActions.Type.ADD, ALIAS + "_2");
+    assertAction(actions.get(1), AliasActions.Type.REMOVE, ALIAS + "_1");
+    assertEquals(List.of(ALIAS + "_1"), getDeletedIndexes());
+  }
+
+  @Test
+  void test_failedSwapKeepsCurrentIndex() throws IOException {
+    aliasTo(ALIAS + "_1");
+    doThrow(new IOException("Elasticsearch is down"))
+        .when(indices)
+        .updateAliases(any(IndicesAliasesRequest.class), eq(RequestOptions.DEFAULT));
+
+    // The alias is not moved and the index it points to stays live
+    assertThrows(IOException.class, () -> definition.swapIndex(INDEX_TYPE, ALIAS + "_2"));
+    verify(indices, never()).delete(any(DeleteIndexRequest.class), any());
+
+    // The abandoned index is deleted, and a failure to delete it is only logged
+    doThrow(new IOException("Elasticsearch is down"))
+        .when(indices)
+        .delete(any(DeleteIndexRequest.class), eq(RequestOptions.DEFAULT));
+    definition.deleteVersionedIndex(ALIAS + "_2");
+    assertEquals(List.of(ALIAS + "_2"), getDeletedIndexes());
+  }
+
+  private void aliasTo(String index) throws IOException {
+    when(indices.existsAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(true);
+    GetAliasesResponse response = mock(GetAliasesResponse.class);
+    when(response.getAliases()).thenReturn(Map.of(index, Set.of(AliasMetadata.builder(ALIAS).build())));
+    when(indices.getAlias(any(GetAliasesRequest.class), eq(RequestOptions.DEFAULT))).thenReturn(response);
+  }
+
+  private List<AliasActions> getAliasActions() throws IOException {
+    ArgumentCaptor<IndicesAliasesRequest> request = ArgumentCaptor.forClass(IndicesAliasesRequest.class);
+    verify(indices).updateAliases(request.capture(), eq(RequestOptions.DEFAULT));
+    return request.getValue().getAliasActions();
+  }
+
+  private List<String> getDeletedIndexes() throws IOException {
+    ArgumentCaptor<DeleteIndexRequest> request = ArgumentCaptor.forClass(DeleteIndexRequest.class);
+    verify(indices).delete(request.capture(), eq(RequestOptions.DEFAULT));
+    return List.of(request.getValue().indices());
+  }
+
+  private static void assertAction(AliasActions action, AliasActions.Type type, String index) {
+    assertEquals(type, action.actionType());
+    assertArrayEquals(new String[] {index}, action.indices());
+    assertArrayEquals(new String[] {ALIAS}, action.aliases());
+  }
+}
@@ -0,0 +1,430 @@
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.events.ChangeEventConsumer.BACKOFF_TIMES;
+import static org.openmetadata.service.events.ChangeEventConsumer.LEASE_TIME;
+import static org.openmetadata.service.events.ChangeEventConsumer.POLL_INTERVAL;
+import static org.openmetadata.service.events.ChangeEventConsumer.TRANSACTION_WINDOW;
+import static org.openmetadata.service.events.ChangeEventLog.CHANGE_EVENT_DEAD_LETTER_EXTENSION;
+import static org.openmetadata.service.events.ChangeEventLog.CHANGE_EVENT_OFFSET_EXTENSION;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.schema.type.EventType;
+import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.service.exception.AlertRetriableException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventRecord;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.resources.events.EventResource.EventList;
+import org.openmetadata.service.util.JsonUtils;
+
+class ChangeEventConsumerTest {
+  private static final String CONSUMER = "consumer";
+
+  /** Records of entity_extension_time_series by extension and entity */
+  private final Map<String, Map<String, String>> rows = new HashMap<>();
+  /** Committed change events by sequence number */
+  private final TreeMap<Long, String> changeEvents = new TreeMap<>();
+
+  private CollectionDAO dao;
+  private EntityExtensionTimeSeriesDAO timeSeriesDAO;
+  private ChangeEventDAO changeEventDAO;
+  private RecordingPublisher publisher;
+
+  @BeforeEach
+  void setUp() {
+    rows.clear();
+    changeEvents.clear();
+    dao = mock(CollectionDAO.class);
+    timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    changeEventDAO = mock(ChangeEventDAO.class);
+    when(dao.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    when(timeSeriesDAO.getExtension(anyString(), anyString()))
+        .thenAnswer(i -> getRows(i.getArgument(1)).get(i.<String>getArgument(0)));
+    doAnswer(i -> getRows(i.getArgument(1)).put(i.getArgument(0), i.getArgument(3)))
+        .when(timeSeriesDAO)
+        .insert(anyString(), anyString(), anyString(), anyString());
+    // Records are only updated when the timestamp matches, the same as the query
+    when(timeSeriesDAO.update(anyString(), anyString(), anyString(), anyLong()))
+        .thenAnswer(
+            i -> {
+              Map<String, String> extensionRows = getRows(i.getArgument(1));
+              String stored = extensionRows.get(i.<String>getArgument(0));
+              if (stored == null
+                  || JsonUtils.readValue(stored, ChangeEventOffset.class).getTimestamp() != i.<Long>getArgument(3)) {
+                return 0;
+              }
+              extensionRows.put(i.getArgument(0), i.getArgument(2));
+              return 1;
+            });
+    when(changeEventDAO.listAfterOffset(anyLong(), anyInt()))
+        .thenAnswer(
+            i ->
+                changeEvents.tailMap(i.<Long>getArgument(0), false).entrySet().stream()
+                    .limit(i.<Integer>getArgument(1))
+                    .map(e -> ChangeEventRecord.builder().offset(e.getKey()).json(e.getValue()).build())
+                    .collect(Collectors.toList()));
+    publisher = new RecordingPublisher();
+  }
+
+  @Test
+  void test_offsetStoredAfterPublish() throws IOException {
+    long now = System.currentTimeMillis();
+    when(changeEventDAO.getOffsetBefore(anyLong())).thenReturn(2L);
+    addEvents(1, 2, 3, 4);
+    // The offset is not moved while the batch is being published
+    publisher.onPublish = events -> assertEquals(2L, getSequence());
+
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    assertEquals(0, (long) consumer.consumeNext(now).join());
+
+    // A new consumer starts after the events recorded before it was created
+    assertEquals(List.of(3L, 4L), publisher.getPublished());
+    ChangeEventOffset offset = getOffset();
+    assertEquals(4L, (long) offset.getSequence());
+    assertEquals(timestamp(4), offset.getOffset());
+    assertEquals("server", offset.getOwner());
+    assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(now).join());
+    assertEquals(2, publisher.getPublished().size());
+  }
+
+  @Test
+  void test_offsetStoredOnceAsyncPublishCompletes() throws IOException {
+    long now = System.currentTimeMillis();
+    addEvents(1, 2);
+    List<CompletableFuture<Void>> responses = new ArrayList<>();
+    RecordingPublisher asyncPublisher =
+        new RecordingPublisher() {
+          @Override
+          public CompletableFuture<Void> publishAsync(EventList events) {
+            CompletableFuture<Void> response = new CompletableFuture<>();
+            responses.add(response);
+            return response.thenCompose(v -> super.publishAsync(events));
+          }
+        };
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", asyncPublisher);
+
+    // The consumer returns without waiting for the publisher, and the offset stays before the batch meanwhile
+    CompletableFuture<Long> next = consumer.consumeNext(now);
+    assertFalse(next.isDone());
+    assertEquals(0L, getSequence());
+
+    // A retriable failure of the publisher parks the batch once it arrives
+    responses.get(0).completeExceptionally(new AlertRetriableException("unavailable"));
+    assertEquals(POLL_INTERVAL, (long) next.join());
+    assertEquals(1, getOffset().getAttempts());
+    assertEquals(0L, getSequence());
+
+    next = consumer.consumeNext(getOffset().getNextAttempt());
+    assertFalse(next.isDone());
+    responses.get(1).complete(null);
+    assertEquals(0, (long) next.join());
+    assertEquals(List.of(1L, 2L), asyncPublisher.getPublished());
+    assertEquals(2L, getSequence());
+    assertEquals(0, getOffset().getAttempts());
+  }
+
+  @Test
+  void test_leaseHandover() throws IOException {
+    long now = System.currentTimeMillis();
+    storeOffset(offset(1L, "other", now + LEASE_TIME));
+    addEvents(1, 2, 3);
+
+    // Another server holds the lease on the offset
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(now).join());
+    assertTrue(publisher.getPublished().isEmpty());
+    assertEquals("other", getOffset().getOwner());
+
+    // Once the lease expires, this server takes over from the offset of the other server
+    storeOffset(offset(1L, "other", now - 1));
+    consumer.consumeNext(now).join();
+    assertEquals(List.of(2L, 3L), publisher.getPublished());
+    assertEquals("server", getOffset().getOwner());
+    assertEquals(3L, getSequence());
+
+    // The other server lost the lease, so it does not move the offset
+    RecordingPublisher otherPublisher = new RecordingPublisher();
+    ChangeEventConsumer other = new ChangeEventConsumer(dao, CONSUMER, "other", otherPublisher);
+    assertEquals(POLL_INTERVAL, (long) other.consumeNext(now).join());
+    assertTrue(otherPublisher.getPublished().isEmpty());
+    assertEquals("server", getOffset().getOwner());
+  }
+
+  @Test
+  void test_gapSkippedAfterTransactionWindow() throws IOException {
+    long now = System.currentTimeMillis();
+    storeOffset(offset(0L, "server", 0));
+    // The events 3 and 5 are not committed yet
+    addEvents(1, 2, 4, 6);
+
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    consumer.consumeNext(now).join();
+    assertEquals(List.of(1L, 2L), publisher.getPublished());
+
+    // The events are delivered in order, so the consumer waits for the missing event
+    assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(now + 1000).join());
+    assertEquals(2, publisher.getPublished().size());
+
+    // The event committed late is delivered, then the consumer waits for the next missing event
+    addEvents(3);
+    consumer.consumeNext(now + 2000).join();
+    assertEquals(List.of(1L, 2L, 3L, 4L), publisher.getPublished());
+
+    // An event that is still missing once an event after it was read longer than the transaction window ago was rolled
+    // back and is skipped
+    assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(now + TRANSACTION_WINDOW - 1).join());
+    consumer.consumeNext(now + TRANSACTION_WINDOW).join();
+    assertEquals(List.of(1L, 2L, 3L, 4L, 6L), publisher.getPublished());
+    assertEquals(6L, getSequence());
+  }
+
+  @Test
+  void test_multipleGapsSkippedTogether() throws IOException {
+    long now = System.currentTimeMillis();
+    storeOffset(offset(0L, "server", 0));
+    addEvents(2, 4, 5);
+
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(now).join());
+    assertTrue(publisher.getPublished().isEmpty());
+
+    // An event seen later does not hold back the skipping of the gaps before the events seen earlier
+    addEvents(8);
+    assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(now + TRANSACTION_WINDOW / 2).join());
+    consumer.consumeNext(now + TRANSACTION_WINDOW).join();
+    assertEquals(List.of(2L, 4L, 5L), publisher.getPublished());
+    assertEquals(5L, getSequence());
+
+    consumer.consumeNext(now + TRANSACTION_WINDOW * 3 / 2).join();
+    assertEquals(List.of(2L, 4L, 5L, 8L), publisher.getPublished());
+  }
+
+  @Test
+  void test_legacyOffsetStartsAtItsTime() throws IOException {
+    long now = System.currentTimeMillis();
+    // Offset stored before events had sequence numbers, at the time of the event 3
+    ChangeEventOffset legacy = offset(null, "other", 0);
+    legacy.setOffset(timestamp(3));
+    storeOffset(legacy);
+    addEvents(1, 2, 3, 4);
+    // The events recorded from the time of the offset on start after the event 2
+    when(changeEventDAO.getOffsetBefore(timestamp(3))).thenReturn(2L);
+
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    consumer.consumeNext(now).join();
+
+    // The event at the time of the offset may not have been delivered, it is delivered again
+    assertEquals(List.of(3L, 4L), publisher.getPublished());
+    assertEquals(4L, getSequence());
+  }
+
+  @Test
+  void test_failedBatchRetriedThenDeadLettered() throws IOException {
+    long now = System.currentTimeMillis();
+    storeOffset(offset(0L, "server", 0));
+    addEvents(1, 2);
+    publisher.failure = new AlertRetriableException("unavailable");
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+
+    // The batch is parked for the next backoff time after each failure, and the offset stays before it
+    long attemptTime = now;
+    for (int attempt = 0; attempt < BACKOFF_TIMES.length; attempt++) {
+      long before = System.currentTimeMillis();
+      assertEquals(POLL_INTERVAL, (long) consumer.consumeNext(attemptTime).join());
+      long after = System.currentTimeMillis();
+      ChangeEventOffset offset = getOffset();
+      assertEquals(0L, (long) offset.getSequence());
+      assertEquals(attempt + 1, offset.getAttempts());
+      assertTrue(offset.getNextAttempt() >= before + BACKOFF_TIMES[attempt]);
+      assertTrue(offset.getNextAttempt() <= after + BACKOFF_TIMES[attempt]);
+      assertEquals(offset.getNextAttempt(), (long) publisher.retryScheduled.get(attempt));
+
+      // The consumer wakes up for the next attempt, or to renew its lease first
+      assertEquals(1, (long) consumer.consumeNext(offset.getNextAttempt() - 1).join());
+      long parkedAt = offset.getNextAttempt() - BACKOFF_TIMES[attempt];
+      assertEquals(Math.min(BACKOFF_TIMES[attempt], LEASE_TIME / 4), (long) consumer.consumeNext(parkedAt).join());
+      attemptTime = offset.getNextAttempt();
+    }
+    assertEquals(BACKOFF_TIMES.length, publisher.attempts);
+    assertNull(getRows(CHANGE_EVENT_DEAD_LETTER_EXTENSION).get(CONSUMER));
+
+    // The offset does not move past the batch when it cannot be stored as a dead letter
+    doThrow(new RuntimeException("insert failed"))
+        .when(timeSeriesDAO)
+        .insert(eq(CONSUMER), eq(CHANGE_EVENT_DEAD_LETTER_EXTENSION), anyString(), anyString());
+    long lastAttempt = attemptTime;
+    assertThrows(RuntimeException.class, () -> consumer.consumeNext(lastAttempt).join());
+    assertEquals(0L, getSequence());
+
+    // Once the retries are used up, the batch is stored as a dead letter and the offset moves past it
+    doAnswer(i -> getRows(i.getArgument(1)).put(i.getArgument(0), i.getArgument(3)))
+        .when(timeSeriesDAO)
+        .insert(eq(CONSUMER), eq(CHANGE_EVENT_DEAD_LETTER_EXTENSION), anyString(), anyString());
+    ChangeEventConsumer restarted = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    assertEquals(0, (long) restarted.consumeNext(lastAttempt).join());
+    ChangeEventDeadLetter deadLetter =
+        JsonUtils.readValue(getRows(CHANGE_EVENT_DEAD_LETTER_EXTENSION).get(CONSUMER), ChangeEventDeadLetter.class);
+    assertEquals(CONSUMER, deadLetter.getConsumerId());
+    assertEquals("unavailable", deadLetter.getFailure());
+    assertEquals(BACKOFF_TIMES.length + 1, deadLetter.getAttempts());
+    assertEquals(List.of(timestamp(1), timestamp(2)), timestamps(deadLetter.getEvents()));
+    ChangeEventOffset offset = getOffset();
+    assertEquals(2L, (long) offset.getSequence());
+    assertEquals(0, offset.getAttempts());
+    assertEquals(0, offset.getNextAttempt());
+    assertTrue(publisher.getPublished().isEmpty());
+  }
+
+  @Test
+  void test_replayOfOffsetRange() throws IOException {
+    long now = System.currentTimeMillis();
+    ChangeEventOffset offset = offset(6L, "server", 0);
+    ChangeEventReplay replay = new ChangeEventReplay();
+    replay.setFromOffset(2L);
+    replay.setToOffset(4L);
+    replay.setPosition(1);
+    replay.setEventsPerSecond(1000);
+    replay.setStatus(ChangeEventReplay.Status.RUNNING);
+    offset.setReplay(replay);
+    storeOffset(offset);
+    addEvents(1, 2, 3, 4, 5, 6);
+
+    // The events in the range are delivered again, rate limited, and the offset stays where it is
+    ChangeEventConsumer consumer = new ChangeEventConsumer(dao, CONSUMER, "server", publisher);
+    assertEquals(3, (long) consumer.consumeNext(now).join());
+    assertEquals(List.of(2L, 3L, 4L), publisher.getPublished());
+    assertEquals(6L, getSequence());
+    assertEquals(4, getOffset().getReplay().getPosition());
+    assertEquals(3, getOffset().getReplay().getEventsReplayed());
+
+    // Then the replay completes and the consumer goes on after its offset
+    assertEquals(0, (long) consumer.consumeNext(now).join());
+    assertEquals(ChangeEventReplay.Status.COMPLETED, getOffset().getReplay().getStatus());
+    addEvents(7);
+    consumer.consumeNext(now).join();
+    assertEquals(List.of(2L, 3L, 4L, 7L), publisher.getPublished());
+  }
+
+  private static List<Long> timestamps(List<ChangeEvent> events) {
+    return events.stream().map(ChangeEvent::getTimestamp).collect(Collectors.toList());
+  }
+
+  private Map<String, String> getRows(String extension) {
+    return rows.computeIfAbsent(extension, e -> new HashMap<>());
+  }
+
+  private void addEvents(long... sequences) throws IOException {
+    for (long sequence : sequences) {
+      ChangeEvent event = new ChangeEvent().withEventType(EventType.ENTITY_UPDATED).withTimestamp(timestamp(sequence));
+      changeEvents.put(sequence, JsonUtils.pojoToJson(event));
+    }
+  }
+
+  /** Events are recorded one millisecond apart */
+  private static long timestamp(long sequence) {
+    return 1000 + sequence;
+  }
+
+  private static ChangeEventOffset offset(Long sequence, String owner, long leaseExpiry) {
+    ChangeEventOffset offset = new ChangeEventOffset();
+    offset.setOffset(sequence == null ? 0 : timestamp(sequence));
+    offset.setSequence(sequence);
+    offset.setOwner(owner);
+    offset.setLeaseExpiry(leaseExpiry);
+    offset.setTimestamp(System.nanoTime());
+    return offset;
+  }
+
+  private void storeOffset(ChangeEventOffset offset) throws IOException {
+    getRows(CHANGE_EVENT_OFFSET_EXTENSION).put(CONSUMER, JsonUtils.pojoToJson(offset));
+  }
+
+  private ChangeEventOffset getOffset() throws IOException {
+    String json = getRows(CHANGE_EVENT_OFFSET_EXTENSION).get(CONSUMER);
+    assertNotNull(json);
+    return JsonUtils.readValue(json, ChangeEventOffset.class);
+  }
+
+  private long getSequence() throws IOException {
+    return getOffset().getSequence();
+  }
+
+  /** Publisher that records the timestamps of the published events, or fails */
+  static class RecordingPublisher implements EventPublisher {
+    private final List<ChangeEvent> published = new ArrayList<>();
+    private final List<Long> retryScheduled = new ArrayList<>();
+    private PublishCallback onPublish = events -> {};
+    private Exception failure;
+    private int attempts;
+
+    @Override
+    public void publish(EventList events) throws Exception {
+      attempts++;
+      onPublish.accept(events.getData());
+      if (failure != null) {
+        throw failure;
+      }
+      published.addAll(events.getData());
+    }
+
+    @Override
+    public int getBatchSize() {
+      return 10;
+    }
+
+    @Override
+    public void onRetryScheduled(long nextAttemptTime) {
+      retryScheduled.add(nextAttemptTime);
+    }
+
+    @Override
+    public void onEvent(ChangeEventHolder holder, long sequence, boolean endOfBatch) {
+      // Events are read from the change event log, not the ring buffer
+    }
+
+    @Override
+    public void onStart() {
+      // Nothing to start
+    }
+
+    @Override
+    public void onShutdown() {
+      // Nothing to shut down
+    }
+
+    /** Sequence numbers of the published events */
+    List<Long> getPublished() {
+      return published.stream().map(event -> event.getTimestamp() - 1000).collect(Collectors.toList());
+    }
+  }
+
+  interface PublishCallback {
+    void accept(List<ChangeEvent> events) throws Exception;
+  }
+}
@@ -0,0 +1,66 @@
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+
+class ChangeEventWriterTest {
+  private final List<String> inserted = Collections.synchronizedList(new ArrayList<>());
+
+  private ChangeEventDAO getChangeEventDAO(CollectionDAO dao) {
+    ChangeEventDAO changeEventDAO = mock(ChangeEventDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    doAnswer(i -> inserted.addAll(i.getArgument(0))).when(changeEventDAO).insertBatch(anyList());
+    doAnswer(i -> inserted.add(i.getArgument(0))).when(changeEventDAO).insert(anyString());
+    return changeEventDAO;
+  }
+
+  @Test
+  void test_eventsWrittenInOrderBeforeClose() throws InterruptedException {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    getChangeEventDAO(dao);
+    ChangeEventWriter writer = new ChangeEventWriter(dao);
+    List<String> events = IntStream.range(0, 1000).mapToObj(i -> "{\"id\":" + i + "}").collect(Collectors.toList());
+    for (String event : events) {
+      writer.write(event);
+    }
+    writer.close();
+    assertEquals(events, inserted);
+  }
+
+  @Test
+  void test_failedBatchWrittenOneByOne() throws InterruptedException {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    ChangeEventDAO changeEventDAO = getChangeEventDAO(dao);
+    doThrow(new RuntimeException("batch failed")).when(changeEventDAO).insertBatch(anyList());
+    doAnswer(
+            i -> {
+              if (!i.getArgument(0).equals("bad")) {
+                inserted.add(i.getArgument(0));
+                return null;
+              }
+              throw new RuntimeException("insert failed");
+            })
+        .when(changeEventDAO)
+        .insert(anyString());
+    ChangeEventWriter writer = new ChangeEventWriter(dao);
+    writer.write("e1");
+    writer.write("bad");
+    writer.write("e2");
+    writer.close();
+    assertEquals(List.of("e1", "e2"), inserted);
+  }
+}
@@ -0,0 +1,103 @@
+package org.openmetadata.service.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.EventHandler;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.ChangeEvent;
+import org.openmetadata.service.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.service.events.EventPublisherConfiguration.OverflowPolicy;
+import org.openmetadata.service.util.MicrometerBundleSingleton;
+
+class EventPubSubTest {
+  private static final int RING_BUFFER_SIZE = 4;
+  private static PrometheusMeterRegistry registry;
+
+  @BeforeAll
+  static void setUp() {
+    registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    MicrometerBundleSingleton.prometheusMeterRegistry = registry;
+    EventPublisherConfiguration config = new EventPublisherConfiguration();
+    config.setRingBufferSize(RING_BUFFER_SIZE);
+    config.setOverflowPolicy(OverflowPolicy.DROP);
+    EventPubSub.start(config);
+  }
+
+  @AfterAll
+  static void tearDown() throws InterruptedException {
+    EventPubSub.shutdown();
+    MicrometerBundleSingleton.prometheusMeterRegistry = null;
+  }
+
+  @Test
+  void test_fullRingBufferDropsEvents() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch handledAll = new CountDownLatch(RING_BUFFER_SIZE);
+    List<UUID> handled = Collections.synchronizedList(new ArrayList<>());
+    BatchEventProcessor<ChangeEventHolder> processor =
+        EventPubSub.addEventHandler(
+            (holder, sequence, endOfBatch) -> {
+              release.await();
+              handled.add(holder.getEvent().getEntityId());
+              handledAll.countDown();
+            });
+
+    // The processor is stuck on the first event, so the ring buffer is full after RING_BUFFER_SIZE events
+    List<UUID> published = new ArrayList<>();
+    for (int i = 0; i < RING_BUFFER_SIZE; i++) {
+      UUID id = UUID.randomUUID();
+      assertTrue(EventPubSub.tryPublish(new ChangeEvent().withEntityId(id)));
+      published.add(id);
+    }
+    assertFalse(EventPubSub.tryPublish(new ChangeEvent().withEntityId(UUID.randomUUID())));
+    assertEquals(RING_BUFFER_SIZE, registry.get("event_pubsub_processor_lag").gauge().value());
+    assertEquals(0, registry.get("event_pubsub_remaining_capacity").gauge().value());
+
+    // With the DROP overflow policy, publishing to the full ring buffer returns without waiting
+    EventPubSub.publish(new ChangeEvent().withEntityId(UUID.randomUUID()));
+    assertEquals(1, registry.get("event_pubsub_dropped_events").counter().count());
+
+    release.countDown();
+    assertTrue(handledAll.await(10, TimeUnit.SECONDS));
+    assertEquals(published, handled);
+
+    EventPubSub.removeProcessor(processor);
+    processor.halt();
+    assertTrue(registry.find("event_pubsub_processor_lag").gauges().isEmpty());
+  }
+
+  @Test
+  void test_lagOfEachProcessor() {
+    BatchEventProcessor<ChangeEventHolder> processor1 = EventPubSub.addEventHandler(new NoopHandler());
+    BatchEventProcessor<ChangeEventHolder> processor2 = EventPubSub.addEventHandler(new NoopHandler());
+
+    // Handlers of the same class have a lag gauge each
+    assertEquals(2, registry.find("event_pubsub_processor_lag").tag("processor", "NoopHandler").gauges().size());
+
+    EventPubSub.removeProcessor(processor1);
+    processor1.halt();
+    assertEquals(1, registry.find("event_pubsub_processor_lag").tag("processor", "NoopHandler").gauges().size());
+    EventPubSub.removeProcessor(processor2);
+    processor2.halt();
+  }
+
+  static class NoopHandler implements EventHandler<ChangeEventHolder> {
+    @Override
+    public void onEvent(ChangeEventHolder holder, long sequence, boolean endOfBatch) {
+      // Events are not handled
+    }
+  }
+}
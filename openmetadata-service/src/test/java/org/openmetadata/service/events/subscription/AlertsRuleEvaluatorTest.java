@@ -15,6 +15,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
 import org.openmetadata.schema.api.data.CreateTable;
 import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.entity.events.EventFilterRule;
+import org.openmetadata.schema.entity.events.EventFilterRule.Effect;
 import org.openmetadata.schema.tests.type.TestCaseResult;
 import org.openmetadata.schema.tests.type.TestCaseStatus;
 import org.openmetadata.schema.type.ChangeDescription;
@@ -28,6 +30,7 @@ import org.openmetadata.service.OpenMetadataApplicationTest;
 import org.openmetadata.service.resources.EntityResourceTest;
 import org.openmetadata.service.resources.databases.TableResourceTest;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 class AlertsRuleEvaluatorResourceTest extends OpenMetadataApplicationTest {
@@ -50,6 +53,24 @@ class AlertsRuleEvaluatorResourceTest extends OpenMetadataApplicationTest {
     assertFalse(evaluateExpression("matchAnySource('bot')", evaluationContext));
   }
 
+  @Test
+  void test_alertExpressionBuiltOnce() {
+    List<EventFilterRule> rules =
+        List.of(
+            new EventFilterRule().withCondition("matchAnySource('alert')").withEffect(Effect.INCLUDE),
+            new EventFilterRule().withCondition("matchAnyEventType('entityDeleted')").withEffect(Effect.EXCLUDE));
+    Expression expression = AlertUtil.buildAlertExpression(rules);
+    ChangeEvent changeEvent = new ChangeEvent().withEntityType("alert").withEventType(EventType.ENTITY_CREATED);
+    ChangeEvent deleteEvent = new ChangeEvent().withEntityType("alert").withEventType(EventType.ENTITY_DELETED);
+    // Evaluate past the threshold after which SpEL compiles the expression
+    for (int i = 0; i < 200; i++) {
+      assertTrue(AlertUtil.evaluateAlertConditions(changeEvent, expression));
+      assertFalse(AlertUtil.evaluateAlertConditions(deleteEvent, expression));
+    }
+    assertFalse(AlertUtil.evaluateAlertConditions(new ChangeEvent().withEntityType("bot"), expression));
+    assertTrue(AlertUtil.evaluateAlertConditions(changeEvent, AlertUtil.buildAlertExpression(List.of())));
+  }
+
   @Test
   void test_matchAnyOwnerName(TestInfo test) throws IOException {
     // Create Table Entity
@@ -0,0 +1,173 @@
+package org.openmetadata.service.events.subscription;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openmetadata.service.events.subscription.WebhookClient.MAX_QUEUED_REQUESTS_PER_DESTINATION;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class WebhookClientTest {
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private final List<String> received = Collections.synchronizedList(new ArrayList<>());
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws IOException {
+    received.clear();
+    inFlight.set(0);
+    maxInFlight.set(0);
+    serverExecutor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    server.setExecutor(serverExecutor);
+    server.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  @Test
+  void test_chatMessagesPostedInOrderOneAtATime() {
+    server.createContext("/chat", exchange -> respond(exchange, 200, 20));
+    URI endpoint = getUri("/chat");
+
+    // The messages are posted without waiting for the responses to the earlier ones
+    List<String> messages = new ArrayList<>();
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      messages.add("{\"message\":" + i + "}");
+      responses.add(WebhookClient.post(endpoint, messages.get(i), Map.of(), 5, 5, true));
+    }
+    CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+
+    // The endpoint receives the messages in the order they were posted, one at a time
+    assertEquals(messages, received);
+    assertEquals(1, maxInFlight.get());
+    responses.forEach(response -> assertEquals(200, response.join().statusCode()));
+  }
+
+  @Test
+  void test_requestsToTheSameHostSentTogether() {
+    server.createContext("/webhook", exchange -> respond(exchange, 200, 200));
+    URI endpoint = getUri("/webhook");
+
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      responses.add(WebhookClient.post(endpoint, "{}", Map.of(), 5, 5, false));
+    }
+    CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+
+    // Messages that are not posted in order do not wait for each other
+    assertTrue(maxInFlight.get() > 1);
+  }
+
+  @Test
+  void test_queueOfDestinationBounded() {
+    CountDownLatch release = new CountDownLatch(1);
+    server.createContext(
+        "/slow",
+        exchange -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          respond(exchange, 200, 0);
+        });
+    URI endpoint = getUri("/slow");
+
+    // One request is in flight and the others wait in the queue of the endpoint without holding a thread
+    List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+    for (int i = 0; i <= MAX_QUEUED_REQUESTS_PER_DESTINATION; i++) {
+      responses.add(WebhookClient.post(endpoint, "{}", Map.of(), 5, 30, true));
+    }
+    assertTrue(responses.stream().noneMatch(CompletableFuture::isDone));
+
+    // Once the queue is full, the request fails right away
+    CompletableFuture<HttpResponse<String>> rejected = WebhookClient.post(endpoint, "{}", Map.of(), 5, 30, true);
+    assertTrue(rejected.isCompletedExceptionally());
+    assertInstanceOf(HttpTimeoutException.class, getFailure(rejected));
+
+    // The queued requests are sent when the request in flight completes
+    release.countDown();
+    CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+    assertEquals(MAX_QUEUED_REQUESTS_PER_DESTINATION + 1, received.size());
+  }
+
+  @Test
+  void test_failuresPropagated() throws IOException {
+    server.createContext("/error", exchange -> respond(exchange, 500, 0));
+    server.createContext("/timeout", exchange -> respond(exchange, 200, 3000));
+
+    // Error responses complete the request with their status, for the publisher to decide whether to retry
+    assertEquals(500, WebhookClient.post(getUri("/error"), "{}", Map.of(), 5, 5, true).join().statusCode());
+
+    // A response that takes longer than the read timeout fails the request, and the next message is still sent
+    URI timeout = getUri("/timeout");
+    CompletableFuture<HttpResponse<String>> timedOut = WebhookClient.post(timeout, "{}", Map.of(), 5, 1, true);
+    CompletableFuture<HttpResponse<String>> next = WebhookClient.post(timeout, "{}", Map.of(), 5, 5, true);
+    assertInstanceOf(HttpTimeoutException.class, getFailure(timedOut));
+    assertFalse(next.isCompletedExceptionally());
+    assertEquals(200, next.join().statusCode());
+
+    // Connection failures fail the request
+    URI closed;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      closed = URI.create("http://localhost:" + socket.getLocalPort() + "/closed");
+    }
+    assertInstanceOf(ConnectException.class, getFailure(WebhookClient.post(closed, "{}", Map.of(), 5, 5, true)));
+  }
+
+  /** Record the request and answer it after the delay, it is no longer counted in flight once answered */
+  private void respond(HttpExchange exchange, int status, long delay) throws IOException {
+    maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+    try {
+      received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+      TimeUnit.MILLISECONDS.sleep(delay);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      inFlight.decrementAndGet();
+    }
+    exchange.sendResponseHeaders(status, -1);
+    exchange.close();
+  }
+
+  private static Throwable getFailure(CompletableFuture<HttpResponse<String>> response) {
+    return assertThrows(ExecutionException.class, () -> response.get(30, TimeUnit.SECONDS)).getCause();
+  }
+
+  private URI getUri(String path) {
+    return URI.create("http://localhost:" + server.getAddress().getPort() + path);
+  }
+}
@@ -0,0 +1,91 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.Entity;
+
+class EntityCacheTest {
+  @BeforeAll
+  static void setUp() {
+    EntityCacheConfiguration config = new EntityCacheConfiguration();
+    config.setEnabled(true);
+    config.setEntityTypes(List.of(Entity.DATABASE));
+    EntityCache.initialize(config);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    EntityCache.initialize(new EntityCacheConfiguration());
+  }
+
+  @Test
+  void test_onlyConfiguredEntityTypesAreCached() {
+    assertNotNull(EntityCache.create(Entity.DATABASE));
+    assertNull(EntityCache.create(Entity.TABLE));
+  }
+
+  @Test
+  void test_cachedEntityReadByIdAndName() {
+    EntityCache cache = EntityCache.create(Entity.DATABASE);
+    UUID id = UUID.randomUUID();
+    assertNull(cache.getById(id));
+
+    cache.put(id, "service.db", "{\"version\":0.1}", cache.getInvalidationCount());
+    assertEquals("{\"version\":0.1}", cache.getById(id));
+    assertEquals("{\"version\":0.1}", cache.getByName("service.db"));
+
+    // A write drops the entity, and the next read loads it again
+    cache.invalidate(id);
+    assertNull(cache.getById(id));
+    assertNull(cache.getByName("service.db"));
+  }
+
+  @Test
+  void test_renamedEntityNotReadByOldName() {
+    EntityCache cache = EntityCache.create(Entity.DATABASE);
+    UUID id = UUID.randomUUID();
+    cache.put(id, "service.db", "{\"version\":0.1}", cache.getInvalidationCount());
+    cache.put(id, "service.renamed", "{\"version\":0.2}", cache.getInvalidationCount());
+
+    assertNull(cache.getByName("service.db"));
+    assertEquals("{\"version\":0.2}", cache.getByName("service.renamed"));
+  }
+
+  @Test
+  void test_rowReadBeforeInvalidationNotCached() {
+    EntityCache cache = EntityCache.create(Entity.DATABASE);
+    UUID id = UUID.randomUUID();
+
+    // The reader missed the cache and read the row, then a write invalidated the entity before the row was cached
+    long invalidationCount = cache.getInvalidationCount();
+    cache.invalidate(id);
+    cache.put(id, "service.db", "{\"version\":0.1}", invalidationCount);
+    assertNull(cache.getById(id));
+    assertNull(cache.getByName("service.db"));
+
+    // A read started after the invalidation is cached
+    cache.put(id, "service.db", "{\"version\":0.2}", cache.getInvalidationCount());
+    assertEquals("{\"version\":0.2}", cache.getById(id));
+  }
+
+  @Test
+  void test_invalidateAll() {
+    EntityCache cache = EntityCache.create(Entity.DATABASE);
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    cache.put(id1, "service.db1", "{}", cache.getInvalidationCount());
+    cache.put(id2, "service.db2", "{}", cache.getInvalidationCount());
+
+    cache.invalidateAll();
+    assertNull(cache.getById(id1));
+    assertNull(cache.getById(id2));
+    assertNull(cache.getByName("service.db1"));
+  }
+}
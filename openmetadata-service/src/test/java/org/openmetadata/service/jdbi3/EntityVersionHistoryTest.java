@@ -0,0 +1,85 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import javax.json.JsonValue;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.service.util.EntityUtil;
+import org.openmetadata.service.util.JsonUtils;
+
+class EntityVersionHistoryTest {
+  private static final String ENTITY_TYPE = "table";
+  private final Map<String, String> rows = new HashMap<>();
+
+  private EntityExtensionDAO getDao() {
+    EntityExtensionDAO dao = mock(EntityExtensionDAO.class);
+    doAnswer(i -> rows.put(i.getArgument(1), i.getArgument(3)))
+        .when(dao)
+        .insert(anyString(), anyString(), anyString(), anyString());
+    when(dao.getExtension(anyString(), anyString())).thenAnswer(i -> rows.get(i.<String>getArgument(1)));
+    return dao;
+  }
+
+  @Test
+  void test_versionsStoredAsDeltas() {
+    EntityExtensionDAO dao = getDao();
+    UUID id = UUID.randomUUID();
+    Map<Double, String> versions = new HashMap<>();
+    Double previousVersion = null;
+    for (int i = 1; i <= 2 * EntityVersionHistory.SNAPSHOT_INTERVAL + 1; i++) {
+      Double version = BigDecimal.valueOf(i, 1).doubleValue();
+      String json =
+          String.format(
+              "{\"id\":\"%s\",\"version\":%s,\"description\":\"description %d\",\"columns\":[%s]%s}",
+              id,
+              version,
+              i,
+              i % 2 == 0 ? "{\"name\":\"c1\"},{\"name\":\"c2\"}" : "{\"name\":\"c1\"}",
+              previousVersion == null
+                  ? ""
+                  : String.format(",\"changeDescription\":{\"previousVersion\":%s}", previousVersion));
+      clearInvocations(dao);
+      EntityVersionHistory.storeVersion(dao, ENTITY_TYPE, id, version, previousVersion, json);
+      // Only the full copy of the previous version is read to store a version
+      verify(dao, times(previousVersion == null ? 0 : 1)).getExtension(anyString(), anyString());
+      versions.put(version, json);
+      previousVersion = version;
+    }
+
+    // Latest version and the version ending every run of SNAPSHOT_INTERVAL - 1 deltas are stored in full
+    assertTrue(isDelta(0.1));
+    assertTrue(isDelta(0.2));
+    assertFalse(isDelta(BigDecimal.valueOf(EntityVersionHistory.SNAPSHOT_INTERVAL, 1).doubleValue()));
+    assertTrue(isDelta(BigDecimal.valueOf(EntityVersionHistory.SNAPSHOT_INTERVAL + 1L, 1).doubleValue()));
+    assertFalse(isDelta(previousVersion));
+
+    // Every version is rebuilt as it was stored, both from the database and from the listed versions
+    Map<Double, String> storedVersions = new HashMap<>();
+    rows.forEach((extension, json) -> storedVersions.put(EntityUtil.getVersion(extension), json));
+    for (Map.Entry<Double, String> entry : versions.entrySet()) {
+      JsonValue expected = JsonUtils.readJson(entry.getValue());
+      assertEquals(expected, JsonUtils.readJson(EntityVersionHistory.getVersion(dao, ENTITY_TYPE, id, entry.getKey())));
+      assertEquals(expected, JsonUtils.readJson(EntityVersionHistory.getVersion(storedVersions, entry.getKey())));
+    }
+    assertNull(EntityVersionHistory.getVersion(dao, ENTITY_TYPE, id, 10.0));
+  }
+
+  private boolean isDelta(Double version) {
+    return rows.get(EntityUtil.getVersionExtension(ENTITY_TYPE, version)).contains("@om-version-delta");
+  }
+}
@@ -0,0 +1,85 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Include;
+
+class ListCountCacheTest {
+  @SuppressWarnings("unchecked")
+  private final EntityDAO<Table> dao = mock(EntityDAO.class);
+
+  @Test
+  void test_unfilteredCountCachedUntilInvalidated() {
+    ListCountCache cache = new ListCountCache(60);
+    when(dao.listCount(any(ListFilter.class))).thenReturn(10, 11);
+
+    assertEquals(10, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+    assertEquals(10, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+    verify(dao, times(1)).listCount(any(ListFilter.class));
+
+    // A write of an entity of the type drops the counts
+    cache.invalidate();
+    assertEquals(11, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+  }
+
+  @Test
+  void test_countsCachedByInclude() {
+    ListCountCache cache = new ListCountCache(60);
+    when(dao.listCount(any(ListFilter.class))).thenReturn(10, 12);
+
+    assertEquals(10, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+    assertEquals(12, cache.getCount(dao, new ListFilter(Include.ALL), false));
+    assertEquals(10, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+  }
+
+  @Test
+  void test_filteredCountNotCached() {
+    // Counts filtered by relationships change when related entities are written, so they are always counted
+    ListCountCache cache = new ListCountCache(60);
+    ListFilter filter = new ListFilter(Include.NON_DELETED).addQueryParam("database", "service.db");
+    when(dao.listCount(filter)).thenReturn(3, 4);
+
+    assertEquals(3, cache.getCount(dao, filter, false));
+    assertEquals(4, cache.getCount(dao, filter, false));
+  }
+
+  @Test
+  void test_countNotCachedWhenDisabled() {
+    ListCountCache cache = new ListCountCache(0);
+    when(dao.listCount(any(ListFilter.class))).thenReturn(10, 11);
+
+    assertEquals(10, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+    assertEquals(11, cache.getCount(dao, new ListFilter(Include.NON_DELETED), false));
+  }
+
+  @Test
+  void test_approximateCount() {
+    ListCountCache cache = new ListCountCache(0);
+    when(dao.getEstimatedCount()).thenReturn(1000L);
+    when(dao.listCount(any(ListFilter.class))).thenReturn(5);
+
+    assertEquals(1000, cache.getCount(dao, new ListFilter(Include.NON_DELETED), true));
+    verify(dao, never()).listCount(any(ListFilter.class));
+
+    // Filtered lists are always counted
+    assertEquals(5, cache.getCount(dao, new ListFilter().addQueryParam("service", "mysql"), true));
+  }
+
+  @Test
+  void test_approximateCountWithoutStatistics() {
+    ListCountCache cache = new ListCountCache(0);
+    when(dao.getEstimatedCount()).thenReturn(null, 0L);
+    when(dao.listCount(any(ListFilter.class))).thenReturn(5);
+
+    assertEquals(5, cache.getCount(dao, new ListFilter(Include.NON_DELETED), true));
+    assertEquals(5, cache.getCount(dao, new ListFilter(Include.NON_DELETED), true));
+  }
+}
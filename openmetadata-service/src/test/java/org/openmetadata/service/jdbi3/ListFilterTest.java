@@ -3,6 +3,7 @@ package org.openmetadata.service.jdbi3;
 import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.type.Include;
 
 class ListFilterTest {
   @Test
@@ -15,4 +16,11 @@ class ListFilterTest {
     assertEquals("a''b\\_c\\_d", ListFilter.escape("a'b_c_d"));
     assertEquals("a\\_b\\_c\\_d", ListFilter.escape("a_b_c_d"));
   }
+
+  @Test
+  void test_isUnfiltered() {
+    assertTrue(new ListFilter(Include.ALL).isUnfiltered());
+    assertTrue(new ListFilter(Include.ALL).addQueryParam("service", (String) null).isUnfiltered());
+    assertFalse(new ListFilter(Include.ALL).addQueryParam("service", "mysql").isUnfiltered());
+  }
 }
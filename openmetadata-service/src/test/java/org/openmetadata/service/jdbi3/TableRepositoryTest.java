@@ -0,0 +1,107 @@
+package org.openmetadata.service.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.jdbi3.TableRepository.TABLE_COLUMN_PROFILE_EXTENSION;
+import static org.openmetadata.service.jdbi3.TableRepository.TABLE_PROFILE_EXTENSION;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
+import org.openmetadata.schema.type.ColumnProfile;
+import org.openmetadata.schema.type.TableProfile;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.service.util.JsonUtils;
+
+class TableRepositoryTest {
+  private TableDAO tableDAO;
+  private EntityExtensionTimeSeriesDAO timeSeriesDAO;
+  private TableRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    CollectionDAO collectionDAO = mock(CollectionDAO.class);
+    tableDAO = mock(TableDAO.class);
+    timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    when(collectionDAO.tableDAO()).thenReturn(tableDAO);
+    when(collectionDAO.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    repository = new TableRepository(collectionDAO);
+  }
+
+  @Test
+  void test_storeTimeSeriesInBatches() {
+    List<String> fqns = List.of("db.t.c1", "db.t.c2", "db.t.c3", "db.t.c1");
+    List<Long> timestamps = List.of(1L, 1L, 1L, 1L);
+    List<String> jsons = List.of("{\"c\":1}", "{\"c\":2}", "{\"c\":3}", "{\"c\":4}");
+    when(timeSeriesDAO.getExtensionTimestamps(fqns, TABLE_COLUMN_PROFILE_EXTENSION, timestamps))
+        .thenReturn(Map.of("db.t.c2", Set.of(1L), "db.t.c3", Set.of(2L)));
+
+    repository.storeTimeSeries(TABLE_COLUMN_PROFILE_EXTENSION, "columnProfile", fqns, timestamps, jsons);
+
+    // Existing records are read once, records stored at the same timestamp are updated and the others are inserted.
+    // The last record of a repeated entity and timestamp wins.
+    verify(timeSeriesDAO, times(1)).getExtensionTimestamps(anyList(), anyString(), anyList());
+    verify(timeSeriesDAO)
+        .updateBatch(List.of("db.t.c2"), TABLE_COLUMN_PROFILE_EXTENSION, List.of("{\"c\":2}"), List.of(1L));
+    verify(timeSeriesDAO)
+        .insertBatch(
+            List.of("db.t.c1", "db.t.c3"),
+            TABLE_COLUMN_PROFILE_EXTENSION,
+            "columnProfile",
+            List.of("{\"c\":4}", "{\"c\":3}"));
+  }
+
+  @Test
+  void test_latestColumnProfilesReadInOneQuery() throws IOException {
+    Column nested = column("db.t.c2.n1");
+    Table table =
+        new Table()
+            .withId(UUID.randomUUID())
+            .withName("t")
+            .withFullyQualifiedName("db.t")
+            .withColumns(List.of(column("db.t.c1"), column("db.t.c2").withChildren(List.of(nested))));
+    when(tableDAO.findEntityByName("db.t")).thenReturn(table);
+    when(timeSeriesDAO.getLatestExtension("db.t", TABLE_PROFILE_EXTENSION))
+        .thenReturn(JsonUtils.pojoToJson(new TableProfile().withTimestamp(3L)));
+    when(timeSeriesDAO.getLatestExtensionsByPrefix("db.t", TABLE_COLUMN_PROFILE_EXTENSION))
+        .thenReturn(
+            Map.of(
+                "db.t.c1", JsonUtils.pojoToJson(new ColumnProfile().withName("c1").withTimestamp(1L)),
+                "db.t.c2.n1", JsonUtils.pojoToJson(new ColumnProfile().withName("n1").withTimestamp(2L)),
+                // Matched by the `_` wildcard of the prefix, but not a column of the table
+                "db_t.c1", JsonUtils.pojoToJson(new ColumnProfile().withName("c1").withTimestamp(9L))));
+
+    Table result = repository.getLatestTableProfile("db.t");
+
+    assertEquals(3L, result.getProfile().getTimestamp());
+    assertEquals(1L, result.getColumns().get(0).getProfile().getTimestamp());
+    assertNull(result.getColumns().get(1).getProfile());
+    assertEquals(2L, nested.getProfile().getTimestamp());
+
+    // One query for the table profile and one for the profiles of all the columns
+    verify(timeSeriesDAO, times(1)).getLatestExtension(anyString(), anyString());
+    verify(timeSeriesDAO, times(1)).getLatestExtensionsByPrefix(eq("db.t"), anyString());
+  }
+
+  private static Column column(String fqn) {
+    return new Column()
+        .withName(fqn.substring(fqn.lastIndexOf('.') + 1))
+        .withFullyQualifiedName(fqn)
+        .withDataType(ColumnDataType.INT);
+  }
+}
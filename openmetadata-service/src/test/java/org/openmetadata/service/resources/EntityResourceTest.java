@@ -643,6 +643,39 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
     }
   }
 
+  @Test
+  @Execution(ExecutionMode.CONCURRENT)
+  void get_entityListFieldsMatchGet(TestInfo test) throws IOException {
+    if (!supportsFieldsQueryParam) {
+      return;
+    }
+    // Fields of a list page are resolved for the whole page, ensure they match the fields resolved one entity at a time
+    List<UUID> ids = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      K create = createRequest(getEntityName(test, i), "", null, supportsOwner ? USER1_REF : null);
+      ids.add(createEntity(create, ADMIN_AUTH_HEADERS).getId());
+    }
+    String allFields = getAllowedFields();
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("fields", allFields);
+    ResultList<T> allEntities = listEntities(queryParams, 1000000, null, null, ADMIN_AUTH_HEADERS);
+    for (UUID id : ids) {
+      T listed = allEntities.getData().stream().filter(e -> e.getId().equals(id)).findFirst().orElseThrow();
+      assertEquals(JsonUtils.valueToTree(getEntity(id, allFields, ADMIN_AUTH_HEADERS)), JsonUtils.valueToTree(listed));
+    }
+
+    // Entities are looked up in batches, ids that are not found are skipped
+    List<UUID> idsWithMissing = new ArrayList<>(ids);
+    idsWithMissing.add(UUID.randomUUID());
+    Map<UUID, EntityReference> refs = Entity.getEntityReferencesByIds(entityType, idsWithMissing, Include.ALL);
+    assertEquals(ids.size(), refs.size());
+    for (UUID id : ids) {
+      assertEquals(Entity.getEntityReferenceById(entityType, id, Include.ALL), refs.get(id));
+    }
+    assertTrue(Entity.getEntityReferencesByIds(entityType, new ArrayList<>(), Include.ALL).isEmpty());
+    assertTrue(Entity.getEntityRepository(entityType).dao.findEntitiesByIds(null, Include.ALL).isEmpty());
+  }
+
   /** At the end of test for an entity, delete the parent container to test recursive delete functionality */
   private void delete_recursiveTest() throws IOException {
     // Finally, delete the container that contains the entities created for this test
@@ -1868,6 +1901,14 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
       // Entity changed by PUT. Check the previous version exists
       T previousVersion = JsonUtils.readValue((String) history.getVersions().get(1), entityClass);
       assertEquals(expectedChangeDescription.getPreviousVersion(), previousVersion.getVersion());
+
+      // GET a page of the versions with only the version metadata and ensure it matches the full list
+      EntityHistory page = getVersionList(id, 1, 1, true, authHeaders);
+      assertEquals(1, page.getVersions().size());
+      T pageVersion = JsonUtils.readValue((String) page.getVersions().get(0), entityClass);
+      assertEquals(previousVersion.getVersion(), pageVersion.getVersion());
+      assertEquals(previousVersion.getUpdatedBy(), pageVersion.getUpdatedBy());
+      assertNull(pageVersion.getOwner());
     }
   }
 
@@ -2104,6 +2145,14 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
     return TestUtils.get(target, EntityHistory.class, authHeaders);
   }
 
+  protected EntityHistory getVersionList(
+      UUID id, int limit, int offset, boolean metadataOnly, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource(id).path("/versions");
+    target = target.queryParam("limit", limit).queryParam("offset", offset).queryParam("metadataOnly", metadataOnly);
+    return TestUtils.get(target, EntityHistory.class, authHeaders);
+  }
+
   protected ResultList<ChangeEvent> getChangeEvents(
       String entityCreated, String entityUpdated, String entityDeleted, long timestamp, Map<String, String> authHeaders)
       throws HttpResponseException {
@@ -900,6 +900,35 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
             .collect(Collectors.toList()));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  void put_tablesInBulk_200(TestInfo test) throws IOException {
+    Table existing = createEntity(createRequest(test, 0), ADMIN_AUTH_HEADERS);
+
+    // Update an existing table and create new tables in a single request. Repeated table is reported as a failure.
+    List<CreateTable> requests =
+        List.of(
+            createRequest(test, 0).withDescription("updatedDescription"),
+            createRequest(test, 1).withTags(List.of(USER_ADDRESS_TAG_LABEL)),
+            createRequest(test, 2),
+            createRequest(test, 2));
+    WebTarget target = getCollection().path("/bulk");
+    Map<String, Object> response = TestUtils.put(target, requests, Map.class, OK, ADMIN_AUTH_HEADERS);
+    assertEquals(3, response.get("numberOfEntitiesPassed"));
+    assertEquals(1, response.get("numberOfEntitiesFailed"));
+
+    Table updated = getEntity(existing.getId(), "", ADMIN_AUTH_HEADERS);
+    assertEquals("updatedDescription", updated.getDescription());
+
+    // Entity rows, relationships and tags of the new tables are written in batches
+    String schemaFqn = getContainer().getFullyQualifiedName();
+    Table created = getEntityByName(build(schemaFqn, getEntityName(test, 1)), "tags,columns", ADMIN_AUTH_HEADERS);
+    assertEquals(getContainer().getId(), created.getDatabaseSchema().getId());
+    assertTrue(created.getTags().stream().anyMatch(t -> tagLabelMatch.test(t, USER_ADDRESS_TAG_LABEL)));
+    assertEquals(COLUMNS.size(), created.getColumns().size());
+    assertNotNull(getEntityByName(build(schemaFqn, getEntityName(test, 2)), "", ADMIN_AUTH_HEADERS));
+  }
+
   @Test
   void put_tableSampleData_200(TestInfo test) throws IOException {
     Table table = createAndCheckEntity(createRequest(test).withOwner(USER1_REF), ADMIN_AUTH_HEADERS);
@@ -0,0 +1,97 @@
+package org.openmetadata.service.resources.events;
+
+import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.openmetadata.service.resources.events.EventSubscriptionResourceTest.PASS_ALL_FILTERING;
+import static org.openmetadata.service.util.TestUtils.ADMIN_AUTH_HEADERS;
+import static org.openmetadata.service.util.TestUtils.assertResponse;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import javax.ws.rs.client.WebTarget;
+import org.apache.http.client.HttpResponseException;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.api.events.CreateEventSubscription;
+import org.openmetadata.schema.entity.events.EventSubscription;
+import org.openmetadata.schema.type.Webhook;
+import org.openmetadata.service.OpenMetadataApplicationTest;
+import org.openmetadata.service.events.ChangeEventLog;
+import org.openmetadata.service.events.ChangeEventReplay;
+import org.openmetadata.service.util.TestUtils;
+
+class EventResourceTest extends OpenMetadataApplicationTest {
+  @Test
+  void put_replayOffsetRange_200() throws HttpResponseException {
+    String name = "eventReplay";
+    String uri = "http://localhost:" + APP.getLocalPort() + "/api/v1/test/webhook/ignore";
+    CreateEventSubscription create =
+        new CreateEventSubscription()
+            .withName(name)
+            .withFilteringRules(PASS_ALL_FILTERING)
+            .withSubscriptionType(CreateEventSubscription.SubscriptionType.GENERIC_WEBHOOK)
+            .withSubscriptionConfig(new Webhook().withEndpoint(URI.create(uri)).withSecretKey("webhookTest"))
+            .withEnabled(true)
+            .withBatchSize(10);
+    TestUtils.post(getResource("events/subscriptions"), create, EventSubscription.class, ADMIN_AUTH_HEADERS);
+
+    // The consumer of the subscription stores its offset when it starts
+    ChangeEventReplay replay =
+        Awaitility.await()
+            .atMost(Duration.ofSeconds(10))
+            .ignoreExceptions()
+            .until(() -> startReplay(name, "fromOffset", 1L, "toOffset", Long.MAX_VALUE), Objects::nonNull);
+    assertEquals(1L, (long) replay.getFromOffset());
+    assertEquals(ChangeEventReplay.Status.RUNNING, replay.getStatus());
+
+    // The end of the range is the last recorded event, and the replay completes once the events are delivered again
+    ChangeEventReplay status = getReplay(name);
+    assertEquals(replay.getToOffset(), status.getToOffset());
+    assertEquals(1L, (long) status.getFromOffset());
+    Awaitility.await()
+        .atMost(Duration.ofSeconds(30))
+        .until(() -> getReplay(name).getStatus() == ChangeEventReplay.Status.COMPLETED);
+  }
+
+  @Test
+  void put_replayInvalidRange_400() {
+    String consumer = ChangeEventLog.SEARCH_INDEX_CONSUMER;
+    assertResponse(
+        () -> startReplay(consumer, "fromOffset", 5L, "toOffset", 2L),
+        BAD_REQUEST,
+        "Replay start offset must be positive and not after its end offset");
+    assertResponse(
+        () -> startReplay(consumer, "fromOffset", 0L, "toOffset", 2L),
+        BAD_REQUEST,
+        "Replay start offset must be positive and not after its end offset");
+    assertResponse(
+        () -> startReplay(consumer, "startTs", 1L, "toOffset", 2L),
+        BAD_REQUEST,
+        "Replay needs either a time range or a range of offsets");
+    assertResponse(
+        () -> startReplay(consumer, "endTs", 1L, "toOffset", 2L),
+        BAD_REQUEST,
+        "Replay needs either a time range or a range of offsets");
+    assertResponse(
+        () -> startReplay(consumer, "toOffset", 2L, "eventsPerSecond", 10),
+        BAD_REQUEST,
+        "Replay needs the start of its range");
+  }
+
+  private ChangeEventReplay startReplay(String consumer, String param1, long value1, String param2, long value2)
+      throws HttpResponseException {
+    WebTarget target =
+        getResource("events/replay")
+            .queryParam("consumer", consumer)
+            .queryParam(param1, value1)
+            .queryParam(param2, value2);
+    return TestUtils.put(target, Map.of(), ChangeEventReplay.class, OK, ADMIN_AUTH_HEADERS);
+  }
+
+  private ChangeEventReplay getReplay(String consumer) throws HttpResponseException {
+    return TestUtils.get(getResource("events/replay/" + consumer), ChangeEventReplay.class, ADMIN_AUTH_HEADERS);
+  }
+}
@@ -0,0 +1,90 @@
+package org.openmetadata.service.socket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.socket.socketio.server.SocketIoSocket;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.openmetadata.service.socket.WebSocketManager.Outbox;
+
+class WebSocketManagerTest {
+  private static final int CAPACITY = 5;
+  private final Queue<Runnable> senderTasks = new ArrayDeque<>();
+  private SocketIoSocket socket;
+  private Counter queued;
+  private Counter dropped;
+  private Outbox outbox;
+
+  @BeforeEach
+  void setUp() {
+    senderTasks.clear();
+    socket = mock(SocketIoSocket.class);
+    when(socket.getId()).thenReturn("socket");
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    queued = registry.counter("websocket_messages_queued");
+    dropped = registry.counter("websocket_messages_dropped");
+    // Sender tasks are run by the test, so the socket looks slow until then
+    outbox = new Outbox(socket, CAPACITY, senderTasks::add, queued, dropped);
+  }
+
+  @Test
+  void test_outboxOverflowDropsOldestMessages() {
+    for (int i = 0; i < CAPACITY + 3; i++) {
+      outbox.offer("activityFeed", "message" + i);
+    }
+
+    // The oldest messages are dropped when the outbox of a slow socket is full
+    assertEquals(CAPACITY, outbox.size());
+    assertEquals(CAPACITY + 3, queued.count());
+    assertEquals(3, dropped.count());
+
+    // Only one sender is scheduled for the socket, and it sends the remaining messages in order
+    assertEquals(1, senderTasks.size());
+    senderTasks.poll().run();
+    InOrder inOrder = inOrder(socket);
+    for (int i = 3; i < CAPACITY + 3; i++) {
+      inOrder.verify(socket).send("activityFeed", "message" + i);
+    }
+    verify(socket, never()).send("activityFeed", "message0");
+    assertEquals(0, outbox.size());
+  }
+
+  @Test
+  void test_outboxDrainedAgainAfterSend() {
+    outbox.offer("activityFeed", "message1");
+    senderTasks.poll().run();
+
+    // A message queued after the outbox was drained schedules a new sender
+    outbox.offer("activityFeed", "message2");
+    assertEquals(1, senderTasks.size());
+    senderTasks.poll().run();
+    verify(socket).send("activityFeed", "message1");
+    verify(socket).send("activityFeed", "message2");
+    assertEquals(0, dropped.count());
+  }
+
+  @Test
+  void test_outboxKeepsSendingAfterFailure() {
+    doThrow(new RuntimeException("closed")).when(socket).send(anyString(), anyString());
+    outbox.offer("activityFeed", "message1");
+    outbox.offer("activityFeed", "message2");
+    senderTasks.poll().run();
+
+    // A failed send does not stop the sender from sending the other messages
+    verify(socket, times(2)).send(anyString(), anyString());
+    assertEquals(0, outbox.size());
+  }
+}
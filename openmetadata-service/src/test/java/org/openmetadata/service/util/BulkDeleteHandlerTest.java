@@ -0,0 +1,140 @@
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.util.BulkDeleteHandler.BULK_DELETE_JOB_EXTENSION;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.workflows.delete.BulkDeleteJob;
+import org.openmetadata.service.workflows.delete.BulkDeleteWorkflow;
+
+class BulkDeleteHandlerTest {
+  private final Map<String, String> rows = new LinkedHashMap<>();
+  private CollectionDAO dao;
+
+  @BeforeEach
+  void setUp() {
+    rows.clear();
+    dao = mock(CollectionDAO.class);
+    EntityExtensionTimeSeriesDAO timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    when(dao.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    when(timeSeriesDAO.getAllByExtension(BULK_DELETE_JOB_EXTENSION)).thenAnswer(i -> new ArrayList<>(rows.values()));
+    when(timeSeriesDAO.getExtension(anyString(), eq(BULK_DELETE_JOB_EXTENSION)))
+        .thenAnswer(i -> rows.get(i.<String>getArgument(0)));
+    // Records are only updated when the timestamp matches, the same as the query
+    when(timeSeriesDAO.update(anyString(), eq(BULK_DELETE_JOB_EXTENSION), anyString(), anyLong()))
+        .thenAnswer(
+            i -> {
+              String stored = rows.get(i.<String>getArgument(0));
+              if (stored == null
+                  || JsonUtils.readValue(stored, BulkDeleteJob.class).getTimestamp() != i.<Long>getArgument(3)) {
+                return 0;
+              }
+              rows.put(i.getArgument(0), i.getArgument(2));
+              return 1;
+            });
+  }
+
+  @Test
+  void test_resumeJobs() throws IOException {
+    long now = System.currentTimeMillis();
+    BulkDeleteJob orphaned = addJob(BulkDeleteJob.Status.RUNNING, "stopped", now - 1);
+    BulkDeleteJob queued = addJob(BulkDeleteJob.Status.STARTED, null, 0);
+    BulkDeleteJob running = addJob(BulkDeleteJob.Status.RUNNING, "other", now + BulkDeleteHandler.LEASE_TIME);
+    BulkDeleteJob completed = addJob(BulkDeleteJob.Status.COMPLETED, "stopped", now - 1);
+
+    ExecutorService executor = mock(ExecutorService.class);
+    BulkDeleteHandler handler = new BulkDeleteHandler(dao, "server", executor);
+    handler.resumeJobs();
+
+    // Only the active jobs that no server holds the lease on are resumed, and this server takes the lease on them
+    ArgumentCaptor<Runnable> submitted = ArgumentCaptor.forClass(Runnable.class);
+    verify(executor, times(2)).submit(submitted.capture());
+    assertEquals(orphaned.getId(), ((BulkDeleteWorkflow) submitted.getAllValues().get(0)).getJobData().getId());
+    assertEquals(queued.getId(), ((BulkDeleteWorkflow) submitted.getAllValues().get(1)).getJobData().getId());
+    assertEquals("server", getJob(orphaned).getOwner());
+    assertEquals("server", getJob(queued).getOwner());
+    assertTrue(getJob(orphaned).getLeaseExpiry() > now);
+    assertEquals("other", getJob(running).getOwner());
+    assertEquals("stopped", getJob(completed).getOwner());
+
+    // Jobs that are already running on this server are not resumed again
+    handler.resumeJobs();
+    verify(executor, times(2)).submit(any(Runnable.class));
+  }
+
+  @Test
+  void test_claimJob() throws IOException {
+    BulkDeleteJob job = addJob(BulkDeleteJob.Status.RUNNING, "stopped", System.currentTimeMillis() - 1);
+    BulkDeleteJob copy1 = getJob(job);
+    BulkDeleteJob copy2 = getJob(job);
+
+    // Two servers that read the orphaned job at the same time can't both claim it
+    BulkDeleteHandler server1 = new BulkDeleteHandler(dao, "server1", mock(ExecutorService.class));
+    BulkDeleteHandler server2 = new BulkDeleteHandler(dao, "server2", mock(ExecutorService.class));
+    assertTrue(server1.claimJob(copy1));
+    assertFalse(server2.claimJob(copy2));
+    assertFalse(server2.claimJob(getJob(job)));
+    assertEquals("server1", getJob(job).getOwner());
+
+    // The server that lost the lease can't store the job anymore, and the owner keeps renewing it
+    assertFalse(server2.storeJob(copy2));
+    assertTrue(server1.storeJob(copy1));
+    assertEquals("server1", getJob(job).getOwner());
+
+    // A finished job is not claimed even when its lease expired
+    BulkDeleteJob failed = addJob(BulkDeleteJob.Status.FAILED, "stopped", 0);
+    assertFalse(server2.claimJob(getJob(failed)));
+  }
+
+  @Test
+  void test_maintainLeases() throws IOException {
+    BulkDeleteJob job = addJob(BulkDeleteJob.Status.STARTED, null, 0);
+    ExecutorService executor = mock(ExecutorService.class);
+    BulkDeleteHandler handler = new BulkDeleteHandler(dao, "server", executor);
+    handler.maintainLeases();
+    long leaseExpiry = getJob(job).getLeaseExpiry();
+
+    // The lease of a job is renewed while it is queued, and another server doesn't take it over
+    handler.maintainLeases();
+    assertTrue(getJob(job).getLeaseExpiry() >= leaseExpiry);
+    assertFalse(new BulkDeleteHandler(dao, "other", executor).claimJob(getJob(job)));
+    verify(executor, times(1)).submit(any(Runnable.class));
+  }
+
+  private BulkDeleteJob addJob(BulkDeleteJob.Status status, String owner, long leaseExpiry) throws IOException {
+    BulkDeleteJob job = new BulkDeleteJob();
+    job.setId(UUID.randomUUID());
+    job.setEntityType("databaseService");
+    job.setEntityId(UUID.randomUUID());
+    job.setStatus(status);
+    job.setOwner(owner);
+    job.setLeaseExpiry(leaseExpiry);
+    job.setTimestamp(System.currentTimeMillis() - 1000);
+    rows.put(job.getId().toString(), JsonUtils.pojoToJson(job));
+    return job;
+  }
+
+  private BulkDeleteJob getJob(BulkDeleteJob job) throws IOException {
+    return JsonUtils.readValue(rows.get(job.getId().toString()), BulkDeleteJob.class);
+  }
+}
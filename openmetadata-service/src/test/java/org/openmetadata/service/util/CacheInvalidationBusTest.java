@@ -0,0 +1,152 @@
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.util.CacheInvalidationBus.CACHE_INVALIDATION_EXTENSION;
+import static org.openmetadata.service.util.CacheInvalidationBus.CACHE_INVALIDATION_FQN;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.jdbi3.EntityCache;
+import org.openmetadata.service.jdbi3.EntityCacheConfiguration;
+import org.openmetadata.service.util.CacheInvalidationBus.CacheInvalidation;
+
+class CacheInvalidationBusTest {
+  /** Recorded invalidations, in the order they were inserted */
+  private final List<String> records = Collections.synchronizedList(new ArrayList<>());
+
+  private CollectionDAO dao;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    records.clear();
+    dao = mock(CollectionDAO.class);
+    EntityExtensionTimeSeriesDAO timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    when(dao.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    doCallRealMethod().when(dao).runInTransaction(any());
+    doAnswer(i -> records.add(i.getArgument(3)))
+        .when(timeSeriesDAO)
+        .insert(eq(CACHE_INVALIDATION_FQN), eq(CACHE_INVALIDATION_EXTENSION), anyString(), anyString());
+    when(timeSeriesDAO.listBetweenTimestampsByOrder(
+            eq(CACHE_INVALIDATION_FQN), eq(CACHE_INVALIDATION_EXTENSION), anyLong(), anyLong(), any()))
+        .thenAnswer(i -> new ArrayList<>(records));
+    CacheInvalidationBus.start(dao);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    CacheInvalidationBus.shutdown();
+    EntityCache.initialize(new EntityCacheConfiguration());
+  }
+
+  @Test
+  void test_publishedAfterCommit() throws IOException {
+    CacheInvalidationBus.runInTransaction(
+        dao,
+        transactionDAO -> {
+          CacheInvalidationBus.publish("cache", "committed");
+          // Nested transactions leave the invalidations to the outer transaction
+          CacheInvalidationBus.runInTransaction(
+              transactionDAO, nestedDAO -> CacheInvalidationBus.publish("cache", "nested"));
+          assertTrue(records.isEmpty());
+        });
+
+    // The invalidations of the transaction are recorded once it commits
+    assertEquals(2, records.size());
+    assertEquals("committed", getInvalidation(0).getKey());
+    assertEquals("nested", getInvalidation(1).getKey());
+
+    // The invalidations of a transaction that rolls back are dropped
+    assertThrows(
+        IOException.class,
+        () ->
+            CacheInvalidationBus.runInTransaction(
+                dao,
+                transactionDAO -> {
+                  CacheInvalidationBus.publish("cache", "rolledBack");
+                  throw new IOException("rollback");
+                }));
+    assertEquals(2, records.size());
+
+    // Outside a transaction, the invalidation is recorded right away
+    CacheInvalidationBus.publish("cache", "committed");
+    assertEquals(3, records.size());
+  }
+
+  @Test
+  void test_remoteInvalidationEvictsEntityCache() throws IOException {
+    EntityCacheConfiguration config = new EntityCacheConfiguration();
+    config.setEnabled(true);
+    EntityCache.initialize(config);
+    EntityCache cache = EntityCache.create(Entity.DATABASE);
+    assertNotNull(cache);
+    UUID id1 = UUID.randomUUID();
+    UUID id2 = UUID.randomUUID();
+    cache.put(id1, "db1", "{\"name\":\"db1\"}", cache.getInvalidationCount());
+    cache.put(id2, "db2", "{\"name\":\"db2\"}", cache.getInvalidationCount());
+
+    // An entity updated on another server is dropped from the cache, by id and by name
+    addRemoteInvalidation("entity." + Entity.DATABASE, id1.toString());
+    CacheInvalidationBus.poll();
+    assertNull(cache.getById(id1));
+    assertNull(cache.getByName("db1"));
+    assertNotNull(cache.getById(id2));
+
+    // The empty key drops all the entities
+    addRemoteInvalidation("entity." + Entity.DATABASE, "");
+    CacheInvalidationBus.poll();
+    assertNull(cache.getById(id2));
+    assertNull(cache.getByName("db2"));
+  }
+
+  @Test
+  void test_ownInvalidationsIgnored() throws IOException {
+    List<String> invalidated = Collections.synchronizedList(new ArrayList<>());
+    CacheInvalidationBus.register("test", invalidated::add);
+
+    // This server invalidated the key itself when it published it
+    CacheInvalidationBus.publish("test", "local");
+    CacheInvalidationBus.poll();
+    assertTrue(invalidated.isEmpty());
+
+    // Invalidations of the other servers are applied once, even though they are read again on the next polls
+    addRemoteInvalidation("test", "remote");
+    CacheInvalidationBus.poll();
+    CacheInvalidationBus.poll();
+    assertEquals(List.of("remote"), invalidated);
+  }
+
+  private void addRemoteInvalidation(String cache, String key) throws IOException {
+    CacheInvalidation invalidation = new CacheInvalidation();
+    invalidation.setId(UUID.randomUUID().toString());
+    invalidation.setCache(cache);
+    invalidation.setKey(key);
+    invalidation.setNodeId("other");
+    invalidation.setTimestamp(System.currentTimeMillis());
+    records.add(JsonUtils.pojoToJson(invalidation));
+  }
+
+  private CacheInvalidation getInvalidation(int index) throws IOException {
+    return JsonUtils.readValue(records.get(index), CacheInvalidation.class);
+  }
+}
@@ -21,8 +21,12 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import javax.json.Json;
 import javax.json.JsonArrayBuilder;
@@ -33,10 +37,13 @@ import javax.json.JsonPatchBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.Test;
 import org.openmetadata.schema.api.services.DatabaseConnection;
+import org.openmetadata.schema.entity.data.Table;
 import org.openmetadata.schema.entity.services.DatabaseService;
 import org.openmetadata.schema.entity.teams.Team;
 import org.openmetadata.schema.services.connections.dashboard.TableauConnection;
 import org.openmetadata.schema.services.connections.database.MysqlConnection;
+import org.openmetadata.schema.type.Column;
+import org.openmetadata.schema.type.ColumnDataType;
 
 /** This test provides examples of how to use applyPatch */
 @Slf4j
@@ -137,4 +144,36 @@ class JsonUtilsTest {
     String actualJson = JsonUtils.pojoToMaskedJson(databaseService);
     assertEquals(expectedJson, actualJson);
   }
+
+  @Test
+  void testPojoToJsonBytesExcludingFields() throws IOException {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withFullyQualifiedName("service.db.schema.table.column" + i)
+              .withDataType(ColumnDataType.VARCHAR)
+              .withDataLength(255)
+              .withDescription("description of column " + i));
+    }
+    Table table =
+        new Table()
+            .withId(UUID.randomUUID())
+            .withName("table")
+            .withFullyQualifiedName("service.db.schema.table")
+            .withDescription("description")
+            .withColumns(columns);
+    Set<String> excludedFields = Set.of("description", "fullyQualifiedName");
+    Map<String, Object> additionalFields = new LinkedHashMap<>();
+    additionalFields.put("fqnParts", List.of("service", "db", "schema", "table"));
+    additionalFields.put("entityType", "table");
+
+    // Same document as the one built from the map of the entity, nested fields with an excluded name are kept
+    Map<String, Object> expected = JsonUtils.getMap(table);
+    excludedFields.forEach(expected::remove);
+    expected.putAll(additionalFields);
+    byte[] json = JsonUtils.pojoToJsonBytes(table, excludedFields, additionalFields);
+    assertEquals(JsonUtils.readTree(JsonUtils.pojoToJson(expected)), JsonUtils.readTree(new String(json)));
+  }
 }
@@ -0,0 +1,147 @@
+package org.openmetadata.service.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ENTITY_REPORT_DATA;
+import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_CHECKPOINT_EXTENSION;
+import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_JOB_EXTENSION;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.system.EventPublisherJob;
+import org.openmetadata.schema.system.Stats;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.exception.CustomExceptionMessage;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.workflows.searchIndex.ReindexingCheckpoint;
+import org.openmetadata.service.workflows.searchIndex.ReindexingConfiguration;
+
+class ReIndexingHandlerTest {
+  private final Map<String, String> rows = new ConcurrentHashMap<>();
+  private CollectionDAO dao;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    rows.clear();
+    dao = mock(CollectionDAO.class);
+    EntityExtensionTimeSeriesDAO timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    when(dao.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    when(timeSeriesDAO.getExtension(anyString(), eq(REINDEXING_JOB_EXTENSION)))
+        .thenAnswer(i -> rows.get(i.<String>getArgument(0)));
+    when(timeSeriesDAO.getExtension(anyString(), eq(REINDEXING_CHECKPOINT_EXTENSION)))
+        .thenReturn(JsonUtils.pojoToJson(new ReindexingCheckpoint()));
+    // Records are only updated when the timestamp matches, the same as the query
+    when(timeSeriesDAO.update(anyString(), eq(REINDEXING_JOB_EXTENSION), anyString(), anyLong()))
+        .thenAnswer(
+            i -> {
+              String stored = rows.get(i.<String>getArgument(0));
+              if (stored == null
+                  || JsonUtils.readValue(stored, EventPublisherJob.class).getTimestamp() != i.<Long>getArgument(3)) {
+                return 0;
+              }
+              rows.put(i.getArgument(0), i.getArgument(2));
+              return 1;
+            });
+  }
+
+  @Test
+  void test_resumeTakesJobLock() throws IOException {
+    EventPublisherJob job = addJob(EventPublisherJob.Status.STOPPED, System.currentTimeMillis() - 1000);
+    ThreadPoolExecutor executor1 = newExecutor();
+    ThreadPoolExecutor executor2 = newExecutor();
+    ReIndexingHandler server1 = newHandler(executor1);
+    ReIndexingHandler server2 = newHandler(executor2);
+
+    // The job is stored with a new timestamp by the server that resumes it
+    assertEquals(EventPublisherJob.Status.STARTED, server1.resumeReindexingJob(job.getId()).getStatus());
+    verify(executor1).submit(any(Runnable.class));
+    EventPublisherJob stored = getJob(job);
+    assertEquals(EventPublisherJob.Status.STARTED, stored.getStatus());
+    assertTrue(stored.getTimestamp() > job.getTimestamp());
+
+    // The other servers do not resume it while it runs
+    CustomExceptionMessage e =
+        assertThrows(CustomExceptionMessage.class, () -> server2.resumeReindexingJob(job.getId()));
+    assertEquals("Job is running on another server.", e.getMessage());
+    verify(executor2, never()).submit(any(Runnable.class));
+  }
+
+  @Test
+  void test_concurrentResumesTakeJobOnce() throws IOException {
+    EventPublisherJob job = addJob(EventPublisherJob.Status.STOPPED, System.currentTimeMillis() - 1000);
+
+    // Both servers read the record before either of them stored it, only the first one to store it takes the job
+    EventPublisherJob read1 = getJob(job);
+    EventPublisherJob read2 = getJob(job);
+    assertTrue(ReIndexingHandler.storeJob(dao, read1));
+    assertFalse(ReIndexingHandler.storeJob(dao, read2));
+    assertEquals(read1.getTimestamp(), getJob(job).getTimestamp());
+
+    // The server that took the job keeps storing it
+    assertTrue(ReIndexingHandler.storeJob(dao, read1));
+  }
+
+  @Test
+  void test_abandonedJobResumed() throws IOException {
+    // The server running the job stopped storing it for longer than the lease, it is no longer running
+    long abandoned = System.currentTimeMillis() - ReIndexingHandler.LEASE_TIME - 1;
+    EventPublisherJob job = addJob(EventPublisherJob.Status.RUNNING, abandoned);
+    ThreadPoolExecutor executor = newExecutor();
+
+    assertEquals(EventPublisherJob.Status.STARTED, newHandler(executor).resumeReindexingJob(job.getId()).getStatus());
+    verify(executor).submit(any(Runnable.class));
+    assertTrue(getJob(job).getTimestamp() > abandoned);
+  }
+
+  private ReIndexingHandler newHandler(ThreadPoolExecutor executor) {
+    return new ReIndexingHandler(
+        mock(RestHighLevelClient.class),
+        mock(ElasticSearchIndexDefinition.class),
+        dao,
+        new ReindexingConfiguration(),
+        executor);
+  }
+
+  private static ThreadPoolExecutor newExecutor() {
+    ThreadPoolExecutor executor = mock(ThreadPoolExecutor.class);
+    when(executor.getQueue()).thenReturn(new ArrayBlockingQueue<>(5));
+    return executor;
+  }
+
+  private EventPublisherJob addJob(EventPublisherJob.Status status, long timestamp) throws IOException {
+    EventPublisherJob job =
+        new EventPublisherJob()
+            .withId(UUID.randomUUID())
+            .withStatus(status)
+            .withEntities(Set.of(ENTITY_REPORT_DATA))
+            .withBatchSize(10)
+            .withStats(new Stats())
+            .withStartTime(timestamp)
+            .withTimestamp(timestamp);
+    rows.put(job.getId().toString(), JsonUtils.pojoToJson(job));
+    return job;
+  }
+
+  private EventPublisherJob getJob(EventPublisherJob job) throws IOException {
+    return JsonUtils.readValue(rows.get(job.getId().toString()), EventPublisherJob.class);
+  }
+}
@@ -0,0 +1,124 @@
+package org.openmetadata.service.workflows.searchIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.EntityInterface;
+import org.openmetadata.schema.entity.data.Table;
+import org.openmetadata.schema.type.Include;
+import org.openmetadata.service.Entity;
+import org.openmetadata.service.exception.SourceException;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.TableDAO;
+import org.openmetadata.service.jdbi3.TableRepository;
+import org.openmetadata.service.util.ResultList;
+
+class ChangedEntitiesSourceTest {
+  /** Offset and entity id of the recorded change events */
+  private final List<Pair<Long, String>> events = Collections.synchronizedList(new ArrayList<>());
+
+  private CollectionDAO dao;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    events.clear();
+    dao = mock(CollectionDAO.class);
+    ChangeEventDAO changeEventDAO = mock(ChangeEventDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    when(changeEventDAO.countChangedEntities(eq(Entity.TABLE), anyLong(), anyLong()))
+        .thenAnswer(i -> (int) events.stream().map(Pair::getRight).distinct().count());
+    when(changeEventDAO.listChangedEntityIds(eq(Entity.TABLE), anyLong(), anyLong(), anyLong(), anyInt()))
+        .thenAnswer(
+            i -> {
+              long afterOffset = i.getArgument(3);
+              int limit = i.getArgument(4);
+              return events.stream()
+                  .filter(event -> event.getLeft() > afterOffset)
+                  .limit(limit)
+                  .collect(Collectors.toList());
+            });
+    TableRepository repository = mock(TableRepository.class);
+    when(repository.get(isNull(), any(UUID.class), any(), eq(Include.ALL)))
+        .thenAnswer(i -> new Table().withId(i.getArgument(1)));
+    Entity.registerEntity(Table.class, Entity.TABLE, mock(TableDAO.class), repository);
+  }
+
+  @Test
+  void test_entitiesChangedMidRunReadOnce() throws SourceException {
+    String id1 = UUID.randomUUID().toString();
+    String id2 = UUID.randomUUID().toString();
+    String id3 = UUID.randomUUID().toString();
+    addEvent(id1);
+    addEvent(id2);
+    addEvent(id1);
+    addEvent(id3);
+    ChangedEntitiesSource source = new ChangedEntitiesSource(dao, Entity.TABLE, 2, List.of(), 0, Long.MAX_VALUE);
+    assertEquals(3, (int) source.getStats().getTotalRecords());
+
+    List<String> read = new ArrayList<>(readIds(source));
+    assertEquals(List.of(id1, id2), read);
+    assertEquals("2", source.getCursor());
+
+    // Entities are changed while the source is read, one of them with an id before the ids already read
+    String id0 = new UUID(0, 0).toString();
+    addEvent(id2);
+    addEvent(id0);
+    addEvent(id1);
+
+    // The later events of the entities already read are skipped, and a batch is filled from the next events
+    read.addAll(readIds(source));
+    assertEquals(List.of(id1, id2, id3, id0), read);
+    assertEquals("6", source.getCursor());
+    assertFalse(source.isDone());
+
+    // The last events only change entities already read
+    assertTrue(readIds(source).isEmpty());
+    assertTrue(source.isDone());
+    assertEquals(4, read.stream().distinct().count());
+  }
+
+  @Test
+  void test_resumedFromOffset() throws SourceException {
+    String id1 = UUID.randomUUID().toString();
+    String id2 = UUID.randomUUID().toString();
+    addEvent(id1);
+    addEvent(id2);
+
+    // A resumed source continues after the offset of the last committed batch
+    ChangedEntitiesSource source = new ChangedEntitiesSource(dao, Entity.TABLE, 10, List.of(), 0, Long.MAX_VALUE);
+    source.resume("1", false);
+    assertEquals(List.of(id2), readIds(source));
+    assertTrue(source.isDone());
+
+    // A reset source reads all the events again
+    source.reset();
+    assertEquals(List.of(id1, id2), readIds(source));
+  }
+
+  private void addEvent(String entityId) {
+    events.add(Pair.of((long) events.size() + 1, entityId));
+  }
+
+  private static List<String> readIds(ChangedEntitiesSource source) throws SourceException {
+    ResultList<? extends EntityInterface> batch = source.readNext(null);
+    return batch.getData().stream().map(entity -> entity.getId().toString()).collect(Collectors.toList());
+  }
+}
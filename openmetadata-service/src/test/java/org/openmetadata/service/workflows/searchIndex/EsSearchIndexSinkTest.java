@@ -0,0 +1,159 @@
+package org.openmetadata.service.workflows.searchIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.elasticsearch.ElasticsearchStatusException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.service.exception.SinkException;
+
+class EsSearchIndexSinkTest {
+  private RestHighLevelClient client;
+  private ReindexingConfiguration config;
+  /** Number of documents of each bulk request sent */
+  private final List<Integer> requestSizes = Collections.synchronizedList(new ArrayList<>());
+  /** Number of times each document was written */
+  private final Map<String, Integer> written = Collections.synchronizedMap(new HashMap<>());
+
+  @BeforeEach
+  void setUp() {
+    requestSizes.clear();
+    written.clear();
+    client = mock(RestHighLevelClient.class);
+    config = new ReindexingConfiguration();
+    config.setMinBulkSize(2);
+    config.setMaxBulkSize(8);
+  }
+
+  @Test
+  void test_bulkSizeHalvedOnRejectedDocuments() throws IOException, SinkException {
+    // Elasticsearch rejects the first document of the first request because it is overloaded
+    Set<String> rejected = Collections.synchronizedSet(new HashSet<>(Set.of("0")));
+    respond(request -> false, rejected);
+    EsSearchIndexSink sink = new EsSearchIndexSink(client, config, 8);
+
+    BulkResponse response = sink.write(bulkRequest(8), Map.of());
+
+    // The rejected document is written again on its own, and every document is written once
+    assertEquals(List.of(8, 1), requestSizes);
+    assertFalse(response.hasFailures());
+    assertEquals(8, response.getItems().length);
+    assertWrittenOnce(8);
+
+    // The bulk size was halved by the rejection, then grew by one with the fast retry
+    assertEquals(5, sink.getBulkSize());
+  }
+
+  @Test
+  void test_bulkSizeReducedOnTooLargeRequest() throws IOException, SinkException {
+    // Elasticsearch refuses the requests of more than two documents as too large
+    respond(request -> request.numberOfActions() > 2, Set.of());
+    EsSearchIndexSink sink = new EsSearchIndexSink(client, config, 8);
+
+    BulkResponse response = sink.write(bulkRequest(8), Map.of());
+
+    // The documents are written again in smaller requests, below the minimum bulk size if needed
+    assertEquals(List.of(8, 4, 2, 3, 1, 2, 2, 1), requestSizes);
+    assertFalse(response.hasFailures());
+    assertEquals(8, response.getItems().length);
+    assertWrittenOnce(8);
+
+    // The bulk size does not grow back to a size that was too large
+    assertEquals(2, sink.getBulkSize());
+    requestSizes.clear();
+    written.clear();
+    sink.write(bulkRequest(8), Map.of());
+    assertEquals(List.of(2, 2, 2, 2), requestSizes);
+    assertWrittenOnce(8);
+  }
+
+  @Test
+  void test_singleDocumentTooLargeFails() throws IOException {
+    respond(request -> true, Set.of());
+    EsSearchIndexSink sink = new EsSearchIndexSink(client, config, 8);
+
+    // A document that is too large on its own is not retried forever
+    SinkException e = assertThrows(SinkException.class, () -> sink.write(bulkRequest(2), Map.of()));
+    assertInstanceOf(ElasticsearchStatusException.class, e.getCause());
+    assertEquals(List.of(2, 1), requestSizes);
+    assertEquals(2, (int) sink.getStats().getFailedRecords());
+  }
+
+  /**
+   * Answer the bulk requests: a request that is too large fails as a whole, the documents whose id is in the rejected
+   * set fail once with TOO_MANY_REQUESTS and the others are written.
+   */
+  private void respond(Predicate<BulkRequest> tooLarge, Set<String> rejected) throws IOException {
+    doAnswer(
+            i -> {
+              BulkRequest request = i.getArgument(0);
+              requestSizes.add(request.numberOfActions());
+              if (tooLarge.test(request)) {
+                throw new ElasticsearchStatusException("Request too large", RestStatus.REQUEST_ENTITY_TOO_LARGE);
+              }
+              List<BulkItemResponse> items = new ArrayList<>();
+              for (int index = 0; index < request.numberOfActions(); index++) {
+                String id = request.requests().get(index).id();
+                boolean failed = rejected.remove(id);
+                if (!failed) {
+                  written.merge(id, 1, Integer::sum);
+                }
+                items.add(item(index, failed));
+              }
+              return new BulkResponse(items.toArray(new BulkItemResponse[0]), 1);
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+  }
+
+  private void assertWrittenOnce(int documents) {
+    assertEquals(documents, written.size());
+    written.forEach((id, count) -> assertEquals(1, (int) count, "Document " + id));
+  }
+
+  static BulkItemResponse item(int index, boolean rejected) {
+    BulkItemResponse item = mock(BulkItemResponse.class);
+    when(item.getItemId()).thenReturn(index);
+    when(item.isFailed()).thenReturn(rejected);
+    if (rejected) {
+      BulkItemResponse.Failure failure = mock(BulkItemResponse.Failure.class);
+      when(failure.getStatus()).thenReturn(RestStatus.TOO_MANY_REQUESTS);
+      when(item.getFailure()).thenReturn(failure);
+    }
+    return item;
+  }
+
+  private static BulkRequest bulkRequest(int documents) {
+    BulkRequest request = new BulkRequest();
+    for (int i = 0; i < documents; i++) {
+      DocWriteRequest<?> update = new UpdateRequest("index", String.valueOf(i)).doc(Map.of("name", i));
+      request.add(update);
+    }
+    return request;
+  }
+}
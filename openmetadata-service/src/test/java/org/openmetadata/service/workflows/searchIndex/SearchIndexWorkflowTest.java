@@ -0,0 +1,364 @@
+package org.openmetadata.service.workflows.searchIndex;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ENTITY_REPORT_DATA;
+import static org.openmetadata.service.util.ReIndexingHandler.REINDEXING_JOB_EXTENSION;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import org.awaitility.Awaitility;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.schema.analytics.ReportData;
+import org.openmetadata.schema.system.EventPublisherJob;
+import org.openmetadata.schema.system.Stats;
+import org.openmetadata.schema.system.StepStats;
+import org.openmetadata.schema.type.IndexMappingLanguage;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.service.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.service.jdbi3.CollectionDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.EntityExtensionTimeSeriesDAO;
+import org.openmetadata.service.jdbi3.CollectionDAO.ReportDataRow;
+import org.openmetadata.service.util.JsonUtils;
+import org.openmetadata.service.util.RestUtil;
+import org.openmetadata.service.workflows.searchIndex.ReindexingCheckpoint.SourceCheckpoint;
+
+class SearchIndexWorkflowTest {
+  private static final int BATCH_SIZE = 10;
+  private static final String USER_ACTIVITY = ElasticSearchIndexDefinition.WEB_ANALYTIC_USER_ACTIVITY_REPORT_DATA;
+  private static final ElasticSearchIndexType REPORT_DATA_INDEX = ElasticSearchIndexType.ENTITY_REPORT_DATA_INDEX;
+
+  private CollectionDAO dao;
+  private RestHighLevelClient client;
+  private ElasticSearchIndexDefinition indexDefinition;
+  private ReindexingConfiguration config;
+  /** Report data of each type, in the order they are read */
+  private final Map<String, List<ReportData>> reportData = new HashMap<>();
+  /** Number of pages read */
+  private final AtomicInteger reads = new AtomicInteger();
+  /** Stored job records by job id */
+  private final Map<String, String> jobRecords = new ConcurrentHashMap<>();
+
+  @BeforeEach
+  void setUp() {
+    reportData.clear();
+    reads.set(0);
+    jobRecords.clear();
+    dao = mock(CollectionDAO.class);
+    EntityExtensionTimeSeriesDAO timeSeriesDAO = mock(EntityExtensionTimeSeriesDAO.class);
+    when(dao.entityExtensionTimeSeriesDao()).thenReturn(timeSeriesDAO);
+    when(timeSeriesDAO.listCount(anyString())).thenAnswer(i -> reportData.get(i.<String>getArgument(0)).size());
+    when(timeSeriesDAO.getAfterExtension(anyString(), anyInt(), anyString()))
+        .thenAnswer(i -> readPage(i.getArgument(0), i.getArgument(1), i.getArgument(2)));
+    // Job records are only updated when the timestamp matches, the same as the query
+    when(timeSeriesDAO.update(anyString(), eq(REINDEXING_JOB_EXTENSION), anyString(), anyLong()))
+        .thenAnswer(
+            i -> {
+              String stored = jobRecords.get(i.<String>getArgument(0));
+              if (JsonUtils.readValue(stored, EventPublisherJob.class).getTimestamp() != i.<Long>getArgument(3)) {
+                return 0;
+              }
+              jobRecords.put(i.getArgument(0), i.getArgument(2));
+              return 1;
+            });
+    client = mock(RestHighLevelClient.class);
+    indexDefinition = mock(ElasticSearchIndexDefinition.class);
+    config = new ReindexingConfiguration();
+    config.setReaderThreads(2);
+    config.setProcessorThreads(2);
+    config.setSinkThreads(2);
+    config.setQueueSize(2);
+    config.setMinBulkSize(1);
+    config.setMaxBulkSize(100);
+  }
+
+  @Test
+  void test_everyEntityWrittenOnce() throws IOException {
+    addReportData(ENTITY_REPORT_DATA, 95);
+    addReportData(USER_ACTIVITY, 42);
+
+    // The first document of the first bulk request is rejected by Elasticsearch and written again
+    Map<String, Integer> written = Collections.synchronizedMap(new HashMap<>());
+    AtomicBoolean rejectNext = new AtomicBoolean(true);
+    doAnswer(
+            i -> {
+              BulkRequest request = i.getArgument(0);
+              List<BulkItemResponse> items = new ArrayList<>();
+              for (int index = 0; index < request.numberOfActions(); index++) {
+                boolean rejected = rejectNext.getAndSet(false);
+                if (!rejected) {
+                  written.merge(request.requests().get(index).id(), 1, Integer::sum);
+                }
+                items.add(EsSearchIndexSinkTest.item(index, rejected));
+              }
+              return new BulkResponse(items.toArray(new BulkItemResponse[0]), 1);
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+
+    SearchIndexWorkflow workflow = newWorkflow(Set.of(ENTITY_REPORT_DATA, USER_ACTIVITY), false);
+    assertTimeoutPreemptively(Duration.ofSeconds(30), workflow::run);
+
+    // Every report data is written once, whichever reader, processor and sink thread handled its batch
+    assertEquals(EventPublisherJob.Status.COMPLETED, workflow.getJobData().getStatus());
+    assertEquals(137, written.size());
+    reportData.values().stream()
+        .flatMap(List::stream)
+        .forEach(data -> assertEquals(1, (int) written.get(data.getId().toString()), "Report data " + data.getId()));
+    assertEquals(137, (int) workflow.getJobData().getStats().getJobStats().getSuccessRecords());
+    assertEquals(0, (int) workflow.getJobData().getStats().getJobStats().getFailedRecords());
+
+    // The checkpoint of each source is committed up to its last batch
+    assertTrue(workflow.getCheckpoint().getSources().get(ENTITY_REPORT_DATA).isDone());
+    assertTrue(workflow.getCheckpoint().getSources().get(USER_ACTIVITY).isDone());
+  }
+
+  @Test
+  void test_failedSinkStopsReaders() throws IOException {
+    addReportData(ENTITY_REPORT_DATA, 1000);
+    doThrow(new IOException("Elasticsearch is down")).when(client).bulk(any(BulkRequest.class), any());
+
+    // The sink fails every request, the pipeline is aborted instead of waiting on the full queues
+    SearchIndexWorkflow workflow = newWorkflow(Set.of(ENTITY_REPORT_DATA), false);
+    assertTimeoutPreemptively(Duration.ofSeconds(30), workflow::run);
+
+    assertEquals(EventPublisherJob.Status.FAILED, workflow.getJobData().getStatus());
+    assertNotNull(workflow.getJobData().getFailure().getSinkError());
+    assertNotNull(workflow.getJobData().getFailure().getJobError());
+
+    // The readers stopped long before reading all the pages, and no batch was written
+    assertTrue(reads.get() < 50, "Pages read: " + reads.get());
+    assertEquals(0, workflow.getCheckpoint().getSources().get(ENTITY_REPORT_DATA).getSuccessRecords());
+  }
+
+  @Test
+  void test_rebuiltIndexSwapped() throws IOException {
+    addReportData(ENTITY_REPORT_DATA, 25);
+    String versionedIndex = REPORT_DATA_INDEX.indexName + "_1";
+    when(indexDefinition.createVersionedIndex(REPORT_DATA_INDEX, "en")).thenReturn(versionedIndex);
+    List<String> indexes = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(
+            i -> {
+              BulkRequest request = i.getArgument(0);
+              request.requests().forEach(write -> indexes.add(write.index()));
+              return written(request);
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+
+    SearchIndexWorkflow workflow = newWorkflow(Set.of(ENTITY_REPORT_DATA), true);
+    assertTimeoutPreemptively(Duration.ofSeconds(30), workflow::run);
+
+    // The documents are written to the new index while the searches use the current one, then the indexes are swapped
+    assertEquals(EventPublisherJob.Status.COMPLETED, workflow.getJobData().getStatus());
+    assertEquals(25, indexes.size());
+    indexes.forEach(index -> assertEquals(versionedIndex, index));
+    verify(indexDefinition).swapIndex(REPORT_DATA_INDEX, versionedIndex);
+    verify(indexDefinition, never()).deleteVersionedIndex(anyString());
+    assertTrue(workflow.getCheckpoint().getRebuiltIndexes().isEmpty());
+  }
+
+  @Test
+  void test_failedRebuildKeepsCurrentIndex() throws IOException {
+    addReportData(ENTITY_REPORT_DATA, 25);
+    String versionedIndex = REPORT_DATA_INDEX.indexName + "_1";
+    when(indexDefinition.createVersionedIndex(REPORT_DATA_INDEX, "en")).thenReturn(versionedIndex);
+    doThrow(new IOException("Elasticsearch is down")).when(client).bulk(any(BulkRequest.class), any());
+
+    SearchIndexWorkflow workflow = newWorkflow(Set.of(ENTITY_REPORT_DATA), true);
+    assertTimeoutPreemptively(Duration.ofSeconds(30), workflow::run);
+
+    // The name of the index type is not moved to the new index, which is deleted
+    assertEquals(EventPublisherJob.Status.FAILED, workflow.getJobData().getStatus());
+    verify(indexDefinition, never()).swapIndex(any(), any());
+    verify(indexDefinition).deleteVersionedIndex(versionedIndex);
+  }
+
+  @Test
+  void test_checkpointCommittedInOrder() throws Exception {
+    addReportData(ENTITY_REPORT_DATA, 50);
+    config.setSinkThreads(3);
+
+    // The first batch is held up in Elasticsearch while the next ones are written
+    String firstId = reportData.get(ENTITY_REPORT_DATA).get(0).getId().toString();
+    CountDownLatch releaseFirst = new CountDownLatch(1);
+    doAnswer(
+            i -> {
+              BulkRequest request = i.getArgument(0);
+              if (request.requests().stream().anyMatch(write -> firstId.equals(write.id()))) {
+                releaseFirst.await(30, TimeUnit.SECONDS);
+              }
+              return written(request);
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+    SearchIndexWorkflow workflow = newWorkflow(Set.of(ENTITY_REPORT_DATA), false);
+    CompletableFuture<Void> run = CompletableFuture.runAsync(workflow::run);
+
+    // The checkpoint does not move past the first batch until it is written
+    Awaitility.await().atMost(Duration.ofSeconds(30)).until(() -> getSuccessRecords(workflow) == 40);
+    SourceCheckpoint checkpoint = workflow.getCheckpoint().getSources().get(ENTITY_REPORT_DATA);
+    assertNull(checkpoint.getCursor());
+    assertEquals(0, checkpoint.getSuccessRecords());
+
+    // Once it is written, the checkpoint moves past all the batches written before it
+    releaseFirst.countDown();
+    run.get(30, TimeUnit.SECONDS);
+    assertTrue(checkpoint.isDone());
+    assertEquals(50, checkpoint.getSuccessRecords());
+  }
+
+  @Test
+  void test_resumedFromCheckpoint() throws IOException {
+    addReportData(ENTITY_REPORT_DATA, 50);
+    List<String> writtenIds = Collections.synchronizedList(new ArrayList<>());
+    doAnswer(
+            i -> {
+              BulkRequest request = i.getArgument(0);
+              request.requests().forEach(write -> writtenIds.add(write.id()));
+              return written(request);
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+
+    // The job was interrupted after committing its first three batches
+    ReindexingCheckpoint checkpoint = new ReindexingCheckpoint();
+    SourceCheckpoint sourceCheckpoint = new SourceCheckpoint();
+    sourceCheckpoint.setCursor(RestUtil.encodeCursor("30"));
+    sourceCheckpoint.setSuccessRecords(30);
+    checkpoint.getSources().put(ENTITY_REPORT_DATA, sourceCheckpoint);
+    EventPublisherJob job = newJob(Set.of(ENTITY_REPORT_DATA), false);
+    job.getStats().setJobStats(new StepStats().withSuccessRecords(30).withFailedRecords(0));
+    SearchIndexWorkflow workflow = new SearchIndexWorkflow(dao, indexDefinition, client, config, job, checkpoint);
+    assertEquals(30, getSuccessRecords(workflow));
+    assertTimeoutPreemptively(Duration.ofSeconds(30), workflow::run);
+
+    // Only the batches after the checkpoint are read and written, and the stats continue from the checkpoint
+    List<String> expectedIds =
+        reportData.get(ENTITY_REPORT_DATA).subList(30, 50).stream()
+            .map(data -> data.getId().toString())
+            .collect(Collectors.toList());
+    assertEquals(Set.copyOf(expectedIds), Set.copyOf(writtenIds));
+    assertEquals(20, writtenIds.size());
+    assertEquals(EventPublisherJob.Status.COMPLETED, workflow.getJobData().getStatus());
+    assertEquals(50, getSuccessRecords(workflow));
+    assertTrue(sourceCheckpoint.isDone());
+    assertEquals(50, sourceCheckpoint.getSuccessRecords());
+  }
+
+  @Test
+  void test_stopsWhenResumedByAnotherServer() throws IOException {
+    addReportData(ENTITY_REPORT_DATA, 20);
+    SearchIndexWorkflow workflow = newWorkflow(Set.of(ENTITY_REPORT_DATA), false);
+    String jobId = workflow.getJobData().getId().toString();
+
+    // Another server resumes the job while it runs here, it stores the job record with a new timestamp
+    AtomicReference<String> otherRecord = new AtomicReference<>();
+    doAnswer(
+            i -> {
+              if (otherRecord.get() == null) {
+                EventPublisherJob other = JsonUtils.readValue(jobRecords.get(jobId), EventPublisherJob.class);
+                other.setTimestamp(other.getTimestamp() + 1000);
+                otherRecord.set(JsonUtils.pojoToJson(other));
+                jobRecords.put(jobId, otherRecord.get());
+              }
+              return written(i.getArgument(0));
+            })
+        .when(client)
+        .bulk(any(BulkRequest.class), eq(RequestOptions.DEFAULT));
+    assertTimeoutPreemptively(Duration.ofSeconds(30), workflow::run);
+
+    // The job stops here without overwriting the record of the other server
+    assertEquals(EventPublisherJob.Status.STOPPED, workflow.getJobData().getStatus());
+    assertEquals(otherRecord.get(), jobRecords.get(jobId));
+  }
+
+  private SearchIndexWorkflow newWorkflow(Set<String> entities, boolean recreateIndex) throws IOException {
+    EventPublisherJob job = newJob(entities, recreateIndex);
+    return new SearchIndexWorkflow(dao, indexDefinition, client, config, job, new ReindexingCheckpoint());
+  }
+
+  /** Create the job and store its record */
+  private EventPublisherJob newJob(Set<String> entities, boolean recreateIndex) throws IOException {
+    EventPublisherJob job =
+        new EventPublisherJob()
+            .withId(UUID.randomUUID())
+            .withEntities(entities)
+            .withBatchSize(BATCH_SIZE)
+            .withRecreateIndex(recreateIndex)
+            .withSearchIndexMappingLanguage(IndexMappingLanguage.EN)
+            .withStats(new Stats())
+            .withStartTime(System.currentTimeMillis())
+            .withTimestamp(1L);
+    jobRecords.put(job.getId().toString(), JsonUtils.pojoToJson(job));
+    return job;
+  }
+
+  private static int getSuccessRecords(SearchIndexWorkflow workflow) {
+    StepStats stats = workflow.getJobData().getStats().getJobStats();
+    return stats == null ? 0 : stats.getSuccessRecords();
+  }
+
+  /** Response of Elasticsearch when all the documents of the request are written */
+  private static BulkResponse written(BulkRequest request) {
+    List<BulkItemResponse> items = new ArrayList<>();
+    for (int index = 0; index < request.numberOfActions(); index++) {
+      items.add(EsSearchIndexSinkTest.item(index, false));
+    }
+    return new BulkResponse(items.toArray(new BulkItemResponse[0]), 1);
+  }
+
+  private void addReportData(String entityType, int count) {
+    List<ReportData> data = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      data.add(new ReportData().withId(UUID.randomUUID()).withTimestamp((long) i));
+    }
+    reportData.put(entityType, data);
+  }
+
+  /** Rows are numbered from 1, the cursor is the number of the last row read */
+  private List<ReportDataRow> readPage(String entityType, int limit, String after) {
+    reads.incrementAndGet();
+    List<ReportData> data = reportData.get(entityType);
+    List<ReportDataRow> rows = new ArrayList<>();
+    for (int rowNum = Integer.parseInt(after) + 1; rowNum <= data.size() && rows.size() < limit; rowNum++) {
+      rows.add(ReportDataRow.builder().rowNum(String.valueOf(rowNum)).reportData(data.get(rowNum - 1)).build());
+    }
+    return rows;
+  }
+}